@@ -27,9 +27,7 @@ public class AscendexBaseService extends BaseExchangeService implements BaseServ
 
   public AscendexBaseService(Exchange exchange) {
     super(exchange);
-    ascendex =
-        ExchangeRestProxyBuilder.forInterface(IAscendex.class, exchange.getExchangeSpecification())
-            .build();
+    ascendex = ExchangeRestProxyBuilder.forInterface(IAscendex.class, exchange).build();
     if (exchange
         .getExchangeSpecification()
         .getExchangeSpecificParameters()
@@ -43,6 +41,7 @@ public class AscendexBaseService extends BaseExchangeService implements BaseServ
               + "/");
       ascendexAuthenticated =
           ExchangeRestProxyBuilder.forInterface(IAscendexAuthenticated.class, specWithAccountGroup)
+              .requestRateLimiter(exchange.getRequestRateLimiter())
               .build();
     } else {
       LOG.warn(
@@ -16,13 +16,9 @@ public class BankeraBaseService extends BaseExchangeService implements BaseServi
 
   public BankeraBaseService(Exchange exchange) {
     super(exchange);
-    bankera =
-        ExchangeRestProxyBuilder.forInterface(Bankera.class, exchange.getExchangeSpecification())
-            .build();
+    bankera = ExchangeRestProxyBuilder.forInterface(Bankera.class, exchange).build();
     bankeraAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BankeraAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BankeraAuthenticated.class, exchange).build();
   }
 
   public BankeraToken createToken() throws BankeraException {
@@ -0,0 +1,69 @@
+package org.knowm.xchange.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.Currency;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Currency} lookups and {@link CurrencyPair} construction, which adapters perform for almost
+ * every message they receive.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyBenchmark {
+
+  // non-final so the JIT cannot fold the lookups
+  public String code = "BTC";
+  public String lowerCaseCode = "btc";
+  public String unknownCode = "ZZZ";
+  public String pair = "BTC/USDT";
+
+  @Benchmark
+  public Currency getInstance() {
+
+    return Currency.getInstance(code);
+  }
+
+  @Benchmark
+  public Currency getInstanceLowerCase() {
+
+    return Currency.getInstance(lowerCaseCode);
+  }
+
+  @Benchmark
+  public Currency getInstanceNoCreateUnknown() {
+
+    return Currency.getInstanceNoCreate(unknownCode);
+  }
+
+  @Benchmark
+  public CurrencyPair newPairFromCurrencies() {
+
+    return new CurrencyPair(Currency.BTC, Currency.USDT);
+  }
+
+  @Benchmark
+  public CurrencyPair newPairFromSymbols() {
+
+    return new CurrencyPair(code, "USDT");
+  }
+
+  @Benchmark
+  public CurrencyPair parsePair() {
+
+    return new CurrencyPair(pair);
+  }
+}
@@ -0,0 +1,94 @@
+package org.knowm.xchange.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.binance.BinanceAuthenticated;
+import org.knowm.xchange.binance.service.BinanceHmacDigest;
+import org.knowm.xchange.kraken.KrakenAuthenticated;
+import org.knowm.xchange.kraken.service.KrakenDigest;
+import org.knowm.xchange.service.BaseParamsDigest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import si.mazi.rescu.ParamsDigest;
+import si.mazi.rescu.RequestWriterResolver;
+import si.mazi.rescu.RestInvocation;
+import si.mazi.rescu.RestMethodMetadata;
+import si.mazi.rescu.SynchronizedValueFactory;
+
+/**
+ * Request signing with {@link BaseParamsDigest} implementations. The invocations are built once, so
+ * only the work rescu repeats for every authenticated call is measured: building the signed payload
+ * and computing the HMAC.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DigestBenchmark {
+
+  private static final String SECRET =
+      "kQH5HW/8p1uGOVjbgWA7FunAmGO8lsSUXNsu3eow76sz84Q18fWxnyRzBHCd3pd5nE9qa99HAZtuZuj6F1huXg==";
+
+  private final SynchronizedValueFactory<Long> nonce = () -> 1640995200000L;
+
+  private BinanceHmacDigest binanceDigest;
+  private RestInvocation binanceInvocation;
+  private KrakenDigest krakenDigest;
+  private RestInvocation krakenInvocation;
+
+  @Setup
+  public void setUp() throws Exception {
+
+    RequestWriterResolver writers = RequestWriterResolver.createDefault(new ObjectMapper());
+
+    binanceDigest = BinanceHmacDigest.createInstance(SECRET);
+    Method openOrders =
+        BinanceAuthenticated.class.getMethod(
+            "openOrders",
+            String.class,
+            Long.class,
+            SynchronizedValueFactory.class,
+            String.class,
+            ParamsDigest.class);
+    binanceInvocation =
+        RestInvocation.create(
+            writers,
+            RestMethodMetadata.create(openOrders, "https://api.binance.com", ""),
+            new Object[] {"BTCUSDT", 5000L, nonce, "apiKey", binanceDigest},
+            null);
+
+    krakenDigest = KrakenDigest.createInstance(SECRET);
+    Method balance =
+        KrakenAuthenticated.class.getMethod(
+            "balance", String.class, ParamsDigest.class, SynchronizedValueFactory.class);
+    krakenInvocation =
+        RestInvocation.create(
+            writers,
+            RestMethodMetadata.create(balance, "https://api.kraken.com", "0"),
+            new Object[] {"apiKey", krakenDigest, nonce},
+            null);
+  }
+
+  @Benchmark
+  public String binanceHmacSha256() {
+
+    return binanceDigest.digestParams(binanceInvocation);
+  }
+
+  @Benchmark
+  public String krakenSha256HmacSha512() {
+
+    return krakenDigest.digestParams(krakenInvocation);
+  }
+}
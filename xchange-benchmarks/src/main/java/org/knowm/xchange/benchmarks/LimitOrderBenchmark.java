@@ -0,0 +1,59 @@
+package org.knowm.xchange.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link LimitOrder#compareTo(LimitOrder)}, which is called O(log n) times for every order book
+ * update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LimitOrderBenchmark {
+
+  private final LimitOrder bid = order(OrderType.BID, "43250.10");
+  private final LimitOrder lowerBid = order(OrderType.BID, "43249.95");
+  private final LimitOrder ask = order(OrderType.ASK, "43250.11");
+  // same value as the ask but a different scale, as happens with exchanges that trim zeros
+  private final LimitOrder askOtherScale = order(OrderType.ASK, "43250.1100");
+
+  @Benchmark
+  public int compareSameSide() {
+
+    return bid.compareTo(lowerBid);
+  }
+
+  @Benchmark
+  public int compareSameSideDifferentScale() {
+
+    return ask.compareTo(askOtherScale);
+  }
+
+  @Benchmark
+  public int compareOppositeSides() {
+
+    return bid.compareTo(ask);
+  }
+
+  private static LimitOrder order(OrderType type, String price) {
+
+    return new LimitOrder(
+        type, BigDecimal.ONE, CurrencyPair.BTC_USDT, null, null, new BigDecimal(price));
+  }
+}
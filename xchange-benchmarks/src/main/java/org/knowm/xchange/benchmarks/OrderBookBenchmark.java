@@ -0,0 +1,98 @@
+package org.knowm.xchange.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link OrderBook#update(LimitOrder)} on books of different depths. Each invocation applies one
+ * level update from a pre-built sequence, so only the cost of locating and replacing the level is
+ * measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookBenchmark {
+
+  private static final int UPDATES = 1024;
+  private static final BigDecimal TICK = new BigDecimal("0.01");
+  private static final BigDecimal MID = new BigDecimal("43250.00");
+
+  @Param({"10", "100", "1000"})
+  public int depth;
+
+  private OrderBook orderBook;
+  private LimitOrder[] changes;
+  private LimitOrder[] insertsAndRemoves;
+  private int index;
+
+  @Setup
+  public void setUp() {
+
+    List<LimitOrder> asks = new ArrayList<>(depth);
+    List<LimitOrder> bids = new ArrayList<>(depth);
+    for (int i = 1; i <= depth; i++) {
+      asks.add(level(OrderType.ASK, MID.add(TICK.multiply(BigDecimal.valueOf(i))), BigDecimal.ONE));
+      bids.add(
+          level(OrderType.BID, MID.subtract(TICK.multiply(BigDecimal.valueOf(i))), BigDecimal.ONE));
+    }
+    orderBook = new OrderBook(new Date(), asks, bids, true);
+
+    // volume changes at existing levels, spread over the whole book
+    changes = new LimitOrder[UPDATES];
+    for (int i = 0; i < UPDATES; i++) {
+      OrderType type = i % 2 == 0 ? OrderType.BID : OrderType.ASK;
+      BigDecimal offset = TICK.multiply(BigDecimal.valueOf(1 + (i * 7) % depth));
+      BigDecimal price = type == OrderType.BID ? MID.subtract(offset) : MID.add(offset);
+      changes[i] = level(type, price, BigDecimal.valueOf(1 + i % 5));
+    }
+
+    // a new level just inside the spread followed by its removal, so the depth stays constant
+    insertsAndRemoves = new LimitOrder[UPDATES];
+    for (int i = 0; i < UPDATES; i += 2) {
+      OrderType type = i % 4 == 0 ? OrderType.BID : OrderType.ASK;
+      BigDecimal price = type == OrderType.BID ? MID : MID.add(new BigDecimal("0.005"));
+      insertsAndRemoves[i] = level(type, price, BigDecimal.ONE);
+      insertsAndRemoves[i + 1] = level(type, price, BigDecimal.ZERO);
+    }
+  }
+
+  @Benchmark
+  public OrderBook changeLevel() {
+
+    orderBook.update(changes[index++ & (UPDATES - 1)]);
+    return orderBook;
+  }
+
+  @Benchmark
+  public OrderBook insertAndRemoveTopLevel() {
+
+    orderBook.update(insertsAndRemoves[index++ & (UPDATES - 1)]);
+    return orderBook;
+  }
+
+  private static LimitOrder level(OrderType type, BigDecimal price, BigDecimal volume) {
+
+    return new LimitOrder(type, volume, CurrencyPair.BTC_USDT, null, null, price);
+  }
+}
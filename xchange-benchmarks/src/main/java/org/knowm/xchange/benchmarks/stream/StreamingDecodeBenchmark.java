@@ -0,0 +1,160 @@
+package org.knowm.xchange.benchmarks.stream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.io.Resources;
+import info.bitrich.xchangestream.binance.dto.BinanceWebsocketTransaction;
+import info.bitrich.xchangestream.binance.dto.DepthBinanceWebSocketTransaction;
+import info.bitrich.xchangestream.binance.dto.TradeBinanceWebsocketTransaction;
+import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketSnapshotOrderbook;
+import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketTickerTransaction;
+import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketUpdateOrderbook;
+import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProWebSocketTransaction;
+import info.bitrich.xchangestream.kraken.KrakenStreamingAdapters;
+import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import java.io.IOException;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding of recorded websocket payloads into the DTOs the streaming services use, starting from
+ * the raw frame bytes as they arrive from the socket. Kraken has no DTOs for market data, so its
+ * benchmarks include the tree-based adapters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingDecodeBenchmark {
+
+  private static final CurrencyPair XBT_USD = new CurrencyPair("XBT/USD");
+
+  private final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
+
+  private JavaType binanceDepthType;
+  private JavaType binanceTradeType;
+
+  private byte[] binanceDepth;
+  private byte[] binanceTrade;
+  private byte[] krakenBookSnapshot;
+  private byte[] krakenTicker;
+  private byte[] bitfinexBookSnapshot;
+  private byte[] bitfinexBookUpdate;
+  private byte[] bitfinexTicker;
+  private byte[] coinbaseProL2Update;
+  private byte[] coinbaseProTicker;
+  private byte[] coinbaseProMatch;
+
+  @Setup
+  public void setUp() throws IOException {
+
+    binanceDepthType =
+        mapper
+            .getTypeFactory()
+            .constructType(
+                new TypeReference<
+                    BinanceWebsocketTransaction<DepthBinanceWebSocketTransaction>>() {});
+    binanceTradeType =
+        mapper
+            .getTypeFactory()
+            .constructType(
+                new TypeReference<
+                    BinanceWebsocketTransaction<TradeBinanceWebsocketTransaction>>() {});
+
+    binanceDepth = payload("binance-depth.json");
+    binanceTrade = payload("binance-trade.json");
+    krakenBookSnapshot = payload("kraken-book-snapshot.json");
+    krakenTicker = payload("kraken-ticker.json");
+    bitfinexBookSnapshot = payload("bitfinex-book-snapshot.json");
+    bitfinexBookUpdate = payload("bitfinex-book-update.json");
+    bitfinexTicker = payload("bitfinex-ticker.json");
+    coinbaseProL2Update = payload("coinbasepro-l2update.json");
+    coinbaseProTicker = payload("coinbasepro-ticker.json");
+    coinbaseProMatch = payload("coinbasepro-match.json");
+  }
+
+  @Benchmark
+  public Object binanceDepth() throws IOException {
+
+    return mapper.readValue(binanceDepth, binanceDepthType);
+  }
+
+  @Benchmark
+  public Object binanceTrade() throws IOException {
+
+    return mapper.readValue(binanceTrade, binanceTradeType);
+  }
+
+  @Benchmark
+  public OrderBook krakenBookSnapshot() throws IOException {
+
+    ArrayNode message = (ArrayNode) mapper.readTree(krakenBookSnapshot);
+    return KrakenStreamingAdapters.adaptOrderbookMessage(
+        10, new TreeSet<>(), new TreeSet<>(), XBT_USD, message);
+  }
+
+  @Benchmark
+  public Ticker krakenTicker() throws IOException {
+
+    ArrayNode message = (ArrayNode) mapper.readTree(krakenTicker);
+    return KrakenStreamingAdapters.adaptTickerMessage(XBT_USD, message);
+  }
+
+  @Benchmark
+  public BitfinexWebSocketSnapshotOrderbook bitfinexBookSnapshot() throws IOException {
+
+    return mapper.readValue(bitfinexBookSnapshot, BitfinexWebSocketSnapshotOrderbook.class);
+  }
+
+  @Benchmark
+  public BitfinexWebSocketUpdateOrderbook bitfinexBookUpdate() throws IOException {
+
+    return mapper.readValue(bitfinexBookUpdate, BitfinexWebSocketUpdateOrderbook.class);
+  }
+
+  @Benchmark
+  public BitfinexWebSocketTickerTransaction bitfinexTicker() throws IOException {
+
+    return mapper.readValue(bitfinexTicker, BitfinexWebSocketTickerTransaction.class);
+  }
+
+  @Benchmark
+  public CoinbaseProWebSocketTransaction coinbaseProL2Update() throws IOException {
+
+    return mapper.readValue(coinbaseProL2Update, CoinbaseProWebSocketTransaction.class);
+  }
+
+  @Benchmark
+  public CoinbaseProWebSocketTransaction coinbaseProTicker() throws IOException {
+
+    return mapper.readValue(coinbaseProTicker, CoinbaseProWebSocketTransaction.class);
+  }
+
+  @Benchmark
+  public CoinbaseProWebSocketTransaction coinbaseProMatch() throws IOException {
+
+    return mapper.readValue(coinbaseProMatch, CoinbaseProWebSocketTransaction.class);
+  }
+
+  private static byte[] payload(String name) throws IOException {
+
+    return Resources.toByteArray(Resources.getResource(StreamingDecodeBenchmark.class, name));
+  }
+}
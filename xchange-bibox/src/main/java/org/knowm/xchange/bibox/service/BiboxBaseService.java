@@ -22,10 +22,7 @@ public class BiboxBaseService extends BaseExchangeService implements BaseService
    */
   protected BiboxBaseService(Exchange exchange) {
     super(exchange);
-    this.bibox =
-        ExchangeRestProxyBuilder.forInterface(
-                BiboxAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    this.bibox = ExchangeRestProxyBuilder.forInterface(BiboxAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         BiboxDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
@@ -16,6 +16,7 @@ import org.knowm.xchange.binance.dto.marketdata.BinanceTicker24h;
 import org.knowm.xchange.binance.dto.meta.BinanceSystemStatus;
 import org.knowm.xchange.binance.dto.meta.BinanceTime;
 import org.knowm.xchange.binance.dto.meta.exchangeinfo.BinanceExchangeInfo;
+import org.knowm.xchange.client.RequestWeight;
 
 @Path("")
 @Produces(MediaType.APPLICATION_JSON)
@@ -51,6 +52,7 @@ public interface Binance {
   BinanceTime time() throws IOException;
 
   @GET
+  @RequestWeight(10)
   @Path("api/v3/exchangeInfo")
   /**
    * Current exchange trading rules and symbol information.
@@ -61,6 +63,7 @@ public interface Binance {
   BinanceExchangeInfo exchangeInfo() throws IOException;
 
   @GET
+  @RequestWeight(function = BinanceRequestWeights.Depth.class)
   @Path("api/v3/depth")
   /**
    * @param symbol
@@ -124,6 +127,7 @@ public interface Binance {
       throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(40)
   @Path("api/v3/ticker/24hr")
   /**
    * 24 hour price change statistics for all symbols. - bee carreful this api call have a big
@@ -161,6 +165,7 @@ public interface Binance {
       throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(2)
   @Path("api/v3/ticker/price")
   /**
    * Latest price for all symbols.
@@ -172,6 +177,7 @@ public interface Binance {
   List<BinancePrice> tickerAllPrices() throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(2)
   @Path("api/v3/ticker/bookTicker")
   /**
    * Best price/qty on the order book for all symbols.
@@ -7,19 +7,23 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.knowm.xchange.binance.dto.account.AssetDetail;
 import org.knowm.xchange.binance.dto.marketdata.BinancePriceQuantity;
+import org.knowm.xchange.binance.dto.meta.exchangeinfo.BinanceExchangeInfo;
 import org.knowm.xchange.binance.dto.trade.BinanceOrder;
 import org.knowm.xchange.binance.dto.trade.OrderSide;
 import org.knowm.xchange.binance.dto.trade.OrderStatus;
 import org.knowm.xchange.binance.service.BinanceTradeService.BinanceOrderFlags;
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.currency.CurrencyPairSymbols;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.Order.OrderType;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.meta.CurrencyMetaData;
+import org.knowm.xchange.dto.meta.RateLimit;
 import org.knowm.xchange.dto.meta.WalletHealth;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
@@ -28,6 +32,8 @@ import org.knowm.xchange.dto.trade.StopOrder;
 public class BinanceAdapters {
   private static final DateTimeFormatter DATE_TIME_FMT =
       DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+  private static final CurrencyPairSymbols SYMBOLS =
+      new CurrencyPairSymbols(BinanceAdapters::parseSymbol);
 
   private BinanceAdapters() {}
 
@@ -126,6 +132,10 @@ public class BinanceAdapters {
   }
 
   public static CurrencyPair adaptSymbol(String symbol) {
+    return SYMBOLS.get(symbol);
+  }
+
+  private static CurrencyPair parseSymbol(String symbol) {
     int pairLength = symbol.length();
     if (symbol.endsWith("USDT")) {
       return new CurrencyPair(symbol.substring(0, pairLength - 4), "USDT");
@@ -246,4 +256,22 @@ public class BinanceAdapters {
         throw new IllegalStateException("Unexpected value: " + order.getIntention());
     }
   }
+
+  /** @return the request weight limits of the exchange info, which apply to all calls */
+  public static RateLimit[] adaptRequestWeightLimits(BinanceExchangeInfo exchangeInfo) {
+    if (exchangeInfo.getRateLimits() == null) {
+      return new RateLimit[0];
+    }
+    return Arrays.stream(exchangeInfo.getRateLimits())
+        .filter(rateLimit -> "REQUEST_WEIGHT".equals(rateLimit.getRateLimitType()))
+        .map(
+            rateLimit ->
+                new RateLimit(
+                    Integer.parseInt(rateLimit.getLimit()),
+                    rateLimit.getIntervalNum() == null
+                        ? 1
+                        : Integer.parseInt(rateLimit.getIntervalNum()),
+                    TimeUnit.valueOf(rateLimit.getInterval() + "S")))
+        .toArray(RateLimit[]::new);
+  }
 }
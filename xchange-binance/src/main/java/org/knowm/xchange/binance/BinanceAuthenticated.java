@@ -25,6 +25,7 @@ import org.knowm.xchange.binance.dto.trade.BinanceTrade;
 import org.knowm.xchange.binance.dto.trade.OrderSide;
 import org.knowm.xchange.binance.dto.trade.OrderType;
 import org.knowm.xchange.binance.dto.trade.TimeInForce;
+import org.knowm.xchange.client.RequestWeight;
 import si.mazi.rescu.ParamsDigest;
 import si.mazi.rescu.SynchronizedValueFactory;
 
@@ -111,6 +112,7 @@ public interface BinanceAuthenticated extends Binance {
       throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(2)
   @Path("api/v3/order")
   /**
    * Check an order's status.<br>
@@ -187,6 +189,7 @@ public interface BinanceAuthenticated extends Binance {
       throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(function = BinanceRequestWeights.OpenOrders.class)
   @Path("api/v3/openOrders")
   /**
    * Get open orders on a symbol.
@@ -207,6 +210,7 @@ public interface BinanceAuthenticated extends Binance {
       throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(10)
   @Path("api/v3/allOrders")
   /**
    * Get all account orders; active, canceled, or filled. <br>
@@ -235,6 +239,7 @@ public interface BinanceAuthenticated extends Binance {
       throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(10)
   @Path("api/v3/account")
   /**
    * Get current account information.
@@ -253,6 +258,7 @@ public interface BinanceAuthenticated extends Binance {
       throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(10)
   @Path("api/v3/myTrades")
   /**
    * Get trades for a specific account and symbol.
@@ -399,6 +405,7 @@ public interface BinanceAuthenticated extends Binance {
    * @throws BinanceException
    */
   @GET
+  @RequestWeight(10)
   @Path("/sapi/v1/asset/assetDividend")
   AssetDividendResponse assetDividend(
       @QueryParam("asset") String asset,
@@ -439,6 +446,7 @@ public interface BinanceAuthenticated extends Binance {
       throws IOException, BinanceException;
 
   @GET
+  @RequestWeight(10)
   @Path("/sapi/v1/capital/deposit/address")
   /**
    * Fetch deposit address.
@@ -1,6 +1,7 @@
 package org.knowm.xchange.binance;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Map;
 import org.knowm.xchange.BaseExchange;
@@ -13,11 +14,14 @@ import org.knowm.xchange.binance.service.BinanceAccountService;
 import org.knowm.xchange.binance.service.BinanceMarketDataService;
 import org.knowm.xchange.binance.service.BinanceTradeService;
 import org.knowm.xchange.client.ExchangeRestProxyBuilder;
+import org.knowm.xchange.client.RequestRateLimiter;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.meta.CurrencyMetaData;
 import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.dto.meta.RateLimit;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.utils.AuthUtils;
 import si.mazi.rescu.SynchronizedValueFactory;
@@ -33,10 +37,7 @@ public class BinanceExchange extends BaseExchange {
 
   @Override
   protected void initServices() {
-    this.binance =
-        ExchangeRestProxyBuilder.forInterface(
-            BinanceAuthenticated.class, getExchangeSpecification())
-                                .build();
+    this.binance = ExchangeRestProxyBuilder.forInterface(BinanceAuthenticated.class, this).build();
     this.timestampFactory =
         new BinanceTimestampFactory(
             binance, getExchangeSpecification().getResilience(), getResilienceRegistries());
@@ -67,6 +68,12 @@ public class BinanceExchange extends BaseExchange {
     return RESILIENCE_REGISTRIES;
   }
 
+  @Override
+  protected RequestRateLimiter createRequestRateLimiter() {
+    return super.createRequestRateLimiter()
+        .usedWeightHeader("X-MBX-USED-WEIGHT-1M", Duration.ofMinutes(1));
+  }
+
   @Override
   public ExchangeSpecification getDefaultExchangeSpecification() {
 
@@ -107,6 +114,18 @@ public class BinanceExchange extends BaseExchange {
       exchangeInfo = marketDataService.getExchangeInfo();
       Symbol[] symbols = exchangeInfo.getSymbols();
 
+      RateLimit[] requestWeightLimits = BinanceAdapters.adaptRequestWeightLimits(exchangeInfo);
+      if (requestWeightLimits.length > 0) {
+        // the rate limiter of the exchange is configured with them after remote init
+        exchangeMetaData =
+            new ExchangeMetaData(
+                currencyPairs,
+                currencies,
+                exchangeMetaData.getPublicRateLimits(),
+                requestWeightLimits,
+                true);
+      }
+
       BinanceAccountService accountService = (BinanceAccountService) getAccountService();
       Map<String, AssetDetail> assetDetailMap = null;
       if (!usingSandbox() && isAuthenticated()) {
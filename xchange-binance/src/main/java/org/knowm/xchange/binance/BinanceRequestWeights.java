@@ -0,0 +1,45 @@
+package org.knowm.xchange.binance;
+
+import org.knowm.xchange.client.RequestWeight;
+
+/**
+ * The weights of the Binance endpoints which depend on their parameters, against the request weight
+ * limit of 1200 per minute.
+ */
+public final class BinanceRequestWeights {
+
+  private BinanceRequestWeights() {}
+
+  public static int depth(Integer limit) {
+    if (limit == null || limit <= 100) {
+      return 1;
+    } else if (limit <= 500) {
+      return 5;
+    } else if (limit <= 1000) {
+      return 10;
+    }
+    return 50;
+  }
+
+  public static int openOrders(String symbol) {
+    return symbol != null ? 3 : 40;
+  }
+
+  /** Weighs {@link Binance#depth(String, Integer)} by its limit. */
+  public static final class Depth implements RequestWeight.Function {
+
+    @Override
+    public int weigh(int weight, Object[] args) {
+      return depth((Integer) args[1]);
+    }
+  }
+
+  /** Weighs {@link BinanceAuthenticated#openOrders} by whether it is for a single symbol. */
+  public static final class OpenOrders implements RequestWeight.Function {
+
+    @Override
+    public int weigh(int weight, Object[] args) {
+      return openOrders((String) args[0]);
+    }
+  }
+}
@@ -30,7 +30,7 @@ public class BinanceAccountServiceRaw extends BinanceBaseService {
     return decorateApiCall(
             () -> binance.account(getRecvWindow(), getTimestampFactory(), apiKey, signatureCreator))
         .withRetry(retry("account"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 5)
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 10)
         .call();
   }
 
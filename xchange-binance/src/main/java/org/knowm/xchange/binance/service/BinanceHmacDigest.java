@@ -1,12 +1,9 @@
 package org.knowm.xchange.binance.service;
 
-import static org.knowm.xchange.utils.DigestUtils.bytesToHex;
-
-import java.nio.charset.StandardCharsets;
-import javax.crypto.Mac;
 import javax.ws.rs.QueryParam;
 import org.knowm.xchange.binance.BinanceAuthenticated;
 import org.knowm.xchange.service.BaseParamsDigest;
+import org.knowm.xchange.service.SignatureBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import si.mazi.rescu.Params;
@@ -54,9 +51,6 @@ public class BinanceHmacDigest extends BaseParamsDigest {
       }
     }
 
-    Mac mac = getMac();
-    mac.update(input.getBytes(StandardCharsets.UTF_8));
-    String printBase64Binary = bytesToHex(mac.doFinal());
-    return printBase64Binary;
+    return SignatureBuffer.forCurrentThread().append(input).hash(getMac()).hashToHex();
   }
 }
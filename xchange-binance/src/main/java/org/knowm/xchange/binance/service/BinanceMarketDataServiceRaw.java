@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 import org.knowm.xchange.binance.BinanceAdapters;
 import org.knowm.xchange.binance.BinanceAuthenticated;
 import org.knowm.xchange.binance.BinanceExchange;
+import org.knowm.xchange.binance.BinanceRequestWeights;
 import org.knowm.xchange.binance.dto.marketdata.BinanceAggTrades;
 import org.knowm.xchange.binance.dto.marketdata.BinanceKline;
 import org.knowm.xchange.binance.dto.marketdata.BinanceOrderbook;
@@ -80,7 +81,7 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
   public List<BinanceTicker24h> ticker24h() throws IOException {
     return decorateApiCall(() -> binance.ticker24h())
         .withRetry(retry("ticker24h"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 5)
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 40)
         .call();
   }
 
@@ -103,26 +104,19 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
   public List<BinancePrice> tickerAllPrices() throws IOException {
     return decorateApiCall(() -> binance.tickerAllPrices())
         .withRetry(retry("tickerAllPrices"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 2)
         .call();
   }
 
   public List<BinancePriceQuantity> tickerAllBookTickers() throws IOException {
     return decorateApiCall(() -> binance.tickerAllBookTickers())
         .withRetry(retry("tickerAllBookTickers"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 2)
         .call();
   }
 
   protected int depthPermits(Integer limit) {
-    if (limit == null || limit <= 100) {
-      return 1;
-    } else if (limit <= 500) {
-      return 5;
-    } else if (limit <= 1000) {
-      return 10;
-    }
-    return 50;
+    return BinanceRequestWeights.depth(limit);
   }
 
   protected int aggTradesPermits(Integer limit) {
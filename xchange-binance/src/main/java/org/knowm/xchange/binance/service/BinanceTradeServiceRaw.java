@@ -10,6 +10,7 @@ import java.util.Optional;
 import org.knowm.xchange.binance.BinanceAdapters;
 import org.knowm.xchange.binance.BinanceAuthenticated;
 import org.knowm.xchange.binance.BinanceExchange;
+import org.knowm.xchange.binance.BinanceRequestWeights;
 import org.knowm.xchange.binance.dto.BinanceException;
 import org.knowm.xchange.binance.dto.trade.BinanceCancelledOrder;
 import org.knowm.xchange.binance.dto.trade.BinanceListenKey;
@@ -128,7 +129,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
                     super.apiKey,
                     super.signatureCreator))
         .withRetry(retry("orderStatus"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 2)
         .call();
   }
 
@@ -179,7 +180,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
                     apiKey,
                     signatureCreator))
         .withRetry(retry("allOrders"))
-        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER), 10)
         .call();
   }
 
@@ -222,13 +223,10 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
   }
 
   protected int openOrdersPermits(CurrencyPair pair) {
-    return pair != null ? 1 : 40;
+    return BinanceRequestWeights.openOrders(pair != null ? BinanceAdapters.toSymbol(pair) : null);
   }
 
   protected int myTradesPermits(Integer limit) {
-    if (limit != null && limit > 500) {
-      return 10;
-    }
-    return 5;
+    return 10;
   }
 }
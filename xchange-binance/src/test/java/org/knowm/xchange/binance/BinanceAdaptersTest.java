@@ -4,11 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.knowm.xchange.binance.dto.account.AssetDividendResponse;
+import org.knowm.xchange.binance.dto.meta.exchangeinfo.BinanceExchangeInfo;
 import org.knowm.xchange.binance.dto.trade.BinanceOrder;
 import org.knowm.xchange.binance.service.BinanceTradeService.BinanceOrderFlags;
 import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.meta.RateLimit;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.utils.ObjectMapperHelper;
 
@@ -70,4 +73,32 @@ public class BinanceAdaptersTest {
     assertThat(BinanceAdapters.toDate(applyTimeUTC).getTime()).isEqualByComparingTo(1539071770000L);
   }
 
+  @Test
+  public void testAdaptRequestWeightLimits() {
+    BinanceExchangeInfo exchangeInfo = new BinanceExchangeInfo();
+    exchangeInfo.setRateLimits(
+        new org.knowm.xchange.binance.dto.meta.exchangeinfo.RateLimit[] {
+          rateLimit("REQUEST_WEIGHT", "MINUTE", "1", "1200"),
+          rateLimit("ORDERS", "SECOND", "10", "50"),
+          rateLimit("RAW_REQUESTS", "MINUTE", "5", "6100")
+        });
+
+    RateLimit[] rateLimits = BinanceAdapters.adaptRequestWeightLimits(exchangeInfo);
+
+    assertThat(rateLimits).hasSize(1);
+    assertThat(rateLimits[0].calls).isEqualTo(1200);
+    assertThat(rateLimits[0].timeSpan).isEqualTo(1);
+    assertThat(rateLimits[0].timeUnit).isEqualTo(TimeUnit.MINUTES);
+  }
+
+  private static org.knowm.xchange.binance.dto.meta.exchangeinfo.RateLimit rateLimit(
+      String type, String interval, String intervalNum, String limit) {
+    org.knowm.xchange.binance.dto.meta.exchangeinfo.RateLimit rateLimit =
+        new org.knowm.xchange.binance.dto.meta.exchangeinfo.RateLimit();
+    rateLimit.setRateLimitType(type);
+    rateLimit.setInterval(interval);
+    rateLimit.setIntervalNum(intervalNum);
+    rateLimit.setLimit(limit);
+    return rateLimit;
+  }
 }
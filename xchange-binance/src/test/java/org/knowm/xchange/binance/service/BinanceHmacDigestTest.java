@@ -0,0 +1,33 @@
+package org.knowm.xchange.binance.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import si.mazi.rescu.RestInvocation;
+
+public class BinanceHmacDigestTest {
+
+  @Test
+  public void testDigestParams() {
+
+    // given: the example of the Binance API documentation, "SIGNED Endpoint Examples for POST"
+    BinanceHmacDigest binanceDigest =
+        BinanceHmacDigest.createInstance(
+            "NhqPtmdSJYdKjVHjA7PZj4Mge3R5YNiP1e3UZjInClVN65XAbvqqM6A7H5fATj0j");
+    RestInvocation restInvocation = mock(RestInvocation.class);
+    when(restInvocation.getPath()).thenReturn("api/v3/order");
+    when(restInvocation.getHttpMethod()).thenReturn("POST");
+    when(restInvocation.getRequestBody())
+        .thenReturn(
+            "symbol=LTCBTC&side=BUY&type=LIMIT&timeInForce=GTC&quantity=1&price=0.1&recvWindow=5000&timestamp=1499827319559");
+
+    // when
+    String signature = binanceDigest.digestParams(restInvocation);
+
+    // then
+    assertThat(signature)
+        .isEqualTo("c8db56825ae71d6d79447849e617115f4a920fa2acdcab2b053c4b2838bd6b71");
+  }
+}
@@ -25,13 +25,9 @@ public class BitbayBaseService extends BaseExchangeService implements BaseServic
   BitbayBaseService(Exchange exchange) {
     super(exchange);
 
-    bitbay =
-        ExchangeRestProxyBuilder.forInterface(Bitbay.class, exchange.getExchangeSpecification())
-            .build();
+    bitbay = ExchangeRestProxyBuilder.forInterface(Bitbay.class, exchange).build();
     bitbayAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BitbayAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitbayAuthenticated.class, exchange).build();
     sign = BitbayDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
     apiKey = exchange.getExchangeSpecification().getApiKey();
   }
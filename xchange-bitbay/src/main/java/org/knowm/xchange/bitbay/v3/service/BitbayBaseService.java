@@ -27,9 +27,7 @@ public class BitbayBaseService extends BaseExchangeService implements BaseServic
     super(exchange);
 
     bitbayAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BitbayAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitbayAuthenticated.class, exchange).build();
     sign = BitbayDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
     apiKey = exchange.getExchangeSpecification().getApiKey();
   }
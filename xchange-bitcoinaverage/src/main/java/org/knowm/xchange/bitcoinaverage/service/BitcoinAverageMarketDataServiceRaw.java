@@ -27,9 +27,7 @@ public class BitcoinAverageMarketDataServiceRaw extends BitcoinAverageBaseServic
 
     super(exchange);
     this.bitcoinAverage =
-        ExchangeRestProxyBuilder.forInterface(
-                BitcoinAverage.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitcoinAverage.class, exchange).build();
   }
 
   public BitcoinAverageTicker getBitcoinAverageTicker(String tradable, String currency)
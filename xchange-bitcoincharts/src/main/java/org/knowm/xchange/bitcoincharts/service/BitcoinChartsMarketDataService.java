@@ -27,9 +27,7 @@ public class BitcoinChartsMarketDataService extends BitcoinChartsBaseService
   public BitcoinChartsMarketDataService(Exchange exchange) {
     super(exchange);
     this.bitcoinCharts =
-        ExchangeRestProxyBuilder.forInterface(
-                BitcoinCharts.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitcoinCharts.class, exchange).build();
   }
 
   @Override
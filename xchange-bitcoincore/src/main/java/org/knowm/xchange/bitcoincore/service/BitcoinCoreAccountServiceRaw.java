@@ -33,7 +33,7 @@ public class BitcoinCoreAccountServiceRaw extends BaseExchangeService {
             ClientConfigUtil.addBasicAuthCredentials(
                 config, user == null ? "" : user, specification.getPassword());
     bitcoinCore =
-        ExchangeRestProxyBuilder.forInterface(BitcoinCore.class, specification)
+        ExchangeRestProxyBuilder.forInterface(BitcoinCore.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
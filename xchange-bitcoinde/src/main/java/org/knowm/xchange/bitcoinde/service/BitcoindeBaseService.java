@@ -19,9 +19,7 @@ public class BitcoindeBaseService extends BaseExchangeService implements BaseSer
   protected BitcoindeBaseService(Exchange exchange) {
 
     super(exchange);
-    this.bitcoinde =
-        ExchangeRestProxyBuilder.forInterface(Bitcoinde.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitcoinde = ExchangeRestProxyBuilder.forInterface(Bitcoinde.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         BitcoindeDigest.createInstance(exchange.getExchangeSpecification().getSecretKey(), apiKey);
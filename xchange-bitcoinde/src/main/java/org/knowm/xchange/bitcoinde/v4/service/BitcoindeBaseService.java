@@ -17,9 +17,7 @@ public class BitcoindeBaseService extends BaseExchangeService<BitcoindeExchange>
 
   protected BitcoindeBaseService(BitcoindeExchange exchange) {
     super(exchange);
-    this.bitcoinde =
-        ExchangeRestProxyBuilder.forInterface(Bitcoinde.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitcoinde = ExchangeRestProxyBuilder.forInterface(Bitcoinde.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         BitcoindeDigest.createInstance(exchange.getExchangeSpecification().getSecretKey(), apiKey);
@@ -29,9 +29,7 @@ public class BitcoiniumMarketDataServiceRaw extends BitcoiniumBaseService {
   public BitcoiniumMarketDataServiceRaw(Exchange exchange) {
 
     super(exchange);
-    this.bitcoinium =
-        ExchangeRestProxyBuilder.forInterface(Bitcoinium.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitcoinium = ExchangeRestProxyBuilder.forInterface(Bitcoinium.class, exchange).build();
   }
 
   /**
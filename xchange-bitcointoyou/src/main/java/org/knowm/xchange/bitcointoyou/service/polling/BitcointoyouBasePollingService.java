@@ -26,17 +26,12 @@ public class BitcointoyouBasePollingService extends BaseExchangeService implemen
 
     super(exchange);
     this.bitcointoyouAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BitcointoyouAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitcointoyouAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         BitcointoyouDigest.createInstance(
             exchange.getExchangeSpecification().getSecretKey(), this.apiKey);
 
-    this.bitcointoyou =
-        ExchangeRestProxyBuilder.forInterface(
-                Bitcointoyou.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitcointoyou = ExchangeRestProxyBuilder.forInterface(Bitcointoyou.class, exchange).build();
   }
 }
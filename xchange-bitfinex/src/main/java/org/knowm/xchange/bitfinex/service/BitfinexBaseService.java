@@ -31,9 +31,7 @@ public class BitfinexBaseService extends BaseResilientExchangeService<BitfinexEx
     super(exchange, resilienceRegistries);
 
     this.bitfinex =
-        ExchangeRestProxyBuilder.forInterface(
-                BitfinexAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitfinexAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         BitfinexDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
@@ -41,8 +39,7 @@ public class BitfinexBaseService extends BaseResilientExchangeService<BitfinexEx
 
     this.bitfinexV2 =
         ExchangeRestProxyBuilder.forInterface(
-                org.knowm.xchange.bitfinex.v2.BitfinexAuthenticated.class,
-                exchange.getExchangeSpecification())
+                org.knowm.xchange.bitfinex.v2.BitfinexAuthenticated.class, exchange)
             .build();
     this.signatureV2 =
         BitfinexHmacSignature.createInstance(exchange.getExchangeSpecification().getSecretKey());
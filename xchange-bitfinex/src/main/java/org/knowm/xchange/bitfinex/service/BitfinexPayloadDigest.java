@@ -1,6 +1,6 @@
 package org.knowm.xchange.bitfinex.service;
 
-import java.util.Base64;
+import org.knowm.xchange.service.SignatureBuffer;
 import si.mazi.rescu.ParamsDigest;
 import si.mazi.rescu.RestInvocation;
 
@@ -9,7 +9,9 @@ public class BitfinexPayloadDigest implements ParamsDigest {
   @Override
   public synchronized String digestParams(RestInvocation restInvocation) {
 
-    String postBody = restInvocation.getRequestBody();
-    return Base64.getEncoder().encodeToString(postBody.getBytes());
+    return SignatureBuffer.forCurrentThread()
+        .append(restInvocation.getRequestBody())
+        .base64()
+        .toString();
   }
 }
@@ -1,9 +1,7 @@
 package org.knowm.xchange.bitfinex.v1;
 
-import java.math.BigInteger;
-import java.util.Base64;
-import javax.crypto.Mac;
 import org.knowm.xchange.service.BaseParamsDigest;
+import org.knowm.xchange.service.SignatureBuffer;
 import si.mazi.rescu.RestInvocation;
 
 public class BitfinexDigest extends BaseParamsDigest {
@@ -28,10 +26,10 @@ public class BitfinexDigest extends BaseParamsDigest {
   @Override
   public String digestParams(RestInvocation restInvocation) {
 
-    String postBody = restInvocation.getRequestBody();
-    Mac mac = getMac();
-    mac.update(Base64.getEncoder().encodeToString(postBody.getBytes()).getBytes());
-
-    return String.format("%096x", new BigInteger(1, mac.doFinal()));
+    return SignatureBuffer.forCurrentThread()
+        .append(restInvocation.getRequestBody())
+        .base64()
+        .hash(getMac())
+        .hashToHex();
   }
 }
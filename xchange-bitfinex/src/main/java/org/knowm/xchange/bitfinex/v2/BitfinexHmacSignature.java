@@ -6,12 +6,11 @@ import javax.ws.rs.HeaderParam;
 import lombok.extern.slf4j.Slf4j;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.service.BaseParamsDigest;
-import org.knowm.xchange.utils.DigestUtils;
+import org.knowm.xchange.service.SignatureBuffer;
 import si.mazi.rescu.RestInvocation;
 
 @Slf4j
 public class BitfinexHmacSignature extends BaseParamsDigest {
-  private static final String UTF_8 = "UTF-8";
   /**
    * Constructor
    *
@@ -46,14 +45,17 @@ public class BitfinexHmacSignature extends BaseParamsDigest {
     if (body == null || body.isEmpty()) {
       body = "{}";
     }
-    String toEncode = "/api/" + path + nonce + body;
 
     try {
-      byte[] sig = getMac().doFinal(toEncode.getBytes(UTF_8));
-      String signature = DigestUtils.bytesToHex(sig);
-      return signature;
-
-    } catch (IllegalStateException | UnsupportedEncodingException e) {
+      return SignatureBuffer.forCurrentThread()
+          .append("/api/")
+          .append(path)
+          .append(nonce)
+          .append(body)
+          .hash(getMac())
+          .hashToHex();
+
+    } catch (IllegalStateException e) {
       throw new ExchangeException("Could not sign the request", e);
     }
   }
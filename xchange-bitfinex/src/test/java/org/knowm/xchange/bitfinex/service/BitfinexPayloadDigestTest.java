@@ -0,0 +1,27 @@
+package org.knowm.xchange.bitfinex.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import si.mazi.rescu.RestInvocation;
+
+public class BitfinexPayloadDigestTest {
+
+  @Test
+  public void testDigestParams() {
+
+    // given
+    RestInvocation restInvocation = mock(RestInvocation.class);
+    when(restInvocation.getRequestBody())
+        .thenReturn("{\"request\":\"/v1/balances\",\"nonce\":\"1616492376594\"}");
+
+    // when
+    String payload = new BitfinexPayloadDigest().digestParams(restInvocation);
+
+    // then
+    assertThat(payload)
+        .isEqualTo("eyJyZXF1ZXN0IjoiL3YxL2JhbGFuY2VzIiwibm9uY2UiOiIxNjE2NDkyMzc2NTk0In0=");
+  }
+}
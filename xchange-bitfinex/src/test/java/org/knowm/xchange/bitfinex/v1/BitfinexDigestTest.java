@@ -0,0 +1,29 @@
+package org.knowm.xchange.bitfinex.v1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import si.mazi.rescu.RestInvocation;
+
+public class BitfinexDigestTest {
+
+  @Test
+  public void testDigestParams() {
+
+    // given
+    BitfinexDigest bitfinexDigest = BitfinexDigest.createInstance("bitfinex-secret");
+    RestInvocation restInvocation = mock(RestInvocation.class);
+    when(restInvocation.getRequestBody())
+        .thenReturn("{\"request\":\"/v1/balances\",\"nonce\":\"1616492376594\"}");
+
+    // when
+    String signature = bitfinexDigest.digestParams(restInvocation);
+
+    // then
+    assertThat(signature)
+        .isEqualTo(
+            "b6ac4a4f9617816a72bea8e59cf99b8ee2fafa8d5f42f61566913438c6abefb3fa36ab745b479772447d0396bbb1a5a1");
+  }
+}
@@ -0,0 +1,31 @@
+package org.knowm.xchange.bitfinex.v2;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.ws.rs.HeaderParam;
+import org.junit.Test;
+import si.mazi.rescu.RestInvocation;
+
+public class BitfinexHmacSignatureTest {
+
+  @Test
+  public void testDigestParamsWithoutBody() {
+
+    // given
+    BitfinexHmacSignature signature = BitfinexHmacSignature.createInstance("bitfinex-secret");
+    RestInvocation restInvocation = mock(RestInvocation.class);
+    when(restInvocation.getPath()).thenReturn("v2/auth/r/wallets");
+    when(restInvocation.getParamValue(HeaderParam.class, BitfinexAuthenticated.BFX_NONCE))
+        .thenReturn("1616492376594000");
+
+    // when
+    String sign = signature.digestParams(restInvocation);
+
+    // then
+    assertThat(sign)
+        .isEqualTo(
+            "47f0d6e2afe505efb407210e2b16aa74af5880d51d8869e76f77e85542514b8341b0d4c87d4ac9379fb4de2568535471");
+  }
+}
@@ -27,9 +27,7 @@ public class BitflyerBaseService extends BaseExchangeService implements BaseServ
 
     super(exchange);
 
-    this.bitflyer =
-        ExchangeRestProxyBuilder.forInterface(Bitflyer.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitflyer = ExchangeRestProxyBuilder.forInterface(Bitflyer.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         BitflyerDigest.createInstance(
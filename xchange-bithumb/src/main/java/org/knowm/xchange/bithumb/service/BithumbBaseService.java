@@ -25,15 +25,11 @@ public class BithumbBaseService extends BaseExchangeService implements BaseServi
     super(exchange);
 
     this.bithumbAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BithumbAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BithumbAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         BithumbDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
-    this.bithumb =
-        ExchangeRestProxyBuilder.forInterface(Bithumb.class, exchange.getExchangeSpecification())
-            .build();
+    this.bithumb = ExchangeRestProxyBuilder.forInterface(Bithumb.class, exchange).build();
     this.endpointGenerator = new BithumbEndpointGenerator();
   }
 }
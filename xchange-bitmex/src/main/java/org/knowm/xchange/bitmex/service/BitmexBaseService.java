@@ -34,10 +34,7 @@ public class BitmexBaseService extends BaseExchangeService<BitmexExchange> imple
    */
   public BitmexBaseService(BitmexExchange exchange) {
     super(exchange);
-    bitmex =
-        ExchangeRestProxyBuilder.forInterface(
-                BitmexAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    bitmex = ExchangeRestProxyBuilder.forInterface(BitmexAuthenticated.class, exchange).build();
     signatureCreator =
         BitmexDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
   }
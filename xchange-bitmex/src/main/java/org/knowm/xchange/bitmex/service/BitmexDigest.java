@@ -3,7 +3,7 @@ package org.knowm.xchange.bitmex.service;
 import java.util.Base64;
 import javax.ws.rs.HeaderParam;
 import org.knowm.xchange.service.BaseParamsDigest;
-import org.knowm.xchange.utils.DigestUtils;
+import org.knowm.xchange.service.SignatureBuffer;
 import si.mazi.rescu.RestInvocation;
 
 public class BitmexDigest extends BaseParamsDigest {
@@ -42,14 +42,17 @@ public class BitmexDigest extends BaseParamsDigest {
   @Override
   public String digestParams(RestInvocation restInvocation) {
 
-    String nonce = restInvocation.getParamValue(HeaderParam.class, "api-expires").toString();
-    String path = restInvocation.getInvocationUrl().split(restInvocation.getBaseUrl())[1];
-    String payload =
-        restInvocation.getHttpMethod() + path + nonce + restInvocation.getRequestBody();
-    return digestString(payload);
+    String path = restInvocation.getInvocationUrl().substring(restInvocation.getBaseUrl().length());
+    return SignatureBuffer.forCurrentThread()
+        .append(restInvocation.getHttpMethod())
+        .append(path)
+        .append(restInvocation.getParamValue(HeaderParam.class, "api-expires"))
+        .append(String.valueOf(restInvocation.getRequestBody()))
+        .hash(getMac())
+        .hashToHex();
   }
 
   public String digestString(String payload) {
-    return DigestUtils.bytesToHex(getMac().doFinal(payload.getBytes())).toLowerCase();
+    return SignatureBuffer.forCurrentThread().append(payload).hash(getMac()).hashToHex();
   }
 }
@@ -0,0 +1,35 @@
+package org.knowm.xchange.bitmex.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.ws.rs.HeaderParam;
+import org.junit.Test;
+import si.mazi.rescu.RestInvocation;
+
+public class BitmexDigestTest {
+
+  @Test
+  public void testDigestParams() {
+
+    // given: the POST example of the BitMEX API key usage documentation
+    BitmexDigest bitmexDigest =
+        BitmexDigest.createInstance("chNOOS4KvNXR_Xq4k4c9qsfoKWvnDecLATCRlcBwyKDYnWgO");
+    RestInvocation restInvocation = mock(RestInvocation.class);
+    when(restInvocation.getBaseUrl()).thenReturn("https://www.bitmex.com");
+    when(restInvocation.getInvocationUrl()).thenReturn("https://www.bitmex.com/api/v1/order");
+    when(restInvocation.getHttpMethod()).thenReturn("POST");
+    when(restInvocation.getParamValue(HeaderParam.class, "api-expires")).thenReturn(1518064238L);
+    when(restInvocation.getRequestBody())
+        .thenReturn(
+            "{\"symbol\":\"XBTM15\",\"price\":219.0,\"clOrdID\":\"mm_bitmex_1a/oemUeQ4CAJZgP3fjHsA\",\"orderQty\":98}");
+
+    // when
+    String signature = bitmexDigest.digestParams(restInvocation);
+
+    // then
+    assertThat(signature)
+        .isEqualTo("1749cd2ccae4aa49048ae09f0b95110cee706e0944e6a14ad0b3a8cb45bd336b");
+  }
+}
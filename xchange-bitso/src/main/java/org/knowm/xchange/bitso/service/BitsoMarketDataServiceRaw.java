@@ -17,9 +17,7 @@ public class BitsoMarketDataServiceRaw extends BitsoBaseService {
 
   public BitsoMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
-    this.bitso =
-        ExchangeRestProxyBuilder.forInterface(Bitso.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitso = ExchangeRestProxyBuilder.forInterface(Bitso.class, exchange).build();
   }
 
   public BitsoOrderBook getBitsoOrderBook(CurrencyPair pair) throws IOException {
@@ -19,9 +19,7 @@ public class BitsoTradeServiceRaw extends BitsoBaseService {
 
     super(exchange);
     this.bitsoAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BitsoAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitsoAuthenticated.class, exchange).build();
     this.signatureCreator =
         BitsoDigest.createInstance(
             exchange.getExchangeSpecification().getSecretKey(),
@@ -20,9 +20,7 @@ public class BitstampMarketDataServiceRaw extends BitstampBaseService {
   public BitstampMarketDataServiceRaw(Exchange exchange) {
 
     super(exchange);
-    this.bitstampV2 =
-        ExchangeRestProxyBuilder.forInterface(BitstampV2.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitstampV2 = ExchangeRestProxyBuilder.forInterface(BitstampV2.class, exchange).build();
   }
 
   public BitstampTicker getBitstampTicker(CurrencyPair pair) throws IOException {
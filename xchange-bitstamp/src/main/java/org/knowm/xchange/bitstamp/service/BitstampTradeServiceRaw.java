@@ -35,13 +35,9 @@ public class BitstampTradeServiceRaw extends BitstampBaseService {
 
     super(exchange);
     this.bitstampAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BitstampAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitstampAuthenticated.class, exchange).build();
     this.bitstampAuthenticatedV2 =
-        ExchangeRestProxyBuilder.forInterface(
-                BitstampAuthenticatedV2.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitstampAuthenticatedV2.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.apiKeyForV2Requests = "BITSTAMP " + apiKey;
     this.nonceFactory = exchange.getNonceFactory();
@@ -40,9 +40,7 @@ public class BittrexExchange extends BaseExchange implements Exchange {
   @Override
   protected void initServices() {
     BittrexAuthenticated bittrex =
-        ExchangeRestProxyBuilder.forInterface(
-                BittrexAuthenticated.class, getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BittrexAuthenticated.class, this).build();
     this.marketDataService = new BittrexMarketDataService(this, bittrex, getResilienceRegistries());
     this.accountService = new BittrexAccountService(this, bittrex, getResilienceRegistries());
     this.tradeService = new BittrexTradeService(this, bittrex, getResilienceRegistries());
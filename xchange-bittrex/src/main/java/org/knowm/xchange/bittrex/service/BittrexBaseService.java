@@ -28,9 +28,7 @@ public class BittrexBaseService extends BaseResilientExchangeService<BittrexExch
 
     super(exchange, resilienceRegistries);
     this.bittrexAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BittrexAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BittrexAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.contentCreator =
         BittrexContentDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
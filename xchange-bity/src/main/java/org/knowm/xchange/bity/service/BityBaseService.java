@@ -20,10 +20,7 @@ public class BityBaseService extends BaseExchangeService implements BaseService
   protected BityBaseService(Exchange exchange) {
     super(exchange);
 
-    bity =
-        ExchangeRestProxyBuilder.forInterface(
-                BityAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    bity = ExchangeRestProxyBuilder.forInterface(BityAuthenticated.class, exchange).build();
   }
 
   public BityToken createToken() throws BityException {
@@ -12,8 +12,6 @@ public class BitZBaseService extends BaseExchangeService implements BaseService
 
   public BitZBaseService(Exchange exchange) {
     super(exchange);
-    this.bitz =
-        ExchangeRestProxyBuilder.forInterface(BitZ.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitz = ExchangeRestProxyBuilder.forInterface(BitZ.class, exchange).build();
   }
 }
@@ -28,13 +28,9 @@ public class BitZTradeServiceRaw extends BitZBaseService {
   public BitZTradeServiceRaw(Exchange exchange) {
     super(exchange);
 
-    this.bitz =
-        ExchangeRestProxyBuilder.forInterface(BitZ.class, exchange.getExchangeSpecification())
-            .build();
+    this.bitz = ExchangeRestProxyBuilder.forInterface(BitZ.class, exchange).build();
     this.bitzAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                BitZAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BitZAuthenticated.class, exchange).build();
 
     // TODO: Implement Password
     this.tradePwd = "";
@@ -19,10 +19,7 @@ public class Bl3pBaseService extends BaseExchangeService implements BaseService
     super(exchange);
 
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
-    this.bl3p =
-        ExchangeRestProxyBuilder.forInterface(
-                Bl3pAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    this.bl3p = ExchangeRestProxyBuilder.forInterface(Bl3pAuthenticated.class, exchange).build();
     this.nonceFactory = this.exchange.getNonceFactory();
     this.signatureCreator =
         Bl3pDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
@@ -24,8 +24,7 @@ public class BleutradeBaseService extends BaseExchangeService implements BaseSer
     super(exchange);
 
     this.bleutrade =
-        ExchangeRestProxyBuilder.forInterface(
-                BleutradeAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(BleutradeAuthenticated.class, exchange)
             .restProxyFactory(restProxyFactory)
             .build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
@@ -13,9 +13,7 @@ public class BlockchainBaseService extends BaseExchangeService implements BaseSe
 
   protected BlockchainBaseService(Exchange exchange) {
     super(exchange);
-    this.blockchain =
-        ExchangeRestProxyBuilder.forInterface(Blockchain.class, exchange.getExchangeSpecification())
-            .build();
+    this.blockchain = ExchangeRestProxyBuilder.forInterface(Blockchain.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
   }
 }
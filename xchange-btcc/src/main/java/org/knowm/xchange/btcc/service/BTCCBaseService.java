@@ -18,9 +18,6 @@ public class BTCCBaseService<T extends BTCC> extends BaseExchangeService impleme
             exchange
                 .getExchangeSpecification()
                 .getExchangeSpecificParametersItem(BTCCExchange.DATA_API_URI_KEY);
-    this.btcc =
-        ExchangeRestProxyBuilder.forInterface(type, exchange.getExchangeSpecification())
-            .baseUrl(baseUrl)
-            .build();
+    this.btcc = ExchangeRestProxyBuilder.forInterface(type, exchange).baseUrl(baseUrl).build();
   }
 }
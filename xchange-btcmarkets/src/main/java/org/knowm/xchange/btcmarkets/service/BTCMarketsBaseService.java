@@ -23,12 +23,11 @@ public class BTCMarketsBaseService extends BaseExchangeService implements BaseSe
   public BTCMarketsBaseService(Exchange exchange) {
     super(exchange);
     final ExchangeSpecification spec = exchange.getExchangeSpecification();
-    this.btcm = ExchangeRestProxyBuilder.forInterface(BTCMarketsAuthenticated.class, spec).build();
+    this.btcm =
+        ExchangeRestProxyBuilder.forInterface(BTCMarketsAuthenticated.class, exchange).build();
     this.btcmv3 =
-        ExchangeRestProxyBuilder.forInterface(BTCMarketsAuthenticatedV3.class, spec).build();
-    this.btcmPublic =
-        ExchangeRestProxyBuilder.forInterface(BTCMarkets.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(BTCMarketsAuthenticatedV3.class, exchange).build();
+    this.btcmPublic = ExchangeRestProxyBuilder.forInterface(BTCMarkets.class, exchange).build();
     if (spec.getSecretKey() != null) {
       this.signerV1 = new BTCMarketsDigest(spec.getSecretKey(), false);
       this.signerV2 = new BTCMarketsDigest(spec.getSecretKey(), true);
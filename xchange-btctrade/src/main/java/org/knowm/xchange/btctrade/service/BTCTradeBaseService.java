@@ -33,7 +33,7 @@ public class BTCTradeBaseService extends BaseExchangeService implements BaseServ
                     "CN=www.33option.com,OU=IT,O=OPTIONFORTUNE TRADE LIMITED,L=KOWLOON,ST=HONGKONG,C=HK"));
 
     btcTrade =
-        ExchangeRestProxyBuilder.forInterface(BTCTrade.class, exchangeSpecification)
+        ExchangeRestProxyBuilder.forInterface(BTCTrade.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
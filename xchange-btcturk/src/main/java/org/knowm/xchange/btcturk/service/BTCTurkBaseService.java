@@ -20,10 +20,7 @@ public class BTCTurkBaseService extends BaseExchangeService implements BaseServi
 
     super(exchange);
 
-    btcTurk =
-        ExchangeRestProxyBuilder.forInterface(
-                BTCTurkAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    btcTurk = ExchangeRestProxyBuilder.forInterface(BTCTurkAuthenticated.class, exchange).build();
     signatureCreator =
         BTCTurkDigest.createInstance(
             exchange.getExchangeSpecification().getSecretKey(),
@@ -24,9 +24,7 @@ public class CCEXBaseService extends BaseExchangeService implements BaseService
     super(exchange);
 
     this.cCEXAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                CCEXAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CCEXAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         CCEXDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
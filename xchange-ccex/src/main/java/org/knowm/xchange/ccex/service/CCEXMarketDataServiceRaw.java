@@ -20,9 +20,7 @@ public class CCEXMarketDataServiceRaw extends CCEXBaseService {
 
   public CCEXMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
-    this.ccex =
-        ExchangeRestProxyBuilder.forInterface(CCEX.class, exchange.getExchangeSpecification())
-            .build();
+    this.ccex = ExchangeRestProxyBuilder.forInterface(CCEX.class, exchange).build();
   }
 
   public CCEXGetorderbook getCCEXOrderBook(CurrencyPair pair, int depth) throws IOException {
@@ -22,9 +22,7 @@ public class CexIOBaseService extends BaseExchangeService implements BaseService
     super(exchange);
 
     cexIOAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                CexIOAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CexIOAuthenticated.class, exchange).build();
     signatureCreator =
         CexIODigest.createInstance(
             exchange.getExchangeSpecification().getSecretKey(),
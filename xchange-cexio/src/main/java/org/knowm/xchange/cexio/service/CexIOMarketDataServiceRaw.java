@@ -25,9 +25,7 @@ public class CexIOMarketDataServiceRaw extends CexIOBaseService {
 
     super(exchange);
 
-    this.cexio =
-        ExchangeRestProxyBuilder.forInterface(CexIO.class, exchange.getExchangeSpecification())
-            .build();
+    this.cexio = ExchangeRestProxyBuilder.forInterface(CexIO.class, exchange).build();
   }
 
   List<CexIOTicker> getAllCexIOTickers() throws IOException {
@@ -19,9 +19,7 @@ public class CobinhoodBaseService extends BaseExchangeService implements BaseSer
   protected CobinhoodBaseService(Exchange exchange) {
     super(exchange);
     this.cobinhood =
-        ExchangeRestProxyBuilder.forInterface(
-                CobinhoodAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CobinhoodAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
   }
 }
@@ -29,10 +29,7 @@ public class CoinbaseBaseService extends BaseExchangeService implements BaseServ
 
     super(exchange);
 
-    coinbase =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinbaseAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    coinbase = ExchangeRestProxyBuilder.forInterface(CoinbaseAuthenticated.class, exchange).build();
     signatureCreator =
         CoinbaseDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
   }
@@ -26,10 +26,7 @@ public class CoinbaseBaseService extends BaseExchangeService implements BaseServ
   protected CoinbaseBaseService(Exchange exchange) {
 
     super(exchange);
-    coinbase =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinbaseAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    coinbase = ExchangeRestProxyBuilder.forInterface(CoinbaseAuthenticated.class, exchange).build();
 
     signatureCreator2 =
         CoinbaseV2Digest.createInstance(exchange.getExchangeSpecification().getSecretKey());
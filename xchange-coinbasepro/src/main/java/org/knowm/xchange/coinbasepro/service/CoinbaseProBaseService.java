@@ -24,10 +24,7 @@ public class CoinbaseProBaseService extends BaseResilientExchangeService<Coinbas
       CoinbaseProExchange exchange, ResilienceRegistries resilienceRegistries) {
 
     super(exchange, resilienceRegistries);
-    coinbasePro =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinbasePro.class, exchange.getExchangeSpecification())
-            .build();
+    coinbasePro = ExchangeRestProxyBuilder.forInterface(CoinbasePro.class, exchange).build();
     digest = CoinbaseProDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
     apiKey = exchange.getExchangeSpecification().getApiKey();
     passphrase =
@@ -1,11 +1,10 @@
 package org.knowm.xchange.coinbasepro.service;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import javax.crypto.Mac;
 import javax.ws.rs.HeaderParam;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.service.BaseParamsDigest;
+import org.knowm.xchange.service.SignatureBuffer;
 import si.mazi.rescu.RestInvocation;
 
 public class CoinbaseProDigest extends BaseParamsDigest {
@@ -25,23 +24,26 @@ public class CoinbaseProDigest extends BaseParamsDigest {
   @Override
   public String digestParams(RestInvocation restInvocation) {
 
+    Object timestamp = restInvocation.getParamValue(HeaderParam.class, "CB-ACCESS-TIMESTAMP");
+    if (timestamp == null) {
+      throw new ExchangeException("Cannot sign a request without a CB-ACCESS-TIMESTAMP header");
+    }
     String pathWithQueryString =
         restInvocation.getInvocationUrl().replace(restInvocation.getBaseUrl(), "");
-    String message =
-        restInvocation.getParamValue(HeaderParam.class, "CB-ACCESS-TIMESTAMP").toString()
-            + restInvocation.getHttpMethod()
-            + pathWithQueryString
-            + (restInvocation.getRequestBody() != null ? restInvocation.getRequestBody() : "");
-
-    Mac mac256 = getMac();
 
     try {
-      mac256.update(message.getBytes(StandardCharsets.UTF_8));
+      signature =
+          SignatureBuffer.forCurrentThread()
+              .append(timestamp)
+              .append(restInvocation.getHttpMethod())
+              .append(pathWithQueryString)
+              .append(restInvocation.getRequestBody())
+              .hash(getMac())
+              .hashToBase64();
     } catch (Exception e) {
       throw new ExchangeException("Digest encoding exception", e);
     }
 
-    signature = Base64.getEncoder().encodeToString(mac256.doFinal());
     return signature;
   }
 
@@ -0,0 +1,52 @@
+package org.knowm.xchange.coinbasepro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.ws.rs.HeaderParam;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.exceptions.ExchangeException;
+import si.mazi.rescu.RestInvocation;
+
+public class CoinbaseProDigestTest {
+
+  private CoinbaseProDigest coinbaseProDigest;
+  private RestInvocation restInvocation;
+
+  @Before
+  public void init() {
+    coinbaseProDigest =
+        CoinbaseProDigest.createInstance("Y29pbmJhc2UtcHJvLXNlY3JldA=="); // 'coinbase-pro-secret'
+    restInvocation = mock(RestInvocation.class);
+    when(restInvocation.getBaseUrl()).thenReturn("https://api.pro.coinbase.com");
+    when(restInvocation.getInvocationUrl()).thenReturn("https://api.pro.coinbase.com/orders");
+    when(restInvocation.getHttpMethod()).thenReturn("POST");
+    when(restInvocation.getRequestBody())
+        .thenReturn(
+            "{\"size\":\"0.01\",\"price\":\"0.100\",\"side\":\"buy\",\"product_id\":\"BTC-USD\"}");
+  }
+
+  @Test
+  public void testDigestParams() {
+
+    // given
+    when(restInvocation.getParamValue(HeaderParam.class, "CB-ACCESS-TIMESTAMP"))
+        .thenReturn("1616492376");
+
+    // when
+    String signature = coinbaseProDigest.digestParams(restInvocation);
+
+    // then
+    assertThat(signature).isEqualTo("NNItJpU3atMauQL/4HPm10GFaiHmbe8BNoef5sC+/us=");
+  }
+
+  @Test
+  public void testDigestParamsWithoutTimestamp() {
+
+    assertThatThrownBy(() -> coinbaseProDigest.digestParams(restInvocation))
+        .isInstanceOf(ExchangeException.class);
+  }
+}
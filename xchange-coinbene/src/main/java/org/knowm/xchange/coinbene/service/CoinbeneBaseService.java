@@ -29,9 +29,7 @@ public class CoinbeneBaseService extends BaseExchangeService implements BaseServ
   protected CoinbeneBaseService(Exchange exchange) {
     super(exchange);
     this.coinbene =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinbeneAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinbeneAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.secretKey = exchange.getExchangeSpecification().getSecretKey();
   }
@@ -14,10 +14,7 @@ public class CoindealBaseService extends BaseExchangeService implements BaseServ
 
   public CoindealBaseService(Exchange exchange) {
     super(exchange);
-    coindeal =
-        ExchangeRestProxyBuilder.forInterface(
-                CoindealAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    coindeal = ExchangeRestProxyBuilder.forInterface(CoindealAuthenticated.class, exchange).build();
     basicAuthentication =
         CoindealDigest.createInstance(
             exchange.getExchangeSpecification().getSecretKey(),
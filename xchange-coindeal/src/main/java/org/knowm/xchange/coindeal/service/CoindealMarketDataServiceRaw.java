@@ -16,9 +16,7 @@ public class CoindealMarketDataServiceRaw extends CoindealBaseService {
 
   public CoindealMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
-    this.coindeal =
-        ExchangeRestProxyBuilder.forInterface(Coindeal.class, exchange.getExchangeSpecification())
-            .build();
+    this.coindeal = ExchangeRestProxyBuilder.forInterface(Coindeal.class, exchange).build();
   }
 
   public CoindealOrderBook getCoindealOrderbook(CurrencyPair currencyPair) throws IOException {
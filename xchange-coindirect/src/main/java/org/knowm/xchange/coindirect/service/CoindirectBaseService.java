@@ -24,9 +24,7 @@ public class CoindirectBaseService extends BaseExchangeService implements BaseSe
     super(exchange);
 
     this.coindirect =
-        ExchangeRestProxyBuilder.forInterface(
-                CoindirectAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoindirectAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         CoindirectHawkDigest.createInstance(
@@ -27,9 +27,7 @@ public class CoinEggAccountServiceRaw extends CoinEggBaseService {
     this.tradePassword = spec.getPassword();
     this.nonceFactory = exchange.getNonceFactory();
     this.coinEggAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinEggAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinEggAuthenticated.class, exchange).build();
   }
 
   public CoinEggBalance getCoinEggBalance() throws IOException {
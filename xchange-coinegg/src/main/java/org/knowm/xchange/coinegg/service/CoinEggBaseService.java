@@ -12,8 +12,6 @@ public class CoinEggBaseService extends BaseExchangeService implements BaseServi
 
   public CoinEggBaseService(Exchange exchange) {
     super(exchange);
-    this.coinEgg =
-        ExchangeRestProxyBuilder.forInterface(CoinEgg.class, exchange.getExchangeSpecification())
-            .build();
+    this.coinEgg = ExchangeRestProxyBuilder.forInterface(CoinEgg.class, exchange).build();
   }
 }
@@ -30,9 +30,7 @@ public class CoinEggTradeServiceRaw extends CoinEggBaseService {
     this.tradePassword = spec.getPassword();
     this.nonceFactory = exchange.getNonceFactory();
     this.coinEggAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinEggAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinEggAuthenticated.class, exchange).build();
   }
 
   // TODO: Sort Out Method Grammar
@@ -21,9 +21,7 @@ public class CoinexBaseService extends BaseExchangeService implements BaseServic
   protected CoinexBaseService(Exchange exchange) {
     super(exchange);
     this.coinex =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinexAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinexAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
   }
 }
@@ -31,8 +31,7 @@ public class CoinfloorAuthenticatedService extends CoinfloorService {
             ClientConfigUtil.addBasicAuthCredentials(
                 config, specification.getUserName(), specification.getPassword());
     coinfloor =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinfloorAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(CoinfloorAuthenticated.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
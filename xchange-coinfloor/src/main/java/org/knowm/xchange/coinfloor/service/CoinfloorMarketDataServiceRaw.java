@@ -18,10 +18,7 @@ public class CoinfloorMarketDataServiceRaw extends BaseExchangeService {
   protected CoinfloorMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
 
-    coinfloor =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinfloorPublic.class, exchange.getExchangeSpecification())
-            .build();
+    coinfloor = ExchangeRestProxyBuilder.forInterface(CoinfloorPublic.class, exchange).build();
   }
 
   public CoinfloorTicker getCoinfloorTicker(CurrencyPair pair) throws IOException {
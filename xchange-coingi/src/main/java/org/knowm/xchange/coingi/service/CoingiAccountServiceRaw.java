@@ -19,9 +19,7 @@ public class CoingiAccountServiceRaw extends CoingiBaseService {
   protected CoingiAccountServiceRaw(Exchange exchange) {
     super(exchange);
     this.coingiAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                CoingiAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoingiAuthenticated.class, exchange).build();
     String apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         CoingiDigest.createInstance(
@@ -16,9 +16,7 @@ public class CoingiMarketDataServiceRaw extends CoingiBaseService {
 
   protected CoingiMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
-    coingi =
-        ExchangeRestProxyBuilder.forInterface(Coingi.class, exchange.getExchangeSpecification())
-            .build();
+    coingi = ExchangeRestProxyBuilder.forInterface(Coingi.class, exchange).build();
   }
 
   public CoingiOrderBook getCoingiOrderBook(
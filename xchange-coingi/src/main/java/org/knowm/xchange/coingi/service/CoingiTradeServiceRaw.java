@@ -18,9 +18,7 @@ public class CoingiTradeServiceRaw extends CoingiBaseService {
   public CoingiTradeServiceRaw(Exchange exchange) {
     super(exchange);
     this.coingiAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                CoingiAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoingiAuthenticated.class, exchange).build();
 
     String apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
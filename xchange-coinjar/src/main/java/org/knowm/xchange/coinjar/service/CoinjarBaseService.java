@@ -48,15 +48,13 @@ public class CoinjarBaseService extends BaseExchangeService implements BaseServi
     }
     final String baseUrlData = "https://data.exchange." + domain + ".com/";
     this.coinjarData =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinjarData.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(CoinjarData.class, exchange)
             .baseUrl(baseUrlData)
             .build();
 
     final String baseUrlTrading = "https://api.exchange." + domain + ".com/";
     this.coinjarTrading =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinjarTrading.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(CoinjarTrading.class, exchange)
             .baseUrl(baseUrlTrading)
             .build();
   }
@@ -22,9 +22,7 @@ class CoinMarketCapMarketDataServiceRaw extends BaseExchangeService implements B
 
     super(exchange);
     this.coinmarketcap =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinMarketCap.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinMarketCap.class, exchange).build();
   }
 
   public CoinMarketCapTicker getCoinMarketCapTicker(CurrencyPair pair) {
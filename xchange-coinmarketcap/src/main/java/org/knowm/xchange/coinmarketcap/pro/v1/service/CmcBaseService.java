@@ -16,8 +16,6 @@ class CmcBaseService extends BaseExchangeService implements BaseService {
 
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.cmcAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                CmcAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CmcAuthenticated.class, exchange).build();
   }
 }
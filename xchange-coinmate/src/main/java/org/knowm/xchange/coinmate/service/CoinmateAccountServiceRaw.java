@@ -43,9 +43,7 @@ public class CoinmateAccountServiceRaw extends CoinmateBaseService {
     super(exchange);
 
     this.coinmateAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinmateAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinmateAuthenticated.class, exchange).build();
     this.signatureCreator =
         CoinmateDigest.createInstance(
             exchange.getExchangeSpecification().getSecretKey(),
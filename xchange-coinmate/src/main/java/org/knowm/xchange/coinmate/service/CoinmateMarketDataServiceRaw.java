@@ -38,9 +38,7 @@ public class CoinmateMarketDataServiceRaw extends CoinmateBaseService {
 
   public CoinmateMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
-    this.coinmate =
-        ExchangeRestProxyBuilder.forInterface(Coinmate.class, exchange.getExchangeSpecification())
-            .build();
+    this.coinmate = ExchangeRestProxyBuilder.forInterface(Coinmate.class, exchange).build();
   }
 
   public CoinmateTicker getCoinmateTicker(String currencyPair) throws IOException {
@@ -13,9 +13,7 @@ public class CoinmateMetadataServiceRaw extends CoinmateBaseService {
     super(exchange);
 
     this.coinmateStatic =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinmateStatic.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinmateStatic.class, exchange).build();
   }
 
   public ExchangeMetaData getMetadata() throws IOException {
@@ -24,9 +24,7 @@ public class CoinoneBaseService extends BaseExchangeService implements BaseServi
   public CoinoneBaseService(Exchange exchange) {
     super(exchange);
     this.coinone =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinoneAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinoneAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.apiSecret = exchange.getExchangeSpecification().getSecretKey();
     this.url = exchange.getExchangeSpecification().getSslUri();
@@ -28,9 +28,7 @@ public class CoinsuperMarketDataServiceRaw extends CoinsuperBaseService {
     super(exchange);
 
     this.coinsuper =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinsuperAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinsuperAuthenticated.class, exchange).build();
 
     this.apiKey = super.apiKey;
     this.secretKey = super.secretKey;
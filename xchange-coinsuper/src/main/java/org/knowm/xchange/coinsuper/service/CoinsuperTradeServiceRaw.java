@@ -27,9 +27,7 @@ public class CoinsuperTradeServiceRaw extends CoinsuperBaseService {
     super(exchange);
 
     this.coinsuper =
-        ExchangeRestProxyBuilder.forInterface(
-                CoinsuperAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(CoinsuperAuthenticated.class, exchange).build();
 
     this.apiKey = super.apiKey;
     this.secretKey = super.secretKey;
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.client.RequestRateLimiter;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.meta.ExchangeMetaData;
 import org.knowm.xchange.exceptions.ExchangeException;
@@ -15,7 +16,9 @@ import org.knowm.xchange.service.BaseExchangeService;
 import org.knowm.xchange.service.account.AccountService;
 import org.knowm.xchange.service.marketdata.MarketDataService;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.utils.coordination.SharedState;
 import org.knowm.xchange.utils.nonce.CurrentTimeIncrementalNonceFactory;
+import org.knowm.xchange.utils.nonce.SharedNonceFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import si.mazi.rescu.SynchronizedValueFactory;
@@ -29,8 +32,9 @@ public abstract class BaseExchange implements Exchange {
   protected TradeService tradeService;
   protected AccountService accountService;
 
-  private final SynchronizedValueFactory<Long> nonceFactory =
+  private SynchronizedValueFactory<Long> nonceFactory =
       new CurrentTimeIncrementalNonceFactory(TimeUnit.MILLISECONDS);
+  private RequestRateLimiter requestRateLimiter;
 
   protected abstract void initServices();
 
@@ -105,6 +109,22 @@ public abstract class BaseExchange implements Exchange {
           "No \"exchange name\" found in the ExchangeSpecification. The name is used to load the meta data file from the classpath and may lead to unexpected results.");
     }
 
+    ExchangeSpecification.ResilienceSpecification resilience =
+        this.exchangeSpecification.getResilience();
+    SharedState sharedState = this.exchangeSpecification.getSharedState();
+    if (sharedState != null && !(nonceFactory instanceof SharedNonceFactory)) {
+      nonceFactory = new SharedNonceFactory(nonceFactory, sharedState, getSharedNonceName());
+    }
+    if (resilience.isRequestRateLimiterEnabled()
+        && resilience.getRequestRateLimiter() == null
+        && requestRateLimiter == null) {
+      // kept by this instance, as the specification may be applied to several
+      requestRateLimiter = createRequestRateLimiter();
+      if (sharedState != null) {
+        requestRateLimiter.share(sharedState, getClass().getSimpleName() + ".rate-limits");
+      }
+    }
+
     initServices();
 
     if (this.exchangeSpecification.isShouldLoadRemoteMetaData()) {
@@ -114,6 +134,10 @@ public abstract class BaseExchange implements Exchange {
       } catch (IOException e) {
         throw new ExchangeException(e);
       }
+      if (requestRateLimiter != null && exchangeMetaData != null) {
+        // follow the rate limits remoteInit may have fetched
+        requestRateLimiter.configure(exchangeMetaData);
+      }
     }
   }
 
@@ -130,6 +154,47 @@ public abstract class BaseExchange implements Exchange {
     return nonceFactory;
   }
 
+  /**
+   * @return the rate limiter set in the specification if any, otherwise the one this exchange
+   *     created with {@link #createRequestRateLimiter()}
+   */
+  @Override
+  public RequestRateLimiter getRequestRateLimiter() {
+    ExchangeSpecification.ResilienceSpecification resilience =
+        exchangeSpecification.getResilience();
+    if (!resilience.isRequestRateLimiterEnabled()) {
+      return null;
+    }
+    return resilience.getRequestRateLimiter() != null
+        ? resilience.getRequestRateLimiter()
+        : requestRateLimiter;
+  }
+
+  /**
+   * @return the name of the nonce of the API key in the {@link
+   *     ExchangeSpecification#getSharedState() shared state}, which processes trading with the same
+   *     key share
+   */
+  protected String getSharedNonceName() {
+
+    String apiKey = exchangeSpecification.getApiKey();
+    return getClass().getSimpleName()
+        + ".nonce"
+        + (apiKey == null ? "" : "." + Integer.toHexString(apiKey.hashCode()));
+  }
+
+  /**
+   * Creates the rate limiter shared by the REST clients of the exchange, unless the specification
+   * provides one. By default it enforces the rate limits of the meta data loaded from JSON.
+   * Exchanges override this method to follow rate limit headers of the exchange. The limiter is
+   * configured again with the meta data after {@link #remoteInit()}, which may fetch the rate
+   * limits.
+   */
+  protected RequestRateLimiter createRequestRateLimiter() {
+
+    return RequestRateLimiter.of(exchangeMetaData);
+  }
+
   protected void loadExchangeMetaData(InputStream is) {
 
     exchangeMetaData = loadMetaData(is, ExchangeMetaData.class);
@@ -3,6 +3,7 @@ package org.knowm.xchange;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import org.knowm.xchange.client.RequestRateLimiter;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.meta.ExchangeMetaData;
@@ -75,6 +76,16 @@ public interface Exchange {
     throw new NotYetImplementedForExchangeException();
   }
 
+  /**
+   * @return the rate limiter of the REST clients of this exchange instance, null if their calls are
+   *     not limited
+   */
+  default RequestRateLimiter getRequestRateLimiter() {
+    ExchangeSpecification.ResilienceSpecification resilience =
+        getExchangeSpecification().getResilience();
+    return resilience.isRequestRateLimiterEnabled() ? resilience.getRequestRateLimiter() : null;
+  }
+
   /**
    * @return A default ExchangeSpecification to use during the creation process if one is not
    *     supplied
@@ -4,6 +4,10 @@ import static org.knowm.xchange.ExchangeClassUtils.exchangeClassForName;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.client.RequestRateLimiter;
+import org.knowm.xchange.utils.coordination.SharedState;
+import si.mazi.rescu.IRestProxyFactory;
 
 /**
  * Specification to provide the following to {@link ExchangeFactory}:
@@ -32,6 +36,9 @@ public class ExchangeSpecification {
   private int httpConnTimeout = 0; // default rescu configuration will be used if value not changed
   private int httpReadTimeout = 0; // default rescu configuration will be used if value not changed
   private ResilienceSpecification resilience = new ResilienceSpecification();
+  private IRestProxyFactory restProxyFactory;
+  private Executor asyncExecutor;
+  private SharedState sharedState;
   private String metaDataJsonFileOverride = null;
   private boolean shouldLoadRemoteMetaData = true; // default value
   /** arbitrary exchange params that can be set for unique cases */
@@ -427,6 +434,75 @@ public class ExchangeSpecification {
     this.resilience = resilience;
   }
 
+  /**
+   * Get the factory of the REST proxies of the exchange.
+   *
+   * @return the factory, or null for rescu's default, which sends each request over a blocking
+   *     {@link java.net.HttpURLConnection}
+   */
+  public IRestProxyFactory getRestProxyFactory() {
+
+    return restProxyFactory;
+  }
+
+  /**
+   * Set the factory of the REST proxies of the exchange, for instance a {@link
+   * org.knowm.xchange.client.TransportRestProxyFactory} over a non-blocking HTTP client shared with
+   * other exchanges.
+   *
+   * @param restProxyFactory the factory, or null for rescu's default
+   */
+  public void setRestProxyFactory(IRestProxyFactory restProxyFactory) {
+
+    this.restProxyFactory = restProxyFactory;
+  }
+
+  /**
+   * Get the executor on which the services run blocking calls for their asynchronous methods.
+   *
+   * @return the executor, or null for {@link
+   *     org.knowm.xchange.service.ServiceExecutors#defaultExecutor()}
+   */
+  public Executor getAsyncExecutor() {
+
+    return asyncExecutor;
+  }
+
+  /**
+   * Set the executor on which the services run blocking calls for their asynchronous methods, for
+   * instance to bound the number of requests in flight.
+   *
+   * @param asyncExecutor the executor, or null for the default
+   */
+  public void setAsyncExecutor(Executor asyncExecutor) {
+
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  /**
+   * Get the state the exchange shares with other processes.
+   *
+   * @return the shared state, or null if the exchange does not share its nonces and rate limits
+   */
+  public SharedState getSharedState() {
+
+    return sharedState;
+  }
+
+  /**
+   * Set the state through which the exchange shares its nonces and the usage of its rate limits
+   * with the other processes using the same state, for instance a {@link
+   * org.knowm.xchange.utils.coordination.MappedFileSharedState} for the processes of a host. The
+   * nonces of the default nonce factory then increase across all processes, and the {@link
+   * RequestRateLimiter} the exchange creates counts the calls of all processes.
+   *
+   * @param sharedState the shared state, or null to keep nonces and rate limits per instance
+   */
+  public void setSharedState(SharedState sharedState) {
+
+    this.sharedState = sharedState;
+  }
+
   /**
    * Get the override file for generating the {@link org.knowm.xchange.dto.meta.ExchangeMetaData}
    * object. By default, the {@link org.knowm.xchange.dto.meta.ExchangeMetaData} object is loaded at
@@ -489,7 +565,8 @@ public class ExchangeSpecification {
   /**
    * Set uri to override websocket uri
    *
-   * @param overrideWebsocketApiUri The uri that will be used instead of standard exchange websocket uris
+   * @param overrideWebsocketApiUri The uri that will be used instead of standard exchange websocket
+   *     uris
    */
   public void setOverrideWebsocketApiUri(String overrideWebsocketApiUri) {
 
@@ -499,6 +576,8 @@ public class ExchangeSpecification {
   public static class ResilienceSpecification {
     private boolean retryEnabled = false;
     private boolean rateLimiterEnabled = false;
+    private boolean requestRateLimiterEnabled = true;
+    private RequestRateLimiter requestRateLimiter;
 
     /**
      * @see #setRetryEnabled(boolean)
@@ -538,5 +617,40 @@ public class ExchangeSpecification {
     public void setRateLimiterEnabled(boolean rateLimiterEnabled) {
       this.rateLimiterEnabled = rateLimiterEnabled;
     }
+
+    /**
+     * @see #setRequestRateLimiterEnabled(boolean)
+     * @return true if enabled
+     */
+    public boolean isRequestRateLimiterEnabled() {
+      return requestRateLimiterEnabled;
+    }
+
+    /**
+     * Flag that lets you disable the {@link RequestRateLimiter} which, by default, keeps the calls
+     * of every REST client of the exchange within the public and private rate limits of its {@link
+     * org.knowm.xchange.dto.meta.ExchangeMetaData}.
+     */
+    public void setRequestRateLimiterEnabled(boolean requestRateLimiterEnabled) {
+      this.requestRateLimiterEnabled = requestRateLimiterEnabled;
+    }
+
+    /**
+     * @return the rate limiter set for the REST clients of the exchange, null if each exchange
+     *     instance creates its own from its meta data
+     * @see Exchange#getRequestRateLimiter()
+     */
+    public RequestRateLimiter getRequestRateLimiter() {
+      return requestRateLimiter;
+    }
+
+    /**
+     * Set the rate limiter of the REST clients of the exchange instead of the one the exchange
+     * creates from its meta data, for instance to share one between exchange instances which call
+     * the exchange from the same address.
+     */
+    public void setRequestRateLimiter(RequestRateLimiter requestRateLimiter) {
+      this.requestRateLimiter = requestRateLimiter;
+    }
   }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.knowm.xchange.Exchange;
 import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.interceptor.InterceptorProvider;
 import si.mazi.rescu.ClientConfig;
@@ -20,7 +21,8 @@ public final class ExchangeRestProxyBuilder<T> {
   private ClientConfig clientConfig;
   private ResilienceRegistries resilienceRegistries;
   private String baseUrl;
-  private IRestProxyFactory restProxyFactory = new RestProxyFactoryImpl();
+  private IRestProxyFactory restProxyFactory;
+  private RequestRateLimiter requestRateLimiter;
 
   private ExchangeRestProxyBuilder(
       Class<T> restInterface, ExchangeSpecification exchangeSpecification) {
@@ -29,6 +31,10 @@ public final class ExchangeRestProxyBuilder<T> {
     this.baseUrl =
         Optional.ofNullable(exchangeSpecification.getSslUri())
             .orElseGet(exchangeSpecification::getPlainTextUri);
+    this.restProxyFactory =
+        Optional.ofNullable(exchangeSpecification.getRestProxyFactory())
+            .orElseGet(RestProxyFactoryImpl::new);
+    this.requestRateLimiter = exchangeSpecification.getResilience().getRequestRateLimiter();
   }
 
   public static <T> ExchangeRestProxyBuilder<T> forInterface(
@@ -37,6 +43,13 @@ public final class ExchangeRestProxyBuilder<T> {
         .customInterceptors(InterceptorProvider.provide());
   }
 
+  /** Builds a proxy for an exchange, limited by the rate limiter of the exchange instance. */
+  public static <T> ExchangeRestProxyBuilder<T> forInterface(
+      Class<T> restInterface, Exchange exchange) {
+    return forInterface(restInterface, exchange.getExchangeSpecification())
+        .requestRateLimiter(exchange.getRequestRateLimiter());
+  }
+
   public ExchangeRestProxyBuilder<T> clientConfig(ClientConfig value) {
     this.clientConfig = value;
     return this;
@@ -68,6 +81,12 @@ public final class ExchangeRestProxyBuilder<T> {
     return this;
   }
 
+  /** The rate limiter of the proxy, by default the one set in the specification, if any. */
+  public ExchangeRestProxyBuilder<T> requestRateLimiter(RequestRateLimiter requestRateLimiter) {
+    this.requestRateLimiter = requestRateLimiter;
+    return this;
+  }
+
   public T build() {
     if (clientConfig == null) {
       clientConfig = createClientConfig(exchangeSpecification);
@@ -77,8 +96,17 @@ public final class ExchangeRestProxyBuilder<T> {
     }
     clientConfigCustomizers.forEach(
         clientConfigCustomizer -> clientConfigCustomizer.customize(clientConfig));
+    List<Interceptor> interceptors = new ArrayList<>(customInterceptors);
+    if (exchangeSpecification.getSharedState() != null) {
+      interceptors.add(new SharedNonceInterceptor());
+    }
+    ExchangeSpecification.ResilienceSpecification resilience =
+        exchangeSpecification.getResilience();
+    if (resilience.isRequestRateLimiterEnabled() && requestRateLimiter != null) {
+      interceptors.add(new RateLimitInterceptor(requestRateLimiter));
+    }
     return restProxyFactory.createProxy(
-        restInterface, baseUrl, clientConfig, customInterceptors.toArray(new Interceptor[0]));
+        restInterface, baseUrl, clientConfig, interceptors.toArray(new Interceptor[0]));
   }
 
   /**
@@ -0,0 +1,164 @@
+package org.knowm.xchange.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import si.mazi.rescu.HttpResponseAware;
+import si.mazi.rescu.HttpStatusException;
+import si.mazi.rescu.Interceptor;
+import si.mazi.rescu.ParamsDigest;
+import si.mazi.rescu.SynchronizedValueFactory;
+
+/**
+ * Passes the calls of a REST proxy through a {@link RequestRateLimiter}. Calls with a {@link
+ * ParamsDigest} or a nonce argument count as private, and each call weighs its {@link
+ * RequestWeight}. Calls returning a {@link CompletableFuture} or {@link CompletionStage} are
+ * scheduled once they fit in the rate limits, instead of blocking the calling thread.
+ */
+final class RateLimitInterceptor implements Interceptor {
+
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final int IP_BANNED = 418;
+
+  private final RequestRateLimiter rateLimiter;
+  private final Map<Method, Weigher> weighers = new ConcurrentHashMap<>();
+
+  RateLimitInterceptor(RequestRateLimiter rateLimiter) {
+    this.rateLimiter = rateLimiter;
+  }
+
+  @Override
+  public Object aroundInvoke(
+      InvocationHandler invocationHandler, Object proxy, Method method, Object[] args)
+      throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return invocationHandler.invoke(proxy, method, args);
+    }
+    boolean privateCall = isPrivate(args);
+    int weight = weighers.computeIfAbsent(method, Weigher::new).weigh(args);
+    if (isAsync(method)) {
+      return rateLimiter
+          .acquireAsync(privateCall, weight)
+          .thenCompose(
+              acquired -> invokeAsync(invocationHandler, proxy, method, args, privateCall));
+    }
+    rateLimiter.acquire(privateCall, weight);
+    Object result;
+    try {
+      result = invocationHandler.invoke(proxy, method, args);
+    } catch (Throwable e) {
+      onError(privateCall, e);
+      throw e;
+    }
+    if (result instanceof CompletionStage) {
+      onCompletion((CompletionStage<?>) result, privateCall);
+    } else {
+      onResult(result);
+    }
+    return result;
+  }
+
+  private CompletionStage<?> invokeAsync(
+      InvocationHandler invocationHandler,
+      Object proxy,
+      Method method,
+      Object[] args,
+      boolean privateCall) {
+    CompletionStage<?> result;
+    try {
+      result = (CompletionStage<?>) invocationHandler.invoke(proxy, method, args);
+    } catch (Throwable e) {
+      onError(privateCall, e);
+      CompletableFuture<?> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+    onCompletion(result, privateCall);
+    return result;
+  }
+
+  private void onCompletion(CompletionStage<?> result, boolean privateCall) {
+    result.whenComplete(
+        (value, e) -> {
+          if (e != null) {
+            onError(privateCall, e instanceof CompletionException ? e.getCause() : e);
+          } else {
+            onResult(value);
+          }
+        });
+  }
+
+  private void onResult(Object result) {
+    if (result instanceof HttpResponseAware) {
+      rateLimiter.onResponse(((HttpResponseAware) result).getResponseHeaders());
+    }
+  }
+
+  private void onError(boolean privateCall, Throwable e) {
+    if (e instanceof HttpStatusException) {
+      int status = ((HttpStatusException) e).getHttpStatusCode();
+      if (status == TOO_MANY_REQUESTS || status == IP_BANNED) {
+        rateLimiter.onRateLimitExceeded(
+            privateCall,
+            e instanceof HttpResponseAware ? ((HttpResponseAware) e).getResponseHeaders() : null);
+        return;
+      }
+    }
+    onResult(e);
+  }
+
+  /** Whether the method returns a stage which a {@link CompletableFuture} can stand for. */
+  private static boolean isAsync(Method method) {
+    Class<?> returnType = method.getReturnType();
+    return CompletionStage.class.isAssignableFrom(returnType)
+        && returnType.isAssignableFrom(CompletableFuture.class);
+  }
+
+  private static boolean isPrivate(Object[] args) {
+    if (args != null) {
+      for (Object arg : args) {
+        if (arg instanceof ParamsDigest || arg instanceof SynchronizedValueFactory) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static final class Weigher {
+
+    private final int weight;
+    private final RequestWeight.Function function;
+
+    private Weigher(Method method) {
+      RequestWeight requestWeight = method.getAnnotation(RequestWeight.class);
+      if (requestWeight == null) {
+        weight = 1;
+        function = null;
+      } else {
+        weight = requestWeight.value();
+        function =
+            requestWeight.function() == RequestWeight.Constant.class
+                ? null
+                : newFunction(requestWeight.function());
+      }
+    }
+
+    private int weigh(Object[] args) {
+      return function == null ? weight : function.weigh(weight, args);
+    }
+
+    private static RequestWeight.Function newFunction(
+        Class<? extends RequestWeight.Function> type) {
+      try {
+        return type.getConstructor().newInstance();
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalArgumentException("Cannot create " + type.getName(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,484 @@
+package org.knowm.xchange.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.dto.meta.RateLimit;
+import org.knowm.xchange.exceptions.RateLimitExceededException;
+import org.knowm.xchange.utils.coordination.SharedState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the calls to the REST API of an exchange within its rate limits, as described by the public
+ * and private {@link RateLimit}s of its {@link ExchangeMetaData}. Each call is counted by its
+ * {@link RequestWeight} against every limit that applies to it. A call which does not fit in a
+ * limit waits for the next period of that limit, up to {@link #maxWait(Duration)}: asynchronous
+ * calls are scheduled for then instead of blocking a thread, see {@link #acquireAsync(boolean,
+ * int)}.
+ *
+ * <p>Periods are aligned to the epoch, so that a limit of 1200 per minute restarts at every minute,
+ * as most exchanges count them. The limiter can also follow the count of the exchange, as reported
+ * in response headers such as Binance's {@code X-MBX-USED-WEIGHT-1M}, and it stops calling the
+ * exchange when it answers with HTTP 429 or 418.
+ *
+ * <p>Every exchange gets one from its meta data by default, see {@link
+ * org.knowm.xchange.ExchangeSpecification.ResilienceSpecification#setRequestRateLimiter(RequestRateLimiter)}.
+ * Instances are thread-safe, and may be shared by exchanges which share rate limits, such as
+ * several instances of an exchange behind the same IP address. Processes calling the exchange from
+ * the same address or with the same key can also count their calls together, see {@link
+ * #share(SharedState, String)}.
+ */
+public final class RequestRateLimiter {
+
+  public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+  private static final Logger LOG = LoggerFactory.getLogger(RequestRateLimiter.class);
+
+  private static final Window[] NO_WINDOWS = {};
+
+  /** The shared state holds the pause, then the key, start and used weight of each window. */
+  private static final int SHARED_WINDOWS = 16;
+
+  private static final int SHARED_LENGTH = 1 + 3 * SHARED_WINDOWS;
+
+  private final LongSupplier clock;
+  private final Sleeper sleeper;
+  private final Scheduler scheduler;
+  private final Map<String, Long> usedWeightHeaders = new LinkedHashMap<>();
+  private Window[] publicWindows = NO_WINDOWS;
+  private Window[] privateWindows = NO_WINDOWS;
+  private long maxWaitMillis = DEFAULT_MAX_WAIT.toMillis();
+  private long pausedUntil;
+  private SharedState sharedState;
+  private String sharedName;
+
+  /** A limiter without any limit until {@link #configure configured}. */
+  public RequestRateLimiter() {
+    this(System::currentTimeMillis, Thread::sleep);
+  }
+
+  RequestRateLimiter(LongSupplier clock, Sleeper sleeper) {
+    this(
+        clock,
+        sleeper,
+        (task, millis) ->
+            CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS).execute(task));
+  }
+
+  RequestRateLimiter(LongSupplier clock, Sleeper sleeper, Scheduler scheduler) {
+    this.clock = clock;
+    this.sleeper = sleeper;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * @param exchangeMetaData the meta data, possibly null
+   * @return a limiter enforcing the rate limits of the meta data
+   */
+  public static RequestRateLimiter of(ExchangeMetaData exchangeMetaData) {
+    return new RequestRateLimiter().configure(exchangeMetaData);
+  }
+
+  /**
+   * Enforces the rate limits of meta data, for instance once they have been fetched from the
+   * exchange.
+   *
+   * @param exchangeMetaData the meta data, possibly null
+   */
+  public RequestRateLimiter configure(ExchangeMetaData exchangeMetaData) {
+    if (exchangeMetaData == null) {
+      return configure(null, null, false);
+    }
+    return configure(
+        exchangeMetaData.getPublicRateLimits(),
+        exchangeMetaData.getPrivateRateLimits(),
+        exchangeMetaData.isShareRateLimits());
+  }
+
+  /**
+   * Enforces rate limits. The weight already used in each period is kept for the limits with the
+   * same period as before.
+   *
+   * @param publicRateLimits the limits of public calls, null for none
+   * @param privateRateLimits the limits of private calls, null for none
+   * @param shared whether public and private calls count against the same limits: the private ones,
+   *     or the public ones if there are no private ones
+   */
+  public synchronized RequestRateLimiter configure(
+      RateLimit[] publicRateLimits, RateLimit[] privateRateLimits, boolean shared) {
+    Window[] previousPublic = publicWindows;
+    Window[] previousPrivate = privateWindows;
+    if (shared) {
+      RateLimit[] rateLimits = isEmpty(privateRateLimits) ? publicRateLimits : privateRateLimits;
+      privateWindows = windows(rateLimits, previousPrivate);
+      publicWindows = privateWindows;
+    } else {
+      privateWindows = windows(privateRateLimits, previousPrivate);
+      publicWindows = windows(publicRateLimits, previousPublic);
+    }
+    return this;
+  }
+
+  /**
+   * Set how long a call may wait for the rate limits, {@link #DEFAULT_MAX_WAIT} by default. A call
+   * which would wait longer fails with a {@link RateLimitExceededException} instead.
+   */
+  public synchronized RequestRateLimiter maxWait(Duration maxWait) {
+    this.maxWaitMillis = maxWait.toMillis();
+    return this;
+  }
+
+  /**
+   * Follows a response header carrying the weight the exchange counted in the current period of a
+   * limit, which also covers calls made by other clients with the same key or address.
+   *
+   * @param name the name of the header, such as {@code X-MBX-USED-WEIGHT-1M}
+   * @param period the period of the limits the header applies to
+   */
+  public synchronized RequestRateLimiter usedWeightHeader(String name, Duration period) {
+    usedWeightHeaders.put(name, period.toMillis());
+    return this;
+  }
+
+  /**
+   * Counts the calls of all the processes sharing a state, such as processes behind the same IP
+   * address. The processes must enforce the same rate limits, since the weight used in each period
+   * is shared by limits with the same period. If the state cannot be read or written, calls are
+   * counted by this limiter only.
+   *
+   * @param sharedState the shared state
+   * @param name the name of the rate limits in the shared state
+   */
+  public synchronized RequestRateLimiter share(SharedState sharedState, String name) {
+    this.sharedState = sharedState;
+    this.sharedName = name;
+    return this;
+  }
+
+  /**
+   * Waits until a call fits in the rate limits, and counts it.
+   *
+   * @param privateCall whether the call is authenticated
+   * @param weight the weight of the call
+   * @throws RateLimitExceededException if the call would wait longer than the max wait
+   * @throws InterruptedIOException if the thread is interrupted while waiting
+   */
+  public void acquire(boolean privateCall, int weight) throws InterruptedIOException {
+    long deadline = deadline();
+    while (true) {
+      long wait = tryAcquire(privateCall, weight, deadline);
+      if (wait == 0) {
+        return;
+      }
+      LOG.debug("Waiting {} ms for the rate limits", wait);
+      try {
+        sleeper.sleep(wait);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the rate limits");
+      }
+    }
+  }
+
+  /**
+   * Counts a call once it fits in the rate limits, without blocking the calling thread while it
+   * waits.
+   *
+   * @param privateCall whether the call is authenticated
+   * @param weight the weight of the call
+   * @return a future completed once the call is counted, or with a {@link
+   *     RateLimitExceededException} if the call would wait longer than the max wait
+   */
+  public CompletableFuture<Void> acquireAsync(boolean privateCall, int weight) {
+    CompletableFuture<Void> acquired = new CompletableFuture<>();
+    acquireAsync(privateCall, weight, deadline(), acquired);
+    return acquired;
+  }
+
+  private void acquireAsync(
+      boolean privateCall, int weight, long deadline, CompletableFuture<Void> acquired) {
+    long wait;
+    try {
+      wait = tryAcquire(privateCall, weight, deadline);
+    } catch (RuntimeException e) {
+      acquired.completeExceptionally(e);
+      return;
+    }
+    if (wait == 0) {
+      acquired.complete(null);
+      return;
+    }
+    LOG.debug("Scheduling a call in {} ms for the rate limits", wait);
+    scheduler.schedule(() -> acquireAsync(privateCall, weight, deadline, acquired), wait);
+  }
+
+  private synchronized long deadline() {
+    return clock.getAsLong() + maxWaitMillis;
+  }
+
+  /** Counts a call if it fits in the rate limits, otherwise returns how long it should wait. */
+  private synchronized long tryAcquire(boolean privateCall, int weight, long deadline) {
+    long now = clock.getAsLong();
+    long wait = shared(() -> tryAcquire(privateCall ? privateWindows : publicWindows, weight, now));
+    if (wait > 0 && now + wait > deadline) {
+      throw new RateLimitExceededException(
+          "A call of weight " + weight + " would wait " + wait + " ms for the rate limits");
+    }
+    return wait;
+  }
+
+  /**
+   * Adapts to the headers of a response of the exchange.
+   *
+   * @param headers the headers, possibly null
+   * @see #usedWeightHeader(String, Duration)
+   */
+  public synchronized void onResponse(Map<String, List<String>> headers) {
+    if (headers == null || usedWeightHeaders.isEmpty()) {
+      return;
+    }
+    shared(() -> followHeaders(headers, clock.getAsLong()));
+  }
+
+  private long followHeaders(Map<String, List<String>> headers, long now) {
+    for (Map.Entry<String, Long> usedWeightHeader : usedWeightHeaders.entrySet()) {
+      String value = header(headers, usedWeightHeader.getKey());
+      if (value == null) {
+        continue;
+      }
+      long used;
+      try {
+        used = Long.parseLong(value.trim());
+      } catch (NumberFormatException e) {
+        LOG.debug("Ignoring {}: {}", usedWeightHeader.getKey(), value);
+        continue;
+      }
+      long period = usedWeightHeader.getValue();
+      synchronize(publicWindows, period, used, now);
+      if (privateWindows != publicWindows) {
+        synchronize(privateWindows, period, used, now);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Stops calling the exchange after it rejected a call for exceeding its rate limits, typically
+   * with HTTP 429 or 418: for the time of its {@code Retry-After} header if any, otherwise until
+   * the next period of the limits of the call.
+   *
+   * @param privateCall whether the rejected call was authenticated
+   * @param headers the headers of the response, possibly null
+   */
+  public synchronized void onRateLimitExceeded(
+      boolean privateCall, Map<String, List<String>> headers) {
+    shared(() -> pause(privateCall, headers, clock.getAsLong()));
+  }
+
+  private long pause(boolean privateCall, Map<String, List<String>> headers, long now) {
+    String retryAfter = headers == null ? null : header(headers, "Retry-After");
+    if (retryAfter != null) {
+      try {
+        pausedUntil = Math.max(pausedUntil, now + Long.parseLong(retryAfter.trim()) * 1000);
+        LOG.warn("Rate limit exceeded, pausing calls for {} s", retryAfter.trim());
+        return 0;
+      } catch (NumberFormatException e) {
+        LOG.debug("Ignoring Retry-After: {}", retryAfter);
+      }
+    }
+    for (Window window : privateCall ? privateWindows : publicWindows) {
+      window.roll(now);
+      window.used = Math.max(window.used, window.limit);
+    }
+    LOG.warn("Rate limit exceeded, pausing calls until the next period of the rate limits");
+    return 0;
+  }
+
+  /** Runs an operation on the windows, on the shared state if any. */
+  private long shared(LongSupplier operation) {
+    if (sharedState == null) {
+      return operation.getAsLong();
+    }
+    boolean[] started = {false};
+    long[] result = {0};
+    try {
+      sharedState.update(
+          sharedName,
+          SHARED_LENGTH,
+          state -> {
+            started[0] = true;
+            load(state);
+            try {
+              result[0] = operation.getAsLong();
+            } finally {
+              store(state);
+            }
+            return null;
+          });
+    } catch (IOException e) {
+      LOG.warn(
+          "Cannot share rate limits {}, counting the calls of this process only", sharedName, e);
+      // an operation which already ran on the shared state must not count twice
+      if (!started[0]) {
+        return operation.getAsLong();
+      }
+    }
+    return result[0];
+  }
+
+  private void load(long[] state) {
+    pausedUntil = Math.max(pausedUntil, state[0]);
+    for (int i = 1; i < SHARED_LENGTH; i += 3) {
+      if (state[i] != 0) {
+        load(privateWindows, state, i, 1);
+        if (publicWindows != privateWindows) {
+          load(publicWindows, state, i, 0);
+        }
+      }
+    }
+  }
+
+  private static void load(Window[] windows, long[] state, int index, int kind) {
+    for (Window window : windows) {
+      if (window.period * 2 + kind == state[index]) {
+        window.start = state[index + 1];
+        window.used = state[index + 2];
+      }
+    }
+  }
+
+  private void store(long[] state) {
+    state[0] = pausedUntil;
+    store(privateWindows, state, 1);
+    if (publicWindows != privateWindows) {
+      store(publicWindows, state, 0);
+    }
+  }
+
+  private static void store(Window[] windows, long[] state, int kind) {
+    for (Window window : windows) {
+      long key = window.period * 2 + kind;
+      int free = -1;
+      int index = -1;
+      for (int i = 1; i < SHARED_LENGTH && index < 0; i += 3) {
+        if (state[i] == key) {
+          index = i;
+        } else if (state[i] == 0 && free < 0) {
+          free = i;
+        }
+      }
+      if (index < 0) {
+        index = free;
+      }
+      if (index < 0) {
+        LOG.debug("No room to share the rate limit of {} ms", window.period);
+        continue;
+      }
+      state[index] = key;
+      state[index + 1] = window.start;
+      state[index + 2] = window.used;
+    }
+  }
+
+  private long tryAcquire(Window[] windows, int weight, long now) {
+    long wait = Math.max(0, pausedUntil - now);
+    for (Window window : windows) {
+      window.roll(now);
+      if (window.used > 0 && window.used + weight > window.limit) {
+        wait = Math.max(wait, window.start + window.period - now);
+      }
+    }
+    if (wait > 0) {
+      return wait;
+    }
+    for (Window window : windows) {
+      window.used += weight;
+    }
+    return 0;
+  }
+
+  private static void synchronize(Window[] windows, long period, long used, long now) {
+    for (Window window : windows) {
+      if (window.period == period) {
+        window.roll(now);
+        window.used = Math.max(window.used, used);
+      }
+    }
+  }
+
+  private static String header(Map<String, List<String>> headers, String name) {
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey())
+          && header.getValue() != null
+          && !header.getValue().isEmpty()) {
+        return header.getValue().get(0);
+      }
+    }
+    return null;
+  }
+
+  private static Window[] windows(RateLimit[] rateLimits, Window[] previous) {
+    if (isEmpty(rateLimits)) {
+      return NO_WINDOWS;
+    }
+    Window[] windows = new Window[rateLimits.length];
+    for (int i = 0; i < rateLimits.length; i++) {
+      RateLimit rateLimit = rateLimits[i];
+      // meta data omitting the time span or unit means one second, as in RateLimit
+      TimeUnit timeUnit = rateLimit.timeUnit == null ? TimeUnit.SECONDS : rateLimit.timeUnit;
+      long period = timeUnit.toMillis(rateLimit.timeSpan > 0 ? rateLimit.timeSpan : 1);
+      windows[i] = new Window(period, Math.max(rateLimit.calls, 1));
+      for (Window window : previous) {
+        if (window.period == windows[i].period) {
+          windows[i].start = window.start;
+          windows[i].used = window.used;
+        }
+      }
+    }
+    return windows;
+  }
+
+  private static boolean isEmpty(RateLimit[] rateLimits) {
+    return rateLimits == null || rateLimits.length == 0;
+  }
+
+  interface Sleeper {
+
+    void sleep(long millis) throws InterruptedException;
+  }
+
+  interface Scheduler {
+
+    void schedule(Runnable task, long millis);
+  }
+
+  /** The weight used in the current period of a rate limit. */
+  private static final class Window {
+
+    private final long period;
+    private final long limit;
+    private long start;
+    private long used;
+
+    private Window(long period, long limit) {
+      this.period = Math.max(period, 1);
+      this.limit = limit;
+    }
+
+    private void roll(long now) {
+      long currentStart = now - Math.floorMod(now, period);
+      if (currentStart != start) {
+        start = currentStart;
+        used = 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package org.knowm.xchange.client;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The weight of a call to a REST interface method against the rate limits of the exchange, for
+ * exchanges which count some endpoints as several requests. Calls to methods without this
+ * annotation weigh 1.
+ *
+ * <pre>{@code
+ * @GET
+ * @Path("api/v3/exchangeInfo")
+ * @RequestWeight(10)
+ * BinanceExchangeInfo exchangeInfo() throws IOException;
+ * }</pre>
+ *
+ * @see RequestRateLimiter
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RequestWeight {
+
+  /** @return the weight of a call, or the weight passed to {@link #function()} */
+  int value() default 1;
+
+  /**
+   * @return the function computing the weight of calls whose cost depends on their arguments, such
+   *     as the depth of an order book. It must have a public no-arg constructor.
+   */
+  Class<? extends Function> function() default Constant.class;
+
+  /** Computes the weight of a call from its arguments. */
+  interface Function {
+
+    /**
+     * @param weight the {@link RequestWeight#value()} of the method
+     * @param args the arguments of the call, as passed to the REST interface method
+     * @return the weight of the call
+     */
+    int weigh(int weight, Object[] args);
+  }
+
+  /** Weighs each call {@link RequestWeight#value()}. */
+  final class Constant implements Function {
+
+    @Override
+    public int weigh(int weight, Object[] args) {
+      return weight;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package org.knowm.xchange.client;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import si.mazi.rescu.HttpMethod;
+
+/** An HTTP request of a REST proxy, as sent by a {@link RestTransport}. */
+public final class RestRequest {
+
+  private final HttpMethod method;
+  private final String url;
+  private final Map<String, String> headers;
+  private final String body;
+  private final int connectTimeoutMillis;
+  private final int readTimeoutMillis;
+
+  /**
+   * @param method the HTTP method
+   * @param url the absolute URL, including the query string
+   * @param headers the request headers
+   * @param body the body, or null to send none
+   * @param connectTimeoutMillis how long to wait for a new connection, 0 for the transport default
+   * @param readTimeoutMillis how long to wait for the response, 0 for the transport default
+   */
+  public RestRequest(
+      HttpMethod method,
+      String url,
+      Map<String, String> headers,
+      String body,
+      int connectTimeoutMillis,
+      int readTimeoutMillis) {
+    this.method = method;
+    this.url = url;
+    this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+    this.body = body;
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    this.readTimeoutMillis = readTimeoutMillis;
+  }
+
+  public HttpMethod getMethod() {
+    return method;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public int getConnectTimeoutMillis() {
+    return connectTimeoutMillis;
+  }
+
+  public int getReadTimeoutMillis() {
+    return readTimeoutMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "RestRequest{" + "method=" + method + ", url='" + url + '\'' + '}';
+  }
+}
@@ -0,0 +1,50 @@
+package org.knowm.xchange.client;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** An HTTP response received by a {@link RestTransport}. */
+public final class RestResponse {
+
+  private final int statusCode;
+  private final Map<String, List<String>> headers;
+  private final String body;
+
+  /**
+   * @param statusCode the HTTP status code
+   * @param headers the response headers, looked up ignoring case
+   * @param body the body, decompressed and decoded
+   */
+  public RestResponse(int statusCode, Map<String, List<String>> headers, String body) {
+    TreeMap<String, List<String>> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    caseInsensitive.putAll(headers);
+    this.statusCode = statusCode;
+    this.headers = Collections.unmodifiableMap(caseInsensitive);
+    this.body = body;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  public Map<String, List<String>> getHeaders() {
+    return headers;
+  }
+
+  /** @return the first value of a header, or null if the response has none */
+  public String getHeader(String name) {
+    List<String> values = headers.get(name);
+    return values == null || values.isEmpty() ? null : values.get(0);
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  @Override
+  public String toString() {
+    return "RestResponse{" + "statusCode=" + statusCode + '}';
+  }
+}
@@ -0,0 +1,28 @@
+package org.knowm.xchange.client;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends the HTTP requests of the REST proxies created by {@link TransportRestProxyFactory}, in
+ * place of the blocking {@link java.net.HttpURLConnection} rescu uses.
+ *
+ * <p>Implementations must not block the calling thread: {@link #execute(RestRequest)} returns as
+ * soon as the request is queued, and the response completes the future on a thread of the
+ * transport. One transport is meant to be shared by all the exchanges of an application, so that
+ * they share its connections and threads.
+ */
+public interface RestTransport extends Closeable {
+
+  /**
+   * Sends a request.
+   *
+   * @return the response, whatever its status code, or an exception if none was received, such as a
+   *     {@link java.net.SocketTimeoutException} once the read timeout of the request has passed
+   */
+  CompletableFuture<RestResponse> execute(RestRequest request);
+
+  /** Releases the connections and threads of the transport. */
+  @Override
+  default void close() {}
+}
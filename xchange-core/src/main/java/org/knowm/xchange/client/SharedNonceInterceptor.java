@@ -0,0 +1,52 @@
+package org.knowm.xchange.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
+import org.knowm.xchange.utils.coordination.SharedState;
+import org.knowm.xchange.utils.nonce.SharedNonceFactory;
+import si.mazi.rescu.Interceptor;
+
+/**
+ * Holds the {@link SharedNonceFactory} of a call until its response, as rescu holds a nonce factory
+ * while sending a request, but across processes: a process cannot send a greater nonce before the
+ * request of another process with a lower one has reached the exchange. A call returning a {@link
+ * CompletionStage} holds it until the stage completes.
+ */
+final class SharedNonceInterceptor implements Interceptor {
+
+  @Override
+  public Object aroundInvoke(
+      InvocationHandler invocationHandler, Object proxy, Method method, Object[] args)
+      throws Throwable {
+    SharedNonceFactory nonceFactory = nonceFactory(args);
+    if (nonceFactory == null) {
+      return invocationHandler.invoke(proxy, method, args);
+    }
+    SharedState.Hold hold = nonceFactory.hold();
+    Object result;
+    try {
+      result = invocationHandler.invoke(proxy, method, args);
+    } catch (Throwable e) {
+      hold.release();
+      throw e;
+    }
+    if (result instanceof CompletionStage) {
+      ((CompletionStage<?>) result).whenComplete((value, e) -> hold.release());
+    } else {
+      hold.release();
+    }
+    return result;
+  }
+
+  private static SharedNonceFactory nonceFactory(Object[] args) {
+    if (args != null) {
+      for (Object arg : args) {
+        if (arg instanceof SharedNonceFactory) {
+          return (SharedNonceFactory) arg;
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,273 @@
+package org.knowm.xchange.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import javax.ws.rs.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import si.mazi.rescu.AwareException;
+import si.mazi.rescu.ClientConfig;
+import si.mazi.rescu.HttpResponseAware;
+import si.mazi.rescu.InvocationAware;
+import si.mazi.rescu.InvocationResult;
+import si.mazi.rescu.RequestWriterResolver;
+import si.mazi.rescu.ResponseReaderResolver;
+import si.mazi.rescu.RestInvocation;
+import si.mazi.rescu.RestMethodMetadata;
+import si.mazi.rescu.SynchronizedValueFactory;
+import si.mazi.rescu.serialization.PlainTextResponseReader;
+import si.mazi.rescu.serialization.jackson.DefaultJacksonObjectMapperFactory;
+import si.mazi.rescu.serialization.jackson.JacksonObjectMapperFactory;
+import si.mazi.rescu.serialization.jackson.JacksonResponseReader;
+
+/**
+ * The invocation handler of {@link TransportRestProxyFactory}, which follows rescu's {@code
+ * RestInvocationHandler} except for sending requests through a {@link RestTransport}.
+ */
+final class TransportInvocationHandler implements InvocationHandler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransportInvocationHandler.class);
+
+  /** The headers rescu sends unless the invocation sets them. */
+  private static final Map<String, String> DEFAULT_HEADERS = new LinkedHashMap<>();
+
+  static {
+    DEFAULT_HEADERS.put("Accept-Charset", "UTF-8");
+    DEFAULT_HEADERS.put("Accept", "application/json");
+    DEFAULT_HEADERS.put(
+        "User-Agent", "ResCU JDK/6 AppleWebKit/535.7 Chrome/16.0.912.36 Safari/535.7");
+  }
+
+  private final String baseUrl;
+  private final String intfacePath;
+  private final ClientConfig config;
+  private final RestTransport transport;
+  private final Executor responseExecutor;
+  private final RequestWriterResolver requestWriterResolver;
+  private final ResponseReaderResolver responseReaderResolver;
+  private final Map<Method, RestMethodMetadata> metadataCache = new ConcurrentHashMap<>();
+
+  /**
+   * The last request of each nonce factory sent by this proxy. An entry is removed once its request
+   * completes and no other has queued behind it.
+   */
+  private final Map<SynchronizedValueFactory<?>, CompletableFuture<?>> lastNonceRequests =
+      new ConcurrentHashMap<>();
+
+  TransportInvocationHandler(
+      Class<?> restInterface,
+      String baseUrl,
+      ClientConfig config,
+      RestTransport transport,
+      Executor responseExecutor) {
+    this.baseUrl = baseUrl;
+    this.intfacePath = restInterface.getAnnotation(Path.class).value();
+    this.config = config;
+    this.transport = transport;
+    this.responseExecutor = responseExecutor;
+
+    JacksonObjectMapperFactory mapperFactory = config.getJacksonObjectMapperFactory();
+    if (mapperFactory == null) {
+      mapperFactory = new DefaultJacksonObjectMapperFactory();
+    }
+    this.requestWriterResolver =
+        RequestWriterResolver.createDefault(mapperFactory.createObjectMapper());
+    this.responseReaderResolver = new ResponseReaderResolver();
+    responseReaderResolver.addReader(
+        "application/json",
+        new JacksonResponseReader(
+            mapperFactory.createObjectMapper(), config.isIgnoreHttpErrorCodes()) {
+          @Override
+          public <T> T read(String httpBody, Type returnType) throws IOException {
+            return super.read(httpBody, responseType(returnType));
+          }
+        });
+    responseReaderResolver.addReader(
+        "text/plain", new PlainTextResponseReader(config.isIgnoreHttpErrorCodes()));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass().equals(Object.class)) {
+      return method.invoke(this, args);
+    }
+    CompletableFuture<Object> result = send(getMetadata(method), args);
+    if (isAsync(method)) {
+      return result;
+    }
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    } catch (InterruptedException e) {
+      result.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for " + method.getName());
+    }
+  }
+
+  private CompletableFuture<Object> send(RestMethodMetadata metadata, Object[] args) {
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    SynchronizedValueFactory<?> nonceFactory = getValueGenerator(args);
+    if (nonceFactory == null) {
+      send(metadata, args, result);
+      return result;
+    }
+    // as rescu holds the lock of the nonce factory until the response is read, a request carrying
+    // a nonce is only created once the previous one has completed, so that requests reach the
+    // exchange in the order of their nonces whatever connection each goes over
+    CompletableFuture<?> previous = lastNonceRequests.put(nonceFactory, result);
+    result.whenComplete((value, error) -> lastNonceRequests.remove(nonceFactory, result));
+    if (previous == null) {
+      send(metadata, args, result);
+    } else {
+      // never on the thread of the transport, which must not block on signing
+      previous.whenCompleteAsync((value, error) -> send(metadata, args, result), responseExecutor);
+    }
+    return result;
+  }
+
+  private void send(RestMethodMetadata metadata, Object[] args, CompletableFuture<Object> result) {
+    if (result.isDone()) {
+      // cancelled while waiting for the previous request of its nonce factory
+      return;
+    }
+    RestInvocation invocation = null;
+    try {
+      invocation =
+          RestInvocation.create(
+              requestWriterResolver, metadata, args, config.getDefaultParamsMap());
+      CompletableFuture<RestResponse> response = transport.execute(toRequest(invocation));
+      RestInvocation sent = invocation;
+      response.whenCompleteAsync(
+          (received, error) -> {
+            if (error != null) {
+              result.completeExceptionally(aware(unwrap(error), null, sent));
+              return;
+            }
+            try {
+              Object value =
+                  responseReaderResolver
+                      .resolveReader(metadata)
+                      .read(
+                          new InvocationResult(received.getBody(), received.getStatusCode()),
+                          metadata);
+              makeAware(value, received, sent);
+              result.complete(value);
+            } catch (Exception e) {
+              result.completeExceptionally(aware(e, received, sent));
+            }
+          },
+          responseExecutor);
+    } catch (Exception e) {
+      result.completeExceptionally(aware(e, null, invocation));
+    }
+  }
+
+  private RestRequest toRequest(RestInvocation invocation) {
+    Map<String, String> headers = new LinkedHashMap<>(DEFAULT_HEADERS);
+    headers.putAll(invocation.getHttpHeadersFromParams());
+    RestMethodMetadata metadata = invocation.getMethodMetadata();
+    if (metadata.getReqContentType() != null) {
+      headers.put("Content-Type", metadata.getReqContentType());
+    }
+    if (metadata.getResContentType() != null) {
+      headers.put("Accept", metadata.getResContentType());
+    }
+    String body = invocation.getRequestBody();
+    LOG.debug(
+        "Executing {} request at {}", invocation.getHttpMethod(), invocation.getInvocationUrl());
+    return new RestRequest(
+        metadata.getHttpMethod(),
+        invocation.getInvocationUrl(),
+        headers,
+        body == null || body.isEmpty() ? null : body,
+        config.getHttpConnTimeout(),
+        config.getHttpReadTimeout());
+  }
+
+  /** Sets the invocation and response headers on results and exceptions which accept them. */
+  private static boolean makeAware(
+      Object target, RestResponse response, RestInvocation invocation) {
+    boolean madeAware = false;
+    if (target instanceof InvocationAware) {
+      try {
+        ((InvocationAware) target).setInvocation(invocation);
+        madeAware = true;
+      } catch (Exception e) {
+        LOG.warn("Failed to set invocation on the InvocationAware", e);
+      }
+    }
+    if (target instanceof HttpResponseAware && response != null) {
+      try {
+        ((HttpResponseAware) target).setResponseHeaders(response.getHeaders());
+        madeAware = true;
+      } catch (Exception e) {
+        LOG.warn("Failed to set response headers on the HttpResponseAware", e);
+      }
+    }
+    return madeAware;
+  }
+
+  private Throwable aware(Throwable error, RestResponse response, RestInvocation invocation) {
+    if (!makeAware(error, response, invocation)
+        && config.isWrapUnexpectedExceptions()
+        && error instanceof Exception) {
+      return new AwareException((Exception) error, invocation);
+    }
+    return error;
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  private static SynchronizedValueFactory<?> getValueGenerator(Object[] args) {
+    if (args != null) {
+      for (Object arg : args) {
+        if (arg instanceof SynchronizedValueFactory) {
+          return (SynchronizedValueFactory<?>) arg;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static boolean isAsync(Method method) {
+    return method.getReturnType() == CompletableFuture.class
+        || method.getReturnType() == CompletionStage.class;
+  }
+
+  private RestMethodMetadata getMetadata(Method method) {
+    return metadataCache.computeIfAbsent(
+        method, m -> RestMethodMetadata.create(m, baseUrl, intfacePath));
+  }
+
+  /** @return the type of the responses of asynchronous methods, which is that of their future */
+  private static Type responseType(Type returnType) {
+    Type rawType =
+        returnType instanceof ParameterizedType
+            ? ((ParameterizedType) returnType).getRawType()
+            : returnType;
+    if (rawType != CompletableFuture.class && rawType != CompletionStage.class) {
+      return returnType;
+    }
+    return returnType instanceof ParameterizedType
+        ? ((ParameterizedType) returnType).getActualTypeArguments()[0]
+        : Object.class;
+  }
+}
@@ -0,0 +1,84 @@
+package org.knowm.xchange.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.service.ServiceExecutors;
+import si.mazi.rescu.ClientConfig;
+import si.mazi.rescu.IRestProxyFactory;
+import si.mazi.rescu.Interceptor;
+
+/**
+ * Creates rescu REST proxies which send their requests through a {@link RestTransport}, such as a
+ * non-blocking, connection pooling client, instead of one blocking {@link
+ * java.net.HttpURLConnection} per call.
+ *
+ * <p>The proxies read the same JAX-RS annotations, parameters, digests and interceptors as rescu's
+ * own, and map responses and errors the same way. In addition, methods of the REST interface may
+ * return a {@link java.util.concurrent.CompletableFuture} or {@link
+ * java.util.concurrent.CompletionStage} of the response type, in which case they return as soon as
+ * the request is sent and do not block any thread while waiting for the response. Requests with a
+ * {@link si.mazi.rescu.SynchronizedValueFactory} parameter, such as a nonce, are sent one at a time
+ * per factory and proxy, each once the response to the previous one is received, as rescu does.
+ *
+ * <p>Set it on {@link org.knowm.xchange.ExchangeSpecification#setRestProxyFactory} to use it for
+ * all REST interfaces of an exchange. The timeouts of the {@link ClientConfig} are passed on to the
+ * transport; its proxy, SSL and OAuth settings are not, as those belong to the transport.
+ */
+public class TransportRestProxyFactory implements IRestProxyFactory {
+
+  private final RestTransport transport;
+  private final Executor responseExecutor;
+
+  /**
+   * Maps responses on {@link ServiceExecutors#defaultExecutor()}.
+   *
+   * @param transport the transport of all proxies
+   */
+  public TransportRestProxyFactory(RestTransport transport) {
+    this(transport, ServiceExecutors.defaultExecutor());
+  }
+
+  /**
+   * @param transport the transport of all proxies
+   * @param responseExecutor the executor responses are deserialized on, and futures returned by
+   *     asynchronous methods completed on. Requests waiting for the response to the previous
+   *     request of their nonce factory are also created, signed and sent on it, so an executor
+   *     running tasks on the thread of the transport, such as {@code Runnable::run}, is only safe
+   *     for proxies without signed calls: it would block the I/O thread of the transport while
+   *     signing.
+   */
+  public TransportRestProxyFactory(RestTransport transport, Executor responseExecutor) {
+    this.transport = transport;
+    this.responseExecutor = responseExecutor;
+  }
+
+  public RestTransport getTransport() {
+    return transport;
+  }
+
+  @Override
+  public <I> I createProxy(
+      Class<I> restInterface, String baseUrl, ClientConfig config, Interceptor... interceptors) {
+    if (config == null) {
+      config = new ClientConfig();
+    }
+    if (config.getOAuthConsumer() != null) {
+      throw new IllegalArgumentException("OAuth signing is not supported by " + transport);
+    }
+    InvocationHandler handler =
+        new TransportInvocationHandler(restInterface, baseUrl, config, transport, responseExecutor);
+    for (Interceptor interceptor : interceptors) {
+      InvocationHandler intercepted = handler;
+      handler = (proxy, method, args) -> interceptor.aroundInvoke(intercepted, proxy, method, args);
+    }
+    return restInterface.cast(
+        Proxy.newProxyInstance(
+            restInterface.getClassLoader(), new Class<?>[] {restInterface}, handler));
+  }
+
+  @Override
+  public <I> I createProxy(Class<I> restInterface, String baseUrl) {
+    return createProxy(restInterface, baseUrl, null);
+  }
+}
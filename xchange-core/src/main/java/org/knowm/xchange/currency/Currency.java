@@ -5,11 +5,11 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A Currency class roughly modeled after {@link java.util.Currency}. Each object retains the code
@@ -19,7 +19,7 @@ import java.util.TreeSet;
 public class Currency implements Comparable<Currency>, Serializable {
 
   private static final long serialVersionUID = -7340731832345284129L;
-  private static final Map<String, Currency> currencies = new HashMap<>();
+  private static final Map<String, Currency> currencies = new ConcurrentHashMap<>();
 
   /** Global currency codes */
   // TODO: Load from json resource
@@ -500,23 +500,30 @@ public class Currency implements Comparable<Currency>, Serializable {
     return new TreeSet<>(currencies.keySet());
   }
 
-  /** Returns a Currency instance for the given currency code. */
+  /**
+   * Returns a Currency instance for the given currency code. Unknown codes are registered, so
+   * concurrent callers asking for the same new code all receive the same instance.
+   */
   @JsonCreator
   public static Currency getInstance(String currencyCode) {
 
-    Currency currency = getInstanceNoCreate(currencyCode.toUpperCase());
+    Currency currency = getInstanceNoCreate(currencyCode);
 
-    if (currency == null) {
-      return createCurrency(currencyCode.toUpperCase(), null, null);
-    } else {
+    if (currency != null) {
       return currency;
     }
+    String commonCode = currencyCode.toUpperCase();
+    Currency created = new Currency(commonCode, new CurrencyAttributes(commonCode, null, null));
+    currency = currencies.putIfAbsent(commonCode, created);
+    return currency == null ? created : currency;
   }
 
   /** Returns the Currency instance for the given currency code only if one already exists. */
   public static Currency getInstanceNoCreate(String currencyCode) {
 
-    return currencies.get(currencyCode.toUpperCase());
+    // codes are usually upper case already, which avoids converting them on every lookup
+    Currency currency = currencies.get(currencyCode);
+    return currency != null ? currency : currencies.get(currencyCode.toUpperCase());
   }
 
   /**
@@ -0,0 +1,64 @@
+package org.knowm.xchange.currency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Concurrent cache from exchange-native symbols such as {@code btcusdt} or {@code XBT/USD} to
+ * interned {@link CurrencyPair}s. A symbol seen before is resolved with a single map lookup and no
+ * allocation, so adapters can call {@link #get(String)} for every message they receive.
+ *
+ * <p>Symbols that are not registered up front are parsed with the exchange specific parser the
+ * first time they are seen. At most {@link CurrencyPair#MAX_INTERNED} of them are cached, further
+ * unknown symbols are parsed on every lookup.
+ */
+public class CurrencyPairSymbols {
+
+  private final ConcurrentMap<String, CurrencyPair> pairs = new ConcurrentHashMap<>();
+  private final Function<String, CurrencyPair> parser;
+
+  /** @param parser converts a symbol that is not registered yet into a pair */
+  public CurrencyPairSymbols(Function<String, CurrencyPair> parser) {
+
+    this.parser = parser;
+  }
+
+  /**
+   * Maps a symbol to a pair, replacing any previous mapping.
+   *
+   * @return the interned pair
+   */
+  public CurrencyPair register(String symbol, CurrencyPair currencyPair) {
+
+    CurrencyPair interned = CurrencyPair.getInstance(currencyPair.base, currencyPair.counter);
+    pairs.put(symbol, interned);
+    return interned;
+  }
+
+  /**
+   * @param symbol the exchange-native symbol
+   * @return the interned pair of the symbol, parsing it if it was not seen before
+   */
+  public CurrencyPair get(String symbol) {
+
+    CurrencyPair pair = pairs.get(symbol);
+    if (pair == null) {
+      CurrencyPair parsed = parser.apply(symbol);
+      pair = CurrencyPair.getInstance(parsed.base, parsed.counter);
+      if (pairs.size() < CurrencyPair.MAX_INTERNED) {
+        CurrencyPair existing = pairs.putIfAbsent(symbol, pair);
+        if (existing != null) {
+          pair = existing;
+        }
+      }
+    }
+    return pair;
+  }
+
+  /** @return the pair of the symbol, or null if it was neither registered nor seen before */
+  public CurrencyPair getIfPresent(String symbol) {
+
+    return pairs.get(symbol);
+  }
+}
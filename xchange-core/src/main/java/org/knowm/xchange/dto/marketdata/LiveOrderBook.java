@@ -0,0 +1,586 @@
+package org.knowm.xchange.dto.marketdata;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.utils.FixedPointScale;
+
+/**
+ * Mutable order book keyed by price, intended for streaming implementations which maintain a local
+ * book from incremental updates.
+ *
+ * <p>Unlike {@link OrderBook}, which keeps each side as a sorted list of {@link LimitOrder}s, the
+ * levels are held in a {@link NavigableMap} per side. Changing the volume of an existing level is
+ * done in place, inserting or removing a level is O(log n), and no {@link LimitOrder} is created
+ * until a snapshot is requested through {@link #toOrderBook()} or {@link #getLevels(OrderType,
+ * int)}.
+ *
+ * <p>Books created with a price and a volume {@link FixedPointScale} key their levels by the long
+ * mantissa of the price and hold volumes as mantissas too. They can be updated from raw decimal
+ * text or from mantissas through {@link #update(OrderType, CharSequence, CharSequence, Date)} and
+ * {@link #update(OrderType, long, long, Date)}, which create no {@link BigDecimal} on the streaming
+ * path. Prices and volumes are only converted to BigDecimal when they are read.
+ *
+ * <p>Instances are not thread safe. A book is expected to be written by a single thread, usually
+ * the one delivering the exchange messages, and readers on other threads should consume snapshots.
+ */
+public final class LiveOrderBook {
+
+  private final Instrument instrument;
+
+  /** the asks, lowest price first */
+  private final Side asks;
+  /** the bids, highest price first */
+  private final Side bids;
+
+  /** the timestamp of the last applied update according to the exchange's server, may be null */
+  private Date timeStamp;
+
+  /**
+   * Constructor
+   *
+   * @param instrument the instrument of this book, used for the orders of produced snapshots
+   */
+  public LiveOrderBook(Instrument instrument) {
+
+    this(instrument, null, null);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param instrument the instrument of this book, used for the orders of produced snapshots
+   * @param priceScale the scale of prices in fixed-point updates, null for a BigDecimal book
+   * @param volumeScale the scale of volumes in fixed-point updates, null for a BigDecimal book
+   */
+  public LiveOrderBook(
+      Instrument instrument, FixedPointScale priceScale, FixedPointScale volumeScale) {
+
+    this.instrument = instrument;
+    if (priceScale == null || volumeScale == null) {
+      this.asks = new DecimalSide(Comparator.naturalOrder());
+      this.bids = new DecimalSide(Comparator.reverseOrder());
+    } else {
+      this.asks = new FixedSide(Comparator.naturalOrder(), priceScale, volumeScale);
+      this.bids = new FixedSide(Comparator.reverseOrder(), priceScale, volumeScale);
+    }
+  }
+
+  /**
+   * Constructor
+   *
+   * @param instrument the instrument of this book, used for the orders of produced snapshots
+   * @param snapshot initial content of the book
+   */
+  public LiveOrderBook(Instrument instrument, OrderBook snapshot) {
+
+    this(instrument);
+    reset(snapshot);
+  }
+
+  /**
+   * Creates a book keyed by fixed-point mantissas if the meta data has a price scale and a volume
+   * or base scale, and a BigDecimal book otherwise.
+   *
+   * @param instrument the instrument of the book
+   * @param metaData the meta data of the instrument, may be null
+   * @return a new empty book
+   */
+  public static LiveOrderBook forMetaData(Instrument instrument, CurrencyPairMetaData metaData) {
+
+    if (metaData == null || metaData.getPriceScale() == null) {
+      return new LiveOrderBook(instrument);
+    }
+    Integer volumeScale =
+        metaData.getVolumeScale() != null ? metaData.getVolumeScale() : metaData.getBaseScale();
+    if (volumeScale == null) {
+      return new LiveOrderBook(instrument);
+    }
+    return new LiveOrderBook(
+        instrument, FixedPointScale.forPrice(metaData), FixedPointScale.of(volumeScale));
+  }
+
+  public Instrument getInstrument() {
+
+    return instrument;
+  }
+
+  public Date getTimeStamp() {
+
+    return timeStamp;
+  }
+
+  /** @return true if the levels are keyed by fixed-point mantissas */
+  public boolean isFixedPoint() {
+
+    return asks instanceof FixedSide;
+  }
+
+  /**
+   * Replaces the whole content of this book with the given snapshot.
+   *
+   * @param snapshot the order book to copy the levels from
+   * @throws ArithmeticException if a value does not fit the scales of a fixed-point book
+   */
+  public void reset(OrderBook snapshot) {
+
+    clear();
+    for (LimitOrder ask : snapshot.getAsks()) {
+      update(ask);
+    }
+    for (LimitOrder bid : snapshot.getBids()) {
+      update(bid);
+    }
+    timeStamp = snapshot.getTimeStamp();
+  }
+
+  /** Removes all levels from the book. */
+  public void clear() {
+
+    asks.clear();
+    bids.clear();
+    timeStamp = null;
+  }
+
+  /**
+   * Sets the total volume available at a price level. A zero volume removes the level. timeStamp
+   * will be updated if the new timestamp is non-null and in the future.
+   *
+   * @param type the side of the book
+   * @param price the price of the level
+   * @param volume the total new volume at this price
+   * @param timestamp the timestamp of the update, may be null
+   * @throws ArithmeticException if a value does not fit the scales of a fixed-point book
+   */
+  public void update(OrderType type, BigDecimal price, BigDecimal volume, Date timestamp) {
+
+    getSide(type).update(price, volume, timestamp);
+    updateDate(timestamp);
+  }
+
+  /**
+   * Sets the total volume available at a price level from fixed-point values. A zero volume removes
+   * the level.
+   *
+   * @param type the side of the book
+   * @param price the price of the level at the price scale of this book
+   * @param volume the total new volume at the volume scale of this book
+   * @param timestamp the timestamp of the update, may be null
+   * @throws IllegalStateException if the book was created without fixed-point scales
+   */
+  public void update(OrderType type, long price, long volume, Date timestamp) {
+
+    getFixedSide(type).update(price, volume, timestamp);
+    updateDate(timestamp);
+  }
+
+  /**
+   * Sets the total volume available at a price level from decimal text as sent by the exchange,
+   * parsed with the fixed-point scales of this book. A zero volume removes the level.
+   *
+   * @param type the side of the book
+   * @param price the price of the level
+   * @param volume the total new volume at this price
+   * @param timestamp the timestamp of the update, may be null
+   * @throws IllegalStateException if the book was created without fixed-point scales
+   * @throws ArithmeticException if a value does not fit the scales of this book
+   */
+  public void update(OrderType type, CharSequence price, CharSequence volume, Date timestamp) {
+
+    FixedSide side = getFixedSide(type);
+    side.update(side.priceScale.parse(price), side.volumeScale.parse(volume), timestamp);
+    updateDate(timestamp);
+  }
+
+  /**
+   * Replaces the level at the price of the given order with its remaining amount.
+   *
+   * @param limitOrder the new LimitOrder
+   */
+  public void update(LimitOrder limitOrder) {
+
+    update(
+        limitOrder.getType(),
+        limitOrder.getLimitPrice(),
+        limitOrder.getRemainingAmount(),
+        limitOrder.getTimestamp());
+  }
+
+  /**
+   * Replaces the level at the price of the given update with its total volume.
+   *
+   * @param orderBookUpdate the new OrderBookUpdate
+   */
+  public void update(OrderBookUpdate orderBookUpdate) {
+
+    LimitOrder limitOrder = orderBookUpdate.getLimitOrder();
+    update(
+        limitOrder.getType(),
+        limitOrder.getLimitPrice(),
+        orderBookUpdate.getTotalVolume(),
+        limitOrder.getTimestamp());
+  }
+
+  /**
+   * Removes the worst levels of one side beyond the given depth, for exchanges which only maintain
+   * the top of the book.
+   *
+   * @param type the side of the book
+   * @param depth number of levels to keep
+   */
+  public void truncate(OrderType type, int depth) {
+
+    getSide(type).truncate(depth);
+  }
+
+  /**
+   * @param type the side of the book
+   * @return the number of price levels on that side
+   */
+  public int getDepth(OrderType type) {
+
+    return getSide(type).size();
+  }
+
+  /** @return the lowest ask price, null if there are no asks */
+  public BigDecimal getBestAskPrice() {
+
+    return asks.bestPrice();
+  }
+
+  /** @return the highest bid price, null if there are no bids */
+  public BigDecimal getBestBidPrice() {
+
+    return bids.bestPrice();
+  }
+
+  /**
+   * @param type the side of the book
+   * @return the volume at the best price of that side, null if the side is empty
+   */
+  public BigDecimal getBestVolume(OrderType type) {
+
+    return getSide(type).bestVolume();
+  }
+
+  /**
+   * @param type the side of the book
+   * @param price the price of the level
+   * @return the volume at that price, null if there is no such level
+   */
+  public BigDecimal getVolume(OrderType type, BigDecimal price) {
+
+    return getSide(type).volume(price);
+  }
+
+  /**
+   * @param type the side of the book
+   * @return the best level of that side as a limit order, null if the side is empty
+   */
+  public LimitOrder getBest(OrderType type) {
+
+    List<LimitOrder> best = getLevels(type, 1);
+    return best.isEmpty() ? null : best.get(0);
+  }
+
+  /**
+   * Returns the best levels of one side, best price first. Only the requested levels are visited.
+   *
+   * @param type the side of the book
+   * @param depth maximum number of levels to return
+   * @return a new list of at most depth orders
+   */
+  public List<LimitOrder> getLevels(OrderType type, int depth) {
+
+    Side side = getSide(type);
+    List<LimitOrder> levels = new ArrayList<>(Math.min(depth, side.size()));
+    side.addLevels(levels, depth, type, instrument);
+    return levels;
+  }
+
+  /** @return a snapshot of the whole book, independent of later updates */
+  public OrderBook toOrderBook() {
+
+    return toOrderBook(Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param depth maximum number of levels per side
+   * @return a snapshot of the best levels of the book, independent of later updates
+   */
+  public OrderBook toOrderBook(int depth) {
+
+    return new OrderBook(
+        timeStamp, getLevels(OrderType.ASK, depth), getLevels(OrderType.BID, depth));
+  }
+
+  private Side getSide(OrderType type) {
+
+    return type == OrderType.ASK ? asks : bids;
+  }
+
+  private FixedSide getFixedSide(OrderType type) {
+
+    Side side = getSide(type);
+    if (!(side instanceof FixedSide)) {
+      throw new IllegalStateException("No fixed-point scales configured for " + instrument);
+    }
+    return (FixedSide) side;
+  }
+
+  // Replace timeStamp if the provided date is non-null and in the future
+  private void updateDate(Date updateDate) {
+
+    if (updateDate != null && (timeStamp == null || updateDate.after(timeStamp))) {
+      this.timeStamp = updateDate;
+    }
+  }
+
+  @Override
+  public String toString() {
+
+    return "LiveOrderBook [instrument="
+        + instrument
+        + ", timestamp: "
+        + timeStamp
+        + ", asks="
+        + asks.size()
+        + ", bids="
+        + bids.size()
+        + "]";
+  }
+
+  /** The levels of one side of the book, best price first. */
+  private abstract static class Side {
+
+    abstract void update(BigDecimal price, BigDecimal volume, Date timestamp);
+
+    abstract void truncate(int depth);
+
+    abstract void clear();
+
+    abstract int size();
+
+    abstract BigDecimal bestPrice();
+
+    abstract BigDecimal bestVolume();
+
+    abstract BigDecimal volume(BigDecimal price);
+
+    abstract void addLevels(
+        List<LimitOrder> levels, int depth, OrderType type, Instrument instrument);
+  }
+
+  private static final class DecimalSide extends Side {
+
+    private final NavigableMap<BigDecimal, DecimalLevel> levels;
+
+    private DecimalSide(Comparator<BigDecimal> order) {
+
+      this.levels = new TreeMap<>(order);
+    }
+
+    @Override
+    void update(BigDecimal price, BigDecimal volume, Date timestamp) {
+
+      if (volume.signum() == 0) {
+        levels.remove(price);
+      } else {
+        DecimalLevel level = levels.get(price);
+        if (level == null) {
+          levels.put(price, new DecimalLevel(price, volume, timestamp));
+        } else {
+          level.volume = volume;
+          level.timestamp = timestamp;
+        }
+      }
+    }
+
+    @Override
+    void truncate(int depth) {
+
+      while (levels.size() > depth) {
+        levels.pollLastEntry();
+      }
+    }
+
+    @Override
+    void clear() {
+
+      levels.clear();
+    }
+
+    @Override
+    int size() {
+
+      return levels.size();
+    }
+
+    @Override
+    BigDecimal bestPrice() {
+
+      return levels.isEmpty() ? null : levels.firstKey();
+    }
+
+    @Override
+    BigDecimal bestVolume() {
+
+      return levels.isEmpty() ? null : levels.firstEntry().getValue().volume;
+    }
+
+    @Override
+    BigDecimal volume(BigDecimal price) {
+
+      DecimalLevel level = levels.get(price);
+      return level == null ? null : level.volume;
+    }
+
+    @Override
+    void addLevels(List<LimitOrder> orders, int depth, OrderType type, Instrument instrument) {
+
+      Iterator<DecimalLevel> iterator = levels.values().iterator();
+      while (orders.size() < depth && iterator.hasNext()) {
+        DecimalLevel level = iterator.next();
+        orders.add(
+            new LimitOrder(type, level.volume, instrument, "", level.timestamp, level.price));
+      }
+    }
+  }
+
+  private static final class DecimalLevel {
+
+    private final BigDecimal price;
+    private BigDecimal volume;
+    private Date timestamp;
+
+    private DecimalLevel(BigDecimal price, BigDecimal volume, Date timestamp) {
+
+      this.price = price;
+      this.volume = volume;
+      this.timestamp = timestamp;
+    }
+  }
+
+  private static final class FixedSide extends Side {
+
+    private final NavigableMap<Long, FixedLevel> levels;
+    private final FixedPointScale priceScale;
+    private final FixedPointScale volumeScale;
+
+    private FixedSide(
+        Comparator<Long> order, FixedPointScale priceScale, FixedPointScale volumeScale) {
+
+      this.levels = new TreeMap<>(order);
+      this.priceScale = priceScale;
+      this.volumeScale = volumeScale;
+    }
+
+    void update(long price, long volume, Date timestamp) {
+
+      if (volume == 0) {
+        levels.remove(price);
+      } else {
+        FixedLevel level = levels.get(price);
+        if (level == null) {
+          levels.put(price, new FixedLevel(price, volume, timestamp));
+        } else {
+          level.volume = volume;
+          level.timestamp = timestamp;
+        }
+      }
+    }
+
+    @Override
+    void update(BigDecimal price, BigDecimal volume, Date timestamp) {
+
+      update(priceScale.fromBigDecimal(price), volumeScale.fromBigDecimal(volume), timestamp);
+    }
+
+    @Override
+    void truncate(int depth) {
+
+      while (levels.size() > depth) {
+        levels.pollLastEntry();
+      }
+    }
+
+    @Override
+    void clear() {
+
+      levels.clear();
+    }
+
+    @Override
+    int size() {
+
+      return levels.size();
+    }
+
+    @Override
+    BigDecimal bestPrice() {
+
+      return levels.isEmpty() ? null : priceScale.toBigDecimal(levels.firstKey());
+    }
+
+    @Override
+    BigDecimal bestVolume() {
+
+      return levels.isEmpty()
+          ? null
+          : volumeScale.toBigDecimal(levels.firstEntry().getValue().volume);
+    }
+
+    @Override
+    BigDecimal volume(BigDecimal price) {
+
+      FixedLevel level;
+      try {
+        level = levels.get(priceScale.fromBigDecimal(price));
+      } catch (ArithmeticException e) {
+        // finer than the price scale, there cannot be such a level
+        return null;
+      }
+      return level == null ? null : volumeScale.toBigDecimal(level.volume);
+    }
+
+    @Override
+    void addLevels(List<LimitOrder> orders, int depth, OrderType type, Instrument instrument) {
+
+      Iterator<FixedLevel> iterator = levels.values().iterator();
+      while (orders.size() < depth && iterator.hasNext()) {
+        FixedLevel level = iterator.next();
+        orders.add(
+            new LimitOrder(
+                type,
+                volumeScale.toBigDecimal(level.volume),
+                instrument,
+                "",
+                level.timestamp,
+                priceScale.toBigDecimal(level.price)));
+      }
+    }
+  }
+
+  private static final class FixedLevel {
+
+    private final long price;
+    private long volume;
+    private Date timestamp;
+
+    private FixedLevel(long price, long volume, Date timestamp) {
+
+      this.price = price;
+      this.volume = volume;
+      this.timestamp = timestamp;
+    }
+  }
+}
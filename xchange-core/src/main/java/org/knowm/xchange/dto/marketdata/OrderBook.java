@@ -131,6 +131,23 @@ public final class OrderBook implements Serializable {
     return type == OrderType.ASK ? asks : bids;
   }
 
+  /**
+   * Returns a copy of this order book which is not affected by later updates of this one and cannot
+   * be updated itself, so it can be handed to other threads. Only the order lists are copied, the
+   * orders themselves are shared as they are replaced rather than modified on update.
+   *
+   * <p>Like the update methods, it must be called on the thread updating this order book.
+   *
+   * @return an unmodifiable copy of this order book
+   */
+  public OrderBook snapshot() {
+
+    return new OrderBook(
+        timeStamp,
+        Collections.unmodifiableList(new ArrayList<>(asks)),
+        Collections.unmodifiableList(new ArrayList<>(bids)));
+  }
+
   /**
    * Given a new LimitOrder, it will replace a matching limit order in the orderbook if one is
    * found, or add the new LimitOrder if one is not. timeStamp will be updated if the new timestamp
@@ -1,6 +1,7 @@
 package org.knowm.xchange.service;
 
 import java.math.BigDecimal;
+import java.util.concurrent.Executor;
 import org.knowm.xchange.Exchange;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
@@ -23,6 +24,20 @@ public abstract class BaseExchangeService<E extends Exchange> {
     this.exchange = exchange;
   }
 
+  /**
+   * @return the executor of the exchange specification, or {@link
+   *     ServiceExecutors#defaultExecutor()} if it sets none
+   * @see BaseService#getAsyncExecutor()
+   */
+  public Executor getAsyncExecutor() {
+
+    Executor executor =
+        exchange == null || exchange.getExchangeSpecification() == null
+            ? null
+            : exchange.getExchangeSpecification().getAsyncExecutor();
+    return executor != null ? executor : ServiceExecutors.defaultExecutor();
+  }
+
   public void verifyOrder(LimitOrder limitOrder) {
 
     ExchangeMetaData exchangeMetaData = exchange.getExchangeMetaData();
@@ -2,8 +2,11 @@ package org.knowm.xchange.service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
@@ -16,6 +19,11 @@ public abstract class BaseParamsDigest implements ParamsDigest {
   public static final String HMAC_SHA_256 = "HmacSHA256";
   public static final String HMAC_SHA_1 = "HmacSHA1";
   public static final String HMAC_MD5 = "HmacMD5";
+  public static final String SHA_512 = "SHA-512";
+  public static final String SHA_256 = "SHA-256";
+
+  private static final ThreadLocal<Map<String, MessageDigest>> THREAD_LOCAL_MESSAGE_DIGESTS =
+      ThreadLocal.withInitial(HashMap::new);
 
   private final ThreadLocal<Mac> threadLocalMac;
 
@@ -65,4 +73,25 @@ public abstract class BaseParamsDigest implements ParamsDigest {
   public Mac getMac() {
     return threadLocalMac.get();
   }
+
+  /**
+   * @param algorithm the algorithm, such as {@link #SHA_256}
+   * @return the message digest of the current thread for the algorithm, ready for a new digest
+   */
+  protected static MessageDigest getMessageDigest(String algorithm) {
+    MessageDigest messageDigest =
+        THREAD_LOCAL_MESSAGE_DIGESTS
+            .get()
+            .computeIfAbsent(
+                algorithm,
+                a -> {
+                  try {
+                    return MessageDigest.getInstance(a);
+                  } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalArgumentException("Illegal algorithm " + a, e);
+                  }
+                });
+    messageDigest.reset();
+    return messageDigest;
+  }
 }
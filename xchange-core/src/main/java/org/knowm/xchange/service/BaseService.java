@@ -1,3 +1,18 @@
 package org.knowm.xchange.service;
 
-public interface BaseService {}
+import java.util.concurrent.Executor;
+
+public interface BaseService {
+
+  /**
+   * Get the executor on which the default implementations of the asynchronous methods, such as
+   * {@code getTickerAsync}, run their blocking counterparts. Services over a non-blocking transport
+   * override the asynchronous methods instead, so that they do not hold a thread per request.
+   *
+   * @return the executor set in the exchange specification, or {@link
+   *     ServiceExecutors#defaultExecutor()}
+   */
+  default Executor getAsyncExecutor() {
+    return ServiceExecutors.defaultExecutor();
+  }
+}
@@ -0,0 +1,63 @@
+package org.knowm.xchange.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Runs the blocking calls of the services for their asynchronous counterparts. */
+public final class ServiceExecutors {
+
+  private ServiceExecutors() {}
+
+  /**
+   * @return the executor shared by all services unless the exchange specification sets one: a
+   *     cached pool of daemon threads, as the calls it runs block on the network
+   */
+  public static Executor defaultExecutor() {
+    return DefaultExecutorHolder.EXECUTOR;
+  }
+
+  /**
+   * Runs a blocking call on an executor.
+   *
+   * @param call the call, typically one of the synchronous methods of a service
+   * @param executor the executor to run it on
+   * @param <T> the type returned by the call
+   * @return a future completed with the result of the call, or exceptionally with the exception it
+   *     threw, such as an {@link java.io.IOException}
+   */
+  public static <T> CompletableFuture<T> supplyAsync(Callable<T> call, Executor executor) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return call.call();
+          } catch (RuntimeException e) {
+            throw e;
+          } catch (Exception e) {
+            throw new CompletionException(e);
+          }
+        },
+        executor);
+  }
+
+  private static final class DefaultExecutorHolder {
+
+    private static final ExecutorService EXECUTOR =
+        Executors.newCachedThreadPool(
+            new ThreadFactory() {
+              private final AtomicInteger count = new AtomicInteger();
+
+              @Override
+              public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "xchange-async-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              }
+            });
+  }
+}
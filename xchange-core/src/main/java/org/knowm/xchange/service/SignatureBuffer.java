@@ -0,0 +1,219 @@
+package org.knowm.xchange.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+
+/**
+ * Builds the payload of a request signature and encodes the signature in reusable arrays, so that
+ * signing a request allocates little more than the resulting string. A payload is appended as
+ * bytes, then hashed with a {@link MessageDigest} or a {@link Mac}, which empties the payload and
+ * keeps the hash to be appended to the next payload or encoded:
+ *
+ * <pre>{@code
+ * return SignatureBuffer.forCurrentThread()
+ *     .append(timestamp)
+ *     .append(restInvocation.getHttpMethod())
+ *     .append(restInvocation.getPath())
+ *     .hash(getMac())
+ *     .hashToHex();
+ * }</pre>
+ *
+ * <p>Instances are not thread-safe. {@link #forCurrentThread()} gives each thread its own, which a
+ * {@link si.mazi.rescu.ParamsDigest} may use until it returns.
+ */
+public final class SignatureBuffer {
+
+  /** The largest hash, of SHA-512. */
+  private static final int MAX_HASH_LENGTH = 64;
+
+  private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  private static final byte[] BASE64 =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+          .getBytes(StandardCharsets.US_ASCII);
+
+  private static final ThreadLocal<SignatureBuffer> BUFFERS =
+      ThreadLocal.withInitial(SignatureBuffer::new);
+
+  private byte[] bytes = new byte[512];
+  private byte[] encoded = new byte[2 * MAX_HASH_LENGTH];
+  private int length;
+  private final byte[] hash = new byte[MAX_HASH_LENGTH];
+  private int hashLength;
+
+  /** @return the empty buffer of the current thread */
+  public static SignatureBuffer forCurrentThread() {
+    return BUFFERS.get().reset();
+  }
+
+  /** Empties the payload and forgets the hash. */
+  public SignatureBuffer reset() {
+    length = 0;
+    hashLength = 0;
+    return this;
+  }
+
+  /** Appends characters encoded in UTF-8, nothing if null. */
+  public SignatureBuffer append(CharSequence chars) {
+    if (chars == null) {
+      return this;
+    }
+    int count = chars.length();
+    ensureCapacity(length + count);
+    for (int i = 0; i < count; i++) {
+      char c = chars.charAt(i);
+      if (c >= 0x80) {
+        return append(chars.subSequence(i, count).toString().getBytes(StandardCharsets.UTF_8));
+      }
+      bytes[length++] = (byte) c;
+    }
+    return this;
+  }
+
+  /** Appends a character, which must be ASCII. */
+  public SignatureBuffer append(char c) {
+    ensureCapacity(length + 1);
+    bytes[length++] = (byte) c;
+    return this;
+  }
+
+  /** Appends the decimal representation of a number, such as a nonce. */
+  public SignatureBuffer append(long value) {
+    if (value == Long.MIN_VALUE) {
+      return append(Long.toString(value));
+    }
+    ensureCapacity(length + 20);
+    if (value < 0) {
+      bytes[length++] = '-';
+      value = -value;
+    }
+    int end = length;
+    do {
+      bytes[end++] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    // digits were written least significant first
+    for (int i = length, j = end - 1; i < j; i++, j--) {
+      byte digit = bytes[i];
+      bytes[i] = bytes[j];
+      bytes[j] = digit;
+    }
+    length = end;
+    return this;
+  }
+
+  /** Appends the string representation of an object, such as a nonce parameter. */
+  public SignatureBuffer append(Object value) {
+    if (value instanceof Long || value instanceof Integer) {
+      return append(((Number) value).longValue());
+    }
+    return append(value instanceof CharSequence ? (CharSequence) value : String.valueOf(value));
+  }
+
+  public SignatureBuffer append(byte[] src) {
+    return append(src, 0, src.length);
+  }
+
+  public SignatureBuffer append(byte[] src, int offset, int count) {
+    ensureCapacity(length + count);
+    System.arraycopy(src, offset, bytes, length, count);
+    length += count;
+    return this;
+  }
+
+  /** Appends the last hash. */
+  public SignatureBuffer appendHash() {
+    return append(hash, 0, hashLength);
+  }
+
+  /** Replaces the payload with its Base64 encoding. */
+  public SignatureBuffer base64() {
+    int encodedLength = 4 * ((length + 2) / 3);
+    if (encoded.length < encodedLength) {
+      encoded = new byte[Math.max(encodedLength, 2 * encoded.length)];
+    }
+    length = encodeBase64(bytes, length, encoded);
+    byte[] payload = bytes;
+    bytes = encoded;
+    encoded = payload;
+    return this;
+  }
+
+  /** Hashes the payload, which is emptied. */
+  public SignatureBuffer hash(MessageDigest messageDigest) {
+    messageDigest.update(bytes, 0, length);
+    try {
+      hashLength = messageDigest.digest(hash, 0, hash.length);
+    } catch (DigestException e) {
+      throw new IllegalStateException("Cannot hash with " + messageDigest.getAlgorithm(), e);
+    }
+    length = 0;
+    return this;
+  }
+
+  /** Authenticates the payload, which is emptied. */
+  public SignatureBuffer hash(Mac mac) {
+    mac.update(bytes, 0, length);
+    try {
+      mac.doFinal(hash, 0);
+    } catch (ShortBufferException e) {
+      throw new IllegalStateException("Cannot hash with " + mac.getAlgorithm(), e);
+    }
+    hashLength = mac.getMacLength();
+    length = 0;
+    return this;
+  }
+
+  /** @return the last hash in lower case hexadecimal */
+  public String hashToHex() {
+    for (int i = 0; i < hashLength; i++) {
+      int b = hash[i] & 0xFF;
+      encoded[2 * i] = HEX[b >>> 4];
+      encoded[2 * i + 1] = HEX[b & 0x0F];
+    }
+    return new String(encoded, 0, 2 * hashLength, StandardCharsets.US_ASCII);
+  }
+
+  /** @return the last hash in Base64 */
+  public String hashToBase64() {
+    return new String(
+        encoded, 0, encodeBase64(hash, hashLength, encoded), StandardCharsets.US_ASCII);
+  }
+
+  /** @return the payload decoded from UTF-8 */
+  @Override
+  public String toString() {
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /** Encodes bytes in Base64 with padding, as {@link java.util.Base64#getEncoder()} does. */
+  private static int encodeBase64(byte[] src, int count, byte[] dst) {
+    int d = 0;
+    int s = 0;
+    for (; s + 3 <= count; s += 3) {
+      int bits = (src[s] & 0xFF) << 16 | (src[s + 1] & 0xFF) << 8 | (src[s + 2] & 0xFF);
+      dst[d++] = BASE64[bits >>> 18];
+      dst[d++] = BASE64[(bits >>> 12) & 0x3F];
+      dst[d++] = BASE64[(bits >>> 6) & 0x3F];
+      dst[d++] = BASE64[bits & 0x3F];
+    }
+    if (s < count) {
+      int bits = (src[s] & 0xFF) << 16 | (s + 1 < count ? (src[s + 1] & 0xFF) << 8 : 0);
+      dst[d++] = BASE64[bits >>> 18];
+      dst[d++] = BASE64[(bits >>> 12) & 0x3F];
+      dst[d++] = s + 1 < count ? BASE64[(bits >>> 6) & 0x3F] : (byte) '=';
+      dst[d++] = '=';
+    }
+    return d;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(capacity, 2 * bytes.length));
+    }
+  }
+}
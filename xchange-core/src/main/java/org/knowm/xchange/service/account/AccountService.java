@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.knowm.xchange.Exchange;
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
@@ -16,6 +17,7 @@ import org.knowm.xchange.exceptions.NotAvailableFromExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.ServiceExecutors;
 import org.knowm.xchange.service.trade.params.DefaultWithdrawFundsParams;
 import org.knowm.xchange.service.trade.params.TradeHistoryParams;
 import org.knowm.xchange.service.trade.params.WithdrawFundsParams;
@@ -205,4 +207,45 @@ public interface AccountService extends BaseService {
   default Map<CurrencyPair, Fee> getDynamicTradingFees() throws IOException {
     throw new NotYetImplementedForExchangeException("getDynamicTradingFees");
   }
+
+  /**
+   * Get the account info without blocking the calling thread. By default {@link #getAccountInfo()}
+   * runs on the {@link #getAsyncExecutor() async executor}.
+   *
+   * @return a future completed with the AccountInfo, or exceptionally with the exceptions of {@link
+   *     #getAccountInfo()}
+   */
+  default CompletableFuture<AccountInfo> getAccountInfoAsync() {
+    return ServiceExecutors.supplyAsync(this::getAccountInfo, getAsyncExecutor());
+  }
+
+  /**
+   * Withdraw funds without blocking the calling thread.
+   *
+   * @return a future completed with the transaction id
+   * @see #withdrawFunds(WithdrawFundsParams)
+   */
+  default CompletableFuture<String> withdrawFundsAsync(WithdrawFundsParams params) {
+    return ServiceExecutors.supplyAsync(() -> withdrawFunds(params), getAsyncExecutor());
+  }
+
+  /**
+   * Request a deposit address without blocking the calling thread.
+   *
+   * @see #requestDepositAddressData(Currency, String...)
+   */
+  default CompletableFuture<AddressWithTag> requestDepositAddressDataAsync(
+      Currency currency, String... args) {
+    return ServiceExecutors.supplyAsync(
+        () -> requestDepositAddressData(currency, args), getAsyncExecutor());
+  }
+
+  /**
+   * Get the funding history without blocking the calling thread.
+   *
+   * @see #getFundingHistory(TradeHistoryParams)
+   */
+  default CompletableFuture<List<FundingRecord>> getFundingHistoryAsync(TradeHistoryParams params) {
+    return ServiceExecutors.supplyAsync(() -> getFundingHistory(params), getAsyncExecutor());
+  }
 }
@@ -2,6 +2,7 @@ package org.knowm.xchange.service.marketdata;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.knowm.xchange.Exchange;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.marketdata.OrderBook;
@@ -11,6 +12,7 @@ import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotAvailableFromExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
 import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.ServiceExecutors;
 import org.knowm.xchange.service.marketdata.params.Params;
 
 /**
@@ -124,4 +126,61 @@ public interface MarketDataService extends BaseService {
   default Trades getTrades(Params params) throws IOException {
     throw new NotYetImplementedForExchangeException("getTrades");
   }
+
+  /**
+   * Get a ticker without blocking the calling thread. By default {@link #getTicker(CurrencyPair,
+   * Object...)} runs on the {@link #getAsyncExecutor() async executor}.
+   *
+   * @return a future completed with the Ticker, or exceptionally with the exceptions of {@link
+   *     #getTicker(CurrencyPair, Object...)}
+   */
+  default CompletableFuture<Ticker> getTickerAsync(CurrencyPair currencyPair, Object... args) {
+    return ServiceExecutors.supplyAsync(() -> getTicker(currencyPair, args), getAsyncExecutor());
+  }
+
+  /**
+   * Get tickers without blocking the calling thread.
+   *
+   * @see #getTickers(Params)
+   */
+  default CompletableFuture<List<Ticker>> getTickersAsync(Params params) {
+    return ServiceExecutors.supplyAsync(() -> getTickers(params), getAsyncExecutor());
+  }
+
+  /**
+   * Get an order book without blocking the calling thread.
+   *
+   * @see #getOrderBook(CurrencyPair, Object...)
+   */
+  default CompletableFuture<OrderBook> getOrderBookAsync(
+      CurrencyPair currencyPair, Object... args) {
+    return ServiceExecutors.supplyAsync(() -> getOrderBook(currencyPair, args), getAsyncExecutor());
+  }
+
+  /**
+   * Get an order book without blocking the calling thread.
+   *
+   * @see #getOrderBook(Params)
+   */
+  default CompletableFuture<OrderBook> getOrderBookAsync(Params params) {
+    return ServiceExecutors.supplyAsync(() -> getOrderBook(params), getAsyncExecutor());
+  }
+
+  /**
+   * Get recent trades without blocking the calling thread.
+   *
+   * @see #getTrades(CurrencyPair, Object...)
+   */
+  default CompletableFuture<Trades> getTradesAsync(CurrencyPair currencyPair, Object... args) {
+    return ServiceExecutors.supplyAsync(() -> getTrades(currencyPair, args), getAsyncExecutor());
+  }
+
+  /**
+   * Get recent trades without blocking the calling thread.
+   *
+   * @see #getTrades(Params)
+   */
+  default CompletableFuture<Trades> getTradesAsync(Params params) {
+    return ServiceExecutors.supplyAsync(() -> getTrades(params), getAsyncExecutor());
+  }
 }
@@ -2,6 +2,7 @@ package org.knowm.xchange.service.trade;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.account.OpenPositions;
 import org.knowm.xchange.dto.trade.*;
@@ -9,6 +10,7 @@ import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotAvailableFromExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
 import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.ServiceExecutors;
 import org.knowm.xchange.service.trade.params.CancelOrderParams;
 import org.knowm.xchange.service.trade.params.DefaultCancelOrderParamId;
 import org.knowm.xchange.service.trade.params.TradeHistoryParams;
@@ -323,4 +325,109 @@ public interface TradeService extends BaseService {
   default Collection<Order> getOrder(OrderQueryParams... orderQueryParams) throws IOException {
     throw new NotAvailableFromExchangeException("getOrder");
   }
+
+  /**
+   * Get the open orders without blocking the calling thread. By default {@link #getOpenOrders()}
+   * runs on the {@link #getAsyncExecutor() async executor}.
+   *
+   * @return a future completed with the open orders, or exceptionally with the exceptions of {@link
+   *     #getOpenOrders()}
+   */
+  default CompletableFuture<OpenOrders> getOpenOrdersAsync() {
+    return ServiceExecutors.supplyAsync(this::getOpenOrders, getAsyncExecutor());
+  }
+
+  /**
+   * Get the open orders without blocking the calling thread.
+   *
+   * @see #getOpenOrders(OpenOrdersParams)
+   */
+  default CompletableFuture<OpenOrders> getOpenOrdersAsync(OpenOrdersParams params) {
+    return ServiceExecutors.supplyAsync(() -> getOpenOrders(params), getAsyncExecutor());
+  }
+
+  /**
+   * Get the open positions without blocking the calling thread.
+   *
+   * @see #getOpenPositions()
+   */
+  default CompletableFuture<OpenPositions> getOpenPositionsAsync() {
+    return ServiceExecutors.supplyAsync(this::getOpenPositions, getAsyncExecutor());
+  }
+
+  /**
+   * Place a market order without blocking the calling thread.
+   *
+   * @return a future completed with the id of the order
+   * @see #placeMarketOrder(MarketOrder)
+   */
+  default CompletableFuture<String> placeMarketOrderAsync(MarketOrder marketOrder) {
+    return ServiceExecutors.supplyAsync(() -> placeMarketOrder(marketOrder), getAsyncExecutor());
+  }
+
+  /**
+   * Place a limit order without blocking the calling thread.
+   *
+   * @return a future completed with the id of the order
+   * @see #placeLimitOrder(LimitOrder)
+   */
+  default CompletableFuture<String> placeLimitOrderAsync(LimitOrder limitOrder) {
+    return ServiceExecutors.supplyAsync(() -> placeLimitOrder(limitOrder), getAsyncExecutor());
+  }
+
+  /**
+   * Place a stop order without blocking the calling thread.
+   *
+   * @return a future completed with the id of the order
+   * @see #placeStopOrder(StopOrder)
+   */
+  default CompletableFuture<String> placeStopOrderAsync(StopOrder stopOrder) {
+    return ServiceExecutors.supplyAsync(() -> placeStopOrder(stopOrder), getAsyncExecutor());
+  }
+
+  /**
+   * Change an order without blocking the calling thread.
+   *
+   * @return a future completed with the id of the changed order
+   * @see #changeOrder(LimitOrder)
+   */
+  default CompletableFuture<String> changeOrderAsync(LimitOrder limitOrder) {
+    return ServiceExecutors.supplyAsync(() -> changeOrder(limitOrder), getAsyncExecutor());
+  }
+
+  /**
+   * Cancel an order without blocking the calling thread.
+   *
+   * @see #cancelOrder(String)
+   */
+  default CompletableFuture<Boolean> cancelOrderAsync(String orderId) {
+    return ServiceExecutors.supplyAsync(() -> cancelOrder(orderId), getAsyncExecutor());
+  }
+
+  /**
+   * Cancel an order without blocking the calling thread.
+   *
+   * @see #cancelOrder(CancelOrderParams)
+   */
+  default CompletableFuture<Boolean> cancelOrderAsync(CancelOrderParams orderParams) {
+    return ServiceExecutors.supplyAsync(() -> cancelOrder(orderParams), getAsyncExecutor());
+  }
+
+  /**
+   * Get the trade history without blocking the calling thread.
+   *
+   * @see #getTradeHistory(TradeHistoryParams)
+   */
+  default CompletableFuture<UserTrades> getTradeHistoryAsync(TradeHistoryParams params) {
+    return ServiceExecutors.supplyAsync(() -> getTradeHistory(params), getAsyncExecutor());
+  }
+
+  /**
+   * Query orders without blocking the calling thread.
+   *
+   * @see #getOrder(OrderQueryParams...)
+   */
+  default CompletableFuture<Collection<Order>> getOrderAsync(OrderQueryParams... orderQueryParams) {
+    return ServiceExecutors.supplyAsync(() -> getOrder(orderQueryParams), getAsyncExecutor());
+  }
 }
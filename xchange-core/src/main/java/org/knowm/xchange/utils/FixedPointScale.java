@@ -0,0 +1,271 @@
+package org.knowm.xchange.utils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+
+/**
+ * Opt-in fixed-point representation for prices and quantities on latency sensitive paths.
+ *
+ * <p>A value is held as a {@code long} mantissa with an implied number of decimal places, so {@code
+ * 123.45} with a scale of 4 is the long {@code 1234500}. Two values of the same scale can be
+ * compared with {@link Long#compare(long, long)} and kept in primitive collections without boxing.
+ * Conversion to {@link BigDecimal} is only needed at the API boundary.
+ *
+ * <p>The scale of an instrument is usually taken from the {@link CurrencyPairMetaData} price and
+ * volume scales, see {@link #forPrice(CurrencyPairMetaData)} and {@link
+ * #forVolume(CurrencyPairMetaData)}. Parsing a value with more significant decimal places than the
+ * scale, or one that does not fit in a long, throws an {@link ArithmeticException} rather than
+ * silently rounding.
+ */
+public final class FixedPointScale {
+
+  /** Largest supported scale, a long holds 18 full decimal digits */
+  public static final int MAX_SCALE = 18;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+  private static final FixedPointScale[] SCALES = new FixedPointScale[MAX_SCALE + 1];
+
+  static {
+    long power = 1;
+    for (int i = 0; i <= MAX_SCALE; i++) {
+      POWERS_OF_TEN[i] = power;
+      SCALES[i] = new FixedPointScale(i);
+      power *= 10;
+    }
+  }
+
+  private final int scale;
+
+  private FixedPointScale(int scale) {
+
+    this.scale = scale;
+  }
+
+  /**
+   * @param scale number of decimal places, between 0 and {@link #MAX_SCALE}
+   * @return the shared instance for that scale
+   */
+  public static FixedPointScale of(int scale) {
+
+    Assert.isTrue(
+        scale >= 0 && scale <= MAX_SCALE,
+        "Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+    return SCALES[scale];
+  }
+
+  /**
+   * @param metaData the meta data of the currency pair
+   * @return the scale for prices of that currency pair
+   */
+  public static FixedPointScale forPrice(CurrencyPairMetaData metaData) {
+
+    Assert.notNull(metaData.getPriceScale(), "No price scale in currency pair meta data");
+    return of(metaData.getPriceScale());
+  }
+
+  /**
+   * @param metaData the meta data of the currency pair
+   * @return the scale for volumes of that currency pair
+   */
+  public static FixedPointScale forVolume(CurrencyPairMetaData metaData) {
+
+    Assert.notNull(metaData.getVolumeScale(), "No volume scale in currency pair meta data");
+    return of(metaData.getVolumeScale());
+  }
+
+  public int getScale() {
+
+    return scale;
+  }
+
+  /**
+   * Parses a decimal number such as {@code "0.01000"}, {@code "-12"} or {@code "1.5e-3"}.
+   *
+   * @param value the text to parse
+   * @return the mantissa of the value at this scale
+   * @throws NumberFormatException if the text is not a decimal number
+   * @throws ArithmeticException if the value does not fit this scale without rounding
+   */
+  public long parse(CharSequence value) {
+
+    return parse(value, null, 0, value.length());
+  }
+
+  /**
+   * Parses a decimal number from ASCII bytes, for example straight from a websocket frame.
+   *
+   * @param bytes the buffer holding the text
+   * @param offset index of the first character
+   * @param length number of characters
+   * @return the mantissa of the value at this scale
+   * @throws NumberFormatException if the text is not a decimal number
+   * @throws ArithmeticException if the value does not fit this scale without rounding
+   */
+  public long parse(byte[] bytes, int offset, int length) {
+
+    return parse(null, bytes, offset, offset + length);
+  }
+
+  /**
+   * @param value the decimal to convert
+   * @return the mantissa of the value at this scale
+   * @throws ArithmeticException if the value does not fit this scale without rounding
+   */
+  public long fromBigDecimal(BigDecimal value) {
+
+    return value.movePointRight(scale).longValueExact();
+  }
+
+  /**
+   * @param mantissa a value at this scale
+   * @return the value as a BigDecimal with exactly this scale
+   */
+  public BigDecimal toBigDecimal(long mantissa) {
+
+    return BigDecimal.valueOf(mantissa, scale);
+  }
+
+  /**
+   * Converts a value from another scale to this one.
+   *
+   * @param mantissa the value
+   * @param from the scale of the value
+   * @return the mantissa of the value at this scale
+   * @throws ArithmeticException if the value does not fit this scale without rounding
+   */
+  public long rescale(long mantissa, FixedPointScale from) {
+
+    return shift(mantissa, scale - from.scale);
+  }
+
+  private long parse(CharSequence chars, byte[] bytes, int start, int end) {
+
+    int i = start;
+    boolean negative = false;
+    if (i < end) {
+      char first = charAt(chars, bytes, i);
+      if (first == '-' || first == '+') {
+        negative = first == '-';
+        i++;
+      }
+    }
+
+    long mantissa = 0;
+    int pendingZeros = 0;
+    int fractionDigits = 0;
+    boolean fraction = false;
+    boolean digits = false;
+    for (; i < end; i++) {
+      char c = charAt(chars, bytes, i);
+      if (c >= '0' && c <= '9') {
+        digits = true;
+        if (fraction) {
+          fractionDigits++;
+        }
+        if (c == '0') {
+          // trailing zeros are only multiplied in once a significant digit follows them
+          if (mantissa != 0) {
+            pendingZeros++;
+          }
+        } else {
+          mantissa = Math.addExact(shift(mantissa, pendingZeros + 1), c - '0');
+          pendingZeros = 0;
+        }
+      } else if (c == '.' && !fraction) {
+        fraction = true;
+      } else if (c == 'e' || c == 'E') {
+        break;
+      } else {
+        throw invalid(chars, bytes, start, end);
+      }
+    }
+    if (!digits) {
+      throw invalid(chars, bytes, start, end);
+    }
+
+    int exponent = 0;
+    if (i < end) {
+      exponent = parseExponent(chars, bytes, i + 1, end, start);
+    }
+
+    long result = shift(mantissa, pendingZeros - fractionDigits + exponent + scale);
+    return negative ? -result : result;
+  }
+
+  private static int parseExponent(
+      CharSequence chars, byte[] bytes, int i, int end, int numberStart) {
+
+    boolean negative = false;
+    if (i < end) {
+      char sign = charAt(chars, bytes, i);
+      if (sign == '-' || sign == '+') {
+        negative = sign == '-';
+        i++;
+      }
+    }
+    if (i == end) {
+      throw invalid(chars, bytes, numberStart, end);
+    }
+    int exponent = 0;
+    for (; i < end; i++) {
+      char c = charAt(chars, bytes, i);
+      if (c < '0' || c > '9' || exponent > 1000) {
+        throw invalid(chars, bytes, numberStart, end);
+      }
+      exponent = exponent * 10 + (c - '0');
+    }
+    return negative ? -exponent : exponent;
+  }
+
+  // Multiplies the mantissa by 10^places, failing on overflow or on a non-zero remainder.
+  private static long shift(long mantissa, int places) {
+
+    if (mantissa == 0 || places == 0) {
+      return mantissa;
+    }
+    if (places > 0) {
+      if (places > MAX_SCALE) {
+        throw new ArithmeticException("Overflow");
+      }
+      return Math.multiplyExact(mantissa, POWERS_OF_TEN[places]);
+    }
+    if (-places > MAX_SCALE || mantissa % POWERS_OF_TEN[-places] != 0) {
+      throw new ArithmeticException("Rounding necessary");
+    }
+    return mantissa / POWERS_OF_TEN[-places];
+  }
+
+  private static char charAt(CharSequence chars, byte[] bytes, int i) {
+
+    return bytes != null ? (char) bytes[i] : chars.charAt(i);
+  }
+
+  private static NumberFormatException invalid(
+      CharSequence chars, byte[] bytes, int start, int end) {
+
+    String text =
+        bytes != null
+            ? new String(bytes, start, end - start, StandardCharsets.US_ASCII)
+            : chars.subSequence(start, end).toString();
+    return new NumberFormatException("Not a decimal number: " + text);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+
+    return this == o || (o instanceof FixedPointScale && ((FixedPointScale) o).scale == this.scale);
+  }
+
+  @Override
+  public int hashCode() {
+
+    return scale;
+  }
+
+  @Override
+  public String toString() {
+
+    return "FixedPointScale [scale=" + scale + "]";
+  }
+}
@@ -0,0 +1,150 @@
+package org.knowm.xchange.utils.coordination;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shares state between the processes of a host through memory-mapped files, one per piece of state
+ * in a directory. A process holds a piece of state with an exclusive lock on its file, which the
+ * operating system releases if the process dies.
+ *
+ * <p>File locks belong to the whole JVM, so the threads of a process first queue on a lock of their
+ * own. Any number of instances may use the same directory, within a process or not. A {@link
+ * #hold(String, int) hold} keeps the file locked until released, and its threads queue on a
+ * semaphore instead, which any thread may release.
+ */
+public final class MappedFileSharedState implements SharedState {
+
+  /** The files opened by the process, by path, whichever instance opened them. */
+  private static final Map<Path, StateFile> FILES = new ConcurrentHashMap<>();
+
+  private final Path directory;
+
+  /**
+   * @param directory the directory of the files, created if needed, which the processes sharing the
+   *     state must be able to read and write
+   */
+  public MappedFileSharedState(Path directory) throws IOException {
+    this.directory = Files.createDirectories(directory).toAbsolutePath().normalize();
+  }
+
+  @Override
+  public <T, E extends Exception> T update(String name, int length, Update<T, E> update)
+      throws IOException, E {
+    StateFile file = file(name);
+    file.lock.lock();
+    try {
+      if (file.lock.getHoldCount() > 1) {
+        if (file.state.length != length) {
+          throw new IllegalArgumentException(
+              "State " + name + " is held with length " + file.state.length + ", not " + length);
+        }
+        return update.apply(file.state);
+      }
+      return file.update(length, update);
+    } finally {
+      file.lock.unlock();
+    }
+  }
+
+  @Override
+  public Hold hold(String name, int length) throws IOException {
+    StateFile file = file(name);
+    try {
+      file.holds.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for state " + name);
+    }
+    file.lock.lock();
+    try {
+      file.held = file.open(length).lock();
+    } catch (IOException | RuntimeException e) {
+      file.holds.release();
+      throw e;
+    } finally {
+      file.lock.unlock();
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    return () -> {
+      if (released.compareAndSet(false, true)) {
+        file.release();
+      }
+    };
+  }
+
+  private StateFile file(String name) {
+    return FILES.computeIfAbsent(directory.resolve(name + ".state"), StateFile::new);
+  }
+
+  private static final class StateFile {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Semaphore holds = new Semaphore(1, true);
+    private final Path path;
+    private FileChannel channel;
+    private LongBuffer buffer;
+    private long[] state;
+    private FileLock held;
+
+    private StateFile(Path path) {
+      this.path = path;
+    }
+
+    private <T, E extends Exception> T update(int length, Update<T, E> update)
+        throws IOException, E {
+      open(length);
+      // a hold of this process already locks the file
+      try (FileLock ignored = held == null ? channel.lock() : null) {
+        buffer.get(state, 0, length);
+        try {
+          return update.apply(state);
+        } finally {
+          // kept even if the update fails, as a nonce it took may have reached the exchange
+          buffer.clear();
+          buffer.put(state, 0, length);
+          buffer.clear();
+        }
+      }
+    }
+
+    private FileChannel open(int length) throws IOException {
+      if (channel == null) {
+        channel =
+            FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      }
+      if (state == null || state.length != length) {
+        // mapping beyond the end of the file extends it with zeros
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length * 8L).asLongBuffer();
+        state = new long[length];
+      }
+      return channel;
+    }
+
+    private void release() {
+      lock.lock();
+      try {
+        held.release();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        held = null;
+        lock.unlock();
+        holds.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package org.knowm.xchange.utils.coordination;
+
+import java.io.IOException;
+
+/**
+ * State shared by the clients of an exchange running in several processes, or on several hosts, so
+ * that they draw from the same nonce sequence and the same rate limit budget. Each piece of state
+ * has a name and is an array of longs, all zero at first.
+ *
+ * <p>{@link MappedFileSharedState} shares state between the processes of a host. Other
+ * implementations may share it between hosts, for instance through a database or a lock service.
+ *
+ * @see org.knowm.xchange.ExchangeSpecification#setSharedState(SharedState)
+ */
+public interface SharedState {
+
+  /**
+   * Updates a piece of state while holding it exclusively: no other thread or process using the
+   * same state can read or update it until the update returns. The lock is reentrant, so the update
+   * may itself update the same piece of state, and gets the same array.
+   *
+   * @param name the name of the state
+   * @param length the length of the state, which should always be the same for a name
+   * @param update reads and modifies the state in place
+   * @return the result of the update
+   * @throws IOException if the state cannot be locked, read or written
+   * @throws E if the update fails, in which case the changes it made to the state are kept
+   */
+  <T, E extends Exception> T update(String name, int length, Update<T, E> update)
+      throws IOException, E;
+
+  /**
+   * Holds a piece of state exclusively until the hold is released, possibly by another thread, for
+   * instance once an asynchronous call completes. Until then, other processes cannot update the
+   * state and other holds wait, while the updates of this process go on from any thread.
+   *
+   * @param name the name of the state
+   * @param length the length of the state, which should always be the same for a name
+   * @return the hold, to release exactly once
+   * @throws IOException if the state cannot be locked
+   */
+  Hold hold(String name, int length) throws IOException;
+
+  /** An update of shared state. */
+  @FunctionalInterface
+  interface Update<T, E extends Exception> {
+
+    T apply(long[] state) throws E;
+  }
+
+  /** A hold of shared state. */
+  interface Hold {
+
+    /**
+     * Releases the state, from any thread.
+     *
+     * @throws java.io.UncheckedIOException if the state cannot be unlocked
+     */
+    void release();
+  }
+}
@@ -31,7 +31,8 @@ public class CurrencyPairDeserializer extends JsonDeserializer<CurrencyPair> {
      */
     final String symbols[] = currencyPairString.split("[^a-zA-Z0-9]");
     if (symbols.length == 2) {
-      return new CurrencyPair(symbols[0], symbols[1]);
+      return CurrencyPair.getInstance(
+          Currency.getInstance(symbols[0]), Currency.getInstance(symbols[1]));
     }
 
     /*
@@ -40,7 +41,8 @@ public class CurrencyPairDeserializer extends JsonDeserializer<CurrencyPair> {
     if (currencyPairString.length() == 6) {
       final String tradeCurrency = currencyPairString.substring(0, 3);
       final String priceCurrency = currencyPairString.substring(3);
-      return new CurrencyPair(tradeCurrency, priceCurrency);
+      return CurrencyPair.getInstance(
+          Currency.getInstance(tradeCurrency), Currency.getInstance(priceCurrency));
     }
 
     /*
@@ -54,7 +56,7 @@ public class CurrencyPairDeserializer extends JsonDeserializer<CurrencyPair> {
       final Currency priceCurrency = Currency.getInstanceNoCreate(currencyPairString.substring(i));
       if (tradeCurrency != null) {
         if (priceCurrency != null) {
-          return new CurrencyPair(tradeCurrency, priceCurrency);
+          return CurrencyPair.getInstance(tradeCurrency, priceCurrency);
         } else if (i > bestLength) {
           bestLength = i;
           bestGuess = i;
@@ -66,7 +68,8 @@ public class CurrencyPairDeserializer extends JsonDeserializer<CurrencyPair> {
     }
     final String tradeCurrency = currencyPairString.substring(0, bestGuess);
     final String priceCurrency = currencyPairString.substring(bestGuess);
-    return new CurrencyPair(tradeCurrency, priceCurrency);
+    return CurrencyPair.getInstance(
+        Currency.getInstance(tradeCurrency), Currency.getInstance(priceCurrency));
   }
 
   @Override
@@ -29,7 +29,7 @@ public class InstrumentDeserializer extends JsonDeserializer<Instrument> {
     final String instrumentString = node.asText();
     long count = instrumentString.chars().filter(ch -> ch == '/').count();
     // CurrencyPair (Base/Counter) i.e. BTC/USD
-    if (count == 1) return new CurrencyPair(instrumentString);
+    if (count == 1) return CurrencyPair.getInstance(instrumentString);
     // Futures/Swaps (Base/Counter/Prompt) i.e. BTC/USD/200925
     if (count == 2) return new FuturesContract(instrumentString);
     // Options (Base/Counter/Prompt/StrikePrice/Put?Call) i.e. BTC/USD/200925/8956.67/P
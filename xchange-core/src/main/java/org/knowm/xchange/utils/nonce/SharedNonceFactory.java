@@ -0,0 +1,65 @@
+package org.knowm.xchange.utils.nonce;
+
+import java.io.IOException;
+import org.knowm.xchange.exceptions.ExchangeException;
+import org.knowm.xchange.utils.coordination.SharedState;
+import si.mazi.rescu.SynchronizedValueFactory;
+
+/**
+ * Creates nonces increasing across all the processes sharing a {@link SharedState}, so that several
+ * processes may trade with the same API key. Each nonce is the value of another factory, usually
+ * based on the current time, or one more than the last nonce of any process if that is not greater.
+ *
+ * <p>Exchanges such as Kraken reject a nonce lower than one they already received, so distinct
+ * nonces are not enough: they must also reach the exchange in order. REST proxies built by {@link
+ * org.knowm.xchange.client.ExchangeRestProxyBuilder} therefore hold the nonce of a call until its
+ * response, see {@link #hold()}.
+ */
+public class SharedNonceFactory implements SynchronizedValueFactory<Long> {
+
+  private final SynchronizedValueFactory<Long> nonceFactory;
+  private final SharedState sharedState;
+  private final String name;
+
+  /**
+   * @param nonceFactory the factory of the nonces of this process
+   * @param sharedState the state shared by the processes
+   * @param name the name of the nonce in the shared state, the same for all the processes using the
+   *     same API key
+   */
+  public SharedNonceFactory(
+      SynchronizedValueFactory<Long> nonceFactory, SharedState sharedState, String name) {
+    this.nonceFactory = nonceFactory;
+    this.sharedState = sharedState;
+    this.name = name;
+  }
+
+  @Override
+  public Long createValue() {
+    try {
+      return sharedState.update(
+          name,
+          1,
+          state -> {
+            long nonce = Math.max(nonceFactory.createValue(), state[0] + 1);
+            state[0] = nonce;
+            return nonce;
+          });
+    } catch (IOException e) {
+      throw new ExchangeException("Cannot share nonce " + name, e);
+    }
+  }
+
+  /**
+   * Holds the nonce until released, possibly by another thread: other processes cannot create a
+   * nonce and other holds wait, so that a call creating one in the meantime reaches the exchange
+   * before any call with a greater nonce.
+   */
+  public SharedState.Hold hold() {
+    try {
+      return sharedState.hold(name, 1);
+    } catch (IOException e) {
+      throw new ExchangeException("Cannot hold nonce " + name, e);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package org.knowm.xchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.knowm.xchange.client.RequestRateLimiter;
+import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.dto.meta.RateLimit;
+import org.knowm.xchange.exceptions.RateLimitExceededException;
+
+public class BaseExchangeTest {
+
+  @Test
+  public void testDefaultRateLimiterIsKeptByEachExchange() {
+    ExchangeSpecification spec = new ExchangeSpecification(TestExchange.class);
+    spec.setShouldLoadRemoteMetaData(false);
+
+    Exchange first = ExchangeFactory.INSTANCE.createExchange(spec);
+    Exchange second = ExchangeFactory.INSTANCE.createExchange(spec);
+
+    assertThat(first.getRequestRateLimiter()).isNotNull();
+    assertThat(second.getRequestRateLimiter())
+        .isNotNull()
+        .isNotSameAs(first.getRequestRateLimiter());
+    assertThat(spec.getResilience().getRequestRateLimiter()).isNull();
+  }
+
+  @Test
+  public void testRateLimiterOfTheSpecificationIsShared() {
+    RequestRateLimiter limiter = new RequestRateLimiter();
+    ExchangeSpecification spec = new ExchangeSpecification(TestExchange.class);
+    spec.setShouldLoadRemoteMetaData(false);
+    spec.getResilience().setRequestRateLimiter(limiter);
+
+    assertThat(ExchangeFactory.INSTANCE.createExchange(spec).getRequestRateLimiter())
+        .isSameAs(limiter);
+    assertThat(ExchangeFactory.INSTANCE.createExchange(spec).getRequestRateLimiter())
+        .isSameAs(limiter);
+
+    spec.getResilience().setRequestRateLimiterEnabled(false);
+    assertThat(ExchangeFactory.INSTANCE.createExchange(spec).getRequestRateLimiter()).isNull();
+  }
+
+  @Test
+  public void testRateLimiterFollowsTheRateLimitsOfRemoteInit() throws Exception {
+    ExchangeSpecification spec = new ExchangeSpecification(TestExchange.class);
+    spec.setShouldLoadRemoteMetaData(true);
+
+    RequestRateLimiter limiter =
+        ExchangeFactory.INSTANCE.createExchange(spec).getRequestRateLimiter();
+
+    limiter.acquire(false, 1);
+    assertThatThrownBy(() -> limiter.acquire(false, 1))
+        .isInstanceOf(RateLimitExceededException.class);
+  }
+
+  public static class TestExchange extends BaseExchange {
+
+    @Override
+    protected void initServices() {}
+
+    @Override
+    public void remoteInit() {
+      exchangeMetaData =
+          new ExchangeMetaData(
+              Collections.emptyMap(),
+              Collections.emptyMap(),
+              new RateLimit[] {new RateLimit(1, 1, TimeUnit.HOURS)},
+              null,
+              true);
+    }
+
+    @Override
+    protected RequestRateLimiter createRequestRateLimiter() {
+      return super.createRequestRateLimiter().maxWait(Duration.ZERO);
+    }
+
+    @Override
+    public ExchangeSpecification getDefaultExchangeSpecification() {
+      return new ExchangeSpecification(getClass());
+    }
+  }
+}
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
 import org.junit.Test;
+import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.currency.CurrencyPairSymbols;
 import org.knowm.xchange.utils.ObjectMapperHelper;
 
 public class CurrencyPairTest {
@@ -61,4 +63,50 @@ public class CurrencyPairTest {
     CurrencyPair jsonCopy = ObjectMapperHelper.viaJSON(CurrencyPair.XBT_USD);
     assertThat(jsonCopy).isEqualTo(CurrencyPair.XBT_USD);
   }
+
+  @Test
+  public void testGetInstanceInterns() {
+
+    assertThat(CurrencyPair.getInstance(Currency.BTC, Currency.USD)).isSameAs(CurrencyPair.BTC_USD);
+    assertThat(CurrencyPair.getInstance("BTC/USD")).isSameAs(CurrencyPair.BTC_USD);
+    assertThat(CurrencyPair.getInstance("btc-usd")).isSameAs(CurrencyPair.BTC_USD);
+    assertThat(CurrencyPair.getInstance("XBT/USD")).isSameAs(CurrencyPair.XBT_USD);
+    assertThat(CurrencyPair.getInstance("XBT/USD").toString()).isEqualTo("XBT/USD");
+
+    CurrencyPair unknown = CurrencyPair.getInstance("FOO/BAR");
+    assertThat(CurrencyPair.getInstance(Currency.getInstance("FOO"), Currency.getInstance("BAR")))
+        .isSameAs(unknown);
+  }
+
+  @Test
+  public void testSymbols() {
+
+    CurrencyPairSymbols symbols =
+        new CurrencyPairSymbols(
+            symbol -> new CurrencyPair(symbol.substring(0, 3), symbol.substring(3)));
+    symbols.register("XXBTZUSD", CurrencyPair.XBT_USD);
+
+    assertThat(symbols.get("XXBTZUSD")).isSameAs(CurrencyPair.XBT_USD);
+    assertThat(symbols.getIfPresent("btcusdt")).isNull();
+    assertThat(symbols.get("btcusdt")).isSameAs(CurrencyPair.BTC_USDT);
+    assertThat(symbols.getIfPresent("btcusdt")).isSameAs(CurrencyPair.BTC_USDT);
+  }
+
+  @Test
+  public void testSymbolCacheIsBounded() {
+
+    CurrencyPairSymbols symbols = new CurrencyPairSymbols(symbol -> CurrencyPair.BTC_USD);
+    for (int i = 0; i < CurrencyPair.MAX_INTERNED; i++) {
+      symbols.get("symbol" + i);
+    }
+
+    assertThat(symbols.getIfPresent("symbol0")).isSameAs(CurrencyPair.BTC_USD);
+    assertThat(symbols.get("unseen")).isSameAs(CurrencyPair.BTC_USD);
+    assertThat(symbols.getIfPresent("unseen")).isNull();
+  }
+
+  @Test
+  public void testDeserializeInterns() throws IOException {
+    assertThat(ObjectMapperHelper.viaJSON(CurrencyPair.BTC_USDT)).isSameAs(CurrencyPair.BTC_USDT);
+  }
 }
@@ -5,6 +5,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Test;
 import org.knowm.xchange.currency.Currency;
@@ -25,6 +30,22 @@ public class CurrencyTest {
     assertEquals(new Currency("btc"), Currency.getInstance("BTC"));
   }
 
+  @Test
+  public void testGetInstanceCreatesOnce() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Currency>> currencies = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        currencies.add(executor.submit(() -> Currency.getInstance("concurrency")));
+      }
+      for (Future<Currency> currency : currencies) {
+        assertThat(currency.get()).isSameAs(Currency.getInstance("CONCURRENCY"));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   public void testGetInstanceNoCreate() {
     assertEquals(Currency.CNY, Currency.getInstanceNoCreate("CNY"));
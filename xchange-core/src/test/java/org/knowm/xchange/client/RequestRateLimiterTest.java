@@ -0,0 +1,285 @@
+package org.knowm.xchange.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knowm.xchange.dto.meta.RateLimit;
+import org.knowm.xchange.exceptions.RateLimitExceededException;
+import org.knowm.xchange.utils.coordination.MappedFileSharedState;
+import org.knowm.xchange.utils.coordination.SharedState;
+import si.mazi.rescu.HttpStatusIOException;
+import si.mazi.rescu.InvocationResult;
+import si.mazi.rescu.ParamsDigest;
+
+public class RequestRateLimiterTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private long now = 1_000_000;
+  private final List<Long> sleeps = new ArrayList<>();
+  private final List<Long> schedules = new ArrayList<>();
+  private final RequestRateLimiter limiter =
+      new RequestRateLimiter(
+              () -> now,
+              millis -> {
+                sleeps.add(millis);
+                now += millis;
+              },
+              (task, millis) -> {
+                schedules.add(millis);
+                now += millis;
+                task.run();
+              })
+          .maxWait(Duration.ofMinutes(2));
+
+  @Test
+  public void testWeightsCountUntilTheNextPeriod() throws Exception {
+    limiter.configure(null, limits(new RateLimit(10, 1, TimeUnit.MINUTES)), true);
+    now = 60_000 * 20 + 15_000;
+
+    limiter.acquire(false, 4);
+    limiter.acquire(true, 6);
+    assertThat(sleeps).isEmpty();
+
+    limiter.acquire(false, 1);
+    assertThat(sleeps).containsExactly(45_000L);
+  }
+
+  @Test
+  public void testPublicAndPrivateLimitsAreSeparateUnlessShared() throws Exception {
+    limiter.configure(
+        limits(new RateLimit(1, 1, TimeUnit.SECONDS)),
+        limits(new RateLimit(2, 1, TimeUnit.SECONDS), new RateLimit(3, 1, TimeUnit.MINUTES)),
+        false);
+
+    limiter.acquire(false, 1);
+    limiter.acquire(true, 1);
+    limiter.acquire(true, 1);
+    assertThat(sleeps).isEmpty();
+    limiter.acquire(true, 1);
+    assertThat(sleeps).containsExactly(1_000L);
+
+    limiter.maxWait(Duration.ofSeconds(10));
+    assertThatThrownBy(() -> limiter.acquire(true, 1))
+        .isInstanceOf(RateLimitExceededException.class);
+  }
+
+  @Test
+  public void testSharedLimitersCountEachOthersCalls() throws Exception {
+    SharedState sharedState = new MappedFileSharedState(temporaryFolder.getRoot().toPath());
+    RequestRateLimiter other =
+        new RequestRateLimiter(() -> now, sleeps::add).share(sharedState, "limits");
+    limiter.share(sharedState, "limits");
+    for (RequestRateLimiter rateLimiter : Arrays.asList(limiter, other)) {
+      rateLimiter.configure(null, limits(new RateLimit(10, 1, TimeUnit.MINUTES)), true);
+    }
+    now = 60_000 * 20;
+
+    other.acquire(true, 8);
+    limiter.acquire(false, 2);
+    assertThat(sleeps).isEmpty();
+    limiter.acquire(true, 1);
+    assertThat(sleeps).containsExactly(60_000L);
+
+    limiter.onRateLimitExceeded(true, headers("Retry-After", "300"));
+    assertThatThrownBy(() -> other.acquire(false, 1))
+        .isInstanceOf(RateLimitExceededException.class);
+  }
+
+  @Test
+  public void testAsyncCallsAreScheduledInsteadOfWaiting() {
+    limiter.configure(null, limits(new RateLimit(2, 1, TimeUnit.MINUTES)), true);
+    now = 60_000 * 20 + 15_000;
+
+    assertThat(limiter.acquireAsync(false, 2)).isCompleted();
+    assertThat(limiter.acquireAsync(false, 1)).isCompleted();
+    assertThat(schedules).containsExactly(45_000L);
+
+    limiter.maxWait(Duration.ofSeconds(10));
+    assertThat(limiter.acquireAsync(false, 2))
+        .isCompletedExceptionally()
+        .failsWithin(Duration.ZERO)
+        .withThrowableOfType(Exception.class)
+        .withCauseInstanceOf(RateLimitExceededException.class);
+    assertThat(sleeps).isEmpty();
+  }
+
+  @Test
+  public void testCallsCountOnceWhenTheSharedStateFailsAfterTheUpdate() throws Exception {
+    limiter.share(new FailingSharedState(true), "limits");
+    limiter.configure(null, limits(new RateLimit(1, 1, TimeUnit.MINUTES)), true);
+    now = 60_000 * 20;
+
+    limiter.acquire(false, 1);
+    assertThat(sleeps).isEmpty();
+    limiter.acquire(false, 1);
+    assertThat(sleeps).containsExactly(60_000L);
+  }
+
+  @Test
+  public void testCallsCountLocallyWhenTheSharedStateCannotBeUpdated() throws Exception {
+    limiter.share(new FailingSharedState(false), "limits");
+    limiter.configure(null, limits(new RateLimit(1, 1, TimeUnit.MINUTES)), true);
+    now = 60_000 * 20;
+
+    limiter.acquire(false, 1);
+    limiter.acquire(false, 1);
+    assertThat(sleeps).containsExactly(60_000L);
+  }
+
+  @Test
+  public void testCallsHeavierThanTheLimitGoThroughAlone() throws Exception {
+    limiter.configure(limits(new RateLimit(5, 1, TimeUnit.SECONDS)), null, false);
+
+    limiter.acquire(false, 50);
+    limiter.acquire(false, 1);
+
+    assertThat(sleeps).containsExactly(1_000L);
+  }
+
+  @Test
+  public void testUsedWeightHeaderOverridesTheLocalCount() throws Exception {
+    limiter
+        .configure(null, limits(new RateLimit(1200, 1, TimeUnit.MINUTES)), true)
+        .usedWeightHeader("X-MBX-USED-WEIGHT-1M", Duration.ofMinutes(1));
+    now = 60_000 * 20;
+
+    limiter.acquire(false, 1);
+    limiter.onResponse(headers("x-mbx-used-weight-1m", "1195"));
+    limiter.acquire(false, 5);
+    assertThat(sleeps).isEmpty();
+    limiter.acquire(false, 1);
+
+    assertThat(sleeps).containsExactly(60_000L);
+  }
+
+  @Test
+  public void testInterceptorPausesAfterTooManyRequests() throws Throwable {
+    limiter.configure(null, limits(new RateLimit(100, 1, TimeUnit.MINUTES)), true);
+    RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter);
+    Method method = Api.class.getMethod("depth", ParamsDigest.class, int.class);
+    HttpStatusIOException tooManyRequests =
+        new HttpStatusIOException("Too many requests", new InvocationResult("", 429));
+    tooManyRequests.setResponseHeaders(headers("Retry-After", "7"));
+    List<Object[]> calls = new ArrayList<>();
+
+    interceptor.aroundInvoke(
+        (proxy, m, args) -> calls.add(args), null, method, new Object[] {null, 1000});
+    assertThatThrownBy(
+            () ->
+                interceptor.aroundInvoke(
+                    (proxy, m, args) -> {
+                      throw tooManyRequests;
+                    },
+                    null,
+                    method,
+                    new Object[] {null, 10}))
+        .isSameAs(tooManyRequests);
+    interceptor.aroundInvoke(
+        (proxy, m, args) -> calls.add(args), null, method, new Object[] {null, 10});
+
+    assertThat(calls).hasSize(2);
+    assertThat(sleeps).containsExactly(7_000L);
+  }
+
+  @Test
+  public void testInterceptorWeighsCalls() throws Throwable {
+    limiter.configure(null, limits(new RateLimit(23, 1, TimeUnit.MINUTES)), true);
+    RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter);
+    Method method = Api.class.getMethod("depth", ParamsDigest.class, int.class);
+    now = 0;
+
+    interceptor.aroundInvoke((proxy, m, args) -> null, null, method, new Object[] {null, 1000});
+    interceptor.aroundInvoke((proxy, m, args) -> null, null, method, new Object[] {null, 100});
+    interceptor.aroundInvoke((proxy, m, args) -> null, null, method, new Object[] {null, 100});
+
+    assertThat(sleeps).containsExactly(60_000L);
+  }
+
+  @Test
+  public void testInterceptorSchedulesAsyncCalls() throws Throwable {
+    limiter.configure(null, limits(new RateLimit(1, 1, TimeUnit.MINUTES)), true);
+    RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter);
+    Method method = Api.class.getMethod("depthAsync", int.class);
+    now = 0;
+    List<Long> calls = new ArrayList<>();
+
+    for (int i = 0; i < 2; i++) {
+      Object result =
+          interceptor.aroundInvoke(
+              (proxy, m, args) -> {
+                calls.add(now);
+                return CompletableFuture.completedFuture(args[0]);
+              },
+              null,
+              method,
+              new Object[] {10});
+      assertThat(((CompletableFuture<?>) result).getNow(null)).isEqualTo(10);
+    }
+
+    assertThat(calls).containsExactly(0L, 60_000L);
+    assertThat(schedules).containsExactly(60_000L);
+    assertThat(sleeps).isEmpty();
+  }
+
+  private static RateLimit[] limits(RateLimit... rateLimits) {
+    return rateLimits;
+  }
+
+  private static Map<String, List<String>> headers(String name, String value) {
+    return Collections.singletonMap(name, Collections.singletonList(value));
+  }
+
+  public interface Api {
+
+    @RequestWeight(value = 2, function = DepthWeight.class)
+    Object depth(ParamsDigest signature, int limit);
+
+    CompletableFuture<Object> depthAsync(int limit);
+  }
+
+  /** Fails to update, before or after running the update. */
+  private static final class FailingSharedState implements SharedState {
+
+    private final boolean afterUpdate;
+
+    private FailingSharedState(boolean afterUpdate) {
+      this.afterUpdate = afterUpdate;
+    }
+
+    @Override
+    public <T, E extends Exception> T update(String name, int length, Update<T, E> update)
+        throws IOException, E {
+      if (afterUpdate) {
+        update.apply(new long[length]);
+      }
+      throw new IOException("Cannot update " + name);
+    }
+
+    @Override
+    public Hold hold(String name, int length) throws IOException {
+      throw new IOException("Cannot hold " + name);
+    }
+  }
+
+  public static final class DepthWeight implements RequestWeight.Function {
+
+    @Override
+    public int weigh(int weight, Object[] args) {
+      return (int) args[1] >= 1000 ? 10 * weight : weight;
+    }
+  }
+}
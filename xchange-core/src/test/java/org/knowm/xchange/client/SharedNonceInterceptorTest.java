@@ -0,0 +1,53 @@
+package org.knowm.xchange.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knowm.xchange.utils.coordination.MappedFileSharedState;
+import org.knowm.xchange.utils.coordination.SharedState;
+import org.knowm.xchange.utils.nonce.SharedNonceFactory;
+import si.mazi.rescu.SynchronizedValueFactory;
+
+public class SharedNonceInterceptorTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testAsyncCallsHoldTheNonceUntilTheirResponse() throws Throwable {
+    SharedNonceFactory nonceFactory =
+        new SharedNonceFactory(
+            () -> 1L, new MappedFileSharedState(temporaryFolder.getRoot().toPath()), "nonce");
+    Method method = Api.class.getMethod("balance", SynchronizedValueFactory.class);
+    CompletableFuture<Object> response = new CompletableFuture<>();
+
+    Object result =
+        new SharedNonceInterceptor()
+            .aroundInvoke(
+                (proxy, m, args) -> {
+                  nonceFactory.createValue();
+                  return response;
+                },
+                null,
+                method,
+                new Object[] {nonceFactory});
+    assertThat(result).isSameAs(response);
+
+    CompletableFuture<SharedState.Hold> next = CompletableFuture.supplyAsync(nonceFactory::hold);
+    Thread.sleep(100);
+    assertThat(next).isNotDone();
+
+    response.complete("balance");
+    next.get(10, TimeUnit.SECONDS).release();
+    assertThat(nonceFactory.createValue()).isEqualTo(2);
+  }
+
+  public interface Api {
+
+    CompletableFuture<Object> balance(SynchronizedValueFactory<Long> nonce);
+  }
+}
@@ -0,0 +1,188 @@
+package org.knowm.xchange.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.FormParam;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import org.junit.Test;
+import si.mazi.rescu.HttpMethod;
+import si.mazi.rescu.HttpStatusIOException;
+import si.mazi.rescu.SynchronizedValueFactory;
+
+public class TransportRestProxyFactoryTest {
+
+  private final List<RestRequest> requests = new ArrayList<>();
+  private CompletableFuture<RestResponse> response = new CompletableFuture<>();
+
+  private final RestTransport transport =
+      request -> {
+        requests.add(request);
+        return response;
+      };
+
+  private final Api api =
+      new TransportRestProxyFactory(transport).createProxy(Api.class, "https://example.com");
+
+  @Test
+  public void testSyncCall() throws IOException {
+    response.complete(json(200, "{\"last\":\"42.5\"}"));
+
+    assertThat(api.ticker("BTC-USD", 5)).containsEntry("last", "42.5");
+
+    RestRequest request = requests.get(0);
+    assertThat(request.getMethod()).isEqualTo(HttpMethod.GET);
+    assertThat(request.getUrl()).isEqualTo("https://example.com/api/ticker/BTC-USD?depth=5");
+    assertThat(request.getHeaders()).containsEntry("Accept", "application/json");
+    assertThat(request.getBody()).isNull();
+  }
+
+  @Test
+  public void testAsyncCallReturnsBeforeResponse() throws Exception {
+    CompletableFuture<Map<String, String>> ticker = api.tickerAsync("BTC-USD");
+
+    assertThat(requests).hasSize(1);
+    assertThat(ticker).isNotDone();
+
+    response.complete(json(200, "{\"last\":\"42.5\"}"));
+    assertThat(ticker.get()).containsEntry("last", "42.5");
+  }
+
+  @Test
+  public void testFormPost() throws IOException {
+    response.complete(json(200, "{\"id\":\"1\"}"));
+
+    assertThat(api.order("100.5", "key")).containsEntry("id", "1");
+
+    RestRequest request = requests.get(0);
+    assertThat(request.getMethod()).isEqualTo(HttpMethod.POST);
+    assertThat(request.getBody()).isEqualTo("price=100.5");
+    assertThat(request.getHeaders())
+        .containsEntry("API-KEY", "key")
+        .containsEntry("Content-Type", MediaType.APPLICATION_FORM_URLENCODED);
+  }
+
+  @Test
+  public void testErrorStatus() {
+    response.complete(
+        new RestResponse(500, Collections.emptyMap(), "<html>Internal Server Error</html>"));
+
+    assertThatThrownBy(() -> api.ticker("BTC-USD", 5))
+        .isInstanceOf(HttpStatusIOException.class)
+        .hasFieldOrPropertyWithValue("httpStatusCode", 500);
+  }
+
+  @Test
+  public void testTransportFailure() {
+    response.completeExceptionally(new SocketTimeoutException("Read timed out"));
+
+    assertThatThrownBy(() -> api.ticker("BTC-USD", 5)).isInstanceOf(SocketTimeoutException.class);
+    assertThat(api.tickerAsync("BTC-USD")).isCompletedExceptionally();
+  }
+
+  @Test
+  public void testNonceRequestsWaitForThePreviousResponse() throws Exception {
+    List<CompletableFuture<RestResponse>> responses = new ArrayList<>();
+    RestTransport pending =
+        request -> {
+          requests.add(request);
+          CompletableFuture<RestResponse> next = new CompletableFuture<>();
+          responses.add(next);
+          return next;
+        };
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    Api pendingApi =
+        new TransportRestProxyFactory(pending, tasks::add)
+            .createProxy(Api.class, "https://example.com");
+    AtomicLong nonce = new AtomicLong();
+    SynchronizedValueFactory<Long> nonceFactory = nonce::incrementAndGet;
+
+    CompletableFuture<Map<String, String>> first = pendingApi.balance(nonceFactory);
+    CompletableFuture<Map<String, String>> second = pendingApi.balance(nonceFactory);
+    CompletableFuture<Map<String, String>> unrelated = pendingApi.tickerAsync("BTC-USD");
+
+    assertThat(requests).extracting(RestRequest::getBody).containsExactly("nonce=1", null);
+    assertThat(nonce).hasValue(1);
+
+    responses.get(0).complete(json(200, "{\"nonce\":\"1\"}"));
+    // the next request is signed and sent on the response executor, not by the transport
+    assertThat(requests).hasSize(2);
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+    assertThat(first.get()).containsEntry("nonce", "1");
+    assertThat(requests)
+        .extracting(RestRequest::getBody)
+        .containsExactly("nonce=1", null, "nonce=2");
+    assertThat(second).isNotDone();
+    assertThat(unrelated).isNotDone();
+  }
+
+  @Test
+  public void testNonceRequestsOfOtherProxiesDoNotWait() {
+    RestTransport pending =
+        request -> {
+          requests.add(request);
+          return new CompletableFuture<>();
+        };
+    TransportRestProxyFactory factory = new TransportRestProxyFactory(pending);
+    AtomicLong nonce = new AtomicLong();
+    SynchronizedValueFactory<Long> nonceFactory = nonce::incrementAndGet;
+
+    factory.createProxy(Api.class, "https://example.com").balance(nonceFactory);
+    factory.createProxy(Api.class, "https://example.com").balance(nonceFactory);
+
+    assertThat(requests).extracting(RestRequest::getBody).containsExactly("nonce=1", "nonce=2");
+  }
+
+  private static RestResponse json(int status, String body) {
+    return new RestResponse(
+        status,
+        Collections.singletonMap("content-type", Collections.singletonList("application/json")),
+        body);
+  }
+
+  @Path("api")
+  @Produces(MediaType.APPLICATION_JSON)
+  public interface Api {
+
+    @GET
+    @Path("ticker/{pair}")
+    Map<String, String> ticker(@PathParam("pair") String pair, @QueryParam("depth") int depth)
+        throws IOException;
+
+    @GET
+    @Path("ticker/{pair}")
+    CompletableFuture<Map<String, String>> tickerAsync(@PathParam("pair") String pair);
+
+    @POST
+    @Path("order")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    Map<String, String> order(@FormParam("price") String price, @HeaderParam("API-KEY") String key)
+        throws IOException;
+
+    @POST
+    @Path("balance")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletableFuture<Map<String, String>> balance(
+        @FormParam("nonce") SynchronizedValueFactory<Long> nonce);
+  }
+}
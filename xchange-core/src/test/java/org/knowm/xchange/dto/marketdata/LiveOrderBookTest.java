@@ -0,0 +1,160 @@
+package org.knowm.xchange.dto.marketdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.utils.FixedPointScale;
+
+public class LiveOrderBookTest {
+
+  private LiveOrderBook book;
+
+  @Before
+  public void setUp() {
+    OrderBook snapshot =
+        new OrderBook(
+            new Date(1000),
+            Arrays.asList(order(OrderType.ASK, "10.5", "1"), order(OrderType.ASK, "10.1", "2")),
+            Arrays.asList(order(OrderType.BID, "9.9", "3"), order(OrderType.BID, "9.5", "4")));
+    book = new LiveOrderBook(CurrencyPair.BTC_USD, snapshot);
+  }
+
+  @Test
+  public void testSnapshotIsSorted() {
+    assertThat(book.getBestAskPrice()).isEqualByComparingTo("10.1");
+    assertThat(book.getBestBidPrice()).isEqualByComparingTo("9.9");
+    assertThat(book.getBestVolume(OrderType.ASK)).isEqualByComparingTo("2");
+    assertThat(book.getTimeStamp()).isEqualTo(new Date(1000));
+
+    OrderBook orderBook = book.toOrderBook();
+    assertThat(orderBook.getAsks())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal("10.1"), new BigDecimal("10.5"));
+    assertThat(orderBook.getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal("9.9"), new BigDecimal("9.5"));
+  }
+
+  @Test
+  public void testUpdateReplacesAddsAndRemovesLevels() {
+    book.update(
+        new OrderBookUpdate(
+            OrderType.ASK,
+            BigDecimal.ONE,
+            CurrencyPair.BTC_USD,
+            new BigDecimal("10.10"),
+            new Date(2000),
+            new BigDecimal("7")));
+    book.update(OrderType.BID, new BigDecimal("9.95"), new BigDecimal("1.5"), null);
+    book.update(OrderType.BID, new BigDecimal("9.5"), BigDecimal.ZERO, null);
+
+    assertThat(book.getDepth(OrderType.ASK)).isEqualTo(2);
+    assertThat(book.getVolume(OrderType.ASK, new BigDecimal("10.1"))).isEqualByComparingTo("7");
+    assertThat(book.getBestBidPrice()).isEqualByComparingTo("9.95");
+    assertThat(book.getDepth(OrderType.BID)).isEqualTo(2);
+    assertThat(book.getTimeStamp()).isEqualTo(new Date(2000));
+  }
+
+  @Test
+  public void testRemovingMissingLevelIsIgnored() {
+    book.update(OrderType.ASK, new BigDecimal("42"), BigDecimal.ZERO, null);
+
+    assertThat(book.getDepth(OrderType.ASK)).isEqualTo(2);
+  }
+
+  @Test
+  public void testDepthLimitedSnapshotIsIndependent() {
+    OrderBook top = book.toOrderBook(1);
+    book.update(OrderType.ASK, new BigDecimal("10.1"), BigDecimal.ZERO, null);
+
+    assertThat(top.getAsks()).hasSize(1);
+    assertThat(top.getAsks().get(0).getLimitPrice()).isEqualByComparingTo("10.1");
+    assertThat(top.getAsks().get(0).getCurrencyPair()).isEqualTo(CurrencyPair.BTC_USD);
+    assertThat(top.getBids()).hasSize(1);
+    assertThat(book.getBestAskPrice()).isEqualByComparingTo("10.5");
+
+    List<LimitOrder> bids = book.getLevels(OrderType.BID, 10);
+    assertThat(bids).hasSize(2);
+  }
+
+  @Test
+  public void testFixedPointUpdates() {
+    LiveOrderBook fixed =
+        new LiveOrderBook(CurrencyPair.BTC_USD, FixedPointScale.of(2), FixedPointScale.of(4));
+    fixed.update(OrderType.ASK, "10.10", "1.5", new Date(2000));
+    fixed.update(OrderType.ASK, "10.5", "2", null);
+    fixed.update(OrderType.BID, 990L, 30000L, null);
+
+    assertThat(fixed.getBestAskPrice()).isEqualByComparingTo("10.1");
+    assertThat(fixed.getBestVolume(OrderType.ASK)).isEqualByComparingTo("1.5");
+    assertThat(fixed.getVolume(OrderType.BID, new BigDecimal("9.9"))).isEqualByComparingTo("3");
+    assertThat(fixed.getTimeStamp()).isEqualTo(new Date(2000));
+
+    fixed.update(OrderType.ASK, "10.1", "0", null);
+    assertThat(fixed.getBestAskPrice()).isEqualByComparingTo("10.5");
+    assertThat(fixed.getDepth(OrderType.ASK)).isEqualTo(1);
+  }
+
+  @Test
+  public void testFixedPointBookConvertsOnlyOnRead() {
+    LiveOrderBook fixed =
+        LiveOrderBook.forMetaData(
+            CurrencyPair.BTC_USD, new CurrencyPairMetaData(null, null, null, 2, 4, null, null));
+    fixed.update(OrderType.BID, new BigDecimal("9.9"), new BigDecimal("3"), null);
+    fixed.update(OrderType.BID, "9.95", "1", null);
+    fixed.update(OrderType.ASK, 1010L, 15000L, null);
+
+    assertThat(fixed.isFixedPoint()).isTrue();
+    assertThat(fixed.getBestBidPrice()).isEqualTo(new BigDecimal("9.95"));
+    assertThat(fixed.getVolume(OrderType.BID, new BigDecimal("9.90"))).isEqualByComparingTo("3");
+    assertThat(fixed.getVolume(OrderType.BID, new BigDecimal("9.901"))).isNull();
+
+    OrderBook orderBook = fixed.toOrderBook();
+    assertThat(orderBook.getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal("9.95"), new BigDecimal("9.90"));
+    assertThat(orderBook.getAsks().get(0).getOriginalAmount()).isEqualTo(new BigDecimal("1.5000"));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void testFixedPointBookRejectsFinerPrices() {
+    new LiveOrderBook(CurrencyPair.BTC_USD, FixedPointScale.of(2), FixedPointScale.of(4))
+        .update(OrderType.ASK, new BigDecimal("10.001"), BigDecimal.ONE, null);
+  }
+
+  @Test
+  public void testBookWithoutScalesInMetaDataIsDecimal() {
+    assertThat(LiveOrderBook.forMetaData(CurrencyPair.BTC_USD, null).isFixedPoint()).isFalse();
+    assertThat(book.isFixedPoint()).isFalse();
+  }
+
+  @Test
+  public void testTruncateKeepsTheBestLevels() {
+    book.update(OrderType.BID, new BigDecimal("9.7"), BigDecimal.ONE, null);
+    book.truncate(OrderType.BID, 2);
+
+    assertThat(book.getLevels(OrderType.BID, 10))
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal("9.9"), new BigDecimal("9.7"));
+    assertThat(book.getDepth(OrderType.ASK)).isEqualTo(2);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFixedPointUpdateNeedsScales() {
+    book.update(OrderType.ASK, "10.1", "1", null);
+  }
+
+  private static LimitOrder order(OrderType type, String price, String amount) {
+    return new LimitOrder(
+        type, new BigDecimal(amount), CurrencyPair.BTC_USD, "", null, new BigDecimal(price));
+  }
+}
@@ -0,0 +1,112 @@
+package org.knowm.xchange.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
+import org.knowm.xchange.service.marketdata.MarketDataService;
+import org.knowm.xchange.service.trade.TradeService;
+
+public class AsyncServiceTest {
+
+  @Test
+  public void testDefaultsRunOnTheExecutorOfTheSpecification() throws Exception {
+    AtomicInteger executed = new AtomicInteger();
+    Executor executor =
+        command -> {
+          executed.incrementAndGet();
+          command.run();
+        };
+    Service service = new Service(exchange(executor));
+
+    Ticker ticker = service.getTickerAsync(CurrencyPair.BTC_USD).get(1, TimeUnit.SECONDS);
+    String orderId =
+        service
+            .placeLimitOrderAsync(
+                new LimitOrder.Builder(OrderType.BID, CurrencyPair.BTC_USD)
+                    .limitPrice(BigDecimal.ONE)
+                    .originalAmount(BigDecimal.TEN)
+                    .build())
+            .get(1, TimeUnit.SECONDS);
+
+    assertThat(ticker.getCurrencyPair()).isEqualTo(CurrencyPair.BTC_USD);
+    assertThat(orderId).isEqualTo("BTC/USD 10");
+    assertThat(executed).hasValue(2);
+  }
+
+  @Test
+  public void testExceptionsCompleteTheFuture() {
+    Service service = new Service(exchange(null));
+
+    assertThatThrownBy(() -> service.getOpenOrdersAsync().get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IOException.class);
+    assertThatThrownBy(() -> service.getTradesAsync(CurrencyPair.BTC_USD).join())
+        .hasCauseInstanceOf(NotYetImplementedForExchangeException.class);
+  }
+
+  @Test
+  public void testAsyncMethodsCanBeOverridden() throws Exception {
+    MarketDataService service =
+        new MarketDataService() {
+          @Override
+          public CompletableFuture<Ticker> getTickerAsync(
+              CurrencyPair currencyPair, Object... args) {
+            return CompletableFuture.completedFuture(
+                new Ticker.Builder().currencyPair(currencyPair).build());
+          }
+        };
+
+    assertThat(service.getAsyncExecutor()).isSameAs(ServiceExecutors.defaultExecutor());
+    assertThat(service.getTickerAsync(CurrencyPair.ETH_BTC).get().getCurrencyPair())
+        .isEqualTo(CurrencyPair.ETH_BTC);
+  }
+
+  private static Exchange exchange(Executor executor) {
+    ExchangeSpecification specification = new ExchangeSpecification(Exchange.class);
+    specification.setAsyncExecutor(executor);
+    Exchange exchange = mock(Exchange.class);
+    when(exchange.getExchangeSpecification()).thenReturn(specification);
+    return exchange;
+  }
+
+  private static final class Service extends BaseExchangeService<Exchange>
+      implements MarketDataService, TradeService {
+
+    private Service(Exchange exchange) {
+      super(exchange);
+    }
+
+    @Override
+    public Ticker getTicker(CurrencyPair currencyPair, Object... args) {
+      return new Ticker.Builder().currencyPair(currencyPair).build();
+    }
+
+    @Override
+    public String placeLimitOrder(LimitOrder limitOrder) {
+      return limitOrder.getCurrencyPair() + " " + limitOrder.getOriginalAmount();
+    }
+
+    @Override
+    public OpenOrders getOpenOrders() throws IOException {
+      throw new IOException("connection reset");
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package org.knowm.xchange.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+import org.knowm.xchange.utils.DigestUtils;
+
+public class SignatureBufferTest {
+
+  private final SignatureBuffer buffer = SignatureBuffer.forCurrentThread();
+
+  @Test
+  public void testAppend() {
+    buffer.append("GET").append('/').append(-42L).append((Object) 1616492376594L).append("é€");
+    buffer.append((CharSequence) null).append(new byte[] {'x', 'y'}, 1, 1);
+
+    assertThat(buffer.toString()).isEqualTo("GET/-421616492376594é€y");
+    assertThat(buffer.reset().append(Long.MIN_VALUE).toString())
+        .isEqualTo(Long.toString(Long.MIN_VALUE));
+  }
+
+  @Test
+  public void testBase64() {
+    StringBuilder payload = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      String expected =
+          Base64.getEncoder().encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+      assertThat(buffer.reset().append(payload).base64().toString()).isEqualTo(expected);
+      payload.append((char) ('a' + i % 26));
+    }
+  }
+
+  @Test
+  public void testHashes() throws Exception {
+    byte[] key = "secret".getBytes(StandardCharsets.UTF_8);
+    Mac mac = Mac.getInstance(BaseParamsDigest.HMAC_SHA_512);
+    mac.init(new SecretKeySpec(key, BaseParamsDigest.HMAC_SHA_512));
+    MessageDigest sha256 = MessageDigest.getInstance(BaseParamsDigest.SHA_256);
+
+    byte[] hash = sha256.digest("nonce=1".getBytes(StandardCharsets.UTF_8));
+    mac.update("/path".getBytes(StandardCharsets.UTF_8));
+    byte[] signature = mac.doFinal(hash);
+
+    buffer.append("nonce=1").hash(sha256).append("/path").appendHash().hash(mac);
+    assertThat(buffer.hashToBase64()).isEqualTo(Base64.getEncoder().encodeToString(signature));
+    assertThat(buffer.hashToHex()).isEqualTo(DigestUtils.bytesToHex(signature));
+  }
+}
@@ -0,0 +1,66 @@
+package org.knowm.xchange.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+
+public class FixedPointScaleTest {
+
+  private final FixedPointScale scale = FixedPointScale.of(4);
+
+  @Test
+  public void testParse() {
+    assertThat(scale.parse("123.45")).isEqualTo(1234500L);
+    assertThat(scale.parse("0.01000000")).isEqualTo(100L);
+    assertThat(scale.parse("-12")).isEqualTo(-120000L);
+    assertThat(scale.parse("+.5")).isEqualTo(5000L);
+    assertThat(scale.parse("1.5e-3")).isEqualTo(15L);
+    assertThat(scale.parse("2E2")).isEqualTo(2000000L);
+    assertThat(scale.parse("0.00000000")).isEqualTo(0L);
+  }
+
+  @Test
+  public void testParseBytes() {
+    byte[] bytes = "[\"6500.12\",\"0.0001\"]".getBytes(StandardCharsets.US_ASCII);
+
+    assertThat(scale.parse(bytes, 2, 7)).isEqualTo(65001200L);
+    assertThat(scale.parse(bytes, 12, 6)).isEqualTo(1L);
+  }
+
+  @Test
+  public void testRejectsRounding() {
+    assertThatThrownBy(() -> scale.parse("0.00001")).isInstanceOf(ArithmeticException.class);
+    assertThatThrownBy(() -> scale.parse("99999999999999999"))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  public void testRejectsInvalid() {
+    assertThatThrownBy(() -> scale.parse("")).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(() -> scale.parse("1.2.3")).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(() -> scale.parse("1e")).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(() -> scale.parse("abc")).isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  public void testBigDecimalConversion() {
+    assertThat(scale.fromBigDecimal(new BigDecimal("1.2500"))).isEqualTo(12500L);
+    assertThat(scale.toBigDecimal(12500L)).isEqualTo(new BigDecimal("1.2500"));
+    assertThat(FixedPointScale.of(2).rescale(12500L, scale)).isEqualTo(125L);
+    assertThatThrownBy(() -> scale.fromBigDecimal(new BigDecimal("0.00001")))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  public void testScaleFromMetaData() {
+    CurrencyPairMetaData metaData =
+        new CurrencyPairMetaData.Builder().priceScale(2).volumeScale(8).build();
+
+    assertThat(FixedPointScale.forPrice(metaData).getScale()).isEqualTo(2);
+    assertThat(FixedPointScale.forVolume(metaData)).isSameAs(FixedPointScale.of(8));
+  }
+}
@@ -0,0 +1,136 @@
+package org.knowm.xchange.utils.coordination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knowm.xchange.utils.nonce.SharedNonceFactory;
+
+public class MappedFileSharedStateTest {
+
+  private static final int NONCES = 2_000;
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testUpdatesAreReentrant() throws Exception {
+    SharedState sharedState = new MappedFileSharedState(temporaryFolder.getRoot().toPath());
+
+    long[] nested =
+        sharedState.update(
+            "state",
+            2,
+            outer -> {
+              outer[0] = 1;
+              return sharedState.update("state", 2, inner -> inner);
+            });
+    nested[1] = 2;
+
+    long[] stored =
+        new MappedFileSharedState(temporaryFolder.getRoot().toPath())
+            .update("state", 2, state -> state.clone());
+    assertThat(stored).containsExactly(1, 0);
+  }
+
+  @Test
+  public void testHoldsWaitForTheReleaseOfAnyThread() throws Exception {
+    SharedState sharedState = new MappedFileSharedState(temporaryFolder.getRoot().toPath());
+    SharedState.Hold hold = sharedState.hold("state", 1);
+
+    CompletableFuture<SharedState.Hold> next =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return sharedState.hold("state", 1);
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    long updated =
+        CompletableFuture.supplyAsync(
+                () -> {
+                  try {
+                    return sharedState.update("state", 1, state -> ++state[0]);
+                  } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                  }
+                })
+            .get(10, TimeUnit.SECONDS);
+    assertThat(updated).isEqualTo(1);
+    Thread.sleep(100);
+    assertThat(next).isNotDone();
+
+    CompletableFuture.runAsync(hold::release).get(10, TimeUnit.SECONDS);
+    next.get(10, TimeUnit.SECONDS).release();
+    hold.release();
+    long stored = sharedState.update("state", 1, state -> state[0]);
+    assertThat(stored).isEqualTo(1);
+  }
+
+  @Test
+  public void testNoncesAreUniqueAcrossProcesses() throws Exception {
+    Path directory = temporaryFolder.getRoot().toPath();
+    List<Process> processes = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      processes.add(
+          new ProcessBuilder(
+                  System.getProperty("java.home")
+                      + File.separator
+                      + "bin"
+                      + File.separator
+                      + "java",
+                  "-cp",
+                  System.getProperty("java.class.path"),
+                  MappedFileSharedStateTest.class.getName(),
+                  directory.toString())
+              .redirectErrorStream(true)
+              .start());
+    }
+    List<Long> nonces = createNonces(directory);
+    for (Process process : processes) {
+      try (BufferedReader reader =
+          new BufferedReader(
+              new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+        for (String line; (line = reader.readLine()) != null; ) {
+          nonces.add(Long.parseLong(line));
+        }
+      }
+      assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+      assertThat(process.exitValue()).isZero();
+    }
+
+    Set<Long> distinct = new HashSet<>(nonces);
+    assertThat(nonces).hasSize(3 * NONCES);
+    assertThat(distinct).hasSize(nonces.size());
+  }
+
+  /** Prints nonces shared through the directory of the first argument. */
+  public static void main(String[] args) throws Exception {
+    for (long nonce : createNonces(new File(args[0]).toPath())) {
+      System.out.println(nonce);
+    }
+  }
+
+  private static List<Long> createNonces(Path directory) throws Exception {
+    // a constant nonce only increases through the shared state
+    SharedNonceFactory nonceFactory =
+        new SharedNonceFactory(() -> 1L, new MappedFileSharedState(directory), "nonce");
+    List<Long> nonces = new ArrayList<>();
+    for (int i = 0; i < NONCES; i++) {
+      nonces.add(nonceFactory.createValue());
+    }
+    return nonces;
+  }
+}
@@ -23,8 +23,7 @@ public class CryptoFacilitiesBaseService extends BaseExchangeService implements
     super(exchange);
 
     cryptoFacilities =
-        ExchangeRestProxyBuilder.forInterface(
-                CryptoFacilitiesAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(CryptoFacilitiesAuthenticated.class, exchange)
             .build();
     signatureCreator =
         CryptoFacilitiesDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
@@ -15,9 +15,7 @@ public class CryptopiaBaseService extends BaseExchangeService implements BaseSer
   public CryptopiaBaseService(Exchange exchange) {
 
     super(exchange);
-    this.cryptopia =
-        ExchangeRestProxyBuilder.forInterface(Cryptopia.class, exchange.getExchangeSpecification())
-            .build();
+    this.cryptopia = ExchangeRestProxyBuilder.forInterface(Cryptopia.class, exchange).build();
     this.signatureCreator =
         CryptopiaDigest.createInstance(
             exchange.getNonceFactory(),
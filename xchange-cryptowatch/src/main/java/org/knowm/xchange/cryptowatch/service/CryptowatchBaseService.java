@@ -15,8 +15,7 @@ public class CryptowatchBaseService extends BaseExchangeService implements BaseS
     super(exchange);
     ClientConfigCustomizer clientConfigCustomizer = config -> config.setIgnoreHttpErrorCodes(true);
     cryptowatch =
-        ExchangeRestProxyBuilder.forInterface(
-                Cryptowatch.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(Cryptowatch.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
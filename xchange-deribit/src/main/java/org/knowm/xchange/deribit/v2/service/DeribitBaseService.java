@@ -38,14 +38,10 @@ public class DeribitBaseService extends BaseExchangeService<DeribitExchange>
   public DeribitBaseService(DeribitExchange exchange) {
 
     super(exchange);
-    deribit =
-        ExchangeRestProxyBuilder.forInterface(Deribit.class, exchange.getExchangeSpecification())
-            .build();
+    deribit = ExchangeRestProxyBuilder.forInterface(Deribit.class, exchange).build();
 
     deribitAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                DeribitAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(DeribitAuthenticated.class, exchange).build();
 
     deribitAuth =
         DeribitAuth.createDeribitAuth(
@@ -41,11 +41,11 @@ public class DragonexExchange extends BaseExchange implements Exchange {
     this.tradeService = new DragonexTradeService(this);
 
     ExchangeSpecification spec = this.getExchangeSpecification();
-    this.dragonexPublic = ExchangeRestProxyBuilder.forInterface(Dragonex.class, spec).build();
+    this.dragonexPublic = ExchangeRestProxyBuilder.forInterface(Dragonex.class, this).build();
 
     if (spec.getApiKey() != null && spec.getSecretKey() != null) {
       this.dragonexAuthenticated =
-          ExchangeRestProxyBuilder.forInterface(DragonexAuthenticated.class, spec).build();
+          ExchangeRestProxyBuilder.forInterface(DragonexAuthenticated.class, this).build();
       this.signatureCreator = new DragonDigest(spec.getApiKey(), spec.getSecretKey());
     }
 
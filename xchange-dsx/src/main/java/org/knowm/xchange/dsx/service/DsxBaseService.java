@@ -21,8 +21,7 @@ public class DsxBaseService extends BaseExchangeService implements BaseService {
     ClientConfigCustomizer clientConfigCustomizer =
         config -> ClientConfigUtil.addBasicAuthCredentials(config, apiKey, secretKey);
     dsx =
-        ExchangeRestProxyBuilder.forInterface(
-                DsxAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(DsxAuthenticated.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
@@ -16,9 +16,7 @@ public class DVChainBaseService extends BaseExchangeService implements BaseServi
   protected DVChainBaseService(Exchange exchange) {
 
     super(exchange);
-    dvChain =
-        ExchangeRestProxyBuilder.forInterface(DVChain.class, exchange.getExchangeSpecification())
-            .build();
+    dvChain = ExchangeRestProxyBuilder.forInterface(DVChain.class, exchange).build();
     authToken = exchange.getExchangeSpecification().getSecretKey();
   }
 
@@ -19,9 +19,7 @@ public abstract class EnigmaBaseService extends BaseExchangeService implements B
   protected EnigmaBaseService(Exchange exchange) {
     super(exchange);
     this.enigmaAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                EnigmaAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(EnigmaAuthenticated.class, exchange).build();
     this.nonceFactory = exchange.getNonceFactory();
   }
 
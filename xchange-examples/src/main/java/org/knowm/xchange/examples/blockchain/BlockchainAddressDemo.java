@@ -17,9 +17,7 @@ public class BlockchainAddressDemo {
     Exchange blockchainExchangexchange =
         ExchangeFactory.INSTANCE.createExchange(BlockchainExchange.class);
     Blockchain blockchain =
-        ExchangeRestProxyBuilder.forInterface(
-                Blockchain.class, blockchainExchangexchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(Blockchain.class, blockchainExchangexchange).build();
 
     BitcoinAddress bitcoinAddress = blockchain.getBitcoinAddress("XXX");
     System.out.println(bitcoinAddress.toString());
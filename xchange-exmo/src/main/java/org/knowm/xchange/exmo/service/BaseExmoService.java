@@ -19,7 +19,7 @@ public class BaseExmoService extends BaseExchangeService {
 
     ExchangeSpecification exchangeSpecification = exchange.getExchangeSpecification();
 
-    this.exmo = ExchangeRestProxyBuilder.forInterface(Exmo.class, exchangeSpecification).build();
+    this.exmo = ExchangeRestProxyBuilder.forInterface(Exmo.class, exchange).build();
     this.apiKey = exchangeSpecification.getApiKey();
     this.signatureCreator = ExmoDigest.createInstance(exchangeSpecification.getSecretKey());
   }
@@ -17,9 +17,7 @@ public class EXXAccountServiceRaw extends EXXBaseService {
   public EXXAccountServiceRaw(Exchange exchange) {
     super(exchange);
     this.exxAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                EXXAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(EXXAuthenticated.class, exchange).build();
 
     this.apiKey = super.apiKey;
     this.secretKey = super.secretKey;
@@ -24,9 +24,7 @@ public class EXXMarketDataServiceRaw extends EXXBaseService {
 
     super(exchange);
 
-    this.exx =
-        ExchangeRestProxyBuilder.forInterface(EXX.class, exchange.getExchangeSpecification())
-            .build();
+    this.exx = ExchangeRestProxyBuilder.forInterface(EXX.class, exchange).build();
 
     this.apiKey = super.apiKey;
     this.secretKey = super.secretKey;
@@ -19,9 +19,7 @@ public class EXXTradeServiceRaw extends EXXBaseService {
   public EXXTradeServiceRaw(Exchange exchange) {
     super(exchange);
     this.exxAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                EXXAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(EXXAuthenticated.class, exchange).build();
 
     this.apiKey = super.apiKey;
     this.secretKey = super.secretKey;
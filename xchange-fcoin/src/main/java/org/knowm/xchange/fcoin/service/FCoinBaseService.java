@@ -22,9 +22,7 @@ public class FCoinBaseService extends BaseExchangeService implements BaseService
 
     super(exchange);
     apiKey = exchange.getExchangeSpecification().getApiKey();
-    fcoin =
-        ExchangeRestProxyBuilder.forInterface(FCoin.class, exchange.getExchangeSpecification())
-            .build();
+    fcoin = ExchangeRestProxyBuilder.forInterface(FCoin.class, exchange).build();
     signatureCreator =
         FCoinDigest.createInstance(exchange.getExchangeSpecification().getSecretKey(), apiKey);
   }
@@ -15,10 +15,7 @@ public class FtxBaseService extends BaseExchangeService implements BaseService {
   public FtxBaseService(Exchange exchange) {
     super(exchange);
 
-    ftx =
-        ExchangeRestProxyBuilder.forInterface(
-                FtxAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    ftx = ExchangeRestProxyBuilder.forInterface(FtxAuthenticated.class, exchange).build();
     signatureCreator = FtxDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
   }
 }
@@ -24,10 +24,7 @@ public class GateioBaseService extends BaseExchangeService implements BaseServic
 
     super(exchange);
 
-    this.bter =
-        ExchangeRestProxyBuilder.forInterface(
-                GateioAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    this.bter = ExchangeRestProxyBuilder.forInterface(GateioAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         GateioHmacPostBodyDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
@@ -29,13 +29,9 @@ public class GeminiBaseService extends BaseExchangeService implements BaseServic
     super(exchange);
 
     this.gemini =
-        ExchangeRestProxyBuilder.forInterface(
-                GeminiAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(GeminiAuthenticated.class, exchange).build();
 
-    this.gemini2 =
-        ExchangeRestProxyBuilder.forInterface(Gemini2.class, exchange.getExchangeSpecification())
-            .build();
+    this.gemini2 = ExchangeRestProxyBuilder.forInterface(Gemini2.class, exchange).build();
 
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
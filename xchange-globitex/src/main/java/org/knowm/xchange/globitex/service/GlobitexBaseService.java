@@ -15,10 +15,7 @@ public class GlobitexBaseService extends BaseExchangeService implements BaseServ
   public GlobitexBaseService(Exchange exchange) {
     super(exchange);
 
-    globitex =
-        ExchangeRestProxyBuilder.forInterface(
-                GlobitexAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    globitex = ExchangeRestProxyBuilder.forInterface(GlobitexAuthenticated.class, exchange).build();
 
     signatureCreator =
         GlobitexDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
@@ -22,8 +22,7 @@ public class HitbtcBaseService extends BaseExchangeService implements BaseServic
     ClientConfigCustomizer clientConfigCustomizer =
         config -> ClientConfigUtil.addBasicAuthCredentials(config, apiKey, secretKey);
     hitbtc =
-        ExchangeRestProxyBuilder.forInterface(
-                HitbtcAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(HitbtcAuthenticated.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
@@ -20,9 +20,7 @@ public class HuobiBaseService extends BaseExchangeService implements BaseService
 
   public HuobiBaseService(Exchange exchange) {
     super(exchange);
-    huobi =
-        ExchangeRestProxyBuilder.forInterface(Huobi.class, exchange.getExchangeSpecification())
-            .build();
+    huobi = ExchangeRestProxyBuilder.forInterface(Huobi.class, exchange).build();
     signatureCreator =
         HuobiDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
   }
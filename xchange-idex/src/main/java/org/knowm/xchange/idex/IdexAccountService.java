@@ -42,19 +42,14 @@ public class IdexAccountService extends BaseExchangeService implements AccountSe
     super(idexExchange);
 
     returnCompleteBalancesApi =
-        ExchangeRestProxyBuilder.forInterface(
-                ReturnCompleteBalancesApi.class, idexExchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(ReturnCompleteBalancesApi.class, idexExchange)
             .build();
 
     returnDepositsWithdrawalsApi =
-        ExchangeRestProxyBuilder.forInterface(
-                ReturnDepositsWithdrawalsApi.class, idexExchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(ReturnDepositsWithdrawalsApi.class, idexExchange)
             .build();
 
-    withdrawApi =
-        ExchangeRestProxyBuilder.forInterface(
-                WithdrawApi.class, idexExchange.getExchangeSpecification())
-            .build();
+    withdrawApi = ExchangeRestProxyBuilder.forInterface(WithdrawApi.class, idexExchange).build();
 
     apiKey = exchange.getExchangeSpecification().getApiKey();
   }
@@ -78,9 +78,7 @@ public class IdexExchange extends BaseExchange {
 
   public ReturnNextNonceApi getNextNonceApi() {
     if (null == nextNonceApi) {
-      nextNonceApi =
-          ExchangeRestProxyBuilder.forInterface(ReturnNextNonceApi.class, exchangeSpecification)
-              .build();
+      nextNonceApi = ExchangeRestProxyBuilder.forInterface(ReturnNextNonceApi.class, this).build();
     }
     return nextNonceApi;
   }
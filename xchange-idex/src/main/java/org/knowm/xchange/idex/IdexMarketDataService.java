@@ -47,19 +47,13 @@ public class IdexMarketDataService extends BaseExchangeService implements Market
     super(idexExchange);
 
     returnTickerApi =
-        ExchangeRestProxyBuilder.forInterface(
-                ReturnTickerApi.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(ReturnTickerApi.class, exchange).build();
 
     returnOrderBookApi =
-        ExchangeRestProxyBuilder.forInterface(
-                ReturnOrderBookApi.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(ReturnOrderBookApi.class, exchange).build();
 
     returnTradeHistoryApi =
-        ExchangeRestProxyBuilder.forInterface(
-                ReturnTradeHistoryApi.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(ReturnTradeHistoryApi.class, exchange).build();
   }
 
   @Override
@@ -70,27 +70,17 @@ public class IdexTradeService extends BaseExchangeService implements TradeServic
     super(idexExchange);
 
     returnOpenOrdersApi =
-        ExchangeRestProxyBuilder.forInterface(
-                ReturnOpenOrdersApi.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(ReturnOpenOrdersApi.class, exchange).build();
 
-    cancelApi =
-        ExchangeRestProxyBuilder.forInterface(CancelApi.class, exchange.getExchangeSpecification())
-            .build();
+    cancelApi = ExchangeRestProxyBuilder.forInterface(CancelApi.class, exchange).build();
 
     returnTradeHistoryApi =
-        ExchangeRestProxyBuilder.forInterface(
-                ReturnTradeHistoryApi.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(ReturnTradeHistoryApi.class, exchange).build();
 
-    orderApi =
-        ExchangeRestProxyBuilder.forInterface(OrderApi.class, exchange.getExchangeSpecification())
-            .build();
+    orderApi = ExchangeRestProxyBuilder.forInterface(OrderApi.class, exchange).build();
 
     returnContractAddressApi =
-        ExchangeRestProxyBuilder.forInterface(
-                ReturnContractAddressApi.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(ReturnContractAddressApi.class, exchange).build();
 
     apiKey = exchange.getExchangeSpecification().getApiKey();
   }
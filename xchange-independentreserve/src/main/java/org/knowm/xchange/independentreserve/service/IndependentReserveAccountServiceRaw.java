@@ -33,8 +33,7 @@ public class IndependentReserveAccountServiceRaw extends IndependentReserveBaseS
     super(exchange);
 
     this.independentReserveAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                IndependentReserveAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(IndependentReserveAuthenticated.class, exchange)
             .build();
     this.signatureCreator =
         IndependentReserveDigest.createInstance(
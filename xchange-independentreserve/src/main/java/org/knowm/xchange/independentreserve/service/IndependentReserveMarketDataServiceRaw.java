@@ -14,9 +14,7 @@ public class IndependentReserveMarketDataServiceRaw extends IndependentReserveBa
   public IndependentReserveMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
     this.independentReserve =
-        ExchangeRestProxyBuilder.forInterface(
-                IndependentReserve.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(IndependentReserve.class, exchange).build();
   }
 
   public IndependentReserveTicker getIndependentReserveTicker(
@@ -43,8 +43,7 @@ public class IndependentReserveTradeServiceRaw extends IndependentReserveBaseSer
     super(exchange);
 
     this.independentReserveAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                IndependentReserveAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(IndependentReserveAuthenticated.class, exchange)
             .build();
     this.signatureCreator =
         IndependentReserveDigest.createInstance(
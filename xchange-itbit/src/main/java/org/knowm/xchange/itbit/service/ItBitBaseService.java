@@ -31,8 +31,7 @@ public class ItBitBaseService extends BaseExchangeService implements BaseService
     final String baseUrl =
         (String) exchange.getExchangeSpecification().getExchangeSpecificParametersItem("authHost");
     this.itBitAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                ItBitAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(ItBitAuthenticated.class, exchange)
             .baseUrl(baseUrl)
             .build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
@@ -40,9 +39,7 @@ public class ItBitBaseService extends BaseExchangeService implements BaseService
         ItBitHmacPostBodyDigest.createInstance(
             apiKey, exchange.getExchangeSpecification().getSecretKey());
 
-    this.itBitPublic =
-        ExchangeRestProxyBuilder.forInterface(ItBit.class, exchange.getExchangeSpecification())
-            .build();
+    this.itBitPublic = ExchangeRestProxyBuilder.forInterface(ItBit.class, exchange).build();
 
     this.userId =
         (String) exchange.getExchangeSpecification().getExchangeSpecificParametersItem("userId");
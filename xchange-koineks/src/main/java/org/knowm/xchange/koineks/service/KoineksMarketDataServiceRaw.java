@@ -14,9 +14,7 @@ public class KoineksMarketDataServiceRaw extends KoineksBaseService {
   public KoineksMarketDataServiceRaw(Exchange exchange) {
 
     super(exchange);
-    this.koineks =
-        ExchangeRestProxyBuilder.forInterface(Koineks.class, exchange.getExchangeSpecification())
-            .build();
+    this.koineks = ExchangeRestProxyBuilder.forInterface(Koineks.class, exchange).build();
   }
 
   public KoineksTicker getKoineksTicker() throws IOException {
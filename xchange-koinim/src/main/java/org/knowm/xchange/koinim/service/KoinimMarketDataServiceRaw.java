@@ -14,9 +14,7 @@ public class KoinimMarketDataServiceRaw extends KoinimBaseService {
   public KoinimMarketDataServiceRaw(Exchange exchange) {
 
     super(exchange);
-    this.koinim =
-        ExchangeRestProxyBuilder.forInterface(Koinim.class, exchange.getExchangeSpecification())
-            .build();
+    this.koinim = ExchangeRestProxyBuilder.forInterface(Koinim.class, exchange).build();
   }
 
   public KoinimTicker getKoinimTicker() throws IOException {
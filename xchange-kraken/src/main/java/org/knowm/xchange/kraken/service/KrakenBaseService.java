@@ -45,10 +45,7 @@ public class KrakenBaseService extends BaseExchangeService implements BaseServic
 
     super(exchange);
 
-    kraken =
-        ExchangeRestProxyBuilder.forInterface(
-                KrakenAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    kraken = ExchangeRestProxyBuilder.forInterface(KrakenAuthenticated.class, exchange).build();
     signatureCreator =
         KrakenDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
   }
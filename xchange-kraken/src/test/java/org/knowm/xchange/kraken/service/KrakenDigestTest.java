@@ -0,0 +1,35 @@
+package org.knowm.xchange.kraken.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import javax.ws.rs.FormParam;
+import org.junit.Test;
+import si.mazi.rescu.RestInvocation;
+
+public class KrakenDigestTest {
+
+  @Test
+  public void testDigestParams() {
+
+    // given: the signature example of the Kraken REST API documentation
+    KrakenDigest krakenDigest =
+        KrakenDigest.createInstance(
+            "kQH5HW/8p1uGOVjbgWA7FunAmGO8lsSUXNsu3eow76sz84Q18fWxnyRzBHCd3pd5nE9qa99HAZtuZuj6F1huXg==");
+    RestInvocation restInvocation = mock(RestInvocation.class);
+    when(restInvocation.getParamValue(FormParam.class, "nonce")).thenReturn(1616492376594L);
+    when(restInvocation.getRequestBody())
+        .thenReturn(
+            "nonce=1616492376594&ordertype=limit&pair=XBTUSD&price=37500&type=buy&volume=1.25");
+    when(restInvocation.getPath()).thenReturn("0/private/AddOrder");
+
+    // when
+    String signature = krakenDigest.digestParams(restInvocation);
+
+    // then
+    assertThat(signature)
+        .isEqualTo(
+            "4/dpxb3iT4tp/ZCVEwSnEsLxx0bqyhLpdfOpc6fn7OR8+UClSV5n9E6aSS8MPtnRfp32bAb0nmbRn6H8ndwLUQ==");
+  }
+}
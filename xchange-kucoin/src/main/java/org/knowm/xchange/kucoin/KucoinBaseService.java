@@ -52,8 +52,7 @@ public class KucoinBaseService extends BaseResilientExchangeService<KucoinExchan
   }
 
   private <T> T service(KucoinExchange exchange, Class<T> clazz) {
-    return ExchangeRestProxyBuilder.forInterface(clazz, exchange.getExchangeSpecification())
-        .build();
+    return ExchangeRestProxyBuilder.forInterface(clazz, exchange).build();
   }
 
   protected void checkAuthenticated() {
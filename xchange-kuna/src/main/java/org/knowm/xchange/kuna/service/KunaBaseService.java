@@ -20,13 +20,9 @@ public class KunaBaseService extends BaseExchangeService implements BaseService
    */
   protected KunaBaseService(Exchange exchange) {
     super(exchange);
-    kuna =
-        ExchangeRestProxyBuilder.forInterface(Kuna.class, exchange.getExchangeSpecification())
-            .build();
+    kuna = ExchangeRestProxyBuilder.forInterface(Kuna.class, exchange).build();
     kunaAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                KunaAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(KunaAuthenticated.class, exchange).build();
   }
 
   protected Kuna getKuna() {
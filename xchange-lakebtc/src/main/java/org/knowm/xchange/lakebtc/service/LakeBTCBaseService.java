@@ -33,17 +33,13 @@ public class LakeBTCBaseService extends BaseExchangeService implements BaseServi
         "Exchange specification URI cannot be null");
 
     this.lakeBTCAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                LakeBTCAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(LakeBTCAuthenticated.class, exchange).build();
     this.signatureCreator =
         LakeBTCDigest.createInstance(
             exchange.getExchangeSpecification().getUserName(),
             exchange.getExchangeSpecification().getSecretKey());
 
-    this.lakeBTC =
-        ExchangeRestProxyBuilder.forInterface(LakeBTC.class, exchange.getExchangeSpecification())
-            .build();
+    this.lakeBTC = ExchangeRestProxyBuilder.forInterface(LakeBTC.class, exchange).build();
   }
 
   public static <T extends LakeBTCResponse> T checkResult(T returnObject) {
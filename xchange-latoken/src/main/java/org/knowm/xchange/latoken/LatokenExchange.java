@@ -27,10 +27,7 @@ public class LatokenExchange extends BaseExchange {
 
   @Override
   protected void initServices() {
-    this.latoken =
-        ExchangeRestProxyBuilder.forInterface(
-                LatokenAuthenticated.class, getExchangeSpecification())
-            .build();
+    this.latoken = ExchangeRestProxyBuilder.forInterface(LatokenAuthenticated.class, this).build();
     this.marketDataService = new LatokenMarketDataService(this);
     this.tradeService = new LatokenTradeService(this);
     this.accountService = new LatokenAccountService(this);
@@ -21,9 +21,7 @@ public class LatokenBaseService extends BaseExchangeService<Exchange> implements
 
     super(exchange);
     this.latoken =
-        ExchangeRestProxyBuilder.forInterface(
-                LatokenAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(LatokenAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         LatokenHmacDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
@@ -22,7 +22,7 @@ public class LgoExchange extends BaseExchange {
   protected void initServices() {
     signatureService = LgoSignatureService.createInstance(getExchangeSpecification());
     this.marketDataService = new LgoMarketDataService(this);
-    this.tradeService = new LgoTradeService(this, new LgoKeyService(getExchangeSpecification()));
+    this.tradeService = new LgoTradeService(this, new LgoKeyService(this));
     this.accountService = new AccountService() {};
   }
 
@@ -12,8 +12,6 @@ public class LgoBaseService extends BaseExchangeService<LgoExchange> implements
 
   protected LgoBaseService(LgoExchange exchange) {
     super(exchange);
-    proxy =
-        ExchangeRestProxyBuilder.forInterface(Lgo.class, exchange.getExchangeSpecification())
-            .build();
+    proxy = ExchangeRestProxyBuilder.forInterface(Lgo.class, exchange).build();
   }
 }
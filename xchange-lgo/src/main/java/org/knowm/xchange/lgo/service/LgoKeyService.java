@@ -3,6 +3,7 @@ package org.knowm.xchange.lgo.service;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
+import org.knowm.xchange.Exchange;
 import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.client.ExchangeRestProxyBuilder;
 import org.knowm.xchange.exceptions.ExchangeException;
@@ -16,13 +17,28 @@ public class LgoKeyService {
   private final CertificateAuthority proxy;
   private LgoKey currentKey;
 
+  public LgoKeyService(Exchange exchange) {
+    this(
+        exchange.getExchangeSpecification(),
+        ExchangeRestProxyBuilder.forInterface(CertificateAuthority.class, exchange));
+  }
+
+  /**
+   * Without an exchange, the proxy only uses the rate limiter set on the specification, not the
+   * default limiter of an exchange instance.
+   */
   public LgoKeyService(ExchangeSpecification exchangeSpecification) {
+    this(
+        exchangeSpecification,
+        ExchangeRestProxyBuilder.forInterface(CertificateAuthority.class, exchangeSpecification));
+  }
+
+  private LgoKeyService(
+      ExchangeSpecification exchangeSpecification,
+      ExchangeRestProxyBuilder<CertificateAuthority> proxyBuilder) {
     final String baseUrl =
         exchangeSpecification.getExchangeSpecificParametersItem(LgoEnv.KEYS_URL).toString();
-    proxy =
-        ExchangeRestProxyBuilder.forInterface(CertificateAuthority.class, exchangeSpecification)
-            .baseUrl(baseUrl)
-            .build();
+    proxy = proxyBuilder.baseUrl(baseUrl).build();
   }
 
   public LgoKey selectKey() {
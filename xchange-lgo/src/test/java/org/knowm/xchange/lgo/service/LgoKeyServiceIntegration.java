@@ -24,7 +24,7 @@ public class LgoKeyServiceIntegration {
         .put(LgoEnv.SIGNATURE_SERVICE, SignatureService.PASSTHROUGHS);
     Exchange exchange = ExchangeFactory.INSTANCE.createExchange(spec);
 
-    lgoKeyService = new LgoKeyService(exchange.getExchangeSpecification());
+    lgoKeyService = new LgoKeyService(exchange);
   }
 
   @Test
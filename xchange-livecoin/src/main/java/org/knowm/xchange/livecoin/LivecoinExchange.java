@@ -41,8 +41,7 @@ public class LivecoinExchange extends BaseExchange implements Exchange {
 
   @Override
   protected void initServices() {
-    this.livecoin =
-        ExchangeRestProxyBuilder.forInterface(Livecoin.class, getExchangeSpecification()).build();
+    this.livecoin = ExchangeRestProxyBuilder.forInterface(Livecoin.class, this).build();
     this.marketDataService =
         new LivecoinMarketDataService(this, livecoin, getResilienceRegistries());
     this.accountService = new LivecoinAccountService(this, livecoin, getResilienceRegistries());
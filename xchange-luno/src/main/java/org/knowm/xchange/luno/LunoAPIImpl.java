@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import org.knowm.xchange.Exchange;
 import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.client.ExchangeRestProxyBuilder;
 import org.knowm.xchange.luno.dto.LunoBoolean;
@@ -36,11 +37,28 @@ public class LunoAPIImpl implements LunoAPI {
   private final LunoAuthenticated luno;
   private final BasicAuthCredentials auth;
 
+  /**
+   * Without an exchange, the proxy only uses the rate limiter set on the specification, not the
+   * default limiter of an exchange instance.
+   */
   public LunoAPIImpl(ExchangeSpecification exchangeSpecification) {
 
-    luno =
+    this(
         ExchangeRestProxyBuilder.forInterface(LunoAuthenticated.class, exchangeSpecification)
-            .build();
+            .build(),
+        exchangeSpecification);
+  }
+
+  public LunoAPIImpl(Exchange exchange) {
+
+    this(
+        ExchangeRestProxyBuilder.forInterface(LunoAuthenticated.class, exchange).build(),
+        exchange.getExchangeSpecification());
+  }
+
+  private LunoAPIImpl(LunoAuthenticated luno, ExchangeSpecification exchangeSpecification) {
+
+    this.luno = luno;
     auth =
         new BasicAuthCredentials(
             exchangeSpecification.getApiKey(), exchangeSpecification.getSecretKey());
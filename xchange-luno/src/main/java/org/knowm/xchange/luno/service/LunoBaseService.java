@@ -12,6 +12,6 @@ public class LunoBaseService extends BaseExchangeService implements BaseService
 
   public LunoBaseService(Exchange exchange) {
     super(exchange);
-    lunoAPI = new LunoAPIImpl(exchange.getExchangeSpecification());
+    lunoAPI = new LunoAPIImpl(exchange);
   }
 }
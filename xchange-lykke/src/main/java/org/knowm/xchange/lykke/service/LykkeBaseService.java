@@ -15,13 +15,9 @@ public class LykkeBaseService extends BaseExchangeService implements BaseService
 
   protected LykkeBaseService(Exchange exchange) {
     super(exchange);
-    this.lykke =
-        ExchangeRestProxyBuilder.forInterface(
-                LykkeAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    this.lykke = ExchangeRestProxyBuilder.forInterface(LykkeAuthenticated.class, exchange).build();
     this.lykkePublic =
-        ExchangeRestProxyBuilder.forInterface(
-                LykkeAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(LykkeAuthenticated.class, exchange)
             .baseUrl("https://public-api.lykke.com/")
             .build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
@@ -24,9 +24,7 @@ public class MercadoBitcoinAccountServiceRaw extends MercadoBitcoinBaseService {
 
     super(exchange);
     this.mercadoBitcoinAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                MercadoBitcoinAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(MercadoBitcoinAuthenticated.class, exchange).build();
   }
 
   public MercadoBitcoinBaseTradeApiResult<MercadoBitcoinAccountInfo> getMercadoBitcoinAccountInfo()
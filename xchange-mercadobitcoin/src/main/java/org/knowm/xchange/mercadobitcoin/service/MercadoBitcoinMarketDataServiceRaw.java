@@ -25,9 +25,7 @@ public class MercadoBitcoinMarketDataServiceRaw extends MercadoBitcoinBaseServic
   public MercadoBitcoinMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
     this.mercadoBitcoin =
-        ExchangeRestProxyBuilder.forInterface(
-                MercadoBitcoin.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(MercadoBitcoin.class, exchange).build();
   }
 
   public MercadoBitcoinOrderBook getMercadoBitcoinOrderBook(CurrencyPair currencyPair)
@@ -31,9 +31,7 @@ public class MercadoBitcoinTradeServiceRaw extends MercadoBitcoinBaseService {
 
     super(exchange);
     this.mercadoBitcoinAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                MercadoBitcoinAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(MercadoBitcoinAuthenticated.class, exchange).build();
   }
 
   public MercadoBitcoinBaseTradeApiResult<MercadoBitcoinUserOrders> getMercadoBitcoinUserOrders(
@@ -23,9 +23,7 @@ public class OKCoinBaseTradeService extends OkCoinBaseService {
 
     super(exchange);
 
-    okCoin =
-        ExchangeRestProxyBuilder.forInterface(OkCoin.class, exchange.getExchangeSpecification())
-            .build();
+    okCoin = ExchangeRestProxyBuilder.forInterface(OkCoin.class, exchange).build();
     apikey = exchange.getExchangeSpecification().getApiKey();
     secretKey = exchange.getExchangeSpecification().getSecretKey();
   }
@@ -31,9 +31,7 @@ public class OkCoinMarketDataServiceRaw extends OkCoinBaseService {
 
     super(exchange);
 
-    okCoin =
-        ExchangeRestProxyBuilder.forInterface(OkCoin.class, exchange.getExchangeSpecification())
-            .build();
+    okCoin = ExchangeRestProxyBuilder.forInterface(OkCoin.class, exchange).build();
   }
 
   /**
@@ -20,7 +20,7 @@ public class OkexBaseService extends BaseExchangeService<OkexExchangeV3> impleme
   public OkexBaseService(OkexExchangeV3 exchange) {
     super(exchange);
     final ExchangeSpecification spec = exchange.getExchangeSpecification();
-    okex = ExchangeRestProxyBuilder.forInterface(OkexV3.class, spec).build();
+    okex = ExchangeRestProxyBuilder.forInterface(OkexV3.class, exchange).build();
     apikey = spec.getApiKey();
     passphrase = (String) spec.getExchangeSpecificParametersItem("passphrase");
 
@@ -27,13 +27,9 @@ public class OkexBaseService extends BaseResilientExchangeService<OkexExchange>
   public OkexBaseService(OkexExchange exchange, ResilienceRegistries resilienceRegistries) {
     super(exchange, resilienceRegistries);
 
-    okex =
-        ExchangeRestProxyBuilder.forInterface(Okex.class, exchange.getExchangeSpecification())
-            .build();
+    okex = ExchangeRestProxyBuilder.forInterface(Okex.class, exchange).build();
     okexAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                OkexAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(OkexAuthenticated.class, exchange).build();
     signatureCreator =
         OkexDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
     apiKey = exchange.getExchangeSpecification().getApiKey();
@@ -22,9 +22,7 @@ public class OERMarketDataServiceRaw extends OERBaseService {
   public OERMarketDataServiceRaw(Exchange exchange) {
 
     super(exchange);
-    this.openExchangeRates =
-        ExchangeRestProxyBuilder.forInterface(OER.class, exchange.getExchangeSpecification())
-            .build();
+    this.openExchangeRates = ExchangeRestProxyBuilder.forInterface(OER.class, exchange).build();
   }
 
   public OERRates getOERTicker(CurrencyPair pair) throws IOException {
@@ -14,9 +14,7 @@ public class ParibuMarketDataServiceRaw extends ParibuBaseService {
   public ParibuMarketDataServiceRaw(Exchange exchange) {
 
     super(exchange);
-    this.paribu =
-        ExchangeRestProxyBuilder.forInterface(Paribu.class, exchange.getExchangeSpecification())
-            .build();
+    this.paribu = ExchangeRestProxyBuilder.forInterface(Paribu.class, exchange).build();
   }
 
   public ParibuTicker getParibuTicker() throws IOException {
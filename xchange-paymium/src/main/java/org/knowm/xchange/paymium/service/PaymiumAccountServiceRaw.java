@@ -23,8 +23,7 @@ public class PaymiumAccountServiceRaw extends PaymiumBaseService {
 
     this.paymiumAuthenticated =
         ExchangeRestProxyBuilder.forInterface(
-                org.knowm.xchange.paymium.PaymiumAuthenticated.class,
-                exchange.getExchangeSpecification())
+                org.knowm.xchange.paymium.PaymiumAuthenticated.class, exchange)
             .build();
   }
 
@@ -27,14 +27,10 @@ public class PaymiumBaseService extends BaseExchangeService implements BaseServi
 
     super(exchange);
 
-    this.paymium =
-        ExchangeRestProxyBuilder.forInterface(Paymium.class, exchange.getExchangeSpecification())
-            .build();
+    this.paymium = ExchangeRestProxyBuilder.forInterface(Paymium.class, exchange).build();
 
     this.paymiumAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                PaymiumAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(PaymiumAuthenticated.class, exchange).build();
 
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
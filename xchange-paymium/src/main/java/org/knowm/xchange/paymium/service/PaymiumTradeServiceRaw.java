@@ -18,8 +18,7 @@ public class PaymiumTradeServiceRaw extends PaymiumBaseService {
 
     this.paymiumAuthenticated =
         ExchangeRestProxyBuilder.forInterface(
-                org.knowm.xchange.paymium.PaymiumAuthenticated.class,
-                exchange.getExchangeSpecification())
+                org.knowm.xchange.paymium.PaymiumAuthenticated.class, exchange)
             .build();
   }
 
@@ -44,15 +44,14 @@ public class PoloniexBaseService extends BaseExchangeService implements BaseServ
                 });
 
     this.poloniexAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                PoloniexAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(PoloniexAuthenticated.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         PoloniexDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
     this.poloniex =
-        ExchangeRestProxyBuilder.forInterface(Poloniex.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(Poloniex.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
@@ -29,10 +29,7 @@ public class QuoineBaseService extends BaseExchangeService implements BaseServic
 
     super(exchange);
 
-    quoine =
-        ExchangeRestProxyBuilder.forInterface(
-                QuoineAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    quoine = ExchangeRestProxyBuilder.forInterface(QuoineAuthenticated.class, exchange).build();
 
     this.tokenID = exchange.getExchangeSpecification().getApiKey();
     this.secret = exchange.getExchangeSpecification().getSecretKey();
@@ -27,13 +27,9 @@ public class RippleBaseService extends BaseExchangeService implements BaseServic
       throw new IllegalStateException("either SSL or plain text URI must be specified");
     }
     ripplePublic =
-        ExchangeRestProxyBuilder.forInterface(
-                RipplePublic.class, exchange.getExchangeSpecification())
-            .baseUrl(uri)
-            .build();
+        ExchangeRestProxyBuilder.forInterface(RipplePublic.class, exchange).baseUrl(uri).build();
     rippleAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(
-                RippleAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(RippleAuthenticated.class, exchange)
             .baseUrl(uri)
             .build();
   }
@@ -11,8 +11,6 @@ public class SerumBaseService extends BaseExchangeService implements BaseService
 
   public SerumBaseService(Exchange exchange) {
     super(exchange);
-    serum =
-        ExchangeRestProxyBuilder.forInterface(Serum.class, exchange.getExchangeSpecification())
-            .build();
+    serum = ExchangeRestProxyBuilder.forInterface(Serum.class, exchange).build();
   }
 }
@@ -22,11 +22,21 @@ class Account {
   private final ConcurrentMap<Currency, AtomicReference<Balance>> balances =
       new ConcurrentHashMap<>();
 
+  private volatile FeeSchedule feeSchedule = FeeSchedule.DEFAULT;
+
   void initialize(Iterable<Currency> currencies) {
     currencies.forEach(
         currency -> balances.put(currency, new AtomicReference<>(new Balance(currency, ZERO))));
   }
 
+  FeeSchedule getFeeSchedule() {
+    return feeSchedule;
+  }
+
+  void setFeeSchedule(FeeSchedule feeSchedule) {
+    this.feeSchedule = feeSchedule;
+  }
+
   public Collection<Balance> balances() {
     return Collections2.transform(balances.values(), AtomicReference::get);
   }
@@ -1,12 +1,49 @@
 package org.knowm.xchange.simulated;
 
+import static java.math.BigDecimal.ZERO;
+
 import java.math.BigDecimal;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import lombok.Data;
 
+/**
+ * The orders resting at one price, in time priority, keyed by order id so that any of them can be
+ * removed without scanning the level.
+ */
 @Data
 final class BookLevel {
   private final BigDecimal price;
-  private final List<BookOrder> orders = new LinkedList<>();
+  private final Map<String, BookOrder> orders = new LinkedHashMap<>();
+
+  /** Total remaining amount of the orders at this level. */
+  private BigDecimal amount = ZERO;
+
+  /** The order at the back of the queue, or null once that order has been removed. */
+  private BookOrder last;
+
+  void add(BookOrder order) {
+    orders.put(order.getId(), order);
+    amount = amount.add(order.getRemainingAmount());
+    last = order;
+  }
+
+  BookOrder remove(String orderId) {
+    BookOrder order = orders.remove(orderId);
+    if (order != null) {
+      amount = amount.subtract(order.getRemainingAmount());
+      if (order == last) {
+        last = null;
+      }
+    }
+    return order;
+  }
+
+  void reduce(BigDecimal tradeAmount) {
+    amount = amount.subtract(tradeAmount);
+  }
+
+  boolean isEmpty() {
+    return orders.isEmpty();
+  }
 }
@@ -25,7 +25,7 @@ final class BookOrder {
 
   private static final BigDecimal INF = BigDecimal.valueOf(Long.MAX_VALUE);
 
-  static BookOrder fromOrder(Order original, String apiKey) {
+  static BookOrder fromOrder(Order original, String apiKey, Date timestamp) {
     return BookOrder.builder()
         .apiKey(apiKey)
         .id(randomUUID().toString())
@@ -34,13 +34,13 @@ final class BookOrder {
                 ? ((LimitOrder) original).getLimitPrice()
                 : original.getType() == ASK ? ZERO : INF)
         .originalAmount(original.getOriginalAmount())
-        .timestamp(new Date())
+        .timestamp(timestamp)
         .type(original.getType())
         .build();
   }
 
   private final String apiKey;
-  private final BigDecimal originalAmount;
+  private volatile BigDecimal originalAmount;
   private final String id;
   private final Date timestamp;
   private final BigDecimal limitPrice;
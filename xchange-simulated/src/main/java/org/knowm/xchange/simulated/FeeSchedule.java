@@ -0,0 +1,52 @@
+package org.knowm.xchange.simulated;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.currency.CurrencyPair;
+
+/**
+ * The trading fees of an account on a {@link SimulatedExchange}.
+ *
+ * <p>Pass an instance to {@link ExchangeSpecification#setExchangeSpecificParametersItem(String,
+ * Object)} using the parameter name {@link SimulatedExchange#FEE_SCHEDULE_PARAM} to charge it to
+ * the account of the specification's API key, as real venues charge each account according to its
+ * fee tier. Accounts without a schedule pay {@link #DEFAULT}.
+ *
+ * <p>Fees are charged on each fill, in the currency received.
+ */
+public interface FeeSchedule {
+
+  /** A flat 0.1% on all fills. */
+  FeeSchedule DEFAULT = flat(new BigDecimal("0.001"));
+
+  /**
+   * @param currencyPair the instrument traded
+   * @param maker true for the fill of the resting order, false for that of the incoming order
+   * @return the fee as a fraction of the traded value
+   */
+  BigDecimal feeRate(CurrencyPair currencyPair, boolean maker);
+
+  /** The same rate for makers and takers on all instruments. */
+  static FeeSchedule flat(BigDecimal rate) {
+    return (currencyPair, maker) -> rate;
+  }
+
+  /** Separate maker and taker rates, the same on all instruments. Maker rates may be negative. */
+  static FeeSchedule makerTaker(BigDecimal makerRate, BigDecimal takerRate) {
+    return (currencyPair, maker) -> maker ? makerRate : takerRate;
+  }
+
+  /**
+   * Different schedules per instrument.
+   *
+   * @param schedules the schedules of the instruments with their own fees
+   * @param otherwise the schedule of all other instruments
+   */
+  static FeeSchedule perPair(Map<CurrencyPair, FeeSchedule> schedules, FeeSchedule otherwise) {
+    Map<CurrencyPair, FeeSchedule> copy = new HashMap<>(schedules);
+    return (currencyPair, maker) ->
+        copy.getOrDefault(currencyPair, otherwise).feeRate(currencyPair, maker);
+  }
+}
@@ -0,0 +1,112 @@
+package org.knowm.xchange.simulated;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.ExchangeSpecification;
+
+/**
+ * Decides how long each operation on a {@link SimulatedExchange} takes, so that order placement and
+ * market data round trips behave like those of a real venue rather than returning instantly.
+ *
+ * <p>Pass an instance to {@link ExchangeSpecification#setExchangeSpecificParametersItem(String,
+ * Object)} using the parameter name {@link SimulatedExchange#LATENCY_MODEL_PARAM}. The calling
+ * thread is held for the drawn latency before the operation reaches the matching engine, so an
+ * order arrives at the book as late as it would over the network. Latencies are wall clock time,
+ * also when the engine runs on a {@link SimulatedClock}.
+ *
+ * <p>Each {@link SimulatedExchange} draws from its own model obtained through {@link
+ * #forAccount(String)}, so the latencies of one account do not depend on how the threads driving
+ * other accounts interleave.
+ */
+public interface LatencyModel {
+
+  /** The kinds of operation which can be given their own latency. */
+  enum Operation {
+    PLACE_ORDER,
+    CANCEL_ORDER,
+    GET_OPEN_ORDERS,
+    GET_TRADE_HISTORY,
+    GET_MARKET_DATA,
+    GET_ACCOUNT_INFO
+  }
+
+  /** No latency at all, the default. */
+  LatencyModel NONE = operation -> 0;
+
+  /**
+   * @param operation the operation about to be performed
+   * @return how long the operation takes, in nanoseconds
+   */
+  long latencyNanos(Operation operation);
+
+  /**
+   * Returns the model used by the exchange instances of one account. Models drawing random numbers
+   * return an independent stream per account, seeded from their own seed and the API key, so that
+   * a simulation with one thread per account repeats exactly. Others return themselves.
+   *
+   * @param apiKey the API key of the account, empty for instances without one
+   */
+  default LatencyModel forAccount(String apiKey) {
+    return this;
+  }
+
+  /** The same latency for every operation. */
+  static LatencyModel fixed(long latency, TimeUnit unit) {
+    long nanos = unit.toNanos(latency);
+    return operation -> nanos;
+  }
+
+  /**
+   * Log-normally distributed latencies, which reproduce the long tail of real network round trips.
+   *
+   * @param median the median latency
+   * @param sigma the standard deviation of the latency's logarithm, 0.5 gives a 99th percentile of
+   *     about three times the median
+   * @param unit the unit of the median
+   * @param seed the seed of the random numbers, so that a simulation can be repeated
+   */
+  static LatencyModel logNormal(long median, double sigma, TimeUnit unit, long seed) {
+    double medianNanos = unit.toNanos(median);
+    Random random = new Random(seed);
+    return new LatencyModel() {
+      @Override
+      public long latencyNanos(Operation operation) {
+        return (long) (medianNanos * Math.exp(sigma * random.nextGaussian()));
+      }
+
+      @Override
+      public LatencyModel forAccount(String apiKey) {
+        return logNormal(median, sigma, unit, 31 * seed + apiKey.hashCode());
+      }
+    };
+  }
+
+  /**
+   * Different latencies per kind of operation.
+   *
+   * @param latencies the models of the operations with their own latency
+   * @param otherwise the model of all other operations
+   */
+  static LatencyModel perOperation(Map<Operation, LatencyModel> latencies, LatencyModel otherwise) {
+    Map<Operation, LatencyModel> models = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      models.put(operation, latencies.getOrDefault(operation, otherwise));
+    }
+    return new LatencyModel() {
+      @Override
+      public long latencyNanos(Operation operation) {
+        return models.get(operation).latencyNanos(operation);
+      }
+
+      @Override
+      public LatencyModel forAccount(String apiKey) {
+        Map<Operation, LatencyModel> accountLatencies = new EnumMap<>(Operation.class);
+        latencies.forEach(
+            (operation, model) -> accountLatencies.put(operation, model.forAccount(apiKey)));
+        return perOperation(accountLatencies, otherwise.forAccount(apiKey));
+      }
+    };
+  }
+}
@@ -0,0 +1,244 @@
+package org.knowm.xchange.simulated;
+
+import static java.math.BigDecimal.ZERO;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import org.knowm.xchange.currency.Currency;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderStatus;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+/**
+ * Backtests against recorded market data by replaying it into the {@link MatchingEngine} of one
+ * currency pair, in simulated time.
+ *
+ * <p>The recorded book is kept in the engine as resting orders of the {@link #REPLAY_API_KEY}
+ * account, so strategy orders queue behind the recorded liquidity at their price. Volume added to a
+ * level joins the back of its queue, behind any strategy orders already there, and volume removed
+ * from it is taken from the queue as the {@link QueuePositionModel} of the replay decides. A
+ * recorded trade is replayed as an immediate-or-cancel order from the same account, which takes the
+ * queue of each level in time priority, recorded liquidity and strategy orders alike. A book update
+ * which crosses strategy orders fills them, as the market traded through them.
+ *
+ * <p>Before each event the {@link SimulatedClock} of the engine factory is set to the event's time,
+ * so orders, trades and books carry simulated timestamps. Strategies written against {@link
+ * SimulatedExchange}, or the streaming exchange of {@code xchange-stream-simulated}, built on the
+ * same {@link MatchingEngineFactory} see the replayed market through their usual services and can
+ * react to it from a {@link MatchingEngineListener}, which runs on the replay thread between
+ * events.
+ *
+ * <p>A replay is run by one thread. Instruments can be backtested in parallel by giving each its
+ * own engine factory and clock and submitting the replays to an executor.
+ */
+public class MarketReplay implements Callable<Long> {
+
+  /** The account which owns the recorded liquidity. */
+  public static final String REPLAY_API_KEY = "REPLAY";
+
+  private static final BigDecimal UNLIMITED_BALANCE = new BigDecimal("1e30");
+
+  private final MatchingEngine engine;
+  private final CurrencyPair currencyPair;
+  private final SimulatedClock clock;
+  private final Path recording;
+  private final QueuePositionModel queuePosition;
+
+  /** The ids of the recorded orders at each price, in time priority. */
+  private final NavigableMap<BigDecimal, Deque<String>> bids = new TreeMap<>();
+
+  private final NavigableMap<BigDecimal, Deque<String>> asks = new TreeMap<>();
+
+  /**
+   * @param engineFactory the engines to replay into, which must have been created with the clock.
+   *     The replay should be created before the exchange is used, so that the engine of the pair
+   *     does not enforce a minimum order amount on the recorded liquidity
+   * @param accountFactory the accounts of the engine factory
+   * @param clock the clock of the engine factory
+   * @param currencyPair the instrument of the recording
+   * @param priceScale the price scale of the instrument, recorded prices must not exceed it
+   * @param recording the file to replay, in the format of {@link RecordedMarketData}
+   */
+  public MarketReplay(
+      MatchingEngineFactory engineFactory,
+      AccountFactory accountFactory,
+      SimulatedClock clock,
+      CurrencyPair currencyPair,
+      int priceScale,
+      Path recording) {
+    this(
+        engineFactory,
+        accountFactory,
+        clock,
+        currencyPair,
+        priceScale,
+        recording,
+        QueuePositionModel.PRO_RATA);
+  }
+
+  /**
+   * As {@link #MarketReplay(MatchingEngineFactory, AccountFactory, SimulatedClock, CurrencyPair,
+   * int, Path)}, with a choice of where recorded cancellations leave the queue instead of {@link
+   * QueuePositionModel#PRO_RATA}.
+   */
+  public MarketReplay(
+      MatchingEngineFactory engineFactory,
+      AccountFactory accountFactory,
+      SimulatedClock clock,
+      CurrencyPair currencyPair,
+      int priceScale,
+      Path recording,
+      QueuePositionModel queuePosition) {
+    this.queuePosition = queuePosition;
+    this.engine = engineFactory.create(currencyPair, priceScale, ZERO);
+    this.currencyPair = currencyPair;
+    this.clock = clock;
+    this.recording = recording;
+    Account account = accountFactory.get(REPLAY_API_KEY);
+    for (Currency currency : new Currency[] {currencyPair.base, currencyPair.counter}) {
+      account.deposit(currency, UNLIMITED_BALANCE);
+    }
+  }
+
+  /**
+   * Replays the whole recording.
+   *
+   * @return the number of events replayed
+   */
+  @Override
+  public Long call() throws IOException {
+    return RecordedMarketData.read(
+        recording,
+        new RecordedMarketData.Handler() {
+          @Override
+          public void onTrade(long timestamp, OrderType type, BigDecimal price, BigDecimal amount) {
+            clock.set(timestamp);
+            replayTrade(type, price, amount);
+          }
+
+          @Override
+          public void onBookUpdate(
+              long timestamp, OrderType type, BigDecimal price, BigDecimal volume) {
+            clock.set(timestamp);
+            replayBookUpdate(type, price, volume);
+          }
+        });
+  }
+
+  private void replayTrade(OrderType type, BigDecimal price, BigDecimal amount) {
+    LimitOrder result = post(type, price, amount);
+    if (result.getStatus() != OrderStatus.FILLED) {
+      engine.cancelOrder(REPLAY_API_KEY, result.getId(), type);
+    }
+  }
+
+  private void replayBookUpdate(OrderType type, BigDecimal price, BigDecimal volume) {
+    NavigableMap<BigDecimal, Deque<String>> levels = type == OrderType.BID ? bids : asks;
+    if (volume.signum() == 0) {
+      Deque<String> removed = levels.remove(price);
+      if (removed != null) {
+        cancel(removed, type);
+      }
+      return;
+    }
+    // levels of the other side which this one crosses are stale, the recording removes them later
+    OrderType otherType = type == OrderType.BID ? OrderType.ASK : OrderType.BID;
+    Map<BigDecimal, Deque<String>> crossed =
+        type == OrderType.BID ? asks.headMap(price, true) : bids.tailMap(price, true);
+    for (Iterator<Deque<String>> iter = crossed.values().iterator(); iter.hasNext(); ) {
+      cancel(iter.next(), otherType);
+      iter.remove();
+    }
+    Deque<String> queue = levels.computeIfAbsent(price, p -> new ArrayDeque<>());
+    List<BigDecimal> remaining = remaining(queue);
+    BigDecimal queued = remaining.stream().reduce(ZERO, BigDecimal::add);
+    int change = volume.compareTo(queued);
+    if (change > 0) {
+      join(queue, type, price, volume.subtract(queued));
+    } else if (change < 0) {
+      leave(queue, remaining, queued, queued.subtract(volume));
+    }
+    if (queue.isEmpty()) {
+      levels.remove(price);
+    }
+  }
+
+  /** Drops the orders which trades have filled and returns what is left of the others. */
+  private List<BigDecimal> remaining(Deque<String> queue) {
+    if (queue.isEmpty()) {
+      return new ArrayList<>();
+    }
+    List<BigDecimal> amounts = engine.remainingAmounts(queue);
+    List<BigDecimal> remaining = new ArrayList<>(amounts.size());
+    Iterator<BigDecimal> amountIter = amounts.iterator();
+    for (Iterator<String> iter = queue.iterator(); iter.hasNext(); ) {
+      iter.next();
+      BigDecimal amount = amountIter.next();
+      if (amount.signum() == 0) {
+        iter.remove();
+      } else {
+        remaining.add(amount);
+      }
+    }
+    return remaining;
+  }
+
+  private void join(Deque<String> queue, OrderType type, BigDecimal price, BigDecimal amount) {
+    String newest = queue.peekLast();
+    if (newest != null && engine.extendOrder(REPLAY_API_KEY, newest, amount)) {
+      return;
+    }
+    LimitOrder result = post(type, price, amount);
+    if (result.getStatus() != OrderStatus.FILLED) {
+      queue.addLast(result.getId());
+    }
+  }
+
+  private void leave(
+      Deque<String> queue, List<BigDecimal> remaining, BigDecimal queued, BigDecimal amount) {
+    List<String> ids = new ArrayList<>(queue);
+    BigDecimal left = amount;
+    for (int i = 0; i < ids.size() && left.signum() > 0; i++) {
+      int index = queuePosition == QueuePositionModel.BACK ? ids.size() - 1 - i : i;
+      BigDecimal cut =
+          queuePosition == QueuePositionModel.PRO_RATA && i < ids.size() - 1
+              ? amount.multiply(remaining.get(index)).divide(queued, MathContext.DECIMAL64)
+              : remaining.get(index);
+      cut = cut.min(left);
+      if (cut.signum() == 0) {
+        continue;
+      }
+      if (engine.reduceOrder(REPLAY_API_KEY, ids.get(index), cut).signum() == 0) {
+        queue.remove(ids.get(index));
+      }
+      left = left.subtract(cut);
+    }
+  }
+
+  private void cancel(Deque<String> queue, OrderType type) {
+    for (String orderId : queue) {
+      engine.cancelOrder(REPLAY_API_KEY, orderId, type);
+    }
+  }
+
+  private LimitOrder post(OrderType type, BigDecimal price, BigDecimal amount) {
+    return engine.postOrder(
+        REPLAY_API_KEY,
+        new LimitOrder.Builder(type, currencyPair)
+            .limitPrice(price)
+            .originalAmount(amount)
+            .build());
+  }
+}
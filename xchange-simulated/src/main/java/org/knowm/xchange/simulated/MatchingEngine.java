@@ -9,13 +9,15 @@ import static org.knowm.xchange.dto.Order.OrderType.BID;
 
 import com.google.common.collect.*;
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.LiveOrderBook;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
@@ -29,12 +31,22 @@ import org.slf4j.LoggerFactory;
 /**
  * The "exchange" which backs {@link SimulatedExchange}.
  *
+ * <p>Each side of the book is a map of price levels, best price first, with the orders of a level
+ * in time priority. Resting orders are also indexed by id, so inserting an order costs O(log
+ * levels) and cancelling one is O(1) plus the removal of its level if it empties. The level 2 view
+ * is updated as levels change rather than being aggregated from the orders on every request.
+ *
+ * <p>By default every call locks the engine. A sequenced engine instead runs all calls that touch
+ * the book as commands on its own {@link Sequencer} thread, so concurrent callers never contend on
+ * a lock, and engines for different pairs run in parallel. The ticker and the level 2 book are then
+ * read from immutable snapshots which the sequencer publishes after each batch of commands, and
+ * fill listeners are called on the sequencer thread.
+ *
  * @author Graham Crockford
  */
 final class MatchingEngine {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(MatchingEngine.class);
-  private static final BigDecimal FEE_RATE = new BigDecimal("0.001");
   private static final int TRADE_HISTORY_SIZE = 50;
 
   private final AccountFactory accountFactory;
@@ -42,13 +54,23 @@ final class MatchingEngine {
   private final int priceScale;
   private final BigDecimal minimumAmount;
   private final Consumer<Fill> onFill;
+  private final MatchingEngineListeners listeners;
+  private final Clock clock;
 
-  private final List<BookLevel> asks = new LinkedList<>();
-  private final List<BookLevel> bids = new LinkedList<>();
+  private final NavigableMap<BigDecimal, BookLevel> asks = new TreeMap<>();
+  private final NavigableMap<BigDecimal, BookLevel> bids = new TreeMap<>(Comparator.reverseOrder());
+  private final Map<String, BookOrder> orders = new HashMap<>();
+  private final LiveOrderBook level2;
   private final Deque<Trade> publicTrades = new ConcurrentLinkedDeque<>();
   private final Multimap<String, UserTrade> userTrades = LinkedListMultimap.create();
 
+  private final Sequencer sequencer;
+
+  private BigDecimal lastPrice;
+  private boolean level2Changed;
+  private boolean bookChanged;
   private volatile Ticker ticker = new Ticker.Builder().build();
+  private volatile OrderBook level2Snapshot;
 
   MatchingEngine(
       AccountFactory accountFactory,
@@ -64,19 +86,84 @@ final class MatchingEngine {
       int priceScale,
       BigDecimal minimumAmount,
       Consumer<Fill> onFill) {
+    this(
+        accountFactory,
+        currencyPair,
+        priceScale,
+        minimumAmount,
+        onFill,
+        0,
+        new MatchingEngineListeners(),
+        Clock.systemUTC());
+  }
+
+  /**
+   * @param sequencerCapacity the command buffer size of the sequencer, or 0 for an engine which
+   *     locks on every call instead
+   * @param clock the source of order and trade timestamps
+   */
+  MatchingEngine(
+      AccountFactory accountFactory,
+      CurrencyPair currencyPair,
+      int priceScale,
+      BigDecimal minimumAmount,
+      Consumer<Fill> onFill,
+      int sequencerCapacity,
+      MatchingEngineListeners listeners,
+      Clock clock) {
     this.accountFactory = accountFactory;
     this.currencyPair = currencyPair;
     this.priceScale = priceScale;
     this.minimumAmount = minimumAmount;
     this.onFill = onFill;
+    this.listeners = listeners;
+    this.clock = clock;
+    this.level2 = new LiveOrderBook(currencyPair);
+    this.level2Snapshot = level2.toOrderBook();
+    this.sequencer =
+        sequencerCapacity > 0
+            ? new Sequencer(
+                "matching-engine-" + currencyPair, sequencerCapacity, this::publishSnapshots)
+            : null;
+  }
+
+  public LimitOrder postOrder(String apiKey, Order original) {
+    return execute(() -> doPostOrder(apiKey, original));
+  }
+
+  /** Stops the sequencer thread of a sequenced engine. */
+  void stop() {
+    if (sequencer != null) {
+      sequencer.stop();
+    }
+  }
+
+  private <T> T execute(Supplier<T> command) {
+    if (sequencer != null) {
+      return sequencer.call(command);
+    }
+    synchronized (this) {
+      return command.get();
+    }
+  }
+
+  private Date now() {
+    return new Date(clock.millis());
+  }
+
+  private void publishSnapshots() {
+    if (level2Changed) {
+      level2Changed = false;
+      level2Snapshot = level2.toOrderBook();
+    }
   }
 
-  public synchronized LimitOrder postOrder(String apiKey, Order original) {
+  private LimitOrder doPostOrder(String apiKey, Order original) {
     LOGGER.debug("User {} posting order: {}", apiKey, original);
     validate(original);
     Account account = accountFactory.get(apiKey);
     checkBalance(original, account);
-    BookOrder takerOrder = BookOrder.fromOrder(original, apiKey);
+    BookOrder takerOrder = BookOrder.fromOrder(original, apiKey, now());
     switch (takerOrder.getType()) {
       case ASK:
         LOGGER.debug("Matching against bids");
@@ -101,7 +188,27 @@ final class MatchingEngine {
       default:
         throw new ExchangeException("Unsupported order type: " + takerOrder.getType());
     }
-    return takerOrder.toOrder(currencyPair);
+    updateTicker();
+    LimitOrder result = takerOrder.toOrder(currencyPair);
+    if (!listeners.isEmpty()) {
+      listeners.onOrderChanged(apiKey, result);
+    }
+    fireBookChanged();
+    return result;
+  }
+
+  private void fireBookChanged() {
+    if (bookChanged) {
+      bookChanged = false;
+      if (!listeners.isEmpty()) {
+        listeners.onBookChanged(currencyPair, ticker, this::currentLevel2);
+      }
+    }
+  }
+
+  private OrderBook currentLevel2() {
+    OrderBook orderBook = level2.toOrderBook();
+    return new OrderBook(now(), orderBook.getAsks(), orderBook.getBids());
   }
 
   private void validate(Order order) {
@@ -138,42 +245,29 @@ final class MatchingEngine {
   }
 
   private void insertIntoBook(
-      List<BookLevel> book, BookOrder order, OrderType type, Account account) {
-
-    int i = 0;
-    boolean insert = false;
-
-    Iterator<BookLevel> iter = book.iterator();
-    while (iter.hasNext()) {
-      BookLevel level = iter.next();
-      int signum = level.getPrice().compareTo(order.getLimitPrice());
-      if (signum == 0) {
-        level.getOrders().add(order);
-        return;
-      } else if (signum < 0 && type == BID || signum > 0 && type == ASK) {
-        insert = true;
-        break;
-      }
-      i++;
-    }
+      NavigableMap<BigDecimal, BookLevel> book, BookOrder order, OrderType type, Account account) {
 
     account.reserve(order.toOrder(currencyPair));
 
-    BookLevel newLevel = new BookLevel(order.getLimitPrice());
-    newLevel.getOrders().add(order);
-    if (insert) {
-      book.add(i, newLevel);
-    } else {
-      book.add(newLevel);
-    }
+    BookLevel level = book.computeIfAbsent(order.getLimitPrice(), BookLevel::new);
+    level.add(order);
+    orders.put(order.getId(), order);
+    updateLevel2(type, level);
+  }
 
-    ticker = newTickerFromBook().last(ticker.getLast()).build();
+  private void updateTicker() {
+    ticker =
+        new Ticker.Builder()
+            .ask(asks.isEmpty() ? null : asks.firstKey())
+            .bid(bids.isEmpty() ? null : bids.firstKey())
+            .last(lastPrice)
+            .build();
   }
 
-  private Ticker.Builder newTickerFromBook() {
-    return new Ticker.Builder()
-        .ask(asks.isEmpty() ? null : asks.get(0).getPrice())
-        .bid(bids.isEmpty() ? null : bids.get(0).getPrice());
+  private void updateLevel2(OrderType type, BookLevel level) {
+    level2.update(type, level.getPrice(), level.getAmount(), null);
+    level2Changed = true;
+    bookChanged = true;
   }
 
   /**
@@ -187,9 +281,9 @@ final class MatchingEngine {
   public BigDecimal marketCostOrProceeds(OrderType orderType, BigDecimal amount) {
     BigDecimal remaining = amount;
     BigDecimal cost = ZERO;
-    List<BookLevel> orderbookSide = orderType.equals(BID) ? asks : bids;
+    Collection<BookLevel> orderbookSide = (orderType.equals(BID) ? asks : bids).values();
     for (BookOrder order :
-        FluentIterable.from(orderbookSide).transformAndConcat(BookLevel::getOrders)) {
+        FluentIterable.from(orderbookSide).transformAndConcat(l -> l.getOrders().values())) {
       BigDecimal available = order.getRemainingAmount();
       BigDecimal tradeAmount = remaining.compareTo(available) >= 0 ? available : remaining;
       BigDecimal tradeCost = tradeAmount.multiply(order.getLimitPrice());
@@ -200,14 +294,18 @@ final class MatchingEngine {
     throw new ExchangeException("Insufficient liquidity in book");
   }
 
-  public synchronized Level3OrderBook book() {
+  public Level3OrderBook book() {
+    return execute(this::doBook);
+  }
+
+  private Level3OrderBook doBook() {
     return new Level3OrderBook(
-        FluentIterable.from(asks)
-            .transformAndConcat(BookLevel::getOrders)
+        FluentIterable.from(asks.values())
+            .transformAndConcat(l -> l.getOrders().values())
             .transform(o -> o.toOrder(currencyPair))
             .toList(),
-        FluentIterable.from(bids)
-            .transformAndConcat(BookLevel::getOrders)
+        FluentIterable.from(bids.values())
+            .transformAndConcat(l -> l.getOrders().values())
             .transform(o -> o.toOrder(currencyPair))
             .toList());
   }
@@ -220,23 +318,24 @@ final class MatchingEngine {
     return FluentIterable.from(publicTrades).transform(t -> Trade.Builder.from(t).build()).toList();
   }
 
-  public synchronized List<UserTrade> tradeHistory(String apiKey) {
-    return ImmutableList.copyOf(userTrades.get(apiKey));
+  public List<UserTrade> tradeHistory(String apiKey) {
+    return execute(() -> ImmutableList.copyOf(userTrades.get(apiKey)));
   }
 
-  private void chewBook(Iterable<BookLevel> makerOrders, BookOrder takerOrder) {
-    Iterator<BookLevel> levelIter = makerOrders.iterator();
-    while (levelIter.hasNext()) {
+  private void chewBook(NavigableMap<BigDecimal, BookLevel> makerOrders, BookOrder takerOrder) {
+    OrderType makerType = takerOrder.getType() == ASK ? BID : ASK;
+    Iterator<BookLevel> levelIter = makerOrders.values().iterator();
+    while (levelIter.hasNext() && !takerOrder.isDone()) {
       BookLevel level = levelIter.next();
-      Iterator<BookOrder> orderIter = level.getOrders().iterator();
+      if (!level.getOrders().values().iterator().next().matches(takerOrder)) {
+        LOGGER.debug("Ran out of maker orders at this price");
+        return;
+      }
+      Iterator<BookOrder> orderIter = level.getOrders().values().iterator();
       while (orderIter.hasNext() && !takerOrder.isDone()) {
         BookOrder makerOrder = orderIter.next();
 
         LOGGER.debug("Matching against maker order {}", makerOrder);
-        if (!makerOrder.matches(takerOrder)) {
-          LOGGER.debug("Ran out of maker orders at this price");
-          return;
-        }
 
         BigDecimal tradeAmount =
             takerOrder.getRemainingAmount().compareTo(makerOrder.getRemainingAmount()) > 0
@@ -245,20 +344,26 @@ final class MatchingEngine {
 
         LOGGER.debug("Matches for {}", tradeAmount);
         matchOff(takerOrder, makerOrder, tradeAmount);
+        level.reduce(tradeAmount);
+        if (!listeners.isEmpty()) {
+          listeners.onOrderChanged(makerOrder.getApiKey(), makerOrder.toOrder(currencyPair));
+        }
 
         if (makerOrder.isDone()) {
           LOGGER.debug("Maker order removed from book");
           orderIter.remove();
-          if (level.getOrders().isEmpty()) {
-            levelIter.remove();
-          }
+          orders.remove(makerOrder.getId());
         }
       }
+      if (level.isEmpty()) {
+        levelIter.remove();
+      }
+      updateLevel2(makerType, level);
     }
   }
 
   private void matchOff(BookOrder takerOrder, BookOrder makerOrder, BigDecimal tradeAmount) {
-    Date timestamp = new Date();
+    Date timestamp = now();
 
     UserTrade takerTrade =
         new UserTrade.Builder()
@@ -270,9 +375,7 @@ final class MatchingEngine {
             .type(takerOrder.getType())
             .orderId(takerOrder.getId())
             .feeAmount(
-                takerOrder.getType() == ASK
-                    ? tradeAmount.multiply(makerOrder.getLimitPrice()).multiply(FEE_RATE)
-                    : tradeAmount.multiply(FEE_RATE))
+                fee(takerOrder.getApiKey(), takerOrder.getType(), false, tradeAmount, makerOrder))
             .feeCurrency(takerOrder.getType() == ASK ? currencyPair.counter : currencyPair.base)
             .build();
 
@@ -290,10 +393,7 @@ final class MatchingEngine {
             .timestamp(timestamp)
             .type(makerType)
             .orderId(makerOrder.getId())
-            .feeAmount(
-                makerType == ASK
-                    ? tradeAmount.multiply(makerOrder.getLimitPrice()).multiply(FEE_RATE)
-                    : tradeAmount.multiply(FEE_RATE))
+            .feeAmount(fee(makerOrder.getApiKey(), makerType, true, tradeAmount, makerOrder))
             .feeCurrency(makerType == ASK ? currencyPair.counter : currencyPair.base)
             .build();
 
@@ -303,7 +403,15 @@ final class MatchingEngine {
     recordFill(new Fill(takerOrder.getApiKey(), takerTrade, true));
     recordFill(new Fill(makerOrder.getApiKey(), makerTrade, false));
 
-    ticker = newTickerFromBook().last(makerOrder.getLimitPrice()).build();
+    lastPrice = makerOrder.getLimitPrice();
+  }
+
+  private BigDecimal fee(
+      String apiKey, OrderType type, boolean maker, BigDecimal tradeAmount, BookOrder makerOrder) {
+    BigDecimal rate = accountFactory.get(apiKey).getFeeSchedule().feeRate(currencyPair, maker);
+    return type == ASK
+        ? tradeAmount.multiply(makerOrder.getLimitPrice()).multiply(rate)
+        : tradeAmount.multiply(rate);
   }
 
   private void accumulate(BookOrder bookOrder, UserTrade trade) {
@@ -326,45 +434,25 @@ final class MatchingEngine {
     bookOrder.setFee(bookOrder.getFee().add(trade.getFeeAmount()));
   }
 
-  public synchronized List<LimitOrder> openOrders(String apiKey) {
-    return Stream.concat(asks.stream(), bids.stream())
-        .flatMap(v -> v.getOrders().stream())
-        .filter(o -> o.getApiKey().equals(apiKey))
-        .sorted(Ordering.natural().onResultOf(BookOrder::getTimestamp).reversed())
-        .map(o -> o.toOrder(currencyPair))
-        .collect(toList());
+  public List<LimitOrder> openOrders(String apiKey) {
+    return execute(
+        () ->
+            orders.values().stream()
+                .filter(o -> o.getApiKey().equals(apiKey))
+                .sorted(Ordering.natural().onResultOf(BookOrder::getTimestamp).reversed())
+                .map(o -> o.toOrder(currencyPair))
+                .collect(toList()));
   }
 
-  public synchronized OrderBook getLevel2OrderBook() {
-    return new OrderBook(new Date(), accumulateBookSide(ASK, asks), accumulateBookSide(BID, bids));
-  }
-
-  private List<LimitOrder> accumulateBookSide(OrderType orderType, List<BookLevel> book) {
-    BigDecimal price = null;
-    BigDecimal amount = ZERO;
-    List<LimitOrder> result = new ArrayList<>();
-    Iterator<BookOrder> iter = book.stream().flatMap(v -> v.getOrders().stream()).iterator();
-    while (iter.hasNext()) {
-      BookOrder bookOrder = iter.next();
-      if (price != null && bookOrder.getLimitPrice().compareTo(price) != 0) {
-        result.add(
-            new LimitOrder.Builder(orderType, currencyPair)
-                .originalAmount(amount)
-                .limitPrice(price)
-                .build());
-        amount = ZERO;
-      }
-      amount = amount.add(bookOrder.getRemainingAmount());
-      price = bookOrder.getLimitPrice();
+  public OrderBook getLevel2OrderBook() {
+    if (sequencer != null) {
+      OrderBook snapshot = level2Snapshot;
+      return new OrderBook(
+          now(), new ArrayList<>(snapshot.getAsks()), new ArrayList<>(snapshot.getBids()));
     }
-    if (price != null) {
-      result.add(
-          new LimitOrder.Builder(orderType, currencyPair)
-              .originalAmount(amount)
-              .limitPrice(price)
-              .build());
+    synchronized (this) {
+      return currentLevel2();
     }
-    return result;
   }
 
   private void recordFill(Fill fill) {
@@ -378,37 +466,156 @@ final class MatchingEngine {
     userTrades.put(fill.getApiKey(), fill.getTrade());
     accountFactory.get(fill.getApiKey()).fill(fill.getTrade(), !fill.isTaker());
     onFill.accept(fill);
+    if (!listeners.isEmpty()) {
+      if (!fill.isTaker()) {
+        listeners.onTrade(currencyPair, Trade.Builder.from(fill.getTrade()).build());
+      }
+      listeners.onUserTrade(fill.getApiKey(), fill.getTrade());
+    }
   }
 
   public void cancelOrder(String apiKey, String orderId) {
-    cancelOrder(apiKey, orderId, BID);
-    cancelOrder(apiKey, orderId, ASK);
+    execute(
+        () -> {
+          BookOrder bookOrder = orders.get(orderId);
+          if (bookOrder != null) {
+            doCancelOrder(apiKey, orderId, bookOrder.getType());
+          }
+          return null;
+        });
   }
 
   public void cancelOrder(String apiKey, String orderId, OrderType type) {
-    Account account = accountFactory.get(apiKey);
-    Stream<BookLevel> bookLevelStream;
+    execute(
+        () -> {
+          doCancelOrder(apiKey, orderId, type);
+          return null;
+        });
+  }
+
+  /**
+   * Reduces the remaining amount of a resting order without losing its place in the queue, as the
+   * amend-down of real venues does. An order reduced by its whole remaining amount is cancelled.
+   *
+   * @return the remaining amount of the order afterwards, zero if it is no longer in the book
+   */
+  BigDecimal reduceOrder(String apiKey, String orderId, BigDecimal amount) {
+    return execute(() -> doReduceOrder(apiKey, orderId, amount));
+  }
+
+  private BigDecimal doReduceOrder(String apiKey, String orderId, BigDecimal amount) {
+    BookOrder bookOrder = orders.get(orderId);
+    if (bookOrder == null || !bookOrder.getApiKey().equals(apiKey)) {
+      return ZERO;
+    }
+    if (amount.compareTo(bookOrder.getRemainingAmount()) >= 0) {
+      doCancelOrder(apiKey, orderId, bookOrder.getType());
+      return ZERO;
+    }
+    bookOrder.setOriginalAmount(bookOrder.getOriginalAmount().subtract(amount));
+    BookLevel level = side(bookOrder.getType()).get(bookOrder.getLimitPrice());
+    level.reduce(amount);
+    updateLevel2(bookOrder.getType(), level);
+    accountFactory
+        .get(apiKey)
+        .release(
+            new LimitOrder.Builder(bookOrder.getType(), currencyPair)
+                .limitPrice(bookOrder.getLimitPrice())
+                .originalAmount(amount)
+                .build());
+    if (!listeners.isEmpty()) {
+      listeners.onOrderChanged(apiKey, bookOrder.toOrder(currencyPair));
+    }
+    fireBookChanged();
+    return bookOrder.getRemainingAmount();
+  }
+
+  /**
+   * Adds to the amount of a resting order which is at the back of its queue, where the increase
+   * cannot take priority over any other order.
+   *
+   * @return false, leaving the order unchanged, if other orders queue behind it or it is no longer
+   *     in the book
+   */
+  boolean extendOrder(String apiKey, String orderId, BigDecimal amount) {
+    return execute(() -> doExtendOrder(apiKey, orderId, amount));
+  }
+
+  private boolean doExtendOrder(String apiKey, String orderId, BigDecimal amount) {
+    BookOrder bookOrder = orders.get(orderId);
+    if (bookOrder == null || !bookOrder.getApiKey().equals(apiKey)) {
+      return false;
+    }
+    BookLevel level = side(bookOrder.getType()).get(bookOrder.getLimitPrice());
+    if (level.getLast() != bookOrder) {
+      return false;
+    }
+    accountFactory
+        .get(apiKey)
+        .reserve(
+            new LimitOrder.Builder(bookOrder.getType(), currencyPair)
+                .limitPrice(bookOrder.getLimitPrice())
+                .originalAmount(amount)
+                .build());
+    bookOrder.setOriginalAmount(bookOrder.getOriginalAmount().add(amount));
+    level.reduce(amount.negate());
+    updateLevel2(bookOrder.getType(), level);
+    if (!listeners.isEmpty()) {
+      listeners.onOrderChanged(apiKey, bookOrder.toOrder(currencyPair));
+    }
+    fireBookChanged();
+    return true;
+  }
+
+  /**
+   * Looks up several resting orders in a single command.
+   *
+   * @return the remaining amounts of the orders in the order of the ids, zero for an order which is
+   *     no longer in the book
+   */
+  List<BigDecimal> remainingAmounts(Collection<String> orderIds) {
+    return execute(
+        () -> {
+          List<BigDecimal> amounts = new ArrayList<>(orderIds.size());
+          for (String orderId : orderIds) {
+            BookOrder bookOrder = orders.get(orderId);
+            amounts.add(bookOrder == null ? ZERO : bookOrder.getRemainingAmount());
+          }
+          return amounts;
+        });
+  }
+
+  private NavigableMap<BigDecimal, BookLevel> side(OrderType type) {
     switch (type) {
       case ASK:
-        bookLevelStream = asks.stream();
-        break;
+        return asks;
       case BID:
-        bookLevelStream = bids.stream();
-        break;
+        return bids;
       default:
         throw new ExchangeException("Unsupported order type: " + type);
     }
-    bookLevelStream.forEach(
-        bookLevel ->
-            bookLevel
-                .getOrders()
-                .removeIf(
-                    bookOrder -> {
-                      final boolean remove = bookOrder.getId().equals(orderId);
-                      if (remove) {
-                        account.release(bookOrder.toOrder(currencyPair));
-                      }
-                      return remove;
-                    }));
+  }
+
+  private void doCancelOrder(String apiKey, String orderId, OrderType type) {
+    NavigableMap<BigDecimal, BookLevel> book = side(type);
+    BookOrder bookOrder = orders.get(orderId);
+    if (bookOrder == null || bookOrder.getType() != type || !bookOrder.getApiKey().equals(apiKey)) {
+      return;
+    }
+    orders.remove(orderId);
+    BookLevel level = book.get(bookOrder.getLimitPrice());
+    level.remove(orderId);
+    if (level.isEmpty()) {
+      book.remove(level.getPrice());
+    }
+    updateLevel2(type, level);
+    LimitOrder cancelled = bookOrder.toOrder(currencyPair);
+    accountFactory.get(apiKey).release(cancelled);
+    updateTicker();
+    if (!listeners.isEmpty()) {
+      cancelled.setOrderStatus(Order.OrderStatus.CANCELED);
+      listeners.onOrderChanged(apiKey, cancelled);
+    }
+    fireBookChanged();
   }
 }
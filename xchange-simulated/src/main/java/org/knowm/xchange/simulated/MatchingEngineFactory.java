@@ -1,6 +1,7 @@
 package org.knowm.xchange.simulated;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -14,6 +15,10 @@ import org.knowm.xchange.currency.CurrencyPair;
  * <p>If shared between instances of {@link SimulatedExchange}, this ensures that all users will be
  * trading against the same order books and thus each other.
  *
+ * <p>Engines created by a factory constructed with a sequencer capacity run each order book on its
+ * own thread, see {@link MatchingEngine}. This suits simulations where many bots trade many pairs
+ * concurrently. Call {@link #stop()} to end those threads once the simulation is done.
+ *
  * @author Graham Crockford
  */
 public class MatchingEngineFactory {
@@ -21,24 +26,71 @@ public class MatchingEngineFactory {
   private final ConcurrentMap<CurrencyPair, MatchingEngine> engines = new ConcurrentHashMap<>();
 
   private final AccountFactory accountFactory;
+  private final int sequencerCapacity;
+  private final MatchingEngineListeners listeners = new MatchingEngineListeners();
+  private final Clock clock;
 
   public MatchingEngineFactory(AccountFactory accountFactory) {
+    this(accountFactory, 0);
+  }
+
+  /**
+   * @param accountFactory the accounts trading on the engines
+   * @param sequencerCapacity the number of commands that can be queued for each engine's sequencer
+   *     thread, or 0 for engines which lock on every call instead
+   */
+  public MatchingEngineFactory(AccountFactory accountFactory, int sequencerCapacity) {
+    this(accountFactory, sequencerCapacity, Clock.systemUTC());
+  }
+
+  /**
+   * @param accountFactory the accounts trading on the engines
+   * @param sequencerCapacity the number of commands that can be queued for each engine's sequencer
+   *     thread, or 0 for engines which lock on every call instead
+   * @param clock the source of order and trade timestamps, for example a {@link SimulatedClock}
+   *     driven by a {@link MarketReplay}
+   */
+  public MatchingEngineFactory(AccountFactory accountFactory, int sequencerCapacity, Clock clock) {
     this.accountFactory = accountFactory;
+    this.sequencerCapacity = sequencerCapacity;
+    this.clock = clock;
   }
 
   MatchingEngine create(
       CurrencyPair currencyPair, int priceScale, BigDecimal minimumAmount, Consumer<Fill> onFill) {
     return engines.computeIfAbsent(
         currencyPair,
-        pair -> new MatchingEngine(accountFactory, pair, priceScale, minimumAmount, onFill));
+        pair ->
+            new MatchingEngine(
+                accountFactory,
+                pair,
+                priceScale,
+                minimumAmount,
+                onFill,
+                sequencerCapacity,
+                listeners,
+                clock));
   }
 
   MatchingEngine create(CurrencyPair currencyPair, int priceScale, BigDecimal minimumAmount) {
-    return engines.computeIfAbsent(
-        currencyPair, pair -> new MatchingEngine(accountFactory, pair, priceScale, minimumAmount));
+    return create(currencyPair, priceScale, minimumAmount, f -> {});
   }
 
   Collection<MatchingEngine> engines() {
     return engines.values();
   }
+
+  /** Registers a listener for the changes made by all engines of this factory. */
+  public void addListener(MatchingEngineListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(MatchingEngineListener listener) {
+    listeners.remove(listener);
+  }
+
+  /** Stops the sequencer threads of the engines created so far. */
+  public void stop() {
+    engines.values().forEach(MatchingEngine::stop);
+  }
 }
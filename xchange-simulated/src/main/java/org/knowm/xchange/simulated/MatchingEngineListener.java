@@ -0,0 +1,40 @@
+package org.knowm.xchange.simulated;
+
+import java.util.function.Supplier;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.UserTrade;
+
+/**
+ * Receives the changes made by the matching engines of a {@link MatchingEngineFactory}, see {@link
+ * MatchingEngineFactory#addListener(MatchingEngineListener)}.
+ *
+ * <p>Callbacks are made on the thread which changed the book while it still owns the engine, so
+ * events for one currency pair arrive in order. That is the caller's thread for a locking engine
+ * and the sequencer thread for a sequenced one. Listeners should hand anything slow off to another
+ * thread.
+ */
+public interface MatchingEngineListener {
+
+  /**
+   * Called once after each order placement or cancellation which changed the book.
+   *
+   * @param currencyPair the pair of the book
+   * @param ticker the ticker after the change
+   * @param level2 builds the level 2 book, only valid during the callback
+   */
+  default void onBookChanged(
+      CurrencyPair currencyPair, Ticker ticker, Supplier<OrderBook> level2) {}
+
+  /** Called for each public trade. */
+  default void onTrade(CurrencyPair currencyPair, Trade trade) {}
+
+  /** Called for each side of each trade, with the user owning that side. */
+  default void onUserTrade(String apiKey, UserTrade userTrade) {}
+
+  /** Called when an order is placed, filled or cancelled, with its new state. */
+  default void onOrderChanged(String apiKey, LimitOrder order) {}
+}
@@ -0,0 +1,50 @@
+package org.knowm.xchange.simulated;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.UserTrade;
+
+/** The listeners registered with a {@link MatchingEngineFactory}, shared by its engines. */
+final class MatchingEngineListeners implements MatchingEngineListener {
+
+  private final List<MatchingEngineListener> listeners = new CopyOnWriteArrayList<>();
+
+  void add(MatchingEngineListener listener) {
+    listeners.add(listener);
+  }
+
+  void remove(MatchingEngineListener listener) {
+    listeners.remove(listener);
+  }
+
+  /** Lets engines skip building events nobody listens to. */
+  boolean isEmpty() {
+    return listeners.isEmpty();
+  }
+
+  @Override
+  public void onBookChanged(CurrencyPair currencyPair, Ticker ticker, Supplier<OrderBook> level2) {
+    listeners.forEach(l -> l.onBookChanged(currencyPair, ticker, level2));
+  }
+
+  @Override
+  public void onTrade(CurrencyPair currencyPair, Trade trade) {
+    listeners.forEach(l -> l.onTrade(currencyPair, trade));
+  }
+
+  @Override
+  public void onUserTrade(String apiKey, UserTrade userTrade) {
+    listeners.forEach(l -> l.onUserTrade(apiKey, userTrade));
+  }
+
+  @Override
+  public void onOrderChanged(String apiKey, LimitOrder order) {
+    listeners.forEach(l -> l.onOrderChanged(apiKey, order));
+  }
+}
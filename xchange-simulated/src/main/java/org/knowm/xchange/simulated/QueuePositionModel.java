@@ -0,0 +1,31 @@
+package org.knowm.xchange.simulated;
+
+/**
+ * Where in the queue of a price level a {@link MarketReplay} takes the volume which the recording
+ * removes from the level without a trade, which decides how fast strategy orders resting there move
+ * towards the front. Volume added to a level always joins the back of the queue.
+ *
+ * <p>A recorded trade at the level fills strategy orders only by what it exceeds the recorded
+ * volume still queued ahead of them, so the choice also decides how much of a strategy order is
+ * filled, and how often partially.
+ */
+public enum QueuePositionModel {
+
+  /**
+   * Cancellations come from the front of the queue, so strategy orders advance with every one. The
+   * most optimistic model.
+   */
+  FRONT,
+
+  /**
+   * Cancellations come from the back of the queue, so strategy orders only advance through trades.
+   * The most pessimistic model.
+   */
+  BACK,
+
+  /**
+   * Cancellations are spread over the recorded volume ahead of and behind strategy orders in
+   * proportion to its size.
+   */
+  PRO_RATA
+}
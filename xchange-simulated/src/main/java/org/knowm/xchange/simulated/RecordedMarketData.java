@@ -0,0 +1,162 @@
+package org.knowm.xchange.simulated;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
+import org.knowm.xchange.dto.marketdata.Trade;
+
+/**
+ * Reads recorded trades and order book updates of one instrument, in the order they happened.
+ *
+ * <p>The file is a text file with one event per line:
+ *
+ * <pre>
+ * &lt;epoch millis&gt;,T,&lt;B|A&gt;,&lt;price&gt;,&lt;amount&gt;
+ * &lt;epoch millis&gt;,U,&lt;B|A&gt;,&lt;price&gt;,&lt;total volume at price&gt;
+ * </pre>
+ *
+ * <p>where {@code T} is a trade, with {@code B} for a buyer initiated one, and {@code U} sets the
+ * volume of a bid or ask level of the book, a volume of zero removing it. {@link #format(long,
+ * Trade)} and {@link #format(long, OrderBookUpdate)} produce such lines from recorded DTOs. Blank
+ * lines and lines starting with {@code #} are ignored.
+ *
+ * <p>The file is memory mapped in windows and parsed in place, so multi gigabyte recordings are
+ * read without copying them through the heap.
+ */
+public final class RecordedMarketData {
+
+  /** Receives the events of a recording. */
+  public interface Handler {
+
+    void onTrade(long timestamp, OrderType type, BigDecimal price, BigDecimal amount);
+
+    void onBookUpdate(long timestamp, OrderType type, BigDecimal price, BigDecimal volume);
+  }
+
+  private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private RecordedMarketData() {}
+
+  /**
+   * Reads the whole recording.
+   *
+   * @param file the recording
+   * @param handler receives each event
+   * @return the number of events read
+   */
+  public static long read(Path file, Handler handler) throws IOException {
+    return read(file, handler, WINDOW_SIZE);
+  }
+
+  static long read(Path file, Handler handler, int windowSize) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long position = 0;
+      long events = 0;
+      char[] line = new char[256];
+      while (position < size) {
+        long length = Math.min(windowSize, size - position);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        int start = 0;
+        int end = (int) length;
+        boolean last = position + length == size;
+        for (int i = 0; i < end; i++) {
+          if (window.get(i) == '\n') {
+            events += parseLine(window, start, i, line, handler);
+            start = i + 1;
+          }
+        }
+        if (last && start < end) {
+          events += parseLine(window, start, end, line, handler);
+          start = end;
+        } else if (start == 0 && !last) {
+          throw new IOException("Line longer than " + windowSize + " bytes at " + position);
+        }
+        position += start;
+      }
+      return events;
+    }
+  }
+
+  /** @return the line of a recording for a trade, without line separator */
+  public static String format(long timestamp, Trade trade) {
+    return timestamp
+        + ",T,"
+        + side(trade.getType())
+        + ','
+        + trade.getPrice().toPlainString()
+        + ','
+        + trade.getOriginalAmount().toPlainString();
+  }
+
+  /** @return the line of a recording for a book update, without line separator */
+  public static String format(long timestamp, OrderBookUpdate update) {
+    return timestamp
+        + ",U,"
+        + side(update.getLimitOrder().getType())
+        + ','
+        + update.getLimitOrder().getLimitPrice().toPlainString()
+        + ','
+        + update.getTotalVolume().toPlainString();
+  }
+
+  private static char side(OrderType type) {
+    return type == OrderType.BID ? 'B' : 'A';
+  }
+
+  private static int parseLine(
+      MappedByteBuffer buffer, int start, int end, char[] line, Handler handler)
+      throws IOException {
+    int length = end - start;
+    if (length > 0 && buffer.get(end - 1) == '\r') {
+      length--;
+    }
+    if (length == 0 || buffer.get(start) == '#') {
+      return 0;
+    }
+    if (length > line.length) {
+      throw new IOException("Line too long: " + length + " characters");
+    }
+    for (int i = 0; i < length; i++) {
+      line[i] = (char) buffer.get(start + i);
+    }
+
+    int[] commas = new int[4];
+    int found = 0;
+    for (int i = 0; i < length && found < 4; i++) {
+      if (line[i] == ',') {
+        commas[found++] = i;
+      }
+    }
+    if (found != 4 || commas[1] != commas[0] + 2 || commas[2] != commas[1] + 2) {
+      throw new IOException("Invalid recording line: " + new String(line, 0, length));
+    }
+
+    long timestamp = 0;
+    for (int i = 0; i < commas[0]; i++) {
+      if (line[i] < '0' || line[i] > '9') {
+        throw new IOException("Invalid timestamp: " + new String(line, 0, length));
+      }
+      timestamp = timestamp * 10 + (line[i] - '0');
+    }
+    char kind = line[commas[0] + 1];
+    OrderType type = line[commas[1] + 1] == 'B' ? OrderType.BID : OrderType.ASK;
+    BigDecimal price = new BigDecimal(line, commas[2] + 1, commas[3] - commas[2] - 1);
+    BigDecimal amount = new BigDecimal(line, commas[3] + 1, length - commas[3] - 1);
+    switch (kind) {
+      case 'T':
+        handler.onTrade(timestamp, type, price, amount);
+        return 1;
+      case 'U':
+        handler.onBookUpdate(timestamp, type, price, amount);
+        return 1;
+      default:
+        throw new IOException("Invalid recording line: " + new String(line, 0, length));
+    }
+  }
+}
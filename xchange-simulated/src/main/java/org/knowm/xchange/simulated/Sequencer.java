@@ -0,0 +1,221 @@
+package org.knowm.xchange.simulated;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.knowm.xchange.exceptions.ExchangeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the commands of one {@link MatchingEngine} on a single dedicated thread.
+ *
+ * <p>Commands are handed over through a bounded ring buffer which any number of threads can write
+ * to without taking a lock: a producer claims a slot by advancing the tail with a CAS and publishes
+ * the command by bumping the slot's sequence number. The sequencer thread drains all published
+ * commands in one go and then runs the batch end hook, which is where the engine publishes its
+ * snapshots. Callers are only released after that, so they see the effect of their own command in
+ * the snapshots. A batch is at most one buffer's worth of commands, so snapshots keep being
+ * published under sustained load. When the buffer is full producers yield until the sequencer
+ * catches up.
+ *
+ * <p>Commands which reach the buffer after the sequencer thread has stopped are not run, their
+ * futures fail with an {@link IllegalStateException} instead.
+ */
+final class Sequencer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(Sequencer.class);
+
+  private final AtomicReferenceArray<Command<?>> commands;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private long head;
+  private final Command<?>[] batch;
+
+  private final Runnable onBatchEnd;
+  private final Thread thread;
+  private volatile boolean running = true;
+  /** set by the sequencer thread once it no longer runs commands */
+  private volatile boolean terminated;
+
+  /**
+   * @param name the name of the sequencer thread
+   * @param capacity the size of the ring buffer, rounded up to a power of two
+   * @param onBatchEnd run on the sequencer thread whenever it has drained the buffer
+   */
+  Sequencer(String name, int capacity, Runnable onBatchEnd) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+    this.commands = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+    this.batch = new Command<?>[size];
+    this.onBatchEnd = onBatchEnd;
+    this.thread = new Thread(this::run, name);
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Runs the command on the sequencer thread and waits for its result. Exceptions thrown by the
+   * command are rethrown on the calling thread. Called from the sequencer thread itself, for
+   * example from a fill listener, the command runs immediately.
+   */
+  <T> T call(Supplier<T> command) {
+    if (Thread.currentThread() == thread) {
+      return command.get();
+    }
+    try {
+      return submit(command).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new ExchangeException(e.getCause());
+    }
+  }
+
+  /** Queues the command without waiting for it to run. */
+  <T> CompletableFuture<T> submit(Supplier<T> command) {
+    if (!running) {
+      throw stopped();
+    }
+    Command<T> queued = new Command<>(command);
+    while (!offer(queued)) {
+      if (terminated) {
+        queued.fail(stopped());
+        return queued.future;
+      }
+      Thread.yield();
+    }
+    LockSupport.unpark(thread);
+    // stop() may have run since the check above, and the thread exited without seeing the command
+    if (terminated) {
+      queued.fail(stopped());
+    }
+    return queued.future;
+  }
+
+  /** Stops the sequencer thread once the commands queued so far have run. */
+  void stop() {
+    running = false;
+    LockSupport.unpark(thread);
+  }
+
+  private boolean offer(Command<?> command) {
+    while (true) {
+      long position = tail.get();
+      int index = (int) position & mask;
+      long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          commands.lazySet(index, command);
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (available < 0) {
+        return false;
+      }
+    }
+  }
+
+  private Command<?> poll() {
+    int index = (int) head & mask;
+    if (sequences.get(index) != head + 1) {
+      return null;
+    }
+    Command<?> command = commands.get(index);
+    commands.lazySet(index, null);
+    sequences.set(index, head + mask + 1);
+    head++;
+    return command;
+  }
+
+  private void run() {
+    while (true) {
+      Command<?> command = poll();
+      if (command == null) {
+        if (!running) {
+          terminated = true;
+          failClaimed();
+          return;
+        }
+        LockSupport.park(this);
+        continue;
+      }
+      int count = 0;
+      do {
+        command.execute();
+        batch[count++] = command;
+      } while (count < batch.length && (command = poll()) != null);
+      try {
+        onBatchEnd.run();
+      } catch (RuntimeException e) {
+        LOGGER.error("Failed to publish after batch", e);
+      }
+      for (int i = 0; i < count; i++) {
+        batch[i].complete();
+        batch[i] = null;
+      }
+    }
+  }
+
+  // Fails the commands whose slot was claimed before the thread terminated, waiting for their
+  // producers to publish them. Commands claimed later are failed by their producers.
+  private void failClaimed() {
+    while (head != tail.get()) {
+      Command<?> command = poll();
+      if (command == null) {
+        Thread.yield();
+      } else {
+        command.fail(stopped());
+      }
+    }
+  }
+
+  private IllegalStateException stopped() {
+    return new IllegalStateException("Sequencer " + thread.getName() + " is stopped");
+  }
+
+  private static final class Command<T> {
+
+    private final Supplier<T> supplier;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private T result;
+    private Throwable error;
+
+    Command(Supplier<T> supplier) {
+      this.supplier = supplier;
+    }
+
+    void execute() {
+      try {
+        result = supplier.get();
+      } catch (Throwable t) {
+        error = t;
+      }
+    }
+
+    void fail(Throwable t) {
+      future.completeExceptionally(t);
+    }
+
+    void complete() {
+      if (error != null) {
+        future.completeExceptionally(error);
+      } else {
+        future.complete(result);
+      }
+    }
+  }
+}
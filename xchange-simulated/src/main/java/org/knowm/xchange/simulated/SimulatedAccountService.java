@@ -7,6 +7,7 @@ import org.knowm.xchange.dto.account.AccountInfo;
 import org.knowm.xchange.dto.account.Wallet;
 import org.knowm.xchange.service.BaseExchangeService;
 import org.knowm.xchange.service.account.AccountService;
+import org.knowm.xchange.simulated.LatencyModel.Operation;
 
 public class SimulatedAccountService extends BaseExchangeService<SimulatedExchange>
     implements AccountService {
@@ -17,7 +18,7 @@ public class SimulatedAccountService extends BaseExchangeService<SimulatedExchan
 
   @Override
   public AccountInfo getAccountInfo() throws IOException {
-    exchange.maybeThrow();
+    exchange.beforeOperation(Operation.GET_ACCOUNT_INFO);
     return new AccountInfo(Wallet.Builder.from(exchange.getAccount().balances()).build());
   }
 
@@ -0,0 +1,78 @@
+package org.knowm.xchange.simulated;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A clock which only moves when it is told to, used to run the {@link MatchingEngine}s in the
+ * simulated time of a {@link MarketReplay} rather than the wall clock.
+ */
+public final class SimulatedClock extends Clock {
+
+  private volatile long millis;
+
+  public SimulatedClock() {
+    this(0);
+  }
+
+  public SimulatedClock(long millis) {
+    this.millis = millis;
+  }
+
+  /** @param millis the new time in milliseconds since the epoch */
+  public void set(long millis) {
+    this.millis = millis;
+  }
+
+  @Override
+  public long millis() {
+    return millis;
+  }
+
+  @Override
+  public Instant instant() {
+    return Instant.ofEpochMilli(millis);
+  }
+
+  @Override
+  public ZoneId getZone() {
+    return ZoneOffset.UTC;
+  }
+
+  /** @return a view of this clock in the given zone, which moves together with it */
+  @Override
+  public Clock withZone(ZoneId zone) {
+    return ZoneOffset.UTC.equals(zone) ? this : new ZonedView(zone);
+  }
+
+  private final class ZonedView extends Clock {
+
+    private final ZoneId zone;
+
+    private ZonedView(ZoneId zone) {
+      this.zone = zone;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return SimulatedClock.this.instant();
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return SimulatedClock.this.withZone(zone);
+    }
+  }
+}
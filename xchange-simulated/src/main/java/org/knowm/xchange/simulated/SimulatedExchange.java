@@ -3,7 +3,9 @@ package org.knowm.xchange.simulated;
 import static java.math.BigDecimal.ZERO;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Collection;
+import java.util.concurrent.locks.LockSupport;
 import org.apache.commons.lang3.StringUtils;
 import org.knowm.xchange.BaseExchange;
 import org.knowm.xchange.ExchangeSpecification;
@@ -47,6 +49,9 @@ public class SimulatedExchange extends BaseExchange {
    *       and share it between {@link SimulatedExchange} instances to allow those specific
    *       instances to share the same order books and thus trade against each other. Recommended
    *       for integration testing.
+   *   <li>{@code new MatchingEngineFactory(accountFactory, capacity)} - as above, but each order
+   *       book is run by its own sequencer thread instead of being locked on every call.
+   *       Recommended for load and soak testing with many concurrent users.
    * </ul>
    */
   public static final String ENGINE_FACTORY_PARAM = "MatchingEngineFactory";
@@ -60,9 +65,23 @@ public class SimulatedExchange extends BaseExchange {
   /** Provides a {@link SimulatedExchangeOperationListener}. */
   public static final String ON_OPERATION_PARAM = "OnExchangeOperation";
 
+  /**
+   * Provides a {@link LatencyModel} which delays each operation of this instance. Defaults to
+   * {@link LatencyModel#NONE}.
+   */
+  public static final String LATENCY_MODEL_PARAM = "LatencyModel";
+
+  /**
+   * Provides the {@link FeeSchedule} of the account of this instance's API key. If not given, the
+   * account keeps the schedule it has, which is {@link FeeSchedule#DEFAULT} unless another instance
+   * sharing the {@link AccountFactory} set it.
+   */
+  public static final String FEE_SCHEDULE_PARAM = "FeeSchedule";
+
   private MatchingEngineFactory engineFactory;
   private AccountFactory accountFactory;
   private SimulatedExchangeOperationListener exceptionThrower;
+  private LatencyModel latencyModel;
 
   @Override
   public SynchronizedValueFactory<Long> getNonceFactory() {
@@ -81,6 +100,7 @@ public class SimulatedExchange extends BaseExchange {
     exchangeSpecification.setExchangeSpecificParametersItem(ACCOUNT_FACTORY_PARAM, accountFactory);
     exchangeSpecification.setExchangeSpecificParametersItem(
         ON_OPERATION_PARAM, (SimulatedExchangeOperationListener) () -> {});
+    exchangeSpecification.setExchangeSpecificParametersItem(LATENCY_MODEL_PARAM, LatencyModel.NONE);
     return exchangeSpecification;
   }
 
@@ -95,6 +115,18 @@ public class SimulatedExchange extends BaseExchange {
     exceptionThrower =
         (SimulatedExchangeOperationListener)
             exchangeSpecification.getExchangeSpecificParametersItem(ON_OPERATION_PARAM);
+    LatencyModel sharedLatencyModel =
+        (LatencyModel) exchangeSpecification.getExchangeSpecificParametersItem(LATENCY_MODEL_PARAM);
+    String apiKey = exchangeSpecification.getApiKey();
+    latencyModel =
+        sharedLatencyModel == null
+            ? LatencyModel.NONE
+            : sharedLatencyModel.forAccount(apiKey == null ? "" : apiKey);
+    FeeSchedule feeSchedule =
+        (FeeSchedule) exchangeSpecification.getExchangeSpecificParametersItem(FEE_SCHEDULE_PARAM);
+    if (feeSchedule != null) {
+      getAccount().setFeeSchedule(feeSchedule);
+    }
     tradeService = new SimulatedTradeService(this);
     marketDataService = new SimulatedMarketDataService(this);
     accountService = new SimulatedAccountService(this);
@@ -112,7 +144,18 @@ public class SimulatedExchange extends BaseExchange {
     return accountFactory.get(exchangeSpecification.getApiKey());
   }
 
-  void maybeThrow() throws IOException {
+  void beforeOperation(LatencyModel.Operation operation) throws IOException {
+    long latency = latencyModel.latencyNanos(operation);
+    if (latency > 0) {
+      long deadline = System.nanoTime() + latency;
+      for (long wait = latency; wait > 0; wait = deadline - System.nanoTime()) {
+        LockSupport.parkNanos(wait);
+        if (Thread.interrupted()) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted during simulated latency");
+        }
+      }
+    }
     exceptionThrower.onSimulatedExchangeOperation();
   }
 
@@ -7,6 +7,7 @@ import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trades;
 import org.knowm.xchange.service.BaseExchangeService;
 import org.knowm.xchange.service.marketdata.MarketDataService;
+import org.knowm.xchange.simulated.LatencyModel.Operation;
 
 public class SimulatedMarketDataService extends BaseExchangeService<SimulatedExchange>
     implements MarketDataService {
@@ -17,19 +18,19 @@ public class SimulatedMarketDataService extends BaseExchangeService<SimulatedExc
 
   @Override
   public Ticker getTicker(CurrencyPair currencyPair, Object... args) throws IOException {
-    exchange.maybeThrow();
+    exchange.beforeOperation(Operation.GET_MARKET_DATA);
     return exchange.getEngine(currencyPair).ticker();
   }
 
   @Override
   public OrderBook getOrderBook(CurrencyPair currencyPair, Object... args) throws IOException {
-    exchange.maybeThrow();
+    exchange.beforeOperation(Operation.GET_MARKET_DATA);
     return exchange.getEngine(currencyPair).getLevel2OrderBook();
   }
 
   @Override
   public Trades getTrades(CurrencyPair currencyPair, Object... args) throws IOException {
-    exchange.maybeThrow();
+    exchange.beforeOperation(Operation.GET_MARKET_DATA);
     return new Trades(exchange.getEngine(currencyPair).publicTrades());
   }
 }
@@ -17,6 +17,7 @@ import org.knowm.xchange.service.BaseExchangeService;
 import org.knowm.xchange.service.trade.TradeService;
 import org.knowm.xchange.service.trade.params.*;
 import org.knowm.xchange.service.trade.params.orders.*;
+import org.knowm.xchange.simulated.LatencyModel.Operation;
 
 public class SimulatedTradeService extends BaseExchangeService<SimulatedExchange>
     implements TradeService {
@@ -28,7 +29,7 @@ public class SimulatedTradeService extends BaseExchangeService<SimulatedExchange
   @Override
   public String placeLimitOrder(LimitOrder limitOrder) throws IOException {
     MatchingEngine engine = exchange.getEngine(limitOrder.getCurrencyPair());
-    exchange.maybeThrow();
+    exchange.beforeOperation(Operation.PLACE_ORDER);
     return engine.postOrder(getApiKey(), limitOrder).getId();
   }
 
@@ -47,7 +48,7 @@ public class SimulatedTradeService extends BaseExchangeService<SimulatedExchange
   @Override
   public String placeMarketOrder(MarketOrder marketOrder) throws IOException {
     MatchingEngine engine = exchange.getEngine(marketOrder.getCurrencyPair());
-    exchange.maybeThrow();
+    exchange.beforeOperation(Operation.PLACE_ORDER);
     return engine.postOrder(getApiKey(), marketOrder).getId();
   }
 
@@ -56,7 +57,7 @@ public class SimulatedTradeService extends BaseExchangeService<SimulatedExchange
     if (params instanceof OpenOrdersParamCurrencyPair) {
       MatchingEngine engine =
           exchange.getEngine(((OpenOrdersParamCurrencyPair) params).getCurrencyPair());
-      exchange.maybeThrow();
+      exchange.beforeOperation(Operation.GET_OPEN_ORDERS);
       return new OpenOrders(engine.openOrders(getApiKey()));
     } else {
       return new OpenOrders(
@@ -73,7 +74,7 @@ public class SimulatedTradeService extends BaseExchangeService<SimulatedExchange
     }
     MatchingEngine engine =
         exchange.getEngine(((TradeHistoryParamCurrencyPair) params).getCurrencyPair());
-    exchange.maybeThrow();
+    exchange.beforeOperation(Operation.GET_TRADE_HISTORY);
     return new UserTrades(engine.tradeHistory(getApiKey()), TradeSortType.SortByTimestamp);
   }
 
@@ -100,14 +101,14 @@ public class SimulatedTradeService extends BaseExchangeService<SimulatedExchange
     if (orderParams instanceof CancelOrderByCurrencyPair) {
       MatchingEngine engine =
           exchange.getEngine(((CancelOrderByCurrencyPair) orderParams).getCurrencyPair());
-      exchange.maybeThrow();
+      exchange.beforeOperation(Operation.CANCEL_ORDER);
 
       if (orderParams instanceof CancelOrderByIdParams
           && orderParams instanceof CancelOrderByOrderTypeParams) {
         String orderId = ((CancelOrderByIdParams) orderParams).getOrderId();
         Order.OrderType type = ((CancelOrderByOrderTypeParams) orderParams).getOrderType();
 
-        engine.cancelOrder(orderId, getApiKey(), type);
+        engine.cancelOrder(getApiKey(), orderId, type);
 
         return true;
       }
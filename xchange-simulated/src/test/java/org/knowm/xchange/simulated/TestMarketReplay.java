@@ -0,0 +1,245 @@
+package org.knowm.xchange.simulated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.knowm.xchange.currency.Currency.BTC;
+import static org.knowm.xchange.currency.Currency.USD;
+import static org.knowm.xchange.currency.CurrencyPair.BTC_USD;
+import static org.knowm.xchange.dto.Order.OrderType.ASK;
+import static org.knowm.xchange.dto.Order.OrderType.BID;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.UserTrade;
+
+public class TestMarketReplay {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final SimulatedClock clock = new SimulatedClock();
+  private AccountFactory accountFactory;
+  private MatchingEngineFactory engineFactory;
+
+  @Before
+  public void setup() {
+    accountFactory = new AccountFactory();
+    engineFactory = new MatchingEngineFactory(accountFactory, 0, clock);
+  }
+
+  @Test
+  public void testReplayBuildsBook() throws IOException {
+    // When
+    long events =
+        replay(
+            "1000,U,B,99,2",
+            "1000,U,B,98,1",
+            "1000,U,A,101,3",
+            "# comment",
+            "",
+            "2000,U,B,98,0",
+            "2000,U,A,101,4",
+            "3000,T,A,99,0.5");
+
+    // Then
+    assertThat(events).isEqualTo(6);
+    OrderBook book = engine().getLevel2OrderBook();
+    assertThat(book.getTimeStamp()).isEqualTo(new Date(3000));
+    assertThat(book.getBids()).hasSize(1);
+    assertThat(book.getBids().get(0).getLimitPrice()).isEqualByComparingTo("99");
+    assertThat(book.getBids().get(0).getOriginalAmount()).isEqualByComparingTo("1.5");
+    assertThat(book.getAsks()).hasSize(1);
+    assertThat(book.getAsks().get(0).getOriginalAmount()).isEqualByComparingTo("4");
+    assertThat(engine().ticker().getLast()).isEqualByComparingTo("99");
+    assertThat(engine().publicTrades()).hasSize(1);
+    assertThat(engine().publicTrades().get(0).getTimestamp()).isEqualTo(new Date(3000));
+  }
+
+  @Test
+  public void testClockWithZoneFollowsSimulatedTime() {
+    ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+    Clock zoned = clock.withZone(tokyo);
+
+    clock.set(3_600_000);
+
+    assertThat(clock.withZone(ZoneOffset.UTC)).isSameAs(clock);
+    assertThat(zoned.getZone()).isEqualTo(tokyo);
+    assertThat(zoned.millis()).isEqualTo(3_600_000);
+    assertThat(ZonedDateTime.now(zoned).getHour()).isEqualTo(10);
+  }
+
+  @Test
+  public void testCrossedLevelsRemoved() throws IOException {
+    // When
+    replay("1000,U,A,101,3", "2000,U,B,101,1");
+
+    // Then
+    OrderBook book = engine().getLevel2OrderBook();
+    assertThat(book.getAsks()).isEmpty();
+    assertThat(book.getBids()).hasSize(1);
+    assertThat(engine().publicTrades()).isEmpty();
+  }
+
+  @Test
+  public void testStrategyOrderQueuesBehindRecordedLiquidity() throws IOException {
+    // Given
+    replay("1000,U,B,100,2");
+    accountFactory.get("BOT").deposit(USD, new BigDecimal(1000));
+    accountFactory.get("BOT").deposit(BTC, new BigDecimal(1000));
+    engine()
+        .postOrder(
+            "BOT",
+            new LimitOrder.Builder(BID, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(1))
+                .build());
+
+    // When
+    replay("5000,T,A,100,2.5");
+
+    // Then
+    List<UserTrade> fills = engine().tradeHistory("BOT");
+    assertThat(fills).hasSize(1);
+    assertThat(fills.get(0).getOriginalAmount()).isEqualByComparingTo("0.5");
+    assertThat(fills.get(0).getTimestamp()).isEqualTo(new Date(5000));
+  }
+
+  @Test
+  public void testQueuePositionFront() throws IOException {
+    assertThat(fillBehindCancellation(QueuePositionModel.FRONT)).isEqualByComparingTo("0.5");
+  }
+
+  @Test
+  public void testQueuePositionBack() throws IOException {
+    assertThat(fillBehindCancellation(QueuePositionModel.BACK)).isEqualByComparingTo("0");
+  }
+
+  @Test
+  public void testQueuePositionProRata() throws IOException {
+    assertThat(fillBehindCancellation(QueuePositionModel.PRO_RATA))
+        .isCloseTo(new BigDecimal("0.1667"), within(new BigDecimal("0.0001")));
+  }
+
+  /**
+   * Queues a strategy order between two recorded orders, cancels part of the recorded volume and
+   * returns how much of the strategy order a recorded trade then fills.
+   */
+  private BigDecimal fillBehindCancellation(QueuePositionModel queuePosition) throws IOException {
+    // Given
+    Path file = folder.newFile().toPath();
+    MarketReplay replay =
+        new MarketReplay(engineFactory, accountFactory, clock, BTC_USD, 2, file, queuePosition);
+    replay(replay, file, "1000,U,B,100,2");
+    accountFactory.get("BOT").deposit(USD, new BigDecimal(1000));
+    engine()
+        .postOrder(
+            "BOT",
+            new LimitOrder.Builder(BID, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(1))
+                .build());
+    replay(replay, file, "2000,U,B,100,3", "3000,U,B,100,2");
+
+    // When
+    replay(replay, file, "4000,T,A,100,1.5");
+
+    // Then
+    assertThat(engine().getLevel2OrderBook().getBids().get(0).getOriginalAmount())
+        .isEqualByComparingTo("1.5");
+    return engine().tradeHistory("BOT").stream()
+        .map(UserTrade::getOriginalAmount)
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  @Test
+  public void testRecordingFormat() throws IOException {
+    // Given
+    Trade trade =
+        new Trade.Builder()
+            .type(BID)
+            .price(new BigDecimal("6500.5"))
+            .originalAmount(new BigDecimal("0.01"))
+            .build();
+    OrderBookUpdate update =
+        new OrderBookUpdate(ASK, null, BTC_USD, new BigDecimal("6501"), null, BigDecimal.ONE);
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      lines.add(
+          i % 2 == 0 ? RecordedMarketData.format(i, trade) : RecordedMarketData.format(i, update));
+    }
+    Path file = write(lines.toArray(new String[0]));
+    List<String> read = new ArrayList<>();
+
+    // When
+    long events =
+        RecordedMarketData.read(
+            file,
+            new RecordedMarketData.Handler() {
+              @Override
+              public void onTrade(
+                  long timestamp, OrderType type, BigDecimal price, BigDecimal amount) {
+                read.add(timestamp + "T" + type + price + "/" + amount);
+              }
+
+              @Override
+              public void onBookUpdate(
+                  long timestamp, OrderType type, BigDecimal price, BigDecimal volume) {
+                read.add(timestamp + "U" + type + price + "/" + volume);
+              }
+            },
+            64);
+
+    // Then
+    assertThat(events).isEqualTo(100);
+    assertThat(read.get(0)).isEqualTo("0TBID6500.5/0.01");
+    assertThat(read.get(99)).isEqualTo("99UASK6501/1");
+  }
+
+  @Test
+  public void testInvalidLine() throws IOException {
+    Path file = write("1000,X,B,1,1");
+    assertThatThrownBy(
+            () -> new MarketReplay(engineFactory, accountFactory, clock, BTC_USD, 2, file).call())
+        .isInstanceOf(IOException.class);
+  }
+
+  private long replay(String... lines) throws IOException {
+    return new MarketReplay(engineFactory, accountFactory, clock, BTC_USD, 2, write(lines)).call();
+  }
+
+  /** Replays more of a recording through the same replay, which keeps its recorded queues. */
+  private void replay(MarketReplay replay, Path file, String... lines) throws IOException {
+    Files.write(file, Arrays.asList(lines), StandardCharsets.US_ASCII);
+    replay.call();
+  }
+
+  private MatchingEngine engine() {
+    return engineFactory.create(BTC_USD, 2, BigDecimal.ZERO);
+  }
+
+  private Path write(String... lines) throws IOException {
+    Path file = folder.newFile().toPath();
+    Files.write(file, Arrays.asList(lines), StandardCharsets.US_ASCII);
+    return file;
+  }
+}
@@ -12,6 +12,7 @@ import static org.knowm.xchange.dto.Order.OrderType.BID;
 import static org.knowm.xchange.simulated.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -53,6 +54,7 @@ public class TestMatchingEngine {
   public void setup() {
     MockitoAnnotations.initMocks(this);
     Mockito.when(accountFactory.get(Mockito.anyString())).thenReturn(account);
+    Mockito.when(account.getFeeSchedule()).thenReturn(FeeSchedule.DEFAULT);
     matchingEngine =
         new MatchingEngine(accountFactory, BTC_USD, 2, new BigDecimal("0.001"), onFill);
   }
@@ -192,7 +194,7 @@ public class TestMatchingEngine {
     verify(account, never()).fill(any(UserTrade.class), any(Boolean.class));
     verify(account, times(1)).reserve(any(LimitOrder.class));
     verify(account, never()).release(any(LimitOrder.class));
-    reset(account);
+    clearInvocations(account);
 
     // When
     LimitOrder taker =
@@ -268,7 +270,7 @@ public class TestMatchingEngine {
     verify(account, never()).fill(any(UserTrade.class), any(Boolean.class));
     verify(account, times(1)).reserve(any(LimitOrder.class));
     verify(account, never()).release(any(LimitOrder.class));
-    reset(account);
+    clearInvocations(account);
 
     // When
     LimitOrder taker =
@@ -329,6 +331,82 @@ public class TestMatchingEngine {
     assertThat(book.getAsks()).isEmpty();
   }
 
+  @Test
+  public void testMakerTakerFees() {
+
+    // Given
+    Mockito.when(account.getFeeSchedule())
+        .thenReturn(FeeSchedule.makerTaker(new BigDecimal("-0.0002"), new BigDecimal("0.002")));
+    matchingEngine.postOrder(
+        MAKER,
+        new LimitOrder.Builder(BID, BTC_USD)
+            .limitPrice(new BigDecimal(100))
+            .originalAmount(new BigDecimal(5))
+            .build());
+
+    // When
+    matchingEngine.postOrder(
+        TAKER,
+        new LimitOrder.Builder(ASK, BTC_USD)
+            .limitPrice(new BigDecimal(100))
+            .originalAmount(new BigDecimal(5))
+            .build());
+
+    // Then
+    verify(onFill, times(2)).accept(fillCaptor1.capture());
+    Fill takerFill = fillCaptor1.getAllValues().get(0);
+    Fill makerFill = fillCaptor1.getAllValues().get(1);
+    assertThat(takerFill).isTaker();
+    assertThat(takerFill.getTrade()).hasFeeAmount(new BigDecimal("1.000")).hasFeeCurrency(USD);
+    assertThat(makerFill).isNotTaker();
+    assertThat(makerFill.getTrade()).hasFeeAmount(new BigDecimal("-0.0010")).hasFeeCurrency(BTC);
+  }
+
+  @Test
+  public void testReduceOrderKeepsQueuePosition() {
+
+    // Given
+    LimitOrder first =
+        matchingEngine.postOrder(
+            MAKER,
+            new LimitOrder.Builder(ASK, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(5))
+                .build());
+    LimitOrder second =
+        matchingEngine.postOrder(
+            MAKER,
+            new LimitOrder.Builder(ASK, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(5))
+                .build());
+
+    // When
+    BigDecimal remaining = matchingEngine.reduceOrder(MAKER, first.getId(), new BigDecimal(3));
+    boolean firstExtended = matchingEngine.extendOrder(MAKER, first.getId(), BigDecimal.ONE);
+    matchingEngine.postOrder(
+        TAKER,
+        new LimitOrder.Builder(BID, BTC_USD)
+            .limitPrice(new BigDecimal(100))
+            .originalAmount(new BigDecimal(3))
+            .build());
+
+    // Then
+    assertThat(remaining).isEqualByComparingTo("2");
+    assertThat(firstExtended).isFalse();
+    verify(account, times(1)).release(any(LimitOrder.class));
+    verify(onFill, times(4)).accept(fillCaptor1.capture());
+    assertThat(fillCaptor1.getAllValues().get(1).getTrade())
+        .hasOrderId(first.getId())
+        .hasOriginalAmount(new BigDecimal(2));
+    assertThat(fillCaptor1.getAllValues().get(3).getTrade())
+        .hasOrderId(second.getId())
+        .hasOriginalAmount(new BigDecimal(1));
+    assertThat(matchingEngine.getLevel2OrderBook().getAsks().get(0).getOriginalAmount())
+        .isEqualByComparingTo("4");
+    assertThat(matchingEngine.extendOrder(MAKER, second.getId(), BigDecimal.ONE)).isTrue();
+  }
+
   @Test
   public void testSimpleAskPartial() {
 
@@ -721,6 +799,96 @@ public class TestMatchingEngine {
     assertThat(book.getAsks()).isEmpty();
   }
 
+  @Test
+  public void testLevel2OrderBookFollowsFillsAndCancels() {
+    // Given
+    LimitOrder maker1 =
+        matchingEngine.postOrder(
+            MAKER,
+            new LimitOrder.Builder(ASK, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(1))
+                .build());
+    matchingEngine.postOrder(
+        MAKER,
+        new LimitOrder.Builder(ASK, BTC_USD)
+            .limitPrice(new BigDecimal(100))
+            .originalAmount(new BigDecimal(2))
+            .build());
+    LimitOrder maker3 =
+        matchingEngine.postOrder(
+            MAKER,
+            new LimitOrder.Builder(ASK, BTC_USD)
+                .limitPrice(new BigDecimal(101))
+                .originalAmount(new BigDecimal(3))
+                .build());
+
+    // When
+    matchingEngine.postOrder(
+        TAKER,
+        new LimitOrder.Builder(BID, BTC_USD)
+            .limitPrice(new BigDecimal(100))
+            .originalAmount(new BigDecimal("1.5"))
+            .build());
+    matchingEngine.cancelOrder(MAKER, maker3.getId());
+
+    // Then
+    List<LimitOrder> asks = matchingEngine.getLevel2OrderBook().getAsks();
+    assertThat(asks).hasSize(1);
+    assertThat(asks.get(0).getLimitPrice()).isEqualTo("100");
+    assertThat(asks.get(0).getOriginalAmount()).isEqualTo("1.5");
+    assertThat(matchingEngine.getLevel2OrderBook().getBids()).isEmpty();
+    assertThat(matchingEngine.book().getAsks())
+        .extracting(LimitOrder::getId)
+        .doesNotContain(maker1.getId(), maker3.getId());
+    assertThat(matchingEngine.ticker().getAsk()).isEqualTo("100");
+    assertThat(matchingEngine.ticker().getLast()).isEqualTo("100");
+    verify(account)
+        .release(
+            argThat(
+                new AssertionMatcher<LimitOrder>() {
+                  @Override
+                  public void assertion(LimitOrder actual) throws AssertionError {
+                    assertThat(actual.getId()).isEqualTo(maker3.getId());
+                  }
+                }));
+  }
+
+  @Test
+  public void testOrderJoiningLevelIsReserved() {
+    // When
+    for (int i = 0; i < 2; i++) {
+      matchingEngine.postOrder(
+          MAKER,
+          new LimitOrder.Builder(BID, BTC_USD)
+              .limitPrice(new BigDecimal(100))
+              .originalAmount(new BigDecimal(1))
+              .build());
+    }
+
+    // Then
+    verify(account, times(2)).reserve(any(LimitOrder.class));
+  }
+
+  @Test
+  public void testCancelOtherUsersOrderIgnored() {
+    // Given
+    LimitOrder maker =
+        matchingEngine.postOrder(
+            MAKER,
+            new LimitOrder.Builder(BID, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(1))
+                .build());
+
+    // When
+    matchingEngine.cancelOrder(TAKER, maker.getId());
+
+    // Then
+    assertThat(matchingEngine.book().getBids()).hasSize(1);
+    verify(account, never()).release(any(LimitOrder.class));
+  }
+
   private AssertionMatcher<Fill> useAmount(String apiKey, LimitOrder order, BigDecimal amount) {
     return new AssertionMatcher<Fill>() {
       @Override
@@ -0,0 +1,137 @@
+package org.knowm.xchange.simulated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.knowm.xchange.currency.Currency.BTC;
+import static org.knowm.xchange.currency.Currency.USD;
+import static org.knowm.xchange.currency.CurrencyPair.BTC_USD;
+import static org.knowm.xchange.dto.Order.OrderType.ASK;
+import static org.knowm.xchange.dto.Order.OrderType.BID;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.exceptions.ExchangeException;
+
+public class TestSequencedMatchingEngine {
+
+  private static final int BOTS = 4;
+  private static final int ORDERS_PER_BOT = 500;
+
+  private AccountFactory accountFactory;
+  private MatchingEngineFactory engineFactory;
+  private MatchingEngine matchingEngine;
+
+  @Before
+  public void setup() {
+    accountFactory = new AccountFactory();
+    engineFactory = new MatchingEngineFactory(accountFactory, 64);
+    matchingEngine = engineFactory.create(BTC_USD, 2, new BigDecimal("0.001"));
+  }
+
+  @After
+  public void tearDown() {
+    engineFactory.stop();
+  }
+
+  @Test
+  public void testLevel2SnapshotIncludesOwnOrder() {
+    // Given
+    deposit("MAKER");
+
+    // When
+    LimitOrder order =
+        matchingEngine.postOrder(
+            "MAKER",
+            new LimitOrder.Builder(ASK, BTC_USD)
+                .limitPrice(new BigDecimal(100))
+                .originalAmount(new BigDecimal(2))
+                .build());
+
+    // Then
+    OrderBook level2 = matchingEngine.getLevel2OrderBook();
+    assertThat(level2.getAsks()).hasSize(1);
+    assertThat(level2.getAsks().get(0).getOriginalAmount()).isEqualTo("2");
+    assertThat(matchingEngine.ticker().getAsk()).isEqualTo("100");
+
+    matchingEngine.cancelOrder("MAKER", order.getId());
+    assertThat(matchingEngine.getLevel2OrderBook().getAsks()).isEmpty();
+  }
+
+  @Test
+  public void testExceptionReachesCaller() {
+    assertThatThrownBy(
+            () ->
+                matchingEngine.postOrder(
+                    "MAKER",
+                    new LimitOrder.Builder(ASK, BTC_USD)
+                        .limitPrice(new BigDecimal("100.001"))
+                        .originalAmount(new BigDecimal(1))
+                        .build()))
+        .isInstanceOf(ExchangeException.class);
+  }
+
+  @Test
+  public void testConcurrentBots() throws Exception {
+    // Given
+    ExecutorService executor = Executors.newFixedThreadPool(BOTS);
+    List<Future<?>> bots = new ArrayList<>();
+
+    // When
+    for (int bot = 0; bot < BOTS; bot++) {
+      String apiKey = "BOT" + bot;
+      deposit(apiKey);
+      bots.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < ORDERS_PER_BOT; i++) {
+                  matchingEngine.postOrder(
+                      apiKey,
+                      new LimitOrder.Builder(i % 2 == 0 ? BID : ASK, BTC_USD)
+                          .limitPrice(new BigDecimal(99 + i % 3))
+                          .originalAmount(new BigDecimal("0.01"))
+                          .build());
+                }
+              }));
+    }
+    for (Future<?> bot : bots) {
+      bot.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    // Then
+    Level3OrderBook book = matchingEngine.book();
+    OrderBook level2 = matchingEngine.getLevel2OrderBook();
+    assertThat(sumRemaining(level2.getAsks())).isEqualByComparingTo(sumRemaining(book.getAsks()));
+    assertThat(sumRemaining(level2.getBids())).isEqualByComparingTo(sumRemaining(book.getBids()));
+    if (!level2.getAsks().isEmpty() && !level2.getBids().isEmpty()) {
+      assertThat(level2.getAsks().get(0).getLimitPrice())
+          .isGreaterThan(level2.getBids().get(0).getLimitPrice());
+    }
+    int trades = 0;
+    for (int bot = 0; bot < BOTS; bot++) {
+      trades += matchingEngine.tradeHistory("BOT" + bot).size();
+    }
+    assertThat(trades).isPositive().isEven();
+  }
+
+  private void deposit(String apiKey) {
+    accountFactory.get(apiKey).deposit(USD, new BigDecimal(1000000));
+    accountFactory.get(apiKey).deposit(BTC, new BigDecimal(1000000));
+  }
+
+  private static BigDecimal sumRemaining(List<LimitOrder> orders) {
+    return orders.stream()
+        .map(LimitOrder::getRemainingAmount)
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+}
@@ -0,0 +1,79 @@
+package org.knowm.xchange.simulated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class TestSequencer {
+
+  @Test
+  public void testCommandsQueuedBeforeStopRun() {
+    AtomicInteger batches = new AtomicInteger();
+    Sequencer sequencer = new Sequencer("sequencer-test", 8, batches::incrementAndGet);
+
+    assertThat(sequencer.call(() -> 42)).isEqualTo(42);
+    CompletableFuture<Integer> queued = sequencer.submit(() -> 7);
+    sequencer.stop();
+
+    assertThat(queued.join()).isEqualTo(7);
+    assertThat(batches.get()).isPositive();
+    assertThatThrownBy(() -> sequencer.submit(() -> 1)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void testSubmitRacingStopNeverHangs() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (int round = 0; round < 200; round++) {
+        // a small buffer so that producers also race stop() while it is full
+        Sequencer sequencer = new Sequencer("sequencer-race", 2, () -> {});
+        AtomicInteger ran = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Future<List<CompletableFuture<Integer>>>> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+          producers.add(
+              executor.submit(
+                  () -> {
+                    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+                    started.countDown();
+                    try {
+                      while (true) {
+                        futures.add(sequencer.submit(ran::incrementAndGet));
+                      }
+                    } catch (IllegalStateException stopped) {
+                      return futures;
+                    }
+                  }));
+        }
+        started.await();
+        sequencer.stop();
+
+        int completed = 0;
+        for (Future<List<CompletableFuture<Integer>>> producer : producers) {
+          for (CompletableFuture<Integer> future : producer.get(5, TimeUnit.SECONDS)) {
+            try {
+              future.get(5, TimeUnit.SECONDS);
+              completed++;
+            } catch (ExecutionException e) {
+              assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+            }
+          }
+        }
+        assertThat(completed).isEqualTo(ran.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
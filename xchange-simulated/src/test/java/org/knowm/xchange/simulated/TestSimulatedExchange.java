@@ -11,9 +11,13 @@ import static org.knowm.xchange.dto.Order.OrderType.ASK;
 import static org.knowm.xchange.dto.Order.OrderType.BID;
 import static org.knowm.xchange.simulated.SimulatedExchange.ACCOUNT_FACTORY_PARAM;
 import static org.knowm.xchange.simulated.SimulatedExchange.ENGINE_FACTORY_PARAM;
+import static org.knowm.xchange.simulated.SimulatedExchange.FEE_SCHEDULE_PARAM;
+import static org.knowm.xchange.simulated.SimulatedExchange.LATENCY_MODEL_PARAM;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.knowm.xchange.Exchange;
@@ -267,6 +271,63 @@ public class TestSimulatedExchange {
     assertThat(counterBalance.getFrozen()).isEqualTo(ZERO);
   }
 
+  @Test
+  public void testLatencyAndFeeSchedule() throws IOException {
+    // Given
+    ExchangeSpecification exchangeSpecification =
+        new ExchangeSpecification(SimulatedExchange.class);
+    exchangeSpecification.setApiKey("Slow");
+    exchangeSpecification.setExchangeSpecificParametersItem(
+        ENGINE_FACTORY_PARAM, matchingEngineFactory);
+    exchangeSpecification.setExchangeSpecificParametersItem(ACCOUNT_FACTORY_PARAM, accountFactory);
+    exchangeSpecification.setExchangeSpecificParametersItem(
+        LATENCY_MODEL_PARAM,
+        LatencyModel.perOperation(
+            Collections.singletonMap(
+                LatencyModel.Operation.PLACE_ORDER, LatencyModel.fixed(100, TimeUnit.MILLISECONDS)),
+            LatencyModel.NONE));
+    exchangeSpecification.setExchangeSpecificParametersItem(
+        FEE_SCHEDULE_PARAM, FeeSchedule.flat(new BigDecimal("0.002")));
+    SimulatedExchange slowExchange =
+        (SimulatedExchange) ExchangeFactory.INSTANCE.createExchange(exchangeSpecification);
+    slowExchange.getAccountService().deposit(USD, INITIAL_BALANCE);
+
+    // When
+    long start = System.nanoTime();
+    slowExchange
+        .getTradeService()
+        .placeMarketOrder(
+            new MarketOrder.Builder(BID, BTC_USD).originalAmount(new BigDecimal("0.1")).build());
+    long elapsed = System.nanoTime() - start;
+
+    // Then
+    assertThat(elapsed).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    UserTrades trades = getTradeHistory(slowExchange);
+    assertThat(trades.getUserTrades()).hasSize(1);
+    assertThat(trades.getUserTrades().get(0).getFeeAmount()).isEqualByComparingTo("0.0002");
+  }
+
+  @Test
+  public void testLatencyStreamsAreSeededPerAccount() {
+    LatencyModel shared =
+        LatencyModel.perOperation(
+            Collections.emptyMap(), LatencyModel.logNormal(10, 0.5, TimeUnit.MILLISECONDS, 42));
+    LatencyModel first = shared.forAccount("first");
+    LatencyModel second = shared.forAccount("second");
+    LatencyModel repeated = shared.forAccount("first");
+
+    // draws of another account in between do not change the stream of the first one
+    long[] drawn = new long[10];
+    for (int i = 0; i < drawn.length; i++) {
+      drawn[i] = first.latencyNanos(LatencyModel.Operation.PLACE_ORDER);
+      second.latencyNanos(LatencyModel.Operation.PLACE_ORDER);
+    }
+    for (long latency : drawn) {
+      assertThat(repeated.latencyNanos(LatencyModel.Operation.PLACE_ORDER)).isEqualTo(latency);
+    }
+    assertThat(LatencyModel.NONE.forAccount("first")).isSameAs(LatencyModel.NONE);
+  }
+
   @Test
   public void testTradingLimitBid() throws IOException {
 
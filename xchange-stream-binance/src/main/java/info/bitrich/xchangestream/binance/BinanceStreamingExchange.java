@@ -89,9 +89,7 @@ public class BinanceStreamingExchange extends BinanceExchange implements Streami
 
       LOG.info("Connecting to authenticated web socket");
       BinanceAuthenticated binance =
-          ExchangeRestProxyBuilder.forInterface(
-                  BinanceAuthenticated.class, getExchangeSpecification())
-              .build();
+          ExchangeRestProxyBuilder.forInterface(BinanceAuthenticated.class, this).build();
       userDataChannel =
           new BinanceUserDataChannel(binance, exchangeSpecification.getApiKey(), onApiCall);
       try {
@@ -196,12 +194,19 @@ public class BinanceStreamingExchange extends BinanceExchange implements Streami
   }
 
   private BinanceStreamingService createStreamingService(ProductSubscription subscription) {
-    String path =
-        Boolean.TRUE.equals(exchangeSpecification.getExchangeSpecificParametersItem(USE_SANDBOX))
-            ? WS_SANDBOX_API_BASE_URI
-            : WS_API_BASE_URI;
+    String path;
+    if (exchangeSpecification.getOverrideWebsocketApiUri() != null) {
+      path = exchangeSpecification.getOverrideWebsocketApiUri();
+    } else if (Boolean.TRUE.equals(
+        exchangeSpecification.getExchangeSpecificParametersItem(USE_SANDBOX))) {
+      path = WS_SANDBOX_API_BASE_URI;
+    } else {
+      path = WS_API_BASE_URI;
+    }
     path += "stream?streams=" + buildSubscriptionStreams(subscription);
-    return new BinanceStreamingService(path, subscription);
+    BinanceStreamingService streamingService = new BinanceStreamingService(path, subscription);
+    applyStreamingSpecification(exchangeSpecification, streamingService);
+    return streamingService;
   }
 
   public String buildSubscriptionStreams(ProductSubscription subscription) {
@@ -4,22 +4,20 @@ import static info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelp
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.RateLimiter;
 import info.bitrich.xchangestream.binance.dto.*;
 import info.bitrich.xchangestream.binance.exceptions.UpFrontSubscriptionRequiredException;
+import info.bitrich.xchangestream.core.OrderBookSynchronizer;
 import info.bitrich.xchangestream.core.ProductSubscription;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
-import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 import io.reactivex.functions.Consumer;
 import java.io.IOException;
 import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import org.knowm.xchange.binance.BinanceAdapters;
@@ -35,7 +33,6 @@ import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
-import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.RateLimitExceededException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,7 +58,6 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
   private final Map<CurrencyPair, Observable<DepthBinanceWebSocketTransaction>>
       orderBookRawUpdatesSubscriptions;
 
-  private final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
   private final BinanceMarketDataService marketDataService;
   private final Runnable onApiCall;
 
@@ -267,174 +263,123 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
 
   private Observable<BinanceTicker24h> rawTickerStream(CurrencyPair currencyPair) {
     return service
-        .subscribeChannel(
-            channelFromCurrency(currencyPair, BinanceSubscriptionType.TICKER.getType()))
-        .map(
-            it ->
-                this.<TickerBinanceWebsocketTransaction>readTransaction(it, TICKER_TYPE, "ticker"))
+        .<BinanceWebsocketTransaction<TickerBinanceWebsocketTransaction>>subscribeChannel(
+            channelFromCurrency(currencyPair, BinanceSubscriptionType.TICKER.getType()),
+            TICKER_TYPE)
         .filter(transaction -> transaction.getData().getCurrencyPair().equals(currencyPair))
         .map(transaction -> transaction.getData().getTicker());
   }
 
   private Observable<BinanceBookTicker> rawBookTickerStream(CurrencyPair currencyPair) {
     return service
-        .subscribeChannel(
-            channelFromCurrency(currencyPair, BinanceSubscriptionType.BOOK_TICKER.getType()))
-        .map(
-            it ->
-                this.<BookTickerBinanceWebSocketTransaction>readTransaction(
-                    it, BOOK_TICKER_TYPE, "book ticker"))
+        .<BinanceWebsocketTransaction<BookTickerBinanceWebSocketTransaction>>subscribeChannel(
+            channelFromCurrency(currencyPair, BinanceSubscriptionType.BOOK_TICKER.getType()),
+            BOOK_TICKER_TYPE)
         .filter(transaction -> transaction.getData().getCurrencyPair().equals(currencyPair))
         .map(transaction -> transaction.getData().getTicker());
   }
 
-  private final class OrderbookSubscription {
-    final Observable<DepthBinanceWebSocketTransaction> stream;
-    final AtomicLong lastUpdateId = new AtomicLong();
-    final AtomicLong snapshotLastUpdateId = new AtomicLong();
-    OrderBook orderBook;
+  /**
+   * Keeps an order book in the sequence of its depth updates, following the procedure Binance
+   * documents: updates are buffered while a snapshot of 1000 levels is fetched, those with u <=
+   * lastUpdateId of the snapshot dropped, and the first applied must have U <= lastUpdateId + 1. A
+   * later update whose U is past the previous u + 1 fetches a new snapshot.
+   */
+  private final class OrderBookSubscription
+      extends OrderBookSynchronizer<BinanceOrderbook, DepthBinanceWebSocketTransaction, OrderBook> {
+
+    private final CurrencyPair currencyPair;
 
-    private OrderbookSubscription(Observable<DepthBinanceWebSocketTransaction> stream) {
-      this.stream = stream;
+    private OrderBookSubscription(CurrencyPair currencyPair) {
+      this.currencyPair = currencyPair;
     }
 
-    void invalidateSnapshot() {
-      snapshotLastUpdateId.set(0);
+    @Override
+    protected Single<BinanceOrderbook> fetchSnapshot() {
+      return Single.fromCallable(
+          () -> {
+            LOG.info("Fetching orderbook snapshot for {} ", currencyPair);
+            onApiCall.run();
+            fallbackOnApiCall.get().run();
+            return fetchBinanceOrderBook(currencyPair);
+          });
     }
 
-    void initSnapshotIfInvalid(CurrencyPair currencyPair) {
-      if (snapshotLastUpdateId.get() != 0) return;
-      try {
-        LOG.info("Fetching initial orderbook snapshot for {} ", currencyPair);
-        onApiCall.run();
-        fallbackOnApiCall.get().run();
-        BinanceOrderbook book = fetchBinanceOrderBook(currencyPair);
-        snapshotLastUpdateId.set(book.lastUpdateId);
-        lastUpdateId.set(book.lastUpdateId);
-        orderBook = BinanceMarketDataService.convertOrderBook(book, currencyPair);
-      } catch (Exception e) {
-        LOG.error("Failed to fetch initial order book for " + currencyPair, e);
-        snapshotLastUpdateId.set(0);
-        lastUpdateId.set(0);
-        orderBook = null;
-      }
+    @Override
+    protected OrderBook createBook(BinanceOrderbook snapshot) {
+      return BinanceMarketDataService.convertOrderBook(snapshot, currencyPair);
+    }
+
+    @Override
+    protected long snapshotSequence(BinanceOrderbook snapshot) {
+      return snapshot.lastUpdateId;
+    }
+
+    @Override
+    protected long firstSequence(DepthBinanceWebSocketTransaction depth) {
+      return depth.getFirstUpdateId();
+    }
+
+    @Override
+    protected long lastSequence(DepthBinanceWebSocketTransaction depth) {
+      return depth.getLastUpdateId();
+    }
+
+    @Override
+    protected boolean applyDelta(OrderBook book, DepthBinanceWebSocketTransaction depth) {
+      // the data in each event is the absolute quantity for a price level, and removing a level
+      // which is not in the book is normal
+      extractOrderBookUpdates(currencyPair, depth).forEach(book::update);
+      return true;
     }
+  }
 
-    private BinanceOrderbook fetchBinanceOrderBook(CurrencyPair currencyPair)
-        throws IOException, InterruptedException {
-      try {
-        return marketDataService.getBinanceOrderbook(currencyPair, 1000);
-      } catch (BinanceException e) {
-        if (BinanceErrorAdapter.adapt(e) instanceof RateLimitExceededException) {
-          if (fallenBack.compareAndSet(false, true)) {
-            LOG.error(
-                "API Rate limit was hit when fetching Binance order book snapshot. Provide a \n"
-                    + "rate limiter. Apache Commons and Google Guava provide the TimedSemaphore\n"
-                    + "and RateLimiter classes which are effective for this purpose. Example:\n"
-                    + "\n"
-                    + "  exchangeSpecification.setExchangeSpecificParametersItem(\n"
-                    + "      info.bitrich.xchangestream.util.Events.BEFORE_API_CALL_HANDLER,\n"
-                    + "      () -> rateLimiter.acquire())\n"
-                    + "\n"
-                    + "Pausing for 15sec and falling back to one call per three seconds, but you\n"
-                    + "will get more optimal performance by handling your own rate limiting.");
-            RateLimiter rateLimiter = RateLimiter.create(0.333);
-            fallbackOnApiCall.set(rateLimiter::acquire);
-            Thread.sleep(15000);
-          }
+  private BinanceOrderbook fetchBinanceOrderBook(CurrencyPair currencyPair)
+      throws IOException, InterruptedException {
+    try {
+      return marketDataService.getBinanceOrderbook(currencyPair, 1000);
+    } catch (BinanceException e) {
+      if (BinanceErrorAdapter.adapt(e) instanceof RateLimitExceededException) {
+        if (fallenBack.compareAndSet(false, true)) {
+          LOG.error(
+              "API Rate limit was hit when fetching Binance order book snapshot. Provide a \n"
+                  + "rate limiter. Apache Commons and Google Guava provide the TimedSemaphore\n"
+                  + "and RateLimiter classes which are effective for this purpose. Example:\n"
+                  + "\n"
+                  + "  exchangeSpecification.setExchangeSpecificParametersItem(\n"
+                  + "      info.bitrich.xchangestream.util.Events.BEFORE_API_CALL_HANDLER,\n"
+                  + "      () -> rateLimiter.acquire())\n"
+                  + "\n"
+                  + "Pausing for 15sec and falling back to one call per three seconds, but you\n"
+                  + "will get more optimal performance by handling your own rate limiting.");
+          RateLimiter rateLimiter = RateLimiter.create(0.333);
+          fallbackOnApiCall.set(rateLimiter::acquire);
+          Thread.sleep(15000);
         }
-        throw e;
       }
+      throw e;
     }
   }
 
   private Observable<DepthBinanceWebSocketTransaction> rawOrderBookUpdates(
       CurrencyPair currencyPair) {
     return service
-        .subscribeChannel(
-            channelFromCurrency(currencyPair, BinanceSubscriptionType.DEPTH.getType()))
-        .map(
-            it ->
-                this.<DepthBinanceWebSocketTransaction>readTransaction(
-                    it, DEPTH_TYPE, "order book"))
+        .<BinanceWebsocketTransaction<DepthBinanceWebSocketTransaction>>subscribeChannel(
+            channelFromCurrency(currencyPair, BinanceSubscriptionType.DEPTH.getType()), DEPTH_TYPE)
         .map(BinanceWebsocketTransaction::getData)
         .filter(data -> data.getCurrencyPair().equals(currencyPair));
   }
 
   private Observable<OrderBook> createOrderBookObservable(CurrencyPair currencyPair) {
-    // 1. Open a stream to wss://stream.binance.com:9443/ws/bnbbtc@depth
-    // 2. Buffer the events you receive from the stream.
-    OrderbookSubscription subscription =
-        new OrderbookSubscription(orderBookRawUpdatesSubscriptions.get(currencyPair));
-
-    return subscription
-        .stream
-
-        // 3. Get a depth snapshot from
-        // https://www.binance.com/api/v1/depth?symbol=BNBBTC&limit=1000
-        // (we do this if we don't already have one or we've invalidated a previous one)
-        .doOnNext(transaction -> subscription.initSnapshotIfInvalid(currencyPair))
-
-        // If we failed, don't return anything. Just keep trying until it works
-        .filter(transaction -> subscription.snapshotLastUpdateId.get() > 0L)
-
-        // 4. Drop any event where u is <= lastUpdateId in the snapshot
-        .filter(depth -> depth.getLastUpdateId() > subscription.snapshotLastUpdateId.get())
-
-        // 5. The first processed should have U <= lastUpdateId+1 AND u >= lastUpdateId+1, and
-        // subsequent events would
-        // normally have u == lastUpdateId + 1 which is stricter version of the above - let's be
-        // more relaxed
-        // each update has absolute numbers so even if there's an overlap it does no harm
-        .filter(
-            depth -> {
-              long lastUpdateId = subscription.lastUpdateId.get();
-              boolean result;
-              if (lastUpdateId == 0L) {
-                result = true;
-              } else {
-                result =
-                    depth.getFirstUpdateId() <= lastUpdateId + 1
-                        && depth.getLastUpdateId() >= lastUpdateId + 1;
-              }
-              if (result) {
-                subscription.lastUpdateId.set(depth.getLastUpdateId());
-              } else {
-                // If not, we re-sync.  This will commonly occur a few times when starting up, since
-                // given update ids 1,2,3,4,5,6,7,8,9, Binance may sometimes return a snapshot
-                // as of 5, but update events covering 1-3, 4-6 and 7-9.  We can't apply the 4-6
-                // update event without double-counting 5, and we can't apply the 7-9 update without
-                // missing 6.  The only thing we can do is to keep requesting a fresh snapshot until
-                // we get to a situation where the snapshot and an update event precisely line up.
-                LOG.info(
-                    "Orderbook snapshot for {} out of date (last={}, U={}, u={}). This is normal. Re-syncing.",
-                    currencyPair,
-                    lastUpdateId,
-                    depth.getFirstUpdateId(),
-                    depth.getLastUpdateId());
-                subscription.invalidateSnapshot();
-              }
-              return result;
-            })
-
-        // 7. The data in each event is the absolute quantity for a price level
-        // 8. If the quantity is 0, remove the price level
-        // 9. Receiving an event that removes a price level that is not in your local order book can
-        // happen and is normal.
-        .map(
-            depth -> {
-              extractOrderBookUpdates(currencyPair, depth)
-                  .forEach(it -> subscription.orderBook.update(it));
-              return subscription.orderBook;
-            })
+    return new OrderBookSubscription(currencyPair)
+        .sync(orderBookRawUpdatesSubscriptions.get(currencyPair))
         .share();
   }
 
   private Observable<BinanceRawTrade> rawTradeStream(CurrencyPair currencyPair) {
     return service
-        .subscribeChannel(
-            channelFromCurrency(currencyPair, BinanceSubscriptionType.TRADE.getType()))
-        .map(it -> this.<TradeBinanceWebsocketTransaction>readTransaction(it, TRADE_TYPE, "trade"))
+        .<BinanceWebsocketTransaction<TradeBinanceWebsocketTransaction>>subscribeChannel(
+            channelFromCurrency(currencyPair, BinanceSubscriptionType.TRADE.getType()), TRADE_TYPE)
         .filter(transaction -> transaction.getData().getCurrencyPair().equals(currencyPair))
         .map(transaction -> transaction.getData().getRawTrade());
   }
@@ -449,16 +394,6 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
     return observable;
   }
 
-  private <T> BinanceWebsocketTransaction<T> readTransaction(
-      JsonNode node, JavaType type, String transactionType) {
-    try {
-      return mapper.readValue(mapper.treeAsTokens(node), type);
-    } catch (IOException e) {
-      throw new ExchangeException(
-          String.format("Unable to parse %s transaction", transactionType), e);
-    }
-  }
-
   private Stream<OrderBookUpdate> extractOrderBookUpdates(
       CurrencyPair currencyPair, DepthBinanceWebSocketTransaction depthTransaction) {
     BinanceOrderbook orderBookDiff = depthTransaction.getOrderBook();
@@ -1,5 +1,6 @@
 package info.bitrich.xchangestream.binance;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.google.common.collect.Sets;
@@ -54,6 +55,11 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
     return message.get("stream").asText();
   }
 
+  @Override
+  protected String getChannelNameFromTokens(JsonParser parser) throws IOException {
+    return findTopLevelText(parser, "stream");
+  }
+
   @Override
   protected void handleMessage(JsonNode message) {
 
@@ -0,0 +1,162 @@
+package info.bitrich.xchangestream.binance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import info.bitrich.xchangestream.core.ProductSubscription;
+import info.bitrich.xchangestream.core.StreamingExchange;
+import info.bitrich.xchangestream.core.StreamingExchangeFactory;
+import info.bitrich.xchangestream.service.netty.replay.RecordedFeed;
+import info.bitrich.xchangestream.service.netty.replay.ReplayMeasurement;
+import info.bitrich.xchangestream.service.netty.replay.ReplayWebSocketServer;
+import io.reactivex.observers.TestObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.binance.dto.marketdata.BinanceOrderbook;
+import org.knowm.xchange.binance.service.BinanceMarketDataService;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Runs the streaming services against recorded feeds served by a local websocket server. */
+public class BinanceStreamingReplayTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BinanceStreamingReplayTest.class);
+
+  private ReplayWebSocketServer server;
+  private BinanceStreamingService streamingService;
+  private StreamingExchange exchange;
+
+  @After
+  public void tearDown() {
+    if (streamingService != null) {
+      streamingService.disconnect().blockingAwait();
+    }
+    if (exchange != null) {
+      exchange.disconnect().blockingAwait();
+    }
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Test
+  public void testOrderBookResyncsOnUpdateIdGap() throws Exception {
+    server =
+        new ReplayWebSocketServer(RecordedFeed.fromResource(getClass(), "replay/depthGap.txt"))
+            .setSpeed(10)
+            .setReplayTrigger(null)
+            .start();
+    BinanceMarketDataService marketDataService = mock(BinanceMarketDataService.class);
+    when(marketDataService.getBinanceOrderbook(any(), anyInt()))
+        .thenReturn(
+            snapshot(100, levels("100.0", "1.0"), levels("101.0", "1.0")),
+            snapshot(
+                120,
+                levels("100.0", "2.0", "99.5", "1.0"),
+                levels("101.0", "1.0", "101.5", "3.0")));
+
+    ProductSubscription subscription =
+        ProductSubscription.create().addOrderbook(CurrencyPair.BTC_USDT).build();
+    streamingService =
+        new BinanceStreamingService(server.getUri("/stream?streams=btcusdt@depth"), subscription);
+    BinanceStreamingMarketDataService streamingMarketDataService =
+        new BinanceStreamingMarketDataService(
+            streamingService, marketDataService, () -> {}, "", false);
+    streamingService.connect().blockingAwait();
+    streamingMarketDataService.openSubscriptions(subscription);
+
+    // the book is emitted on each snapshot and update, the last update removes the ask at 101.0
+    TestObserver<OrderBook> orderBooks =
+        streamingMarketDataService
+            .getOrderBook(CurrencyPair.BTC_USDT)
+            .filter(
+                book ->
+                    book.getAsks().size() == 1
+                        && book.getAsks().get(0).getLimitPrice().toPlainString().equals("101.5"))
+            .test();
+    server.replay();
+
+    // the update before the first snapshot and the one after the gap are dropped
+    orderBooks.awaitCount(1);
+    orderBooks.assertValueCount(1);
+    verify(marketDataService, times(2)).getBinanceOrderbook(CurrencyPair.BTC_USDT, 1000);
+
+    OrderBook orderBook = orderBooks.values().get(0);
+    assertThat(orderBook.getBids())
+        .extracting(order -> order.getLimitPrice().toPlainString())
+        .containsExactly("100.0", "99.5");
+    assertThat(orderBook.getBids().get(0).getOriginalAmount()).isEqualByComparingTo("2");
+    assertThat(orderBook.getAsks())
+        .extracting(order -> order.getLimitPrice().toPlainString())
+        .containsExactly("101.5");
+  }
+
+  @Test
+  public void testTradeThroughputThroughExchange() throws Exception {
+    int count = 20000;
+    List<String> frames = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      frames.add(
+          "{\"stream\":\"btcusdt@trade\",\"data\":{\"e\":\"trade\",\"E\":1640995200000,"
+              + "\"s\":\"BTCUSDT\",\"t\":"
+              + i
+              + ",\"p\":\"43250.11000000\",\"q\":\"0.00231000\",\"b\":88,\"a\":50,"
+              + "\"T\":1640995200000,\"m\":true,\"M\":true}}");
+    }
+    server =
+        new ReplayWebSocketServer(RecordedFeed.of(frames))
+            .setSpeed(ReplayWebSocketServer.MAX_SPEED)
+            .setReplayTrigger(null)
+            .start();
+
+    ExchangeSpecification spec = new ExchangeSpecification(BinanceStreamingExchange.class);
+    spec.setShouldLoadRemoteMetaData(false);
+    spec.setOverrideWebsocketApiUri(server.getUri("/"));
+    exchange = StreamingExchangeFactory.INSTANCE.createExchange(spec);
+    exchange
+        .connect(ProductSubscription.create().addTrades(CurrencyPair.BTC_USDT).build())
+        .blockingAwait();
+
+    ReplayMeasurement measurement = new ReplayMeasurement(server);
+    AtomicInteger index = new AtomicInteger();
+    TestObserver<Trade> trades =
+        exchange
+            .getStreamingMarketDataService()
+            .getTrades(CurrencyPair.BTC_USDT)
+            .doOnNext(trade -> measurement.record(index.getAndIncrement()))
+            .test();
+    server.replay();
+
+    assertThat(server.awaitReplayed(30, TimeUnit.SECONDS)).isTrue();
+    trades.awaitCount(count, () -> {}, 30000);
+    trades.assertValueCount(count);
+    assertThat(trades.values().get(count - 1).getId()).isEqualTo(String.valueOf(count - 1));
+    LOG.info("Binance trades: {}", measurement);
+  }
+
+  private static BinanceOrderbook snapshot(
+      long lastUpdateId, List<Object[]> bids, List<Object[]> asks) {
+    return new BinanceOrderbook(lastUpdateId, bids, asks);
+  }
+
+  private static List<Object[]> levels(String... pricesAndVolumes) {
+    List<Object[]> levels = new ArrayList<>();
+    for (int i = 0; i < pricesAndVolumes.length; i += 2) {
+      levels.add(new Object[] {pricesAndVolumes[i], pricesAndVolumes[i + 1]});
+    }
+    return levels;
+  }
+}
@@ -1,9 +1,9 @@
 package info.bitrich.xchangestream.bitfinex;
 
-import static org.knowm.xchange.bitfinex.service.BitfinexAdapters.adaptOrderBook;
 import static org.knowm.xchange.bitfinex.service.BitfinexAdapters.adaptTicker;
 import static org.knowm.xchange.bitfinex.service.BitfinexAdapters.adaptTrades;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.bitrich.xchangestream.bitfinex.dto.BitfinexOrderbook;
 import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketOrderbookTransaction;
@@ -15,6 +15,7 @@ import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketUpdateOrderbook;
 import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebsocketUpdateTrade;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.reactivex.Maybe;
 import io.reactivex.Observable;
 import java.util.HashMap;
 import java.util.Map;
@@ -23,10 +24,16 @@ import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
 import org.knowm.xchange.dto.marketdata.Trades;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** Created by Lukas Zaoralek on 7.11.17. */
 public class BitfinexStreamingMarketDataService implements StreamingMarketDataService {
 
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BitfinexStreamingMarketDataService.class);
+  private static final String CHECKSUM = "cs";
+
   private final BitfinexStreamingService service;
 
   private final Map<CurrencyPair, BitfinexOrderbook> orderbooks = new HashMap<>();
@@ -35,30 +42,56 @@ public class BitfinexStreamingMarketDataService implements StreamingMarketDataSe
     this.service = service;
   }
 
+  /**
+   * @param args optionally the number of levels per side to subscribe to, 100 by default, and the
+   *     number of levels per side to emit, the whole book by default
+   */
   @Override
   public Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args) {
     String channelName = "book";
     final String depth = args.length > 0 ? args[0].toString() : "100";
+    final int emittedDepth =
+        args.length > 1 ? Integer.parseInt(args[1].toString()) : Integer.MAX_VALUE;
     String pair = currencyPair.base.toString() + currencyPair.counter.toString();
     final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
+    final Object[] channelArgs = {pair, "P0", depth};
+
+    return service
+        .subscribeChannel(channelName, channelArgs)
+        .flatMapMaybe(
+            s -> {
+              JsonNode payload = s.get(1);
+              if (payload.isTextual()) {
+                if (CHECKSUM.equals(payload.asText())) {
+                  verifyChecksum(currencyPair, s.get(2).asInt(), channelName, channelArgs);
+                }
+                return Maybe.empty();
+              }
+              BitfinexWebSocketOrderbookTransaction transaction =
+                  payload.size() == 0 || payload.get(0).isArray()
+                      ? mapper.treeToValue(s, BitfinexWebSocketSnapshotOrderbook.class)
+                      : mapper.treeToValue(s, BitfinexWebSocketUpdateOrderbook.class);
+              BitfinexOrderbook bitfinexOrderbook = orderbooks.get(currencyPair);
+              if (bitfinexOrderbook == null
+                  && transaction instanceof BitfinexWebSocketUpdateOrderbook) {
+                // waiting for the snapshot of a resubscription
+                return Maybe.empty();
+              }
+              bitfinexOrderbook = transaction.toBitfinexOrderBook(bitfinexOrderbook);
+              orderbooks.put(currencyPair, bitfinexOrderbook);
+              return Maybe.just(bitfinexOrderbook.toOrderBook(currencyPair, emittedDepth));
+            });
+  }
 
-    Observable<BitfinexWebSocketOrderbookTransaction> subscribedChannel =
-        service
-            .subscribeChannel(channelName, new Object[] {pair, "P0", depth})
-            .map(
-                s -> {
-                  if (s.get(1).get(0).isArray())
-                    return mapper.treeToValue(s, BitfinexWebSocketSnapshotOrderbook.class);
-                  else return mapper.treeToValue(s, BitfinexWebSocketUpdateOrderbook.class);
-                });
-
-    return subscribedChannel.map(
-        s -> {
-          BitfinexOrderbook bitfinexOrderbook =
-              s.toBitfinexOrderBook(orderbooks.getOrDefault(currencyPair, null));
-          orderbooks.put(currencyPair, bitfinexOrderbook);
-          return adaptOrderBook(bitfinexOrderbook.toBitfinexDepth(), currencyPair);
-        });
+  private void verifyChecksum(
+      CurrencyPair currencyPair, int checksum, String channelName, Object[] channelArgs) {
+    BitfinexOrderbook bitfinexOrderbook = orderbooks.get(currencyPair);
+    if (bitfinexOrderbook == null || bitfinexOrderbook.checksum() == checksum) {
+      return;
+    }
+    LOG.warn("Checksum mismatch on {} book, requesting a new snapshot", currencyPair);
+    orderbooks.remove(currencyPair);
+    service.resubscribeChannel(channelName, channelArgs);
   }
 
   @Override
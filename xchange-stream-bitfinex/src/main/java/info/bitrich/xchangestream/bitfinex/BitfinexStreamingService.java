@@ -7,6 +7,7 @@ import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketAuthBalance;
 import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketAuthOrder;
 import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketAuthPreTrade;
 import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketAuthTrade;
+import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketConfigurationMessage;
 import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketSubscriptionMessage;
 import info.bitrich.xchangestream.bitfinex.dto.BitfinexWebSocketUnSubscriptionMessage;
 import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
@@ -143,6 +144,9 @@ public class BitfinexStreamingService extends JsonNettyStreamingService {
           if (version != null) {
             LOG.debug("Bitfinex websocket API version: {}.", version.intValue());
           }
+          sendObjectMessage(
+              new BitfinexWebSocketConfigurationMessage(
+                  BitfinexWebSocketConfigurationMessage.OB_CHECKSUM));
           if (isAuthenticated()) auth();
           break;
         case AUTH:
@@ -294,6 +298,20 @@ public class BitfinexStreamingService extends JsonNettyStreamingService {
     return objectMapper.writeValueAsString(new BitfinexWebSocketUnSubscriptionMessage(channelId));
   }
 
+  /**
+   * Subscribes to a channel again without reconnecting, so that Bitfinex sends a fresh snapshot,
+   * for example when a local book no longer matches the exchange's checksum. The subscription keeps
+   * delivering to the same observers.
+   */
+  void resubscribeChannel(String channelName, Object... args) {
+    try {
+      sendMessage(getUnsubscribeMessage(getSubscriptionUniqueId(channelName, args)));
+      sendMessage(getSubscribeMessage(channelName, args));
+    } catch (IOException e) {
+      LOG.error("Failed to resubscribe channel {}: {}", channelName, e.getMessage());
+    }
+  }
+
   void setApiKey(String apiKey) {
     this.apiKey = apiKey;
   }
@@ -2,24 +2,37 @@ package info.bitrich.xchangestream.bitfinex.dto;
 
 import static java.math.BigDecimal.ZERO;
 
+import info.bitrich.xchangestream.util.DecimalChecksum;
 import java.math.BigDecimal;
 import java.util.*;
 import org.knowm.xchange.bitfinex.v1.dto.marketdata.BitfinexDepth;
 import org.knowm.xchange.bitfinex.v1.dto.marketdata.BitfinexLevel;
-
-/** Created by Lukas Zaoralek on 8.11.17. */
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+/**
+ * Local copy of a Bitfinex book, kept sorted so that updates are O(log n) and views of the best
+ * levels only visit those levels.
+ *
+ * <p>Created by Lukas Zaoralek on 8.11.17.
+ */
 public class BitfinexOrderbook {
-  private Map<BigDecimal, BitfinexOrderbookLevel> asks;
-  private Map<BigDecimal, BitfinexOrderbookLevel> bids;
+
+  /** Number of levels per side which Bitfinex includes in its book checksums. */
+  public static final int CHECKSUM_DEPTH = 25;
+
+  private final NavigableMap<BigDecimal, BitfinexOrderbookLevel> asks = new TreeMap<>();
+  private final NavigableMap<BigDecimal, BitfinexOrderbookLevel> bids =
+      new TreeMap<>(Collections.reverseOrder());
+  private final DecimalChecksum checksum = new DecimalChecksum();
 
   public BitfinexOrderbook(BitfinexOrderbookLevel[] levels) {
     createFromLevels(levels);
   }
 
   private void createFromLevels(BitfinexOrderbookLevel[] levels) {
-    this.asks = new HashMap<>(levels.length / 2);
-    this.bids = new HashMap<>(levels.length / 2);
-
     for (BitfinexOrderbookLevel level : levels) {
 
       if (level.getCount().compareTo(ZERO) == 0) continue;
@@ -34,25 +47,13 @@ public class BitfinexOrderbook {
   }
 
   public synchronized BitfinexDepth toBitfinexDepth() {
-    SortedMap<BigDecimal, BitfinexOrderbookLevel> bitfinexLevelAsks = new TreeMap<>();
-    SortedMap<BigDecimal, BitfinexOrderbookLevel> bitfinexLevelBids =
-        new TreeMap<>(java.util.Collections.reverseOrder());
-
-    for (Map.Entry<BigDecimal, BitfinexOrderbookLevel> level : asks.entrySet()) {
-      bitfinexLevelAsks.put(level.getValue().getPrice(), level.getValue());
-    }
-
-    for (Map.Entry<BigDecimal, BitfinexOrderbookLevel> level : bids.entrySet()) {
-      bitfinexLevelBids.put(level.getValue().getPrice(), level.getValue());
-    }
-
     List<BitfinexLevel> askLevels = new ArrayList<>(asks.size());
     List<BitfinexLevel> bidLevels = new ArrayList<>(bids.size());
-    for (Map.Entry<BigDecimal, BitfinexOrderbookLevel> level : bitfinexLevelAsks.entrySet()) {
-      askLevels.add(level.getValue().toBitfinexLevel());
+    for (BitfinexOrderbookLevel level : asks.values()) {
+      askLevels.add(level.toBitfinexLevel());
     }
-    for (Map.Entry<BigDecimal, BitfinexOrderbookLevel> level : bitfinexLevelBids.entrySet()) {
-      bidLevels.add(level.getValue().toBitfinexLevel());
+    for (BitfinexOrderbookLevel level : bids.values()) {
+      bidLevels.add(level.toBitfinexLevel());
     }
 
     return new BitfinexDepth(
@@ -60,6 +61,35 @@ public class BitfinexOrderbook {
         bidLevels.toArray(new BitfinexLevel[bidLevels.size()]));
   }
 
+  /**
+   * @param currencyPair the pair of the book
+   * @param depth the maximum number of levels per side
+   * @return the best levels of the book, independent of later updates
+   */
+  public synchronized OrderBook toOrderBook(CurrencyPair currencyPair, int depth) {
+    Date timestamp = new Date();
+    return new OrderBook(
+        timestamp,
+        toLimitOrders(asks, OrderType.ASK, currencyPair, depth, timestamp),
+        toLimitOrders(bids, OrderType.BID, currencyPair, depth, timestamp));
+  }
+
+  private static List<LimitOrder> toLimitOrders(
+      NavigableMap<BigDecimal, BitfinexOrderbookLevel> side,
+      OrderType type,
+      CurrencyPair currencyPair,
+      int depth,
+      Date timestamp) {
+    List<LimitOrder> orders = new ArrayList<>(Math.min(depth, side.size()));
+    Iterator<BitfinexOrderbookLevel> levels = side.values().iterator();
+    while (orders.size() < depth && levels.hasNext()) {
+      BitfinexOrderbookLevel level = levels.next();
+      orders.add(
+          new LimitOrder(type, level.getAmount(), currencyPair, "", timestamp, level.getPrice()));
+    }
+    return orders;
+  }
+
   public synchronized void updateLevel(BitfinexOrderbookLevel level) {
 
     Map<BigDecimal, BitfinexOrderbookLevel> side;
@@ -76,9 +106,41 @@ public class BitfinexOrderbook {
 
     boolean shouldDelete = bidAskLevel.getCount().compareTo(ZERO) == 0;
 
-    side.remove(bidAskLevel.getPrice());
-    if (!shouldDelete) {
+    if (shouldDelete) {
+      side.remove(bidAskLevel.getPrice());
+    } else {
       side.put(bidAskLevel.getPrice(), bidAskLevel);
     }
   }
+
+  /**
+   * Computes the checksum which Bitfinex sends in {@code cs} messages once checksums are enabled:
+   * the signed CRC32 of the best {@link #CHECKSUM_DEPTH} bids and asks, interleaved best first as
+   * {@code price:amount} with ask amounts negative, and numbers formatted as JavaScript does.
+   */
+  public synchronized int checksum() {
+    checksum.reset();
+    Iterator<BitfinexOrderbookLevel> bidLevels = bids.values().iterator();
+    Iterator<BitfinexOrderbookLevel> askLevels = asks.values().iterator();
+    for (int i = 0; i < CHECKSUM_DEPTH; i++) {
+      if (bidLevels.hasNext()) {
+        BitfinexOrderbookLevel bid = bidLevels.next();
+        separate(i > 0);
+        checksum.appendJs(bid.getPrice()).append(':').appendJs(bid.getAmount());
+      }
+      if (askLevels.hasNext()) {
+        BitfinexOrderbookLevel ask = askLevels.next();
+        separate(i > 0 || !bids.isEmpty());
+        // ask amounts are kept positive
+        checksum.appendJs(ask.getPrice()).append(':').append('-').appendJs(ask.getAmount());
+      }
+    }
+    return checksum.getIntValue();
+  }
+
+  private void separate(boolean notFirst) {
+    if (notFirst) {
+      checksum.append(':');
+    }
+  }
 }
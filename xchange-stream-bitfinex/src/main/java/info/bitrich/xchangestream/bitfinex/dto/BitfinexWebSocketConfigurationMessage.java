@@ -0,0 +1,28 @@
+package info.bitrich.xchangestream.bitfinex.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Sets the connection flags, such as {@link #OB_CHECKSUM}. */
+public class BitfinexWebSocketConfigurationMessage {
+
+  /** Sends a checksum message after each book update. */
+  public static final int OB_CHECKSUM = 131072;
+
+  @JsonProperty("event")
+  private final String event = "conf";
+
+  @JsonProperty("flags")
+  private final int flags;
+
+  public BitfinexWebSocketConfigurationMessage(int flags) {
+    this.flags = flags;
+  }
+
+  public String getEvent() {
+    return event;
+  }
+
+  public int getFlags() {
+    return flags;
+  }
+}
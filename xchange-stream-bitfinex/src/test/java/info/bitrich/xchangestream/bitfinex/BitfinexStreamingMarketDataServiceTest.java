@@ -0,0 +1,74 @@
+package info.bitrich.xchangestream.bitfinex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.knowm.xchange.currency.CurrencyPair.BTC_USD;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+
+public class BitfinexStreamingMarketDataServiceTest {
+
+  private static final String SNAPSHOT =
+      "[17,[[6500.5,1,0.5],[6500,2,1.25],[6501,1,-0.3],[6502,1,-0.00000001]]]";
+
+  private final ObjectMapper objectMapper = StreamingObjectMapperHelper.getObjectMapper();
+  private final PublishSubject<JsonNode> channel = PublishSubject.create();
+  private BitfinexStreamingService service;
+  private TestObserver<OrderBook> books;
+
+  @Before
+  public void setUp() {
+    service = mock(BitfinexStreamingService.class);
+    when(service.subscribeChannel(eq("book"), eq("BTCUSD"), eq("P0"), eq("100")))
+        .thenReturn(channel);
+    books = new BitfinexStreamingMarketDataService(service).getOrderBook(BTC_USD).test();
+  }
+
+  @Test
+  public void testMatchingChecksumKeepsBook() throws IOException {
+    receive(SNAPSHOT);
+    receive("[17,\"cs\",2063817922]");
+    receive("[17,[6502,0,-1]]");
+    receive("[17,\"cs\",1894426783]");
+
+    books.assertValueCount(2);
+    assertThat(books.values().get(0).getAsks()).hasSize(2);
+    assertThat(books.values().get(1).getAsks()).hasSize(1);
+    assertThat(books.values().get(1).getBids().get(0).getLimitPrice())
+        .isEqualByComparingTo("6500.5");
+    verify(service, never()).resubscribeChannel(any(), any(), any(), any());
+  }
+
+  @Test
+  public void testChecksumMismatchResubscribes() throws IOException {
+    receive(SNAPSHOT);
+    receive("[17,\"cs\",12345]");
+    receive("[17,[6499,1,1]]");
+
+    books.assertValueCount(1);
+    verify(service).resubscribeChannel("book", "BTCUSD", "P0", "100");
+
+    receive("[18,[[6400,1,1],[6401,1,-1]]]");
+
+    books.assertValueCount(2);
+    assertThat(books.values().get(1).getBids()).hasSize(1);
+    assertThat(books.values().get(1).getBids().get(0).getLimitPrice()).isEqualByComparingTo("6400");
+  }
+
+  private void receive(String message) throws IOException {
+    channel.onNext(objectMapper.readTree(message));
+  }
+}
@@ -2,8 +2,10 @@ package info.bitrich.xchangestream.bitfinex.dto;
 
 import static java.math.BigDecimal.ONE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.knowm.xchange.currency.CurrencyPair.BTC_USD;
 
+import java.math.BigDecimal;
 import java.util.Date;
 import org.junit.Test;
 import org.knowm.xchange.bitfinex.service.BitfinexAdapters;
@@ -29,4 +31,47 @@ public class BitfinexOrderbookTest {
         "The timestamp should be a value less than now, but was: " + orderBook.getTimeStamp(),
         !orderBook.getTimeStamp().after(new Date()));
   }
+
+  @Test
+  public void checksumShouldMatchBitfinexFormat() {
+    BitfinexOrderbook orderbook =
+        new BitfinexOrderbook(
+            new BitfinexOrderbookLevel[] {
+              level("6500", "2", "1.25"),
+              level("6502", "1", "-0.00000001"),
+              level("6500.5", "1", "0.5"),
+              level("6501", "1", "-0.30")
+            });
+
+    // 6500.5:0.5:6501:-0.3:6500:1.25:6502:-1e-8
+    assertThat(orderbook.checksum(), equalTo(2063817922));
+
+    orderbook.updateLevel(level("6502", "0", "-1"));
+
+    // 6500.5:0.5:6501:-0.3:6500:1.25
+    assertThat(orderbook.checksum(), equalTo(1894426783));
+  }
+
+  @Test
+  public void viewShouldBeSortedAndLimitedToDepth() {
+    BitfinexOrderbook orderbook =
+        new BitfinexOrderbook(
+            new BitfinexOrderbookLevel[] {
+              level("99", "1", "1"), level("101", "1", "-1"), level("102", "1", "-2")
+            });
+    orderbook.updateLevel(level("100", "1", "3"));
+
+    OrderBook orderBook = orderbook.toOrderBook(BTC_USD, 1);
+
+    assertThat(orderBook.getBids().size(), equalTo(1));
+    assertThat(orderBook.getBids().get(0).getLimitPrice(), equalTo(new BigDecimal("100")));
+    assertThat(orderBook.getAsks().size(), equalTo(1));
+    assertThat(orderBook.getAsks().get(0).getLimitPrice(), equalTo(new BigDecimal("101")));
+    assertThat(orderBook.getAsks().get(0).getOriginalAmount(), equalTo(ONE));
+  }
+
+  private static BitfinexOrderbookLevel level(String price, String count, String amount) {
+    return new BitfinexOrderbookLevel(
+        new BigDecimal(price), new BigDecimal(count), new BigDecimal(amount));
+  }
 }
@@ -6,9 +6,12 @@ import static org.knowm.xchange.dto.Order.OrderType.BID;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.bitrich.xchangestream.bitmex.dto.*;
+import info.bitrich.xchangestream.core.OrderBookSynchronizer;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 import java.io.IOException;
 import java.util.*;
 import org.knowm.xchange.bitmex.BitmexExchange;
@@ -30,21 +33,70 @@ public class BitmexStreamingMarketDataService implements StreamingMarketDataServ
 
   private final BitmexExchange bitmexExchange;
 
-  private final SortedMap<String, BitmexOrderbook> orderbooks = new TreeMap<>();
-
   public BitmexStreamingMarketDataService(
       BitmexStreamingService streamingService, BitmexExchange bitmexExchange) {
     this.streamingService = streamingService;
-    this.streamingService
-        .subscribeConnectionSuccess()
-        .subscribe(
-            o -> {
-              LOG.info("Bitmex connection succeeded. Clearing orderbooks.");
-              orderbooks.clear();
-            });
     this.bitmexExchange = bitmexExchange;
   }
 
+  /**
+   * Keeps the book of an L2 channel. Bitmex sends a partial on subscription, then the inserts,
+   * updates and deletes of levels; a book told to change a level it does not have missed some, and
+   * the channel is subscribed again for a new partial.
+   */
+  private final class OrderBookSubscription
+      extends OrderBookSynchronizer<
+          BitmexWebSocketTransaction, BitmexWebSocketTransaction, BitmexOrderbook> {
+
+    private final String channelName;
+
+    private OrderBookSubscription(String channelName) {
+      this.channelName = channelName;
+    }
+
+    @Override
+    protected Single<BitmexWebSocketTransaction> fetchSnapshot() {
+      return Completable.fromAction(
+              () -> {
+                LOG.info("Resubscribing {} for a new partial", channelName);
+                streamingService.sendMessage(streamingService.getUnsubscribeMessage(channelName));
+                streamingService.sendMessage(streamingService.getSubscribeMessage(channelName));
+              })
+          .andThen(Single.never());
+    }
+
+    @Override
+    protected BitmexWebSocketTransaction snapshotOf(BitmexWebSocketTransaction transaction) {
+      return "partial".equals(transaction.getAction()) ? transaction : null;
+    }
+
+    @Override
+    protected BitmexOrderbook createBook(BitmexWebSocketTransaction partial) {
+      return partial.toBitmexOrderbook();
+    }
+
+    @Override
+    protected long snapshotSequence(BitmexWebSocketTransaction partial) {
+      return NO_SEQUENCE;
+    }
+
+    @Override
+    protected long firstSequence(BitmexWebSocketTransaction transaction) {
+      return NO_SEQUENCE;
+    }
+
+    @Override
+    protected boolean applyDelta(BitmexOrderbook book, BitmexWebSocketTransaction transaction) {
+      book.updateLevels(transaction.toBitmexOrderbookLevels(), transaction.getAction());
+      return true;
+    }
+
+    @Override
+    protected boolean verify(BitmexOrderbook book, BitmexWebSocketTransaction transaction) {
+      return book.isConsistent();
+    }
+  }
+
   private String getBitmexSymbol(CurrencyPair currencyPair) {
     return currencyPair.base.toString() + currencyPair.counter.toString();
   }
@@ -99,28 +151,9 @@ public class BitmexStreamingMarketDataService implements StreamingMarketDataServ
                 return new OrderBook(new Date(), Collections.emptyList(), Collections.emptyList());
               });
     } else {
-      return streamingService
-          .subscribeBitmexChannel(channelName)
-          .map(
-              s -> {
-                BitmexOrderbook orderbook;
-                String action = s.getAction();
-                if ("partial".equals(action)) {
-                  orderbook = s.toBitmexOrderbook();
-                  orderbooks.put(instrument, orderbook);
-                } else {
-                  orderbook = orderbooks.get(instrument);
-                  // ignore updates until first "partial"
-                  if (orderbook == null) {
-                    return new OrderBook(
-                        new Date(), Collections.emptyList(), Collections.emptyList());
-                  }
-                  BitmexLimitOrder[] levels = s.toBitmexOrderbookLevels();
-                  orderbook.updateLevels(levels, action);
-                }
-
-                return orderbook.toOrderbook();
-              });
+      return new OrderBookSubscription(channelName)
+          .sync(streamingService.subscribeBitmexChannel(channelName))
+          .map(BitmexOrderbook::toOrderbook);
     }
   }
 
@@ -16,6 +16,8 @@ public class BitmexOrderbook {
   private Map<String, BigDecimal> askIds;
   private Map<String, BigDecimal> bidIds;
 
+  private boolean consistent = true;
+
   public BitmexOrderbook() {
     this.askIds = new HashMap<>();
     this.bidIds = new HashMap<>();
@@ -56,6 +58,11 @@ public class BitmexOrderbook {
       boolean shouldDelete = action.equals("delete");
       String id = level.getId();
       BigDecimal price = orderBookSideIds.get(id);
+      if (price == null) {
+        // a level the book does not have, changes were missed
+        consistent = false;
+        return;
+      }
       orderBookSide.remove(price);
       orderBookSideIds.remove(id);
       if (!shouldDelete) {
@@ -72,6 +79,14 @@ public class BitmexOrderbook {
     }
   }
 
+  /**
+   * @return false if an update or a delete referred to a level the book does not have, in which
+   *     case it missed changes and must be rebuilt from a new partial
+   */
+  public boolean isConsistent() {
+    return consistent;
+  }
+
   public BitmexLimitOrder[] getLevels(String side) {
     SortedMap<BigDecimal, BitmexLimitOrder> orderBookSide = side.equals(ASK_SIDE) ? asks : bids;
     return orderBookSide.values().toArray(new BitmexLimitOrder[orderBookSide.size()]);
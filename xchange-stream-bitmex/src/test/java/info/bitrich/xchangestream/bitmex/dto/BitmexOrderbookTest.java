@@ -0,0 +1,33 @@
+package info.bitrich.xchangestream.bitmex.dto;
+
+import static info.bitrich.xchangestream.bitmex.dto.BitmexLimitOrder.ASK_SIDE;
+import static info.bitrich.xchangestream.bitmex.dto.BitmexLimitOrder.BID_SIDE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import org.junit.Test;
+
+public class BitmexOrderbookTest {
+
+  @Test
+  public void testChangeOfUnknownLevelMakesBookInconsistent() {
+    BitmexOrderbook orderbook =
+        new BitmexOrderbook(
+            new BitmexLimitOrder[] {
+              new BitmexLimitOrder("XBTUSD", "1", BID_SIDE, new BigDecimal("100"), BigDecimal.ONE),
+              new BitmexLimitOrder("XBTUSD", "2", ASK_SIDE, new BigDecimal("101"), BigDecimal.ONE)
+            });
+
+    orderbook.updateLevel(
+        new BitmexLimitOrder("XBTUSD", "1", BID_SIDE, null, BigDecimal.TEN), "update");
+    assertTrue(orderbook.isConsistent());
+    assertEquals(0, BigDecimal.TEN.compareTo(orderbook.getBids()[0].getSize()));
+
+    orderbook.updateLevel(
+        new BitmexLimitOrder("XBTUSD", "3", ASK_SIDE, null, BigDecimal.TEN), "update");
+    assertFalse(orderbook.isConsistent());
+    assertEquals(1, orderbook.getAsks().length);
+  }
+}
@@ -6,6 +6,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import info.bitrich.xchangestream.cexio.dto.*;
 import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
 import io.reactivex.Completable;
 import io.reactivex.CompletableEmitter;
 import io.reactivex.CompletableOnSubscribe;
@@ -131,6 +133,19 @@ public class CexioStreamingRawService extends JsonNettyStreamingService {
     handleMessage(jsonNode);
   }
 
+  @Override
+  public void messageHandler(ByteBuf message) {
+    JsonNode jsonNode;
+    try {
+      jsonNode = readTree(message);
+    } catch (IOException e) {
+      LOG.error("Error parsing incoming message to JSON: {}", message.toString(CharsetUtil.UTF_8));
+      subjectOrder.onError(e);
+      return;
+    }
+    handleMessage(jsonNode);
+  }
+
   protected static class AuthCompletable implements CompletableOnSubscribe {
     private CompletableEmitter completableEmitter;
 
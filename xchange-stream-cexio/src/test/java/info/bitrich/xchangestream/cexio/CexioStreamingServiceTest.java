@@ -2,7 +2,10 @@ package info.bitrich.xchangestream.cexio;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
 import info.bitrich.xchangestream.cexio.dto.CexioWebSocketTransaction;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
 import io.reactivex.observers.TestObserver;
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -122,6 +125,34 @@ public class CexioStreamingServiceTest {
     test.assertError(IOException.class);
   }
 
+  @Test
+  public void testGetOrderExecution_bytes() throws Exception {
+    CexioStreamingRawService service = cexioStreamingExchange.getStreamingRawService();
+
+    TestObserver<Order> test = service.getOrderData().test();
+
+    service.messageHandler(
+        Unpooled.wrappedBuffer(
+            ByteStreams.toByteArray(
+                ClassLoader.getSystemClassLoader().getResourceAsStream("order-fill.json"))));
+
+    CexioOrder expected =
+        new CexioOrder(
+            CurrencyPair.BTC_USD, "5891752542", Order.OrderStatus.FILLED, BigDecimal.ZERO);
+    test.assertValue(expected);
+  }
+
+  @Test
+  public void testGetOrderExecution_invalidJsonBytes() throws Exception {
+    CexioStreamingRawService service = cexioStreamingExchange.getStreamingRawService();
+
+    TestObserver<Order> test = service.getOrderData().test();
+
+    service.messageHandler(Unpooled.copiedBuffer("wrong", CharsetUtil.UTF_8));
+
+    test.assertError(IOException.class);
+  }
+
   @Test
   public void testGetTransaction_orderPlace() throws Exception {
     ObjectMapper objectMapper = new ObjectMapper();
@@ -0,0 +1,283 @@
+package info.bitrich.xchangestream.coinbasepro;
+
+import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProWebSocketTransaction;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProProductBook;
+import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProProductBookEntry;
+import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProProductBookEntryLevel3;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+/**
+ * Order by order copy of a Coinbase Pro book, kept from the messages of the {@code full} channel on
+ * top of a level 3 REST snapshot. Keeping it in sequence is left to an {@link
+ * info.bitrich.xchangestream.core.OrderBookSynchronizer}.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class CoinbaseProLevel3OrderBook {
+
+  private static final String OPEN = "open";
+  private static final String DONE = "done";
+  private static final String MATCH = "match";
+  private static final String CHANGE = "change";
+
+  private final CurrencyPair currencyPair;
+  private final Map<String, BookOrder> orders = new HashMap<>();
+  private final NavigableMap<BigDecimal, PriceLevel> bids =
+      new TreeMap<>(Collections.reverseOrder());
+  private final NavigableMap<BigDecimal, PriceLevel> asks = new TreeMap<>();
+  private String time;
+
+  /**
+   * @param currencyPair the product of the book.
+   * @param snapshot the product's book, fetched with level 3.
+   */
+  public CoinbaseProLevel3OrderBook(CurrencyPair currencyPair, CoinbaseProProductBook snapshot) {
+    this.currencyPair = currencyPair;
+    loadEntries(OrderType.BID, snapshot.getBids());
+    loadEntries(OrderType.ASK, snapshot.getAsks());
+  }
+
+  public CurrencyPair getCurrencyPair() {
+    return currencyPair;
+  }
+
+  /** @return the number of orders on the book. */
+  public int getOrderCount() {
+    return orders.size();
+  }
+
+  private void loadEntries(OrderType type, CoinbaseProProductBookEntry[] entries) {
+    if (entries == null) {
+      return;
+    }
+    for (CoinbaseProProductBookEntry entry : entries) {
+      add(
+          ((CoinbaseProProductBookEntryLevel3) entry).getOrderId(),
+          type,
+          entry.getPrice(),
+          entry.getVolume());
+    }
+  }
+
+  /**
+   * Applies the next message of the {@code full} channel.
+   *
+   * @param transaction a message of this book's product.
+   * @return true if the book changed.
+   */
+  public boolean apply(CoinbaseProWebSocketTransaction transaction) {
+    boolean changed;
+    switch (transaction.getType()) {
+      case OPEN:
+        changed =
+            add(
+                transaction.getOrderId(),
+                side(transaction.getSide()),
+                transaction.getPrice(),
+                transaction.getRemainingSize());
+        break;
+      case DONE:
+        changed = remove(transaction.getOrderId()) != null;
+        break;
+      case MATCH:
+        changed = reduce(transaction.getMakerOrderId(), transaction.getSize());
+        break;
+      case CHANGE:
+        changed = change(transaction);
+        break;
+      default:
+        // received and activate messages concern orders not yet on the book
+        changed = false;
+    }
+    if (changed) {
+      time = transaction.getTime();
+    }
+    return changed;
+  }
+
+  private static OrderType side(String side) {
+    return "buy".equals(side) ? OrderType.BID : OrderType.ASK;
+  }
+
+  private boolean add(String orderId, OrderType type, BigDecimal price, BigDecimal size) {
+    remove(orderId);
+    NavigableMap<BigDecimal, PriceLevel> side = type == OrderType.BID ? bids : asks;
+    PriceLevel level = side.get(price);
+    if (level == null) {
+      level = new PriceLevel(type, price);
+      side.put(price, level);
+    }
+    BookOrder order = new BookOrder(orderId, level, size);
+    orders.put(orderId, order);
+    level.add(order);
+    return true;
+  }
+
+  private BookOrder remove(String orderId) {
+    BookOrder order = orders.remove(orderId);
+    if (order != null) {
+      order.level.remove(order);
+      if (order.level.orders.isEmpty()) {
+        (order.level.type == OrderType.BID ? bids : asks).remove(order.level.price);
+      }
+    }
+    return order;
+  }
+
+  private boolean reduce(String orderId, BigDecimal size) {
+    BookOrder order = orders.get(orderId);
+    if (order == null) {
+      return false;
+    }
+    BigDecimal remaining = order.size.subtract(size);
+    if (remaining.signum() <= 0) {
+      // the done message follows, but the order no longer rests on the book
+      remove(orderId);
+    } else {
+      order.level.resize(order, remaining);
+    }
+    return true;
+  }
+
+  private boolean change(CoinbaseProWebSocketTransaction transaction) {
+    BookOrder order = orders.get(transaction.getOrderId());
+    if (order == null || transaction.getNewSize() == null) {
+      // market orders change their funds, and are never on the book
+      return false;
+    }
+    BigDecimal newPrice = transaction.getNewPrice();
+    if (newPrice != null && newPrice.compareTo(order.level.price) != 0) {
+      // a modified price loses the order its place in the queue
+      return add(order.orderId, order.level.type, newPrice, transaction.getNewSize());
+    }
+    order.level.resize(order, transaction.getNewSize());
+    return true;
+  }
+
+  /**
+   * @param depth the maximum number of price levels per side.
+   * @return the volume of each price level, independent of later updates.
+   */
+  public OrderBook toOrderBook(int depth) {
+    Date timestamp = timestamp();
+    return new OrderBook(
+        timestamp,
+        toLevel2Orders(asks, depth, timestamp),
+        toLevel2Orders(bids, depth, timestamp),
+        false);
+  }
+
+  /**
+   * @param depth the maximum number of price levels per side.
+   * @return every order of the price levels in queue order, with their ids, independent of later
+   *     updates.
+   */
+  public OrderBook toLevel3OrderBook(int depth) {
+    Date timestamp = timestamp();
+    return new OrderBook(
+        timestamp,
+        toLevel3Orders(asks, depth, timestamp),
+        toLevel3Orders(bids, depth, timestamp),
+        false);
+  }
+
+  private Date timestamp() {
+    return time == null ? null : CoinbaseProStreamingAdapters.parseDate(time);
+  }
+
+  private List<LimitOrder> toLevel2Orders(
+      NavigableMap<BigDecimal, PriceLevel> side, int depth, Date timestamp) {
+    List<LimitOrder> levels = new ArrayList<>(Math.min(depth, side.size()));
+    Iterator<PriceLevel> iterator = side.values().iterator();
+    while (levels.size() < depth && iterator.hasNext()) {
+      PriceLevel level = iterator.next();
+      levels.add(
+          new LimitOrder(level.type, level.volume, currencyPair, "", timestamp, level.price));
+    }
+    return levels;
+  }
+
+  private List<LimitOrder> toLevel3Orders(
+      NavigableMap<BigDecimal, PriceLevel> side, int depth, Date timestamp) {
+    List<LimitOrder> limitOrders = new ArrayList<>();
+    Iterator<PriceLevel> iterator = side.values().iterator();
+    for (int i = 0; i < depth && iterator.hasNext(); i++) {
+      PriceLevel level = iterator.next();
+      for (BookOrder order : level.orders.values()) {
+        limitOrders.add(
+            new LimitOrder(
+                level.type, order.size, currencyPair, order.orderId, timestamp, level.price));
+      }
+    }
+    return limitOrders;
+  }
+
+  @Override
+  public String toString() {
+    return "CoinbaseProLevel3OrderBook{"
+        + "currencyPair="
+        + currencyPair
+        + ", orders="
+        + orders.size()
+        + ", bids="
+        + bids.size()
+        + ", asks="
+        + asks.size()
+        + '}';
+  }
+
+  private static final class PriceLevel {
+
+    private final OrderType type;
+    private final BigDecimal price;
+    private final LinkedHashMap<String, BookOrder> orders = new LinkedHashMap<>();
+    private BigDecimal volume = BigDecimal.ZERO;
+
+    private PriceLevel(OrderType type, BigDecimal price) {
+      this.type = type;
+      this.price = price;
+    }
+
+    private void add(BookOrder order) {
+      orders.put(order.orderId, order);
+      volume = volume.add(order.size);
+    }
+
+    private void remove(BookOrder order) {
+      orders.remove(order.orderId);
+      volume = volume.subtract(order.size);
+    }
+
+    private void resize(BookOrder order, BigDecimal size) {
+      volume = volume.add(size).subtract(order.size);
+      order.size = size;
+    }
+  }
+
+  private static final class BookOrder {
+
+    private final String orderId;
+    private final PriceLevel level;
+    private BigDecimal size;
+
+    private BookOrder(String orderId, PriceLevel level, BigDecimal size) {
+      this.orderId = orderId;
+      this.level = level;
+      this.size = size;
+    }
+  }
+}
@@ -46,7 +46,7 @@ public class CoinbaseProStreamingAdapters {
                 ));
       default:
         OrderType type = s.getSide().equals("buy") ? OrderType.BID : OrderType.ASK;
-        CurrencyPair currencyPair = new CurrencyPair(s.getProductId().replace('-', '/'));
+        CurrencyPair currencyPair = CurrencyPair.getInstance(s.getProductId());
         return new LimitOrder.Builder(type, currencyPair)
             .id(s.getOrderId())
             .orderStatus(adaptOrderStatus(s))
@@ -11,6 +11,7 @@ import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.coinbasepro.CoinbaseProExchange;
 import org.knowm.xchange.coinbasepro.dto.account.CoinbaseProWebsocketAuthData;
 import org.knowm.xchange.coinbasepro.service.CoinbaseProAccountServiceRaw;
+import org.knowm.xchange.coinbasepro.service.CoinbaseProMarketDataServiceRaw;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
 
 /** CoinbasePro Streaming Exchange. Connects to live WebSocket feed. */
@@ -50,7 +51,15 @@ public class CoinbaseProStreamingExchange extends CoinbaseProExchange implements
                     apiUri, () -> authData(exchangeSpec), subscribeToL3Orderbook);
     applyStreamingSpecification(exchangeSpecification, this.streamingService);
 
-    this.streamingMarketDataService = new CoinbaseProStreamingMarketDataService(streamingService);
+    this.streamingMarketDataService =
+        new CoinbaseProStreamingMarketDataService(
+            streamingService,
+            (CoinbaseProMarketDataServiceRaw) getMarketDataService(),
+            Boolean.TRUE.equals(
+                    exchangeSpecification.getExchangeSpecificParametersItem(
+                        StreamingExchange.FIXED_POINT_ORDER_BOOK))
+                ? currencyPair -> getExchangeMetaData().getCurrencyPairs().get(currencyPair)
+                : currencyPair -> null);
     this.streamingTradeService = new CoinbaseProStreamingTradeService(streamingService);
     streamingService.subscribeMultipleCurrencyPairs(args);
     return streamingService.connect();
@@ -4,21 +4,25 @@ import static org.knowm.xchange.coinbasepro.CoinbaseProAdapters.adaptTicker;
 import static org.knowm.xchange.coinbasepro.CoinbaseProAdapters.adaptTrades;
 
 import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProWebSocketTransaction;
+import info.bitrich.xchangestream.core.OrderBookSynchronizer;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import io.reactivex.Observable;
-import java.math.BigDecimal;
+import io.reactivex.Single;
+import io.reactivex.functions.Function;
 import java.util.List;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProProductBook;
 import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProProductTicker;
 import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProTrade;
+import org.knowm.xchange.coinbasepro.service.CoinbaseProMarketDataServiceRaw;
 import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.LiveOrderBook;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
 import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
 
 /** Created by luca on 4/3/17. */
 public class CoinbaseProStreamingMarketDataService implements StreamingMarketDataService {
@@ -27,16 +31,58 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
   private static final String L2UPDATE = "l2update";
   private static final String TICKER = "ticker";
   private static final String MATCH = "match";
+  private static final String[] FULL_CHANNEL_TYPES = {
+    "received", "open", "done", MATCH, "change", "activate"
+  };
+  private static final int LEVEL_3 = 3;
 
   private final CoinbaseProStreamingService service;
+  private final Function<CurrencyPair, CoinbaseProProductBook> level3Snapshots;
+  private final Function<CurrencyPair, CurrencyPairMetaData> metaData;
 
-  private final Map<CurrencyPair, SortedMap<BigDecimal, BigDecimal>> bids =
-      new ConcurrentHashMap<>();
-  private final Map<CurrencyPair, SortedMap<BigDecimal, BigDecimal>> asks =
+  /** One local book per product, shared by all subscribers of its order book. */
+  private final Map<CurrencyPair, Observable<LiveOrderBook>> books = new ConcurrentHashMap<>();
+
+  private final Map<CurrencyPair, Observable<CoinbaseProLevel3OrderBook>> level3Books =
       new ConcurrentHashMap<>();
 
   CoinbaseProStreamingMarketDataService(CoinbaseProStreamingService service) {
+    this(service, (Function<CurrencyPair, CoinbaseProProductBook>) null);
+  }
+
+  /**
+   * @param service the streaming service.
+   * @param marketDataService the REST service the snapshots of level 3 books are fetched from, may
+   *     be null if {@link #getLevel3OrderBook(CurrencyPair, Object...)} is not used.
+   * @param metaData the meta data of a product, the level 2 book of a product whose meta data has a
+   *     price and a volume scale is kept in fixed point.
+   */
+  CoinbaseProStreamingMarketDataService(
+      CoinbaseProStreamingService service,
+      CoinbaseProMarketDataServiceRaw marketDataService,
+      Function<CurrencyPair, CurrencyPairMetaData> metaData) {
+    this(
+        service,
+        marketDataService == null
+            ? null
+            : currencyPair ->
+                marketDataService.getCoinbaseProProductOrderBook(currencyPair, LEVEL_3),
+        metaData);
+  }
+
+  CoinbaseProStreamingMarketDataService(
+      CoinbaseProStreamingService service,
+      Function<CurrencyPair, CoinbaseProProductBook> level3Snapshots) {
+    this(service, level3Snapshots, currencyPair -> null);
+  }
+
+  private CoinbaseProStreamingMarketDataService(
+      CoinbaseProStreamingService service,
+      Function<CurrencyPair, CoinbaseProProductBook> level3Snapshots,
+      Function<CurrencyPair, CurrencyPairMetaData> metaData) {
     this.service = service;
+    this.level3Snapshots = level3Snapshots;
+    this.metaData = metaData;
   }
 
   private boolean containsPair(List<CurrencyPair> pairs, CurrencyPair pair) {
@@ -54,24 +100,106 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
     if (!containsPair(service.getProduct().getOrderBook(), currencyPair))
       throw new UnsupportedOperationException(
           String.format("The currency pair %s is not subscribed for orderbook", currencyPair));
-    final int maxDepth =
+    final int depth = depth(args);
+    if (service.isSubscribedToL3Orderbook()) {
+      return level3Book(currencyPair).map(book -> book.toOrderBook(depth));
+    }
+    return books
+        .computeIfAbsent(currencyPair, this::createBook)
+        .map(book -> book.toOrderBook(depth));
+  }
+
+  /**
+   * Returns the order book of a product order by order, which requires {@link
+   * info.bitrich.xchangestream.core.StreamingExchange#L3_ORDERBOOK} to be enabled. The book is
+   * built from the {@code full} channel on top of a REST snapshot, and fetches a new snapshot
+   * whenever a message was missed.
+   *
+   * @param currencyPair the currency pair.
+   * @param args optionally the maximum number of price levels per side, 100 by default and 0 for
+   *     all.
+   * @return an Observable of books whose orders carry their ids, in queue order within each level.
+   */
+  public Observable<OrderBook> getLevel3OrderBook(CurrencyPair currencyPair, Object... args) {
+    if (!containsPair(service.getProduct().getOrderBook(), currencyPair))
+      throw new UnsupportedOperationException(
+          String.format("The currency pair %s is not subscribed for orderbook", currencyPair));
+    if (!service.isSubscribedToL3Orderbook())
+      throw new UnsupportedOperationException("The level 3 orderbook is not subscribed");
+    final int depth = depth(args);
+    return level3Book(currencyPair).map(book -> book.toLevel3OrderBook(depth));
+  }
+
+  private static int depth(Object... args) {
+    int maxDepth =
         (args.length > 0 && args[0] instanceof Number) ? ((Number) args[0]).intValue() : 100;
-    return getRawWebSocketTransactions(currencyPair, false)
-        .filter(
-            message -> (SNAPSHOT).equals(message.getType()) || (L2UPDATE).equals(message.getType()))
-        .map(
-            s -> {
-              if (s.getType().equals(SNAPSHOT)) {
-                bids.put(currencyPair, new TreeMap<>(java.util.Collections.reverseOrder()));
-                asks.put(currencyPair, new TreeMap<>());
-              } else {
-                bids.computeIfAbsent(
-                    currencyPair, k -> new TreeMap<>(java.util.Collections.reverseOrder()));
-                asks.computeIfAbsent(currencyPair, k -> new TreeMap<>());
-              }
-              return s.toOrderBook(
-                  bids.get(currencyPair), asks.get(currencyPair), maxDepth, currencyPair);
-            });
+    return maxDepth == 0 ? Integer.MAX_VALUE : maxDepth;
+  }
+
+  private Observable<CoinbaseProLevel3OrderBook> level3Book(CurrencyPair currencyPair) {
+    if (level3Snapshots == null)
+      throw new UnsupportedOperationException("No service to fetch level 3 snapshots from");
+    return level3Books.computeIfAbsent(currencyPair, this::createLevel3Book);
+  }
+
+  private Observable<CoinbaseProLevel3OrderBook> createLevel3Book(CurrencyPair currencyPair) {
+    return new Level3Synchronizer(currencyPair)
+        .sync(service.getTransactions(currencyPair, FULL_CHANNEL_TYPES))
+        .share();
+  }
+
+  /** Keeps a level 3 book in the sequence of its product's messages. */
+  private final class Level3Synchronizer
+      extends OrderBookSynchronizer<
+          CoinbaseProProductBook, CoinbaseProWebSocketTransaction, CoinbaseProLevel3OrderBook> {
+
+    private final CurrencyPair currencyPair;
+
+    private Level3Synchronizer(CurrencyPair currencyPair) {
+      this.currencyPair = currencyPair;
+    }
+
+    @Override
+    protected Single<CoinbaseProProductBook> fetchSnapshot() {
+      return Single.fromCallable(() -> level3Snapshots.apply(currencyPair));
+    }
+
+    @Override
+    protected CoinbaseProLevel3OrderBook createBook(CoinbaseProProductBook snapshot) {
+      return new CoinbaseProLevel3OrderBook(currencyPair, snapshot);
+    }
+
+    @Override
+    protected long snapshotSequence(CoinbaseProProductBook snapshot) {
+      return snapshot.getSequence();
+    }
+
+    @Override
+    protected long firstSequence(CoinbaseProWebSocketTransaction transaction) {
+      return transaction.getSequence();
+    }
+
+    @Override
+    protected boolean applyDelta(
+        CoinbaseProLevel3OrderBook book, CoinbaseProWebSocketTransaction transaction) {
+      return book.apply(transaction);
+    }
+  }
+
+  private Observable<LiveOrderBook> createBook(CurrencyPair currencyPair) {
+    return Observable.defer(
+            () -> {
+              LiveOrderBook book =
+                  LiveOrderBook.forMetaData(currencyPair, metaData.apply(currencyPair));
+              return service
+                  .getTransactions(currencyPair, SNAPSHOT, L2UPDATE)
+                  .map(
+                      transaction -> {
+                        transaction.applyTo(book);
+                        return book;
+                      });
+            })
+        .share();
   }
 
   /**
@@ -86,8 +214,8 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
     if (!containsPair(service.getProduct().getTicker(), currencyPair))
       throw new UnsupportedOperationException(
           String.format("The currency pair %s is not subscribed for ticker", currencyPair));
-    return getRawWebSocketTransactions(currencyPair, true)
-        .filter(message -> (TICKER).equals(message.getType()))
+    return service
+        .getTransactions(currencyPair, TICKER)
         .map(CoinbaseProWebSocketTransaction::toCoinbaseProProductTicker);
   }
 
@@ -105,8 +233,8 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
     if (!containsPair(service.getProduct().getTicker(), currencyPair))
       throw new UnsupportedOperationException(
           String.format("The currency pair %s is not subscribed for ticker", currencyPair));
-    return getRawWebSocketTransactions(currencyPair, true)
-        .filter(message -> (TICKER).equals(message.getType()))
+    return service
+        .getTransactions(currencyPair, TICKER)
         .map(
             s ->
                 adaptTicker(
@@ -118,8 +246,8 @@ public class CoinbaseProStreamingMarketDataService implements StreamingMarketDat
     if (!containsPair(service.getProduct().getTrades(), currencyPair))
       throw new UnsupportedOperationException(
           String.format("The currency pair %s is not subscribed for trades", currencyPair));
-    return getRawWebSocketTransactions(currencyPair, true)
-        .filter(message -> (MATCH).equals(message.getType()))
+    return service
+        .getTransactions(currencyPair, MATCH)
         .filter((CoinbaseProWebSocketTransaction s) -> s.getUserId() == null)
         .map((CoinbaseProWebSocketTransaction s) -> s.toCoinbaseProTrade())
         .map((CoinbaseProTrade t) -> adaptTrades(new CoinbaseProTrade[] {t}, currencyPair))
@@ -2,21 +2,24 @@ package info.bitrich.xchangestream.coinbasepro;
 
 import static io.netty.util.internal.StringUtil.isNullOrEmpty;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProWebSocketSubscriptionMessage;
 import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProWebSocketTransaction;
 import info.bitrich.xchangestream.core.ProductSubscription;
 import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
-import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import info.bitrich.xchangestream.service.netty.WebSocketClientCompressionAllowClientNoContextHandler;
 import info.bitrich.xchangestream.service.netty.WebSocketClientHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
 import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
@@ -30,7 +33,29 @@ public class CoinbaseProStreamingService extends JsonNettyStreamingService {
   private static final String SUBSCRIBE = "subscribe";
   private static final String UNSUBSCRIBE = "unsubscribe";
   private static final String SHARE_CHANNEL_NAME = "ALL";
+  private static final char ROUTE_SEPARATOR = '/';
+  private static final String PRODUCT_ID = "product_id";
+  private static final String TYPE = "type";
+  private static final String ERROR = "error";
   private final Map<String, Observable<JsonNode>> subscriptions = new ConcurrentHashMap<>();
+  /** Subjects of the subscribed products, keyed by product id or product id and message type. */
+  private final Map<String, Subject<CoinbaseProWebSocketTransaction>> routes =
+      new ConcurrentHashMap<>();
+  /**
+   * Parses every message of the shared channel once, straight into a transaction, and hands it to
+   * the subjects of its product. Emits no items itself.
+   */
+  private final Observable<CoinbaseProWebSocketTransaction> router =
+      Observable.defer(
+              () ->
+                  this.<CoinbaseProWebSocketTransaction>subscribeChannel(
+                          SHARE_CHANNEL_NAME,
+                          objectMapper.constructType(CoinbaseProWebSocketTransaction.class))
+                      .doOnNext(this::route))
+          .ignoreElements()
+          .<CoinbaseProWebSocketTransaction>toObservable()
+          .share();
+
   private ProductSubscription product = null;
   private final Supplier<CoinbaseProWebsocketAuthData> authData;
   private final boolean subscribeL3Orderbook;
@@ -94,21 +119,78 @@ public class CoinbaseProStreamingService extends JsonNettyStreamingService {
    */
   public Observable<CoinbaseProWebSocketTransaction> getRawWebSocketTransactions(
       CurrencyPair currencyPair, boolean filterChannelName) {
-    String channelName = currencyPair.base.toString() + "-" + currencyPair.counter.toString();
-    final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
-    return subscribeChannel(channelName)
-        .map(s -> mapper.readValue(s.toString(), CoinbaseProWebSocketTransaction.class))
-        .filter(t -> channelName.equals(t.getProductId()))
-        .filter(t -> !isNullOrEmpty(t.getType()));
+    return getTransactions(currencyPair);
+  }
+
+  /**
+   * Subscribes to the web socket transactions of one product. Each message is parsed once, when it
+   * arrives, and handed only to the subscribers of its product and type.
+   *
+   * @param currencyPair The currency pair.
+   * @param types The message types to receive, all types if none are given.
+   * @return The stream.
+   */
+  public Observable<CoinbaseProWebSocketTransaction> getTransactions(
+      CurrencyPair currencyPair, String... types) {
+    String productId = currencyPair.base.toString() + "-" + currencyPair.counter.toString();
+    Observable<CoinbaseProWebSocketTransaction> routed;
+    if (types.length == 0) {
+      routed = route(productId);
+    } else if (types.length == 1) {
+      routed = route(productId + ROUTE_SEPARATOR + types[0]);
+    } else {
+      List<Observable<CoinbaseProWebSocketTransaction>> byType = new ArrayList<>(types.length);
+      for (String type : types) {
+        byType.add(route(productId + ROUTE_SEPARATOR + type));
+      }
+      routed = Observable.merge(byType);
+    }
+    // keeps the shared channel subscribed while the product is observed
+    return routed.mergeWith(router);
+  }
+
+  private Subject<CoinbaseProWebSocketTransaction> route(String key) {
+    return routes.computeIfAbsent(key, k -> PublishSubject.create());
+  }
+
+  private void route(CoinbaseProWebSocketTransaction transaction) {
+    String productId = transaction.getProductId();
+    String type = transaction.getType();
+    if (productId == null || isNullOrEmpty(type)) {
+      return;
+    }
+    Subject<CoinbaseProWebSocketTransaction> product = routes.get(productId);
+    if (product != null) {
+      product.onNext(transaction);
+    }
+    Subject<CoinbaseProWebSocketTransaction> productType =
+        routes.get(productId + ROUTE_SEPARATOR + type);
+    if (productType != null) {
+      productType.onNext(transaction);
+    }
+  }
+
+  /**
+   * Binds only the messages of a product to transactions. Other messages, such as the subscriptions
+   * confirmation or an error, carry no product id and are handled as a tree, on the channel of
+   * their type, so they never reach the shared channel.
+   */
+  @Override
+  protected String getChannelNameFromTokens(JsonParser parser) throws IOException {
+    return findTopLevelText(parser, PRODUCT_ID) == null ? null : SHARE_CHANNEL_NAME;
   }
 
   boolean isAuthenticated() {
     return authData.get() != null;
   }
 
+  boolean isSubscribedToL3Orderbook() {
+    return subscribeL3Orderbook;
+  }
+
   @Override
   protected String getChannelNameFromMessage(JsonNode message) {
-    return SHARE_CHANNEL_NAME;
+    return message.hasNonNull(PRODUCT_ID) ? SHARE_CHANNEL_NAME : message.path(TYPE).asText(null);
   }
 
   @Override
@@ -154,6 +236,9 @@ public class CoinbaseProStreamingService extends JsonNettyStreamingService {
     if (SHARE_CHANNEL_NAME.equals(channel)) {
       channels.forEach((k, v) -> v.getEmitter().onNext(message));
 
+    } else if (ERROR.equals(channel)) {
+      LOG.error("Error message received: {}", message);
+
     } else {
       super.handleChannelMessage(channel, message);
     }
@@ -47,8 +47,7 @@ public class CoinbaseProStreamingTradeService implements StreamingTradeService {
       throw new ExchangeSecurityException("Not authenticated");
     }
     return service
-        .getRawWebSocketTransactions(currencyPair, true)
-        .filter(message -> message.getType().equals(MATCH))
+        .getTransactions(currencyPair, MATCH)
         .filter((CoinbaseProWebSocketTransaction s) -> s.getUserId() != null)
         .map((CoinbaseProWebSocketTransaction s) -> s.toCoinbaseProFill())
         .map((CoinbaseProFill f) -> adaptTradeHistory(Collections.singletonList(f)))
@@ -77,7 +76,7 @@ public class CoinbaseProStreamingTradeService implements StreamingTradeService {
       orderChangesWarningLogged = true;
     }
     return service
-        .getRawWebSocketTransactions(currencyPair, true)
+        .getTransactions(currencyPair)
         .filter(s -> s.getUserId() != null)
         .map(CoinbaseProStreamingAdapters::adaptOrder);
   }
@@ -1,5 +1,6 @@
 package info.bitrich.xchangestream.coinbasepro.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import info.bitrich.xchangestream.coinbasepro.CoinbaseProStreamingAdapters;
 import java.math.BigDecimal;
@@ -18,6 +19,7 @@ import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProTrade;
 import org.knowm.xchange.coinbasepro.dto.trade.CoinbaseProFill;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.LiveOrderBook;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.trade.LimitOrder;
 
@@ -53,7 +55,74 @@ public class CoinbaseProWebSocketTransaction {
   private final String userId;
   private final String takerProfileId;
   private final String profileId;
+  private final BigDecimal newSize;
+  private final BigDecimal newPrice;
 
+  public CoinbaseProWebSocketTransaction(
+      String type,
+      String orderId,
+      String orderType,
+      BigDecimal size,
+      BigDecimal remainingSize,
+      BigDecimal price,
+      BigDecimal bestBid,
+      BigDecimal bestAsk,
+      BigDecimal lastSize,
+      BigDecimal volume24h,
+      BigDecimal open24h,
+      BigDecimal low24h,
+      BigDecimal high24h,
+      String side,
+      String[][] bids,
+      String[][] asks,
+      String[][] changes,
+      String clientOid,
+      String productId,
+      long sequence,
+      String time,
+      String reason,
+      long tradeId,
+      String makerOrderId,
+      String takerOrderId,
+      String takerUserId,
+      String userId,
+      String takerProfileId,
+      String profileId) {
+    this(
+        type,
+        orderId,
+        orderType,
+        size,
+        remainingSize,
+        price,
+        bestBid,
+        bestAsk,
+        lastSize,
+        volume24h,
+        open24h,
+        low24h,
+        high24h,
+        side,
+        bids,
+        asks,
+        changes,
+        clientOid,
+        productId,
+        sequence,
+        time,
+        reason,
+        tradeId,
+        makerOrderId,
+        takerOrderId,
+        takerUserId,
+        userId,
+        takerProfileId,
+        profileId,
+        null,
+        null);
+  }
+
+  @JsonCreator
   public CoinbaseProWebSocketTransaction(
       @JsonProperty("type") String type,
       @JsonProperty("order_id") String orderId,
@@ -83,7 +152,9 @@ public class CoinbaseProWebSocketTransaction {
       @JsonProperty("taker_user_id") String takerUserId,
       @JsonProperty("user_id") String userId,
       @JsonProperty("taker_profile_id") String takerProfileId,
-      @JsonProperty("profile_id") String profileId) {
+      @JsonProperty("profile_id") String profileId,
+      @JsonProperty("new_size") BigDecimal newSize,
+      @JsonProperty("new_price") BigDecimal newPrice) {
 
     this.remainingSize = remainingSize;
     this.reason = reason;
@@ -114,6 +185,8 @@ public class CoinbaseProWebSocketTransaction {
     this.userId = userId;
     this.takerProfileId = takerProfileId;
     this.profileId = profileId;
+    this.newSize = newSize;
+    this.newPrice = newPrice;
   }
 
   private List<LimitOrder> coinbaseProOrderBookChanges(
@@ -155,6 +228,11 @@ public class CoinbaseProWebSocketTransaction {
         .collect(Collectors.toList());
   }
 
+  /**
+   * @deprecated rebuilds the book up to maxDepth on every message, use {@link
+   *     #applyTo(LiveOrderBook)} and {@link LiveOrderBook#toOrderBook(int)} instead.
+   */
+  @Deprecated
   public OrderBook toOrderBook(
       SortedMap<BigDecimal, BigDecimal> bids,
       SortedMap<BigDecimal, BigDecimal> asks,
@@ -184,6 +262,51 @@ public class CoinbaseProWebSocketTransaction {
         false);
   }
 
+  /**
+   * Applies this {@code snapshot} or {@code l2update} message to a local copy of the book. A
+   * snapshot replaces the whole book, an update changes only the levels it lists. Prices and sizes
+   * are parsed straight to mantissas if the book is {@link LiveOrderBook#isFixedPoint() fixed
+   * point}.
+   *
+   * @param book the book of this message's product.
+   */
+  public void applyTo(LiveOrderBook book) {
+    Date timestamp = time == null ? null : CoinbaseProStreamingAdapters.parseDate(time);
+    if (changes != null) {
+      for (String[] change : changes) {
+        update(
+            book,
+            "buy".equals(change[0]) ? OrderType.BID : OrderType.ASK,
+            change[1],
+            change[2],
+            timestamp);
+      }
+      return;
+    }
+    book.clear();
+    applyLevels(book, OrderType.BID, bids, timestamp);
+    applyLevels(book, OrderType.ASK, asks, timestamp);
+  }
+
+  private static void applyLevels(
+      LiveOrderBook book, OrderType type, String[][] levels, Date timestamp) {
+    if (levels == null) {
+      return;
+    }
+    for (String[] level : levels) {
+      update(book, type, level[0], level[1], timestamp);
+    }
+  }
+
+  private static void update(
+      LiveOrderBook book, OrderType type, String price, String size, Date timestamp) {
+    if (book.isFixedPoint()) {
+      book.update(type, price, size, timestamp);
+    } else {
+      book.update(type, new BigDecimal(price), new BigDecimal(size), timestamp);
+    }
+  }
+
   public CoinbaseProProductTicker toCoinbaseProProductTicker() {
     String tickerTime = time;
     if (tickerTime == null) {
@@ -337,6 +460,14 @@ public class CoinbaseProWebSocketTransaction {
     return profileId;
   }
 
+  public BigDecimal getNewSize() {
+    return newSize;
+  }
+
+  public BigDecimal getNewPrice() {
+    return newPrice;
+  }
+
   @Override
   public String toString() {
     final StringBuffer sb = new StringBuffer("CoinbaseProWebSocketTransaction{");
@@ -0,0 +1,115 @@
+package info.bitrich.xchangestream.coinbasepro;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.knowm.xchange.currency.CurrencyPair.BTC_USD;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProWebSocketTransaction;
+import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProProductBook;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class CoinbaseProLevel3OrderBookTest {
+
+  static final String SNAPSHOT =
+      "{\"sequence\":10,"
+          + "\"bids\":[[\"99\",\"1\",\"b1\"],[\"99\",\"2\",\"b2\"],[\"98\",\"3\",\"b3\"]],"
+          + "\"asks\":[[\"101\",\"1\",\"a1\"]]}";
+
+  private final ObjectMapper objectMapper = StreamingObjectMapperHelper.getObjectMapper();
+  private CoinbaseProLevel3OrderBook book;
+
+  @Before
+  public void setUp() throws IOException {
+    book = new CoinbaseProLevel3OrderBook(BTC_USD, snapshot());
+  }
+
+  @Test
+  public void testSnapshotViews() throws IOException {
+    assertThat(book.apply(open(11, "a2", "sell", "100.5", "4"))).isTrue();
+
+    assertThat(book.getOrderCount()).isEqualTo(5);
+    OrderBook level2 = book.toOrderBook(10);
+    assertThat(level2.getBids()).hasSize(2);
+    assertThat(level2.getBids().get(0).getOriginalAmount()).isEqualByComparingTo("3");
+    assertThat(level2.getAsks().get(0).getLimitPrice()).isEqualByComparingTo("100.5");
+    assertThat(level2.getTimeStamp()).isNotNull();
+    assertThat(book.toLevel3OrderBook(1).getBids())
+        .extracting(LimitOrder::getId)
+        .containsExactly("b1", "b2");
+  }
+
+  @Test
+  public void testMatchChangeAndDone() throws IOException {
+    assertThat(book.apply(transaction(11, "received", "\"order_id\":\"x\",\"side\":\"sell\"")))
+        .isFalse();
+    assertThat(
+            book.apply(
+                transaction(
+                    12,
+                    "match",
+                    "\"maker_order_id\":\"b1\",\"taker_order_id\":\"x\",\"size\":\"0.25\","
+                        + "\"price\":\"99\",\"side\":\"buy\"")))
+        .isTrue();
+    assertThat(
+            book.apply(
+                transaction(
+                    13,
+                    "change",
+                    "\"order_id\":\"b2\",\"new_size\":\"1.5\",\"old_size\":\"2\","
+                        + "\"price\":\"99\",\"side\":\"buy\"")))
+        .isTrue();
+    assertThat(book.apply(transaction(14, "done", "\"order_id\":\"a1\",\"reason\":\"canceled\"")))
+        .isTrue();
+
+    OrderBook level3 = book.toLevel3OrderBook(1);
+    assertThat(level3.getAsks()).isEmpty();
+    assertThat(level3.getBids()).hasSize(2);
+    assertThat(level3.getBids().get(0).getId()).isEqualTo("b1");
+    assertThat(level3.getBids().get(0).getOriginalAmount()).isEqualByComparingTo("0.75");
+    assertThat(level3.getBids().get(1).getId()).isEqualTo("b2");
+    assertThat(level3.getBids().get(1).getOriginalAmount()).isEqualByComparingTo("1.5");
+    assertThat(book.toOrderBook(1).getBids().get(0).getOriginalAmount())
+        .isEqualByComparingTo("2.25");
+  }
+
+  @Test
+  public void testPriceChangeLosesQueuePosition() throws IOException {
+    book.apply(
+        transaction(
+            11,
+            "change",
+            "\"order_id\":\"b1\",\"new_size\":\"1\",\"new_price\":\"98\",\"side\":\"buy\""));
+
+    OrderBook level3 = book.toLevel3OrderBook(2);
+    assertThat(level3.getBids()).extracting(LimitOrder::getId).containsExactly("b2", "b3", "b1");
+  }
+
+  private CoinbaseProProductBook snapshot() throws IOException {
+    return objectMapper.readValue(SNAPSHOT, CoinbaseProProductBook.class);
+  }
+
+  private CoinbaseProWebSocketTransaction open(
+      long sequence, String orderId, String side, String price, String size) throws IOException {
+    return transaction(
+        sequence,
+        "open",
+        String.format(
+            "\"order_id\":\"%s\",\"side\":\"%s\",\"price\":\"%s\",\"remaining_size\":\"%s\"",
+            orderId, side, price, size));
+  }
+
+  private CoinbaseProWebSocketTransaction transaction(long sequence, String type, String fields)
+      throws IOException {
+    return objectMapper.readValue(
+        String.format(
+            "{\"type\":\"%s\",\"product_id\":\"BTC-USD\",\"sequence\":%d,"
+                + "\"time\":\"2021-01-01T00:00:00.000000Z\",%s}",
+            type, sequence, fields),
+        CoinbaseProWebSocketTransaction.class);
+  }
+}
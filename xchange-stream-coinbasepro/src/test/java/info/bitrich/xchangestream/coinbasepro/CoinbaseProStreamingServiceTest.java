@@ -0,0 +1,178 @@
+package info.bitrich.xchangestream.coinbasepro;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.knowm.xchange.currency.CurrencyPair.BTC_USD;
+import static org.knowm.xchange.currency.CurrencyPair.ETH_USD;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.coinbasepro.dto.CoinbaseProWebSocketTransaction;
+import info.bitrich.xchangestream.core.ProductSubscription;
+import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.coinbasepro.dto.marketdata.CoinbaseProProductBook;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class CoinbaseProStreamingServiceTest {
+
+  private final ObjectMapper objectMapper = StreamingObjectMapperHelper.getObjectMapper();
+  private final PublishSubject<JsonNode> channel = PublishSubject.create();
+  private CoinbaseProStreamingService service;
+
+  @Before
+  public void setUp() {
+    service =
+        new CoinbaseProStreamingService("wss://localhost", () -> null, false) {
+          @Override
+          public Observable<JsonNode> subscribeChannel(String channelName, Object... args) {
+            return channel;
+          }
+        };
+    service.subscribeMultipleCurrencyPairs(
+        ProductSubscription.create().addOrderbook(BTC_USD).addTrades(BTC_USD).build());
+  }
+
+  @Test
+  public void testTransactionsAreRoutedByProductAndType() throws IOException {
+    TestObserver<CoinbaseProWebSocketTransaction> btcMatches =
+        service.getTransactions(BTC_USD, "match").test();
+    TestObserver<CoinbaseProWebSocketTransaction> btc = service.getTransactions(BTC_USD).test();
+    TestObserver<CoinbaseProWebSocketTransaction> eth = service.getTransactions(ETH_USD).test();
+
+    receive("{\"type\":\"subscriptions\",\"channels\":[]}");
+    receive(
+        "{\"type\":\"match\",\"trade_id\":10,\"product_id\":\"BTC-USD\",\"price\":\"100.0\","
+            + "\"size\":\"0.5\",\"side\":\"buy\",\"time\":\"2021-01-01T00:00:00.000000Z\"}");
+    receive(
+        "{\"type\":\"ticker\",\"product_id\":\"BTC-USD\",\"price\":\"100.0\","
+            + "\"best_bid\":\"99.0\",\"best_ask\":\"101.0\"}");
+    receive("{\"type\":\"ticker\",\"product_id\":\"ETH-USD\",\"price\":\"10.0\"}");
+
+    btcMatches.assertValueCount(1);
+    assertThat(btcMatches.values().get(0).getTradeId()).isEqualTo(10);
+    btc.assertValueCount(2);
+    eth.assertValueCount(1);
+    assertThat(eth.values().get(0).getPrice()).isEqualByComparingTo("10.0");
+  }
+
+  @Test
+  public void testOnlyProductMessagesAreBoundOnTheSharedChannel() throws IOException {
+    String match = "{\"type\":\"match\",\"trade_id\":10,\"product_id\":\"BTC-USD\"}";
+    String subscriptions =
+        "{\"type\":\"subscriptions\",\"channels\":[{\"name\":\"matches\","
+            + "\"product_ids\":[\"BTC-USD\"]}]}";
+    String error = "{\"type\":\"error\",\"message\":\"Failed to subscribe\"}";
+
+    assertThat(channelNameFromTokens(match)).isEqualTo("ALL");
+    assertThat(channelNameFromTokens(subscriptions)).isNull();
+    assertThat(channelNameFromTokens(error)).isNull();
+    assertThat(service.getChannelNameFromMessage(objectMapper.readTree(match))).isEqualTo("ALL");
+    assertThat(service.getChannelNameFromMessage(objectMapper.readTree(subscriptions)))
+        .isEqualTo("subscriptions");
+    assertThat(service.getChannelNameFromMessage(objectMapper.readTree(error))).isEqualTo("error");
+  }
+
+  @Test
+  public void testOrderBookIsKeptPerProduct() throws IOException {
+    TestObserver<OrderBook> books =
+        new CoinbaseProStreamingMarketDataService(service).getOrderBook(BTC_USD, 2).test();
+
+    receive(
+        "{\"type\":\"snapshot\",\"product_id\":\"BTC-USD\","
+            + "\"bids\":[[\"99\",\"1\"],[\"98\",\"2\"],[\"97\",\"3\"]],"
+            + "\"asks\":[[\"101\",\"1\"],[\"102\",\"2\"]]}");
+    receive(
+        "{\"type\":\"l2update\",\"product_id\":\"BTC-USD\","
+            + "\"changes\":[[\"buy\",\"99\",\"0\"],[\"sell\",\"100.5\",\"4\"]],"
+            + "\"time\":\"2021-01-01T00:00:00.000000Z\"}");
+    receive(
+        "{\"type\":\"l2update\",\"product_id\":\"ETH-USD\","
+            + "\"changes\":[[\"buy\",\"99.5\",\"1\"]]}");
+
+    books.assertValueCount(2);
+    OrderBook snapshot = books.values().get(0);
+    assertThat(snapshot.getBids()).hasSize(2);
+    assertThat(snapshot.getBids().get(0).getLimitPrice()).isEqualByComparingTo("99");
+    OrderBook updated = books.values().get(1);
+    assertThat(updated.getBids()).hasSize(2);
+    assertThat(updated.getBids().get(0).getLimitPrice()).isEqualByComparingTo("98");
+    assertThat(updated.getAsks().get(0).getLimitPrice()).isEqualByComparingTo("100.5");
+    assertThat(updated.getAsks().get(0).getOriginalAmount()).isEqualByComparingTo("4");
+    assertThat(updated.getTimeStamp()).isNotNull();
+  }
+
+  @Test
+  public void testOrderBookIsKeptInFixedPointWithScales() throws IOException {
+    CurrencyPairMetaData metaData =
+        new CurrencyPairMetaData(null, null, null, null, null, 8, 2, null, null, null, null, true);
+    TestObserver<OrderBook> books =
+        new CoinbaseProStreamingMarketDataService(service, null, currencyPair -> metaData)
+            .getOrderBook(BTC_USD, 2)
+            .test();
+
+    receive(
+        "{\"type\":\"snapshot\",\"product_id\":\"BTC-USD\","
+            + "\"bids\":[[\"99.00\",\"1\"]],\"asks\":[[\"101\",\"0.5\"]]}");
+    receive(
+        "{\"type\":\"l2update\",\"product_id\":\"BTC-USD\","
+            + "\"changes\":[[\"sell\",\"100.5\",\"0.00000004\"]]}");
+
+    books.assertValueCount(2);
+    LimitOrder bestAsk = books.values().get(1).getAsks().get(0);
+    assertThat(bestAsk.getLimitPrice()).isEqualTo(new BigDecimal("100.50"));
+    assertThat(bestAsk.getOriginalAmount()).isEqualTo(new BigDecimal("0.00000004"));
+    assertThat(books.values().get(1).getBids().get(0).getLimitPrice())
+        .isEqualTo(new BigDecimal("99.00"));
+  }
+
+  @Test
+  public void testLevel3OrderBookLoadsSnapshot() throws IOException {
+    CoinbaseProStreamingService level3Service =
+        new CoinbaseProStreamingService("wss://localhost", () -> null, true) {
+          @Override
+          public Observable<JsonNode> subscribeChannel(String channelName, Object... args) {
+            return channel;
+          }
+        };
+    level3Service.subscribeMultipleCurrencyPairs(
+        ProductSubscription.create().addOrderbook(BTC_USD).build());
+    CoinbaseProProductBook snapshot =
+        objectMapper.readValue(
+            CoinbaseProLevel3OrderBookTest.SNAPSHOT, CoinbaseProProductBook.class);
+    TestObserver<OrderBook> books =
+        new CoinbaseProStreamingMarketDataService(level3Service, currencyPair -> snapshot)
+            .getLevel3OrderBook(BTC_USD)
+            .test();
+
+    receive(
+        "{\"type\":\"open\",\"product_id\":\"BTC-USD\",\"sequence\":11,"
+            + "\"order_id\":\"a2\",\"side\":\"sell\",\"price\":\"100.5\","
+            + "\"remaining_size\":\"4\"}");
+    books.awaitCount(1);
+
+    books.assertValueCount(1);
+    assertThat(books.values().get(0).getAsks())
+        .extracting(LimitOrder::getId)
+        .containsExactly("a2", "a1");
+    assertThat(books.values().get(0).getBids()).hasSize(3);
+  }
+
+  private String channelNameFromTokens(String message) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(message)) {
+      return service.getChannelNameFromTokens(parser);
+    }
+  }
+
+  private void receive(String message) throws IOException {
+    channel.onNext(objectMapper.readTree(message));
+  }
+}
@@ -0,0 +1,103 @@
+package info.bitrich.xchangestream.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of an {@link OrderBookSynchronizer}, over all books it has kept. Safe to read from any
+ * thread while the books are being kept.
+ */
+public final class OrderBookSyncMetrics {
+
+  private final AtomicLong snapshots = new AtomicLong();
+  private final AtomicLong snapshotFailures = new AtomicLong();
+  private final AtomicLong resyncs = new AtomicLong();
+  private final AtomicLong gaps = new AtomicLong();
+  private final AtomicLong checksumMismatches = new AtomicLong();
+  private final AtomicLong pendingOverflows = new AtomicLong();
+  private final AtomicLong outOfSyncNanos = new AtomicLong();
+
+  /** @return the number of snapshots loaded, including the first one of each book. */
+  public long getSnapshotCount() {
+    return snapshots.get();
+  }
+
+  /** @return the number of snapshot fetches which failed and were retried. */
+  public long getSnapshotFailureCount() {
+    return snapshotFailures.get();
+  }
+
+  /** @return the number of times a book in sync went out of sync. */
+  public long getResyncCount() {
+    return resyncs.get();
+  }
+
+  /** @return the number of deltas which did not follow on the sequence of the book. */
+  public long getGapCount() {
+    return gaps.get();
+  }
+
+  /** @return the number of deltas after which the book failed its checksum. */
+  public long getChecksumMismatchCount() {
+    return checksumMismatches.get();
+  }
+
+  /**
+   * @return the number of times the deltas buffered while waiting for a snapshot reached their
+   *     limit and were dropped.
+   */
+  public long getPendingOverflowCount() {
+    return pendingOverflows.get();
+  }
+
+  /**
+   * @return the time books spent waiting for a snapshot, from their subscription or from going out
+   *     of sync until a snapshot was loaded. Periods still ongoing are not included.
+   */
+  public Duration getOutOfSyncTime() {
+    return Duration.ofNanos(outOfSyncNanos.get());
+  }
+
+  void snapshotLoaded(long outOfSyncNanos) {
+    snapshots.incrementAndGet();
+    this.outOfSyncNanos.addAndGet(outOfSyncNanos);
+  }
+
+  void snapshotFailed() {
+    snapshotFailures.incrementAndGet();
+  }
+
+  void gap() {
+    gaps.incrementAndGet();
+    resyncs.incrementAndGet();
+  }
+
+  void checksumMismatch() {
+    checksumMismatches.incrementAndGet();
+    resyncs.incrementAndGet();
+  }
+
+  void pendingOverflow() {
+    pendingOverflows.incrementAndGet();
+  }
+
+  @Override
+  public String toString() {
+    return "OrderBookSyncMetrics{"
+        + "snapshots="
+        + snapshots
+        + ", snapshotFailures="
+        + snapshotFailures
+        + ", resyncs="
+        + resyncs
+        + ", gaps="
+        + gaps
+        + ", checksumMismatches="
+        + checksumMismatches
+        + ", pendingOverflows="
+        + pendingOverflows
+        + ", outOfSyncTime="
+        + getOutOfSyncTime()
+        + '}';
+  }
+}
@@ -0,0 +1,284 @@
+package info.bitrich.xchangestream.core;
+
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.disposables.SerialDisposable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a local book in sync with an exchange from a stream of deltas and snapshots fetched on
+ * demand, following the procedure most exchanges document:
+ *
+ * <ol>
+ *   <li>Deltas are buffered while a snapshot is fetched.
+ *   <li>Buffered deltas the snapshot already contains are dropped, the others applied to it.
+ *   <li>Every further delta must follow on the sequence of the book. A delta which skips part of
+ *       the sequence, or after which the book fails its checksum, discards the book. Deltas are
+ *       buffered again and a new snapshot is fetched, while the stream stays subscribed.
+ * </ol>
+ *
+ * <p>At most a given number of deltas are buffered while waiting for a snapshot. When snapshots
+ * keep failing and the buffer is full, it is cleared and the snapshot requested again, as the book
+ * then cannot be rebuilt from the buffered deltas anyway.
+ *
+ * <p>Exchanges which send snapshots on the stream of deltas, in reply to a subscription, return
+ * them from {@link #snapshotOf(Object)}. Their {@link #fetchSnapshot()} only asks for a new one,
+ * for instance by subscribing again, and returns a {@link Single} which never emits.
+ *
+ * <p>Subclasses describe the exchange's protocol. Deltas carry a range of sequence numbers, from
+ * {@link #firstSequence(Object)} to {@link #lastSequence(Object)}, which is a single number on most
+ * exchanges. Protocols without sequence numbers return {@link #NO_SEQUENCE} and rely on {@link
+ * #verify(Object, Object)} alone; deltas buffered while their snapshot is fetched are dropped, as
+ * there is no telling which of them it contains.
+ *
+ * <p>The book is only ever accessed from the thread which emits it, one delta or snapshot at a
+ * time, so it need not be thread-safe. It must not be read outside of the emitting thread.
+ *
+ * @param <S> the type of the snapshots
+ * @param <D> the type of the deltas
+ * @param <B> the type of the book
+ */
+public abstract class OrderBookSynchronizer<S, D, B> {
+
+  /** The sequence of snapshots and deltas of protocols without sequence numbers. */
+  public static final long NO_SEQUENCE = -1;
+
+  /** The number of deltas buffered at most while waiting for a snapshot, by default. */
+  public static final int DEFAULT_MAX_PENDING_DELTAS = 10_000;
+
+  private static final Logger LOG = LoggerFactory.getLogger(OrderBookSynchronizer.class);
+
+  private final Scheduler snapshotScheduler;
+  private final Duration retryDelay;
+  private final int maxPendingDeltas;
+  private final OrderBookSyncMetrics metrics = new OrderBookSyncMetrics();
+
+  /** Fetches snapshots on the IO scheduler, and retries failed fetches after a second. */
+  protected OrderBookSynchronizer() {
+    this(Schedulers.io(), Duration.ofSeconds(1));
+  }
+
+  /**
+   * @param snapshotScheduler the scheduler snapshots are fetched on
+   * @param retryDelay how long to wait before fetching a snapshot again after a failure
+   */
+  protected OrderBookSynchronizer(Scheduler snapshotScheduler, Duration retryDelay) {
+    this(snapshotScheduler, retryDelay, DEFAULT_MAX_PENDING_DELTAS);
+  }
+
+  /**
+   * @param snapshotScheduler the scheduler snapshots are fetched on
+   * @param retryDelay how long to wait before fetching a snapshot again after a failure
+   * @param maxPendingDeltas the number of deltas buffered at most while waiting for a snapshot
+   */
+  protected OrderBookSynchronizer(
+      Scheduler snapshotScheduler, Duration retryDelay, int maxPendingDeltas) {
+    this.snapshotScheduler = snapshotScheduler;
+    this.retryDelay = retryDelay;
+    this.maxPendingDeltas = maxPendingDeltas;
+  }
+
+  /**
+   * Fetches a snapshot of the book. Called on the thread of the delta which found the book out of
+   * sync, and subscribed to on the snapshot scheduler.
+   */
+  protected abstract Single<S> fetchSnapshot();
+
+  /**
+   * Returns the snapshot a message of the stream carries, for exchanges which send snapshots on the
+   * stream of deltas.
+   *
+   * @return the snapshot, or null if the message is a delta
+   */
+  protected S snapshotOf(D message) {
+    return null;
+  }
+
+  /** Creates a book holding the contents of a snapshot. */
+  protected abstract B createBook(S snapshot);
+
+  /** @return the sequence number of the last change the snapshot contains. */
+  protected abstract long snapshotSequence(S snapshot);
+
+  /** @return the sequence number of the first change the delta contains. */
+  protected abstract long firstSequence(D delta);
+
+  /** @return the sequence number of the last change the delta contains. */
+  protected long lastSequence(D delta) {
+    return firstSequence(delta);
+  }
+
+  /**
+   * Applies a delta which follows on the sequence of the book.
+   *
+   * @return true if the book changed and should be emitted
+   */
+  protected abstract boolean applyDelta(B book, D delta);
+
+  /**
+   * Checks the book after a delta was applied, for instance against a checksum the delta carries.
+   *
+   * @return false to discard the book and fetch a new snapshot
+   */
+  protected boolean verify(B book, D delta) {
+    return true;
+  }
+
+  public OrderBookSyncMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Keeps a book from the given deltas. Each subscription keeps its own book and fetches its own
+   * snapshots, so the result is usually shared.
+   *
+   * @param deltas the deltas of a single book
+   * @return the book, each time a snapshot was loaded or a delta changed it
+   */
+  @SuppressWarnings("unchecked")
+  public Observable<B> sync(Observable<D> deltas) {
+    return Observable.defer(
+        () -> {
+          Session session = new Session();
+          return Observable.<Object>merge(deltas, session.snapshots)
+              .concatMapMaybe(
+                  event -> {
+                    if (event instanceof Snapshot) {
+                      return session.onSnapshot(((Snapshot<S>) event).snapshot);
+                    }
+                    S snapshot = snapshotOf((D) event);
+                    return snapshot != null
+                        ? session.onSnapshot(snapshot)
+                        : session.onDelta((D) event);
+                  })
+              .doFinally(session.request::dispose);
+        });
+  }
+
+  /** Wraps snapshots so that they cannot be taken for deltas where both are merged. */
+  private static final class Snapshot<S> {
+
+    private final S snapshot;
+
+    private Snapshot(S snapshot) {
+      this.snapshot = snapshot;
+    }
+  }
+
+  /** The state of one book, only accessed serially. */
+  private final class Session {
+
+    private final Subject<Object> snapshots = PublishSubject.create().toSerialized();
+    private final SerialDisposable request = new SerialDisposable();
+    private final Queue<D> pending = new ArrayDeque<>();
+    private B book;
+    private long sequence = NO_SEQUENCE;
+    private boolean synced;
+    private boolean snapshotRequested;
+    private long outOfSyncSince = System.nanoTime();
+
+    private Maybe<B> onDelta(D delta) {
+      if (!synced) {
+        if (pending.size() >= maxPendingDeltas) {
+          LOG.warn(
+              "Buffered {} changes without a snapshot, dropping them and fetching a new snapshot",
+              pending.size());
+          metrics.pendingOverflow();
+          pending.clear();
+          snapshotRequested = false;
+        }
+        pending.add(delta);
+        requestSnapshot();
+        return Maybe.empty();
+      }
+      return applyInSequence(delta) ? Maybe.just(book) : Maybe.empty();
+    }
+
+    private Maybe<B> onSnapshot(S snapshot) {
+      book = createBook(snapshot);
+      sequence = snapshotSequence(snapshot);
+      synced = true;
+      snapshotRequested = false;
+      metrics.snapshotLoaded(System.nanoTime() - outOfSyncSince);
+      if (sequence == NO_SEQUENCE) {
+        pending.clear();
+      }
+      D delta;
+      while (synced && (delta = pending.poll()) != null) {
+        applyInSequence(delta);
+      }
+      return synced ? Maybe.just(book) : Maybe.empty();
+    }
+
+    private boolean applyInSequence(D delta) {
+      long first = firstSequence(delta);
+      long last = lastSequence(delta);
+      if (sequence != NO_SEQUENCE && last != NO_SEQUENCE) {
+        if (last <= sequence) {
+          // contained in the snapshot, or received twice
+          return false;
+        }
+        if (first > sequence + 1) {
+          LOG.info(
+              "Missed changes {} to {} of the order book, fetching a new snapshot",
+              sequence + 1,
+              first - 1);
+          metrics.gap();
+          outOfSync();
+          pending.add(delta);
+          requestSnapshot();
+          return false;
+        }
+      }
+      boolean changed = applyDelta(book, delta);
+      if (last != NO_SEQUENCE) {
+        sequence = last;
+      }
+      if (!verify(book, delta)) {
+        LOG.info("Order book failed its checksum after change {}, fetching a new snapshot", last);
+        metrics.checksumMismatch();
+        outOfSync();
+        requestSnapshot();
+        return false;
+      }
+      return changed;
+    }
+
+    private void outOfSync() {
+      synced = false;
+      book = null;
+      pending.clear();
+      outOfSyncSince = System.nanoTime();
+    }
+
+    private void requestSnapshot() {
+      if (snapshotRequested) {
+        return;
+      }
+      snapshotRequested = true;
+      request.set(
+          Single.defer(OrderBookSynchronizer.this::fetchSnapshot)
+              .subscribeOn(snapshotScheduler)
+              .retryWhen(
+                  errors ->
+                      errors
+                          .doOnNext(
+                              e -> {
+                                LOG.warn("Failed to fetch an order book snapshot, retrying", e);
+                                metrics.snapshotFailed();
+                              })
+                          .delay(retryDelay.toNanos(), TimeUnit.NANOSECONDS, snapshotScheduler))
+              .subscribe(snapshot -> snapshots.onNext(new Snapshot<>(snapshot))));
+    }
+  }
+}
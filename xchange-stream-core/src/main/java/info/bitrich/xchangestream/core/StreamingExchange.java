@@ -3,9 +3,13 @@ package info.bitrich.xchangestream.core;
 import info.bitrich.xchangestream.service.ConnectableService;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
 import info.bitrich.xchangestream.service.netty.NettyStreamingService;
+import info.bitrich.xchangestream.service.netty.NettyTransport;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoopGroup;
 import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import java.util.concurrent.ThreadFactory;
 import org.knowm.xchange.Exchange;
 import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
@@ -18,6 +22,19 @@ public interface StreamingExchange extends Exchange {
   String SOCKS_PROXY_PORT = "SOCKS_Proxy_Port";
   String AUTO_RECONNECT = "Auto_Reconnect";
   String L3_ORDERBOOK = "L3_Orderbook";
+  /** {@link EventLoopGroup} shared by the connections of one or more exchanges */
+  String EVENT_LOOP_GROUP = "Event_Loop_Group";
+  /** {@link ThreadFactory} for the event loop threads, when no shared group is given */
+  String EVENT_LOOP_THREAD_FACTORY = "Event_Loop_Thread_Factory";
+  /** {@link NettyTransport} or its name, when no shared group is given. Defaults to NIO */
+  String NETTY_TRANSPORT = "Netty_Transport";
+  /** {@link Scheduler} on which incoming messages are decoded and dispatched, off the event loop */
+  String MESSAGE_SCHEDULER = "Message_Scheduler";
+  /**
+   * {@link Boolean}, keeps local order books in fixed point at the scales of the exchange meta
+   * data, where the exchange supports it
+   */
+  String FIXED_POINT_ORDER_BOOK = "Fixed_Point_Order_Book";
 
   /**
    * Connects to the WebSocket API of the exchange.
@@ -147,5 +164,21 @@ public interface StreamingExchange extends Exchange {
     Boolean autoReconnect =
         (Boolean) exchangeSpec.getExchangeSpecificParametersItem(AUTO_RECONNECT);
     if (autoReconnect != null) streamingService.setAutoReconnect(autoReconnect);
+
+    EventLoopGroup eventLoopGroup =
+        (EventLoopGroup) exchangeSpec.getExchangeSpecificParametersItem(EVENT_LOOP_GROUP);
+    if (eventLoopGroup != null) streamingService.setEventLoopGroup(eventLoopGroup);
+    ThreadFactory threadFactory =
+        (ThreadFactory) exchangeSpec.getExchangeSpecificParametersItem(EVENT_LOOP_THREAD_FACTORY);
+    if (threadFactory != null) streamingService.setEventLoopThreadFactory(threadFactory);
+    Object transport = exchangeSpec.getExchangeSpecificParametersItem(NETTY_TRANSPORT);
+    if (transport instanceof NettyTransport) {
+      streamingService.setTransport((NettyTransport) transport);
+    } else if (transport != null) {
+      streamingService.setTransport(NettyTransport.valueOf(transport.toString().toUpperCase()));
+    }
+    Scheduler messageScheduler =
+        (Scheduler) exchangeSpec.getExchangeSpecificParametersItem(MESSAGE_SCHEDULER);
+    if (messageScheduler != null) streamingService.setMessageScheduler(messageScheduler);
   }
 }
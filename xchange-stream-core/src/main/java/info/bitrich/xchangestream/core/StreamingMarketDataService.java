@@ -1,6 +1,9 @@
 package info.bitrich.xchangestream.core;
 
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
@@ -21,6 +24,28 @@ public interface StreamingMarketDataService {
    */
   Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args);
 
+  /**
+   * Get the order book of {@link #getOrderBook(CurrencyPair, Object...)}, conflated for consumers
+   * which only need the latest state. Updates arriving while the consumer is busy replace each
+   * other and only the newest one is delivered once the consumer is ready.
+   *
+   * <p>Every update is copied to an unmodifiable {@link OrderBook#snapshot() snapshot} on the
+   * thread emitting it, before it is handed to the scheduler, as the exchange keeps updating its
+   * own book on that thread. The delivered order book is therefore safe to read on the scheduler
+   * thread.
+   *
+   * @param currencyPair Currency pair of the order book
+   * @param scheduler Scheduler on which the consumer is called
+   * @return {@link Flowable} that emits the latest {@link OrderBook} when the consumer is ready.
+   */
+  default Flowable<OrderBook> getConflatedOrderBook(
+      CurrencyPair currencyPair, Scheduler scheduler, Object... args) {
+    return getOrderBook(currencyPair, args)
+        .map(OrderBook::snapshot)
+        .toFlowable(BackpressureStrategy.LATEST)
+        .observeOn(scheduler, false, 1);
+  }
+
   /**
    * Get a ticker representing the current exchange rate. Emits {@link
    * info.bitrich.xchangestream.service.exception.NotConnectedException} When not connected to the
@@ -34,6 +59,22 @@ public interface StreamingMarketDataService {
    */
   Observable<Ticker> getTicker(CurrencyPair currencyPair, Object... args);
 
+  /**
+   * Get the ticker of {@link #getTicker(CurrencyPair, Object...)}, conflated for consumers which
+   * only need the latest state. Tickers arriving while the consumer is busy replace each other and
+   * only the newest one is delivered once the consumer is ready.
+   *
+   * @param currencyPair Currency pair of the ticker
+   * @param scheduler Scheduler on which the consumer is called
+   * @return {@link Flowable} that emits the latest {@link Ticker} when the consumer is ready.
+   */
+  default Flowable<Ticker> getConflatedTicker(
+      CurrencyPair currencyPair, Scheduler scheduler, Object... args) {
+    return getTicker(currencyPair, args)
+        .toFlowable(BackpressureStrategy.LATEST)
+        .observeOn(scheduler, false, 1);
+  }
+
   /**
    * Get the trades performed by the exchange. Emits {@link
    * info.bitrich.xchangestream.service.exception.NotConnectedException} When not connected to the
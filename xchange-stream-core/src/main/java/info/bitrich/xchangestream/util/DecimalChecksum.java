@@ -0,0 +1,276 @@
+package info.bitrich.xchangestream.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * Computes order book checksums, such as the CRC32 of Kraken, FTX and Bitfinex, by feeding the
+ * decimal representation of prices and volumes straight into a {@link Checksum}, without building
+ * strings. Digits come from the unscaled value of each number, and are written to the checksum in
+ * batches through a reusable buffer.
+ *
+ * <p>Each exchange prints its numbers differently, so there is one method per representation.
+ * Instances are not thread-safe and meant to be reused, one per book or per thread:
+ *
+ * <pre>{@code
+ * checksum.reset();
+ * for (LimitOrder ask : asks) {
+ *   checksum.appendUnscaled(ask.getLimitPrice()).appendUnscaled(ask.getOriginalAmount());
+ * }
+ * long crc = checksum.getValue();
+ * }</pre>
+ */
+public final class DecimalChecksum {
+
+  private static final BigDecimal JS_EXPONENT_MIN = new BigDecimal("1e-6");
+  private static final BigDecimal JS_EXPONENT_MAX = new BigDecimal("1e21");
+  private static final int MAX_LONG_DIGITS = 18;
+
+  private final Checksum checksum;
+  private final byte[] buffer = new byte[256];
+  private final byte[] digits = new byte[MAX_LONG_DIGITS + 1];
+  private int position;
+
+  /** A CRC32 checksum. */
+  public DecimalChecksum() {
+    this(new CRC32());
+  }
+
+  public DecimalChecksum(Checksum checksum) {
+    this.checksum = checksum;
+  }
+
+  /** Starts a new checksum. */
+  public DecimalChecksum reset() {
+    position = 0;
+    checksum.reset();
+    return this;
+  }
+
+  /** @return the checksum of everything appended since the last reset. */
+  public long getValue() {
+    flush();
+    return checksum.getValue();
+  }
+
+  /** @return the checksum as a signed 32 bit integer, as some exchanges send a CRC32. */
+  public int getIntValue() {
+    return (int) getValue();
+  }
+
+  /** Appends a character, which must be ASCII. */
+  public DecimalChecksum append(char c) {
+    put((byte) c);
+    return this;
+  }
+
+  /** Appends characters, which must be ASCII. */
+  public DecimalChecksum append(CharSequence chars) {
+    for (int i = 0; i < chars.length(); i++) {
+      put((byte) chars.charAt(i));
+    }
+    return this;
+  }
+
+  /**
+   * Appends the digits of the plain representation of a number without its sign, decimal point and
+   * leading zeros, as Kraken does: {@code 0.05000} is {@code 5000}. Zero appends nothing.
+   */
+  public DecimalChecksum appendUnscaled(BigDecimal value) {
+    if (value.signum() == 0) {
+      return this;
+    }
+    if (value.precision() > MAX_LONG_DIGITS) {
+      return appendUnscaledSlow(value);
+    }
+    int length = digits(Math.abs(unscaledLong(value)));
+    putDigits(0, length);
+    putZeros(-value.scale());
+    return this;
+  }
+
+  private DecimalChecksum appendUnscaledSlow(BigDecimal value) {
+    append(value.unscaledValue().abs().toString());
+    putZeros(-value.scale());
+    return this;
+  }
+
+  /**
+   * Appends the plain representation of a number with trailing fraction zeros removed, as {@link
+   * java.text.DecimalFormat} prints it with a pattern such as {@code 0.0###}.
+   *
+   * @param value the number
+   * @param minFractionDigits the number of fraction digits kept even if zero
+   * @param maxFractionDigits the number of fraction digits the number is rounded to, half even
+   */
+  public DecimalChecksum appendPlain(
+      BigDecimal value, int minFractionDigits, int maxFractionDigits) {
+    if (value.scale() > maxFractionDigits) {
+      value = value.setScale(maxFractionDigits, RoundingMode.HALF_EVEN);
+    }
+    if (value.precision() > MAX_LONG_DIGITS) {
+      return appendPlainSlow(value, minFractionDigits);
+    }
+    long unscaled = unscaledLong(value);
+    int scale = value.scale();
+    while (scale > minFractionDigits && unscaled % 10 == 0) {
+      unscaled /= 10;
+      scale--;
+    }
+    if (unscaled < 0) {
+      put((byte) '-');
+    }
+    putPlain(Math.abs(unscaled), scale, minFractionDigits);
+    return this;
+  }
+
+  private DecimalChecksum appendPlainSlow(BigDecimal value, int minFractionDigits) {
+    BigDecimal stripped = value.stripTrailingZeros();
+    if (stripped.scale() < minFractionDigits) {
+      stripped = stripped.setScale(minFractionDigits);
+    }
+    return append(stripped.toPlainString());
+  }
+
+  /**
+   * Appends a number as JavaScript's {@code Number.prototype.toString()} prints it, as Bitfinex
+   * does: plain between 1e-6 and 1e21, otherwise in exponent notation such as {@code 1e-8} or
+   * {@code 1.5e+21}.
+   */
+  public DecimalChecksum appendJs(BigDecimal value) {
+    if (value.signum() == 0) {
+      put((byte) '0');
+      return this;
+    }
+    BigDecimal abs = value.abs();
+    boolean plain = abs.compareTo(JS_EXPONENT_MIN) >= 0 && abs.compareTo(JS_EXPONENT_MAX) < 0;
+    if (value.precision() > MAX_LONG_DIGITS) {
+      return appendJsSlow(value, plain);
+    }
+    long unscaled = unscaledLong(value);
+    int scale = value.scale();
+    if (value.signum() < 0) {
+      put((byte) '-');
+    }
+    unscaled = Math.abs(unscaled);
+    if (plain) {
+      while (scale > 0 && unscaled % 10 == 0) {
+        unscaled /= 10;
+        scale--;
+      }
+      putPlain(unscaled, scale, 0);
+      return this;
+    }
+    while (unscaled % 10 == 0) {
+      unscaled /= 10;
+      scale--;
+    }
+    int length = digits(unscaled);
+    int exponent = length - scale - 1;
+    putDigits(0, 1);
+    if (length > 1) {
+      put((byte) '.');
+      putDigits(1, length);
+    }
+    put((byte) 'e');
+    put((byte) (exponent < 0 ? '-' : '+'));
+    putDigits(0, digits(Math.abs(exponent)));
+    return this;
+  }
+
+  private DecimalChecksum appendJsSlow(BigDecimal value, boolean plain) {
+    BigDecimal stripped = value.stripTrailingZeros();
+    if (plain) {
+      return append(stripped.toPlainString());
+    }
+    String unscaled = stripped.unscaledValue().abs().toString();
+    int exponent = unscaled.length() - stripped.scale() - 1;
+    if (stripped.signum() < 0) {
+      put((byte) '-');
+    }
+    put((byte) unscaled.charAt(0));
+    if (unscaled.length() > 1) {
+      put((byte) '.');
+      append(unscaled.substring(1));
+    }
+    return append(exponent < 0 ? "e-" : "e+").append(Integer.toString(Math.abs(exponent)));
+  }
+
+  /**
+   * Returns the unscaled value of a number of at most {@link #MAX_LONG_DIGITS} digits. Unlike
+   * {@link BigDecimal#unscaledValue()}, this does not allocate a {@link java.math.BigInteger} when
+   * the number is held as a long, which is the case for such numbers.
+   */
+  private static long unscaledLong(BigDecimal value) {
+    return value.scaleByPowerOfTen(value.scale()).longValueExact();
+  }
+
+  /** Writes a non-negative number as plain digits, padding the fraction to a minimum length. */
+  private void putPlain(long unscaled, int scale, int minFractionDigits) {
+    int length = digits(unscaled);
+    if (scale <= 0) {
+      putDigits(0, length);
+      putZeros(-scale);
+    } else if (length > scale) {
+      putDigits(0, length - scale);
+      put((byte) '.');
+      putDigits(length - scale, length);
+    } else {
+      put((byte) '0');
+      put((byte) '.');
+      putZeros(scale - length);
+      putDigits(0, length);
+    }
+    int fractionDigits = Math.max(scale, 0);
+    if (fractionDigits < minFractionDigits) {
+      if (fractionDigits == 0) {
+        put((byte) '.');
+      }
+      putZeros(minFractionDigits - fractionDigits);
+    }
+  }
+
+  /** Writes the digits of a non-negative number to the digit buffer, returning their count. */
+  private int digits(long value) {
+    int length = 0;
+    do {
+      digits[length++] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    // reverse, so that the most significant digit comes first
+    for (int i = 0, j = length - 1; i < j; i++, j--) {
+      byte digit = digits[i];
+      digits[i] = digits[j];
+      digits[j] = digit;
+    }
+    return length;
+  }
+
+  private void putDigits(int from, int to) {
+    if (position + to - from > buffer.length) {
+      flush();
+    }
+    System.arraycopy(digits, from, buffer, position, to - from);
+    position += to - from;
+  }
+
+  private void putZeros(int count) {
+    for (int i = 0; i < count; i++) {
+      put((byte) '0');
+    }
+  }
+
+  private void put(byte b) {
+    if (position == buffer.length) {
+      flush();
+    }
+    buffer[position++] = b;
+  }
+
+  private void flush() {
+    checksum.update(buffer, 0, position);
+    position = 0;
+  }
+}
@@ -0,0 +1,198 @@
+package info.bitrich.xchangestream.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OrderBookSynchronizerTest {
+
+  private final TestScheduler scheduler = new TestScheduler();
+  private final PublishSubject<Delta> deltas = PublishSubject.create();
+  private final Queue<Single<Long>> snapshots = new ArrayDeque<>();
+  private final Synchronizer synchronizer = new Synchronizer();
+  private TestObserver<List<String>> books;
+
+  @Before
+  public void setUp() {
+    books = synchronizer.sync(deltas).test();
+  }
+
+  @Test
+  public void testBufferedDeltasAreAppliedOnSnapshot() {
+    snapshots.add(Single.just(5L));
+
+    deltas.onNext(new Delta(1, 3));
+    deltas.onNext(new Delta(4, 6));
+    books.assertNoValues();
+    scheduler.triggerActions();
+    deltas.onNext(new Delta(7, 9));
+
+    books.assertValueCount(2);
+    assertThat(books.values().get(1)).containsExactly("snapshot 5", "4-6", "7-9");
+    assertThat(synchronizer.getMetrics().getSnapshotCount()).isEqualTo(1);
+    assertThat(synchronizer.getMetrics().getResyncCount()).isZero();
+  }
+
+  @Test
+  public void testGapFetchesNewSnapshot() {
+    snapshots.add(Single.just(1L));
+    snapshots.add(Single.just(4L));
+    deltas.onNext(new Delta(1, 1));
+    scheduler.triggerActions();
+
+    deltas.onNext(new Delta(3, 3));
+    deltas.onNext(new Delta(4, 4));
+    deltas.onNext(new Delta(5, 5));
+    scheduler.triggerActions();
+
+    assertThat(books.values()).hasSize(2);
+    assertThat(books.values().get(1)).containsExactly("snapshot 4", "5-5");
+    assertThat(synchronizer.getMetrics().getGapCount()).isEqualTo(1);
+    assertThat(synchronizer.getMetrics().getResyncCount()).isEqualTo(1);
+    assertThat(synchronizer.getMetrics().getSnapshotCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testChecksumMismatchFetchesNewSnapshot() {
+    snapshots.add(Single.just(1L));
+    snapshots.add(Single.just(2L));
+    deltas.onNext(new Delta(1, 1));
+    scheduler.triggerActions();
+
+    Delta corrupt = new Delta(2, 2);
+    corrupt.valid = false;
+    deltas.onNext(corrupt);
+    deltas.onNext(new Delta(3, 3));
+    scheduler.triggerActions();
+
+    assertThat(books.values()).hasSize(2);
+    assertThat(books.values().get(1)).containsExactly("snapshot 2", "3-3");
+    assertThat(synchronizer.getMetrics().getChecksumMismatchCount()).isEqualTo(1);
+    assertThat(synchronizer.getMetrics().getResyncCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testFailedSnapshotIsRetried() {
+    snapshots.add(Single.error(new IOException("rate limited")));
+    snapshots.add(Single.just(2L));
+
+    deltas.onNext(new Delta(1, 1));
+    deltas.onNext(new Delta(2, 3));
+    scheduler.triggerActions();
+    books.assertNoValues();
+    assertThat(synchronizer.getMetrics().getSnapshotFailureCount()).isEqualTo(1);
+
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+    books.assertValueCount(1);
+    assertThat(books.values().get(0)).containsExactly("snapshot 2", "2-3");
+    books.dispose();
+    assertThat(deltas.hasObservers()).isFalse();
+  }
+
+  @Test
+  public void testPendingOverflowRestartsSync() {
+    snapshots.add(Single.never());
+    snapshots.add(Single.just(5L));
+
+    deltas.onNext(new Delta(1, 1));
+    scheduler.triggerActions();
+    deltas.onNext(new Delta(2, 2));
+    deltas.onNext(new Delta(3, 3));
+    assertThat(synchronizer.getMetrics().getPendingOverflowCount()).isZero();
+    deltas.onNext(new Delta(4, 6));
+    scheduler.triggerActions();
+
+    books.assertValueCount(1);
+    assertThat(books.values().get(0)).containsExactly("snapshot 5", "4-6");
+    assertThat(synchronizer.getMetrics().getPendingOverflowCount()).isEqualTo(1);
+    assertThat(snapshots).isEmpty();
+  }
+
+  @Test
+  public void testSnapshotsOnTheStreamAreLoaded() {
+    Delta snapshot = new Delta(3, 3);
+    snapshot.snapshot = 3L;
+
+    deltas.onNext(snapshot);
+    deltas.onNext(new Delta(4, 4));
+
+    books.assertValueCount(2);
+    assertThat(books.values().get(1)).containsExactly("snapshot 3", "4-4");
+    assertThat(synchronizer.getMetrics().getSnapshotCount()).isEqualTo(1);
+  }
+
+  private static final class Delta {
+
+    private final long first;
+    private final long last;
+    private boolean valid = true;
+    private Long snapshot;
+
+    private Delta(long first, long last) {
+      this.first = first;
+      this.last = last;
+    }
+  }
+
+  private final class Synchronizer extends OrderBookSynchronizer<Long, Delta, List<String>> {
+
+    private Synchronizer() {
+      super(scheduler, Duration.ofSeconds(1), 3);
+    }
+
+    @Override
+    protected Single<Long> fetchSnapshot() {
+      return snapshots.remove();
+    }
+
+    @Override
+    protected Long snapshotOf(Delta message) {
+      return message.snapshot;
+    }
+
+    @Override
+    protected List<String> createBook(Long snapshot) {
+      List<String> book = new ArrayList<>();
+      book.add("snapshot " + snapshot);
+      return book;
+    }
+
+    @Override
+    protected long snapshotSequence(Long snapshot) {
+      return snapshot;
+    }
+
+    @Override
+    protected long firstSequence(Delta delta) {
+      return delta.first;
+    }
+
+    @Override
+    protected long lastSequence(Delta delta) {
+      return delta.last;
+    }
+
+    @Override
+    protected boolean applyDelta(List<String> book, Delta delta) {
+      return book.add(delta.first + "-" + delta.last);
+    }
+
+    @Override
+    protected boolean verify(List<String> book, Delta delta) {
+      return delta.valid;
+    }
+  }
+}
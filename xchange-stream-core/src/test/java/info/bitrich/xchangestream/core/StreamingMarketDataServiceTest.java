@@ -0,0 +1,95 @@
+package info.bitrich.xchangestream.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.reactivex.Observable;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subscribers.TestSubscriber;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class StreamingMarketDataServiceTest {
+
+  private final PublishSubject<OrderBook> orderBooks = PublishSubject.create();
+  private final PublishSubject<Ticker> tickers = PublishSubject.create();
+
+  private final StreamingMarketDataService service =
+      new StreamingMarketDataService() {
+        @Override
+        public Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args) {
+          return orderBooks;
+        }
+
+        @Override
+        public Observable<Ticker> getTicker(CurrencyPair currencyPair, Object... args) {
+          return tickers;
+        }
+
+        @Override
+        public Observable<Trade> getTrades(CurrencyPair currencyPair, Object... args) {
+          return Observable.never();
+        }
+      };
+
+  @Test
+  public void testConflatedOrderBookSnapshotsOnTheEmittingThread() {
+    TestScheduler scheduler = new TestScheduler();
+    TestSubscriber<OrderBook> subscriber =
+        service.getConflatedOrderBook(CurrencyPair.BTC_USD, scheduler).test();
+
+    // the same mutable instance is emitted on every update, as streaming implementations do
+    OrderBook book = new OrderBook(null, new ArrayList<>(), new ArrayList<>());
+    for (int i = 1; i <= 3; i++) {
+      book.update(
+          new LimitOrder(
+              OrderType.BID,
+              BigDecimal.ONE,
+              CurrencyPair.BTC_USD,
+              "",
+              null,
+              BigDecimal.valueOf(i)));
+      orderBooks.onNext(book);
+    }
+    // the later updates replaced each other while the consumer was busy
+    scheduler.triggerActions();
+
+    subscriber.assertValueCount(2);
+    assertThat(subscriber.values().get(0).getBids()).hasSize(1);
+    assertThat(subscriber.values().get(0)).isNotSameAs(book);
+    assertThat(subscriber.values().get(1).getBids()).hasSize(3);
+    assertThatThrownBy(() -> subscriber.values().get(1).update(book.getBids().get(0)))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    // a delivered snapshot is not affected by later updates of the book
+    book.update(
+        new LimitOrder(
+            OrderType.BID, BigDecimal.ONE, CurrencyPair.BTC_USD, "", null, BigDecimal.TEN));
+    assertThat(subscriber.values().get(1).getBids()).hasSize(3);
+  }
+
+  @Test
+  public void testConflatedTickerDeliversLatest() {
+    TestScheduler scheduler = new TestScheduler();
+    TestSubscriber<Ticker> subscriber =
+        service.getConflatedTicker(CurrencyPair.BTC_USD, scheduler).test();
+
+    Ticker first = new Ticker.Builder().last(BigDecimal.ONE).timestamp(new Date(1)).build();
+    tickers.onNext(first);
+    tickers.onNext(new Ticker.Builder().last(BigDecimal.TEN).timestamp(new Date(2)).build());
+    Ticker last = new Ticker.Builder().last(BigDecimal.ZERO).timestamp(new Date(3)).build();
+    tickers.onNext(last);
+    scheduler.triggerActions();
+
+    subscriber.assertValues(first, last);
+  }
+}
@@ -0,0 +1,109 @@
+package info.bitrich.xchangestream.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import org.junit.Test;
+
+public class DecimalChecksumTest {
+
+  private static final String[] VALUES = {
+    "0.05005",
+    "0.05000",
+    "5000",
+    "0.00000500",
+    "35862",
+    "35860.10",
+    "0.0001",
+    "1E+3",
+    "123456789012345678901234.5",
+    "0.123456789",
+    "9999.999999995",
+    "-12.50",
+    "0"
+  };
+
+  /** Records what is appended instead of computing a checksum of it. */
+  private final StringBuilder written = new StringBuilder();
+
+  private final DecimalChecksum recorder =
+      new DecimalChecksum(
+          new Checksum() {
+            @Override
+            public void update(int b) {
+              written.append((char) b);
+            }
+
+            @Override
+            public void update(byte[] b, int off, int len) {
+              written.append(new String(b, off, len, StandardCharsets.US_ASCII));
+            }
+
+            @Override
+            public long getValue() {
+              return 0;
+            }
+
+            @Override
+            public void reset() {
+              written.setLength(0);
+            }
+          });
+
+  @Test
+  public void testAppendUnscaled() {
+    for (String value : VALUES) {
+      String expected = new BigDecimal(value).abs().toPlainString().replace(".", "");
+      assertThat(written(recorder.reset().appendUnscaled(new BigDecimal(value))))
+          .as(value)
+          .isEqualTo(expected.replaceFirst("^0+", ""));
+    }
+  }
+
+  @Test
+  public void testAppendPlain() {
+    DecimalFormat format = new DecimalFormat("0.0#######");
+    for (String value : VALUES) {
+      assertThat(written(recorder.reset().appendPlain(new BigDecimal(value), 1, 8)))
+          .as(value)
+          .isEqualTo(format.format(new BigDecimal(value)));
+    }
+  }
+
+  @Test
+  public void testAppendJs() {
+    assertThat(written(recorder.reset().appendJs(new BigDecimal("0.00000001")))).isEqualTo("1e-8");
+    assertThat(written(recorder.reset().appendJs(new BigDecimal("0.000001"))))
+        .isEqualTo("0.000001");
+    assertThat(written(recorder.reset().appendJs(new BigDecimal("-1.5E+21"))))
+        .isEqualTo("-1.5e+21");
+    assertThat(written(recorder.reset().appendJs(new BigDecimal("6500.50")))).isEqualTo("6500.5");
+    assertThat(written(recorder.reset().appendJs(new BigDecimal("1E+3")))).isEqualTo("1000");
+    assertThat(written(recorder.reset().appendJs(BigDecimal.ZERO))).isEqualTo("0");
+  }
+
+  @Test
+  public void testCrc32OverBufferBoundaries() {
+    DecimalChecksum checksum = new DecimalChecksum();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      BigDecimal price = new BigDecimal("35860.1").add(BigDecimal.valueOf(i));
+      checksum.appendPlain(price, 1, 8).append(':').appendPlain(BigDecimal.ONE, 1, 8).append(':');
+      expected.append(price).append(":1.0:");
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(expected.toString().getBytes(StandardCharsets.US_ASCII));
+    assertThat(checksum.getValue()).isEqualTo(crc.getValue());
+    assertThat(checksum.getIntValue()).isEqualTo((int) crc.getValue());
+  }
+
+  private String written(DecimalChecksum checksum) {
+    checksum.getValue();
+    return written.toString();
+  }
+}
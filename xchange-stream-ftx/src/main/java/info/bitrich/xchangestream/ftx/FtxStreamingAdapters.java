@@ -7,16 +7,15 @@ import com.google.common.collect.Streams;
 import info.bitrich.xchangestream.ftx.dto.FtxOrderbookResponse;
 import info.bitrich.xchangestream.ftx.dto.FtxTickerResponse;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import info.bitrich.xchangestream.util.DecimalChecksum;
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.zip.CRC32;
 
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
@@ -35,9 +34,9 @@ public class FtxStreamingAdapters {
 
   private static final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
   /** Incoming values always has 1 trailing 0 after the decimal, and start with 1 zero */
-  private static final ThreadLocal<DecimalFormat> dfp = ThreadLocal.withInitial(() ->  new DecimalFormat("0.0#######"));
+  private static final ThreadLocal<DecimalChecksum> checksums = ThreadLocal.withInitial(DecimalChecksum::new);
   private static final ThreadLocal<DecimalFormat> dfs = ThreadLocal.withInitial(() ->  new DecimalFormat("0.####E00"));
-  private static final ThreadLocal<DecimalFormat> dfq = ThreadLocal.withInitial(() ->  new DecimalFormat("0.0#######"));
+  private static final BigDecimal SCIENTIFIC_PRICE_LIMIT = new BigDecimal("0.0001");
   
   static Ticker NULL_TICKER = new Ticker.Builder().build();  // not need to create a new one each time
 
@@ -119,40 +118,39 @@ public class FtxStreamingAdapters {
   }
 
   public static Long getOrderbookChecksum(List<LimitOrder> asks, List<LimitOrder> bids) {
-    StringBuilder data = new StringBuilder(3072);
-    DecimalFormat fp = dfp.get();
-    DecimalFormat fs = dfs.get();
-    DecimalFormat fq = dfq.get();
-    
+    DecimalChecksum checksum = checksums.get().reset();
+
     for (int i = 0; i < 100; i++) {
       if (bids.size() > i) {
-        BigDecimal limitPrice = bids.get(i).getLimitPrice();
-        boolean scientific = limitPrice.toPlainString().startsWith("0.0000");
-
-        data.append(scientific ? fs.format(limitPrice) : fp.format(limitPrice))
-            .append(":")
-            .append(fq.format(bids.get(i).getOriginalAmount()))
-            .append(":");
+        appendToChecksum(checksum, bids.get(i), i > 0);
       }
 
       if (asks.size() > i) {
-        BigDecimal limitPrice = asks.get(i).getLimitPrice();
-        boolean scientific = limitPrice.toPlainString().startsWith("0.0000");
-
-        data.append(scientific ? fs.format(limitPrice) : fp.format(limitPrice))
-            .append(":")
-            .append(fq.format(asks.get(i).getOriginalAmount()))
-            .append(":");
+        appendToChecksum(checksum, asks.get(i), i > 0 || !bids.isEmpty());
       }
     }
-    
-    String s = data.toString().replace("E","e"); // strip last :
-    
-    CRC32 crc32 = new CRC32();
-    byte[] toBytes = s.getBytes(StandardCharsets.UTF_8);
-    crc32.update(toBytes, 0, toBytes.length-1);
-
-    return crc32.getValue();
+
+    return checksum.getValue();
+  }
+
+  private static void appendToChecksum(DecimalChecksum checksum, LimitOrder order, boolean separate) {
+    if (separate) {
+      checksum.append(':');
+    }
+    BigDecimal limitPrice = order.getLimitPrice();
+    if (isScientific(limitPrice)) {
+      checksum.append(dfs.get().format(limitPrice).replace('E', 'e'));
+    } else {
+      checksum.appendPlain(limitPrice, 1, 8);
+    }
+    checksum.append(':').appendPlain(order.getOriginalAmount(), 1, 8);
+  }
+
+  /** Whether the plain representation starts with "0.0000", below which FTX prints prices in exponent notation */
+  private static boolean isScientific(BigDecimal limitPrice) {
+    return limitPrice.signum() >= 0
+        && limitPrice.scale() >= 4
+        && limitPrice.compareTo(SCIENTIFIC_PRICE_LIMIT) < 0;
   }
 
   public static Ticker adaptTickerMessage(Instrument instrument, JsonNode jsonNode) {
@@ -201,12 +199,12 @@ public class FtxStreamingAdapters {
     JsonNode data = jsonNode.get("data");
 
     return new UserTrade.Builder()
-            .currencyPair(new CurrencyPair(data.get("market").asText()))
+            .currencyPair(CurrencyPair.getInstance(data.get("market").asText()))
             .type(
                     "buy".equals(data.get("side").asText())
                             ? Order.OrderType.BID
                             : Order.OrderType.ASK)
-            .instrument(new CurrencyPair(data.get("market").asText()))
+            .instrument(CurrencyPair.getInstance(data.get("market").asText()))
             .originalAmount(data.get("size").decimalValue())
             .price(data.get("price").decimalValue())
             .timestamp(Date.from(Instant.ofEpochMilli(data.get("time").asLong())))
@@ -222,7 +220,7 @@ public class FtxStreamingAdapters {
     System.out.println(jsonNode.toPrettyString());
     LimitOrder.Builder order = new LimitOrder.Builder("buy".equals(data.get("side").asText())
             ? Order.OrderType.BID
-            : Order.OrderType.ASK, new CurrencyPair(data.get("market").asText()))
+            : Order.OrderType.ASK, CurrencyPair.getInstance(data.get("market").asText()))
             .id(data.get("id").asText())
             .timestamp(Date.from(Instant.now()))
             .limitPrice(data.get("price").decimalValue())
@@ -22,7 +22,7 @@ public class FtxStreamingTradeService implements StreamingTradeService {
 
         return fills
                 .filter(jsonNode -> jsonNode.hasNonNull("data"))
-                .filter(jsonNode -> new CurrencyPair(jsonNode.get("data").get("market").asText()).equals(currencyPair))
+                .filter(jsonNode -> CurrencyPair.getInstance(jsonNode.get("data").get("market").asText()).equals(currencyPair))
                 .map(FtxStreamingAdapters::adaptUserTrade);
     }
 
@@ -31,7 +31,7 @@ public class FtxStreamingTradeService implements StreamingTradeService {
 
         return orders
                 .filter(jsonNode -> jsonNode.hasNonNull("data"))
-                .filter(jsonNode -> new CurrencyPair(jsonNode.get("data").get("market").asText()).equals(currencyPair))
+                .filter(jsonNode -> CurrencyPair.getInstance(jsonNode.get("data").get("market").asText()).equals(currencyPair))
                 .map(FtxStreamingAdapters::adaptOrders);
     }
 }
@@ -0,0 +1,65 @@
+package info.bitrich.xchangestream.ftx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.ftx.dto.FtxOrderbookResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class FtxStreamingAdaptersTest {
+
+  @Test
+  public void testOrderbookChecksum() throws IOException {
+    InputStream is =
+        FtxStreamingAdaptersTest.class.getResourceAsStream("/ftxOrderbookResponse-example.json");
+    FtxOrderbookResponse response = new ObjectMapper().readValue(is, FtxOrderbookResponse.class);
+
+    List<LimitOrder> asks = orders(Order.OrderType.ASK, response.getAsks());
+    List<LimitOrder> bids = orders(Order.OrderType.BID, response.getBids());
+
+    assertThat(FtxStreamingAdapters.getOrderbookChecksum(asks, bids))
+        .isEqualTo(response.getChecksum());
+  }
+
+  @Test
+  public void testOrderbookChecksumOfSmallPrices() {
+    List<LimitOrder> asks =
+        Arrays.asList(
+            order(Order.OrderType.ASK, "0.00001234", "1500"),
+            order(Order.OrderType.ASK, "0.0001", "20.50"));
+    List<LimitOrder> bids = Arrays.asList(order(Order.OrderType.BID, "0.00000987", "3"));
+
+    CRC32 crc = new CRC32();
+    crc.update("9.87e-06:3.0:1.234e-05:1500.0:0.0001:20.5".getBytes(StandardCharsets.US_ASCII));
+    assertThat(FtxStreamingAdapters.getOrderbookChecksum(asks, bids)).isEqualTo(crc.getValue());
+  }
+
+  private static List<LimitOrder> orders(Order.OrderType type, List<List<BigDecimal>> levels) {
+    return levels.stream()
+        .map(
+            level ->
+                new LimitOrder.Builder(type, CurrencyPair.BTC_USD)
+                    .limitPrice(level.get(0))
+                    .originalAmount(level.get(1))
+                    .build())
+        .collect(Collectors.toList());
+  }
+
+  private static LimitOrder order(Order.OrderType type, String price, String amount) {
+    return new LimitOrder.Builder(type, CurrencyPair.BTC_USD)
+        .limitPrice(new BigDecimal(price))
+        .originalAmount(new BigDecimal(amount))
+        .build();
+  }
+}
@@ -7,6 +7,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.marketdata.LiveOrderBook;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
@@ -15,6 +16,7 @@ import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.kraken.KrakenAdapters;
 import org.knowm.xchange.kraken.dto.trade.KrakenType;
 import org.knowm.xchange.utils.DateUtils;
+import org.knowm.xchange.utils.FixedPointScale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +44,8 @@ public class KrakenStreamingAdapters {
 
     static final String CHECKSUM = "c";
 
+    private static final FixedPointScale NANOSECONDS = FixedPointScale.of(9);
+
     private static void updateInBook(int depth, Instrument instrument, Order.OrderType orderType, JsonNode currentNode, String key, TreeSet<LimitOrder> target) {
         adaptLimitOrders(instrument, orderType, currentNode.get(key)).forEachRemaining(limitOrder -> {
             target.removeIf(it -> it.getLimitPrice().compareTo(limitOrder.getLimitPrice()) == 0);
@@ -55,6 +59,114 @@ public class KrakenStreamingAdapters {
         }
     }
 
+    private static void updateInBook(int depth, LiveOrderBook book, Order.OrderType orderType, JsonNode levels) {
+        if (levels == null || !levels.isArray()) {
+            return;
+        }
+        for (JsonNode level : levels) {
+            String price = level.get(0).textValue();
+            String volume = level.get(1).textValue();
+            Date timestamp = level.size() > 2 ? parseTimestamp(level.get(2).textValue()) : null;
+            if (book.isFixedPoint()) {
+                book.update(orderType, price, volume, timestamp);
+            } else {
+                book.update(orderType, new BigDecimal(price), new BigDecimal(volume), timestamp);
+            }
+        }
+        book.truncate(orderType, depth);
+    }
+
+    /**
+     * Applies a book message to the local book of an instrument, keeping at most depth levels per side,
+     * and checks the result against the checksum the message carries. Prices and volumes are parsed
+     * straight to mantissas if the book is {@link LiveOrderBook#isFixedPoint() fixed point}, in which
+     * case its scales must be the number of decimals Kraken prints for the pair.
+     *
+     * @return the levels of the book
+     * @throws IllegalStateException if the book does not match the checksum, or is crossed
+     */
+    public static OrderBook adaptOrderbookMessage(int depth, LiveOrderBook book, ArrayNode arrayNode) {
+        final boolean awaitingSnapshot = book.getDepth(Order.OrderType.BID) == 0 && book.getDepth(Order.OrderType.ASK) == 0;
+        if (awaitingSnapshot != isOrderbookSnapshot(arrayNode)) {
+            LOG.info("Ignoring {} message {}, awaiting snapshot", book.getInstrument(), arrayNode);
+            return book.toOrderBook(depth);
+        }
+        if (awaitingSnapshot) {
+            LOG.info("Received {} snapshot, clearing book", book.getInstrument());
+        }
+        applyOrderbookMessage(depth, book, arrayNode);
+        if (!isOrderbookConsistent(depth, book, arrayNode)) {
+            throw new IllegalStateException("Checksum did not match or book is crossed");
+        }
+        return book.toOrderBook(depth);
+    }
+
+    /** @return true if the book message is a snapshot, which Kraken sends on subscription. */
+    public static boolean isOrderbookSnapshot(ArrayNode arrayNode) {
+        for (JsonNode currentNode : arrayNode) {
+            if (currentNode.has(BID_SNAPSHOT) && currentNode.has(ASK_SNAPSHOT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the levels of a book message to the local book of an instrument, keeping at most depth
+     * levels per side: the levels of a snapshot to an empty book, the changes of an update otherwise.
+     */
+    public static void applyOrderbookMessage(int depth, LiveOrderBook book, ArrayNode arrayNode) {
+        for (JsonNode currentNode : arrayNode) {
+            if (currentNode.has(BID_SNAPSHOT) && currentNode.has(ASK_SNAPSHOT)) {
+                updateInBook(depth, book, Order.OrderType.BID, currentNode.get(BID_SNAPSHOT));
+                updateInBook(depth, book, Order.OrderType.ASK, currentNode.get(ASK_SNAPSHOT));
+            }
+            if (currentNode.has(BID_UPDATE)) {
+                updateInBook(depth, book, Order.OrderType.BID, currentNode.get(BID_UPDATE));
+            }
+            if (currentNode.has(ASK_UPDATE)) {
+                updateInBook(depth, book, Order.OrderType.ASK, currentNode.get(ASK_UPDATE));
+            }
+        }
+    }
+
+    /**
+     * Checks the top depth levels of the local book against the checksum a book message carries, and
+     * that the book is not crossed. Messages without a checksum, such as snapshots, are not checked.
+     *
+     * @return false if the book must be discarded
+     */
+    public static boolean isOrderbookConsistent(int depth, LiveOrderBook book, ArrayNode arrayNode) {
+        long expectedChecksum = 0;
+        for (JsonNode currentNode : arrayNode) {
+            if (currentNode.has(CHECKSUM)) {
+                expectedChecksum = currentNode.get(CHECKSUM).asLong();
+            }
+        }
+        if (expectedChecksum == 0) {
+            LOG.debug("Skipping {} checksum validation, no expected checksum in message", book.getInstrument());
+            return true;
+        }
+        OrderBook orderBook = book.toOrderBook(depth);
+        List<LimitOrder> bids = orderBook.getBids();
+        List<LimitOrder> asks = orderBook.getAsks();
+        long localChecksum = createCrcChecksum(asks, bids);
+        if (expectedChecksum != localChecksum) {
+            LOG.warn("{} checksum does not match, expected {} but local checksum is {}", book.getInstrument(), expectedChecksum, localChecksum);
+            return false;
+        }
+        if (bids.size() > 0 && asks.size() > 0 && bids.get(0).getLimitPrice().compareTo(asks.get(0).getLimitPrice()) >= 0) {
+            LOG.warn("CROSSED book {} {} >= {}", book.getInstrument(), bids.get(0).getLimitPrice(), asks.get(0).getLimitPrice());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @deprecated keeps the book as sets of limit orders, use {@link #adaptOrderbookMessage(int, LiveOrderBook,
+     *     ArrayNode)} instead.
+     */
+    @Deprecated
     public static OrderBook adaptOrderbookMessage(int depth, TreeSet<LimitOrder> bids, TreeSet<LimitOrder> asks, Instrument instrument, ArrayNode arrayNode) {
         final AtomicLong expectedChecksum = new AtomicLong(0);
         final AtomicReference<Date> lastTime = new AtomicReference<>(Date.from(Instant.EPOCH));
@@ -201,6 +313,11 @@ public class KrakenStreamingAdapters {
       return DateUtils.fromMillisUtc(new BigDecimal(iterator.next().textValue()).multiply(new BigDecimal(1000)).longValue());
   }
 
+  /** Parses seconds with a fraction, as in book levels, to a Date without going through BigDecimal. */
+  private static Date parseTimestamp(String seconds) {
+    return DateUtils.fromMillisUtc(NANOSECONDS.parse(seconds) / 1_000_000);
+  }
+
   /**
    * Checks if a iterator has next node and returns the value as a Date using the long value as
    * timestamp. Returns null if the iterator has no next value or the given iterator is null.
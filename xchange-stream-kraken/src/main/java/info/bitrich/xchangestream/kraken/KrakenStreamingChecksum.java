@@ -1,35 +1,28 @@
 package info.bitrich.xchangestream.kraken;
 
-import com.google.common.cache.*;
+import info.bitrich.xchangestream.util.DecimalChecksum;
 import org.knowm.xchange.dto.trade.LimitOrder;
 
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.TreeSet;
-import java.util.concurrent.TimeUnit;
 import java.util.zip.CRC32;
 
 public class KrakenStreamingChecksum {
     private static final int CHECKSUM_ORDERBOOK_DEPTH = 10;
 
-    private static final LoadingCache<BigDecimal, String> crcStringCache = CacheBuilder
-            .newBuilder()
-            .expireAfterAccess(1, TimeUnit.MINUTES)
-            .maximumSize(500)
-            .build(new CacheLoader<BigDecimal, String>() {
-                @Override
-                public String load(BigDecimal key) throws Exception {
-                    String result = key.toPlainString();
-                    result = result.replace(".","");
-                    while (result.startsWith("0")){
-                        result = result.replaceFirst("0", "");
-                    }
-                    return result;
-                }
-            });
+    private static final ThreadLocal<DecimalChecksum> checksums = ThreadLocal.withInitial(DecimalChecksum::new);
 
     static void addBigDecimalToCrcString(StringBuilder stringBuilder, BigDecimal bigDecimal) {
-        stringBuilder.append(crcStringCache.getUnchecked(bigDecimal));
+        if (bigDecimal.signum() == 0) {
+            return;
+        }
+        stringBuilder.append(bigDecimal.unscaledValue().abs());
+        for (int i = bigDecimal.scale(); i < 0; i++) {
+            stringBuilder.append('0');
+        }
     }
 
     static void addOrderToCrcString(StringBuilder stringBuilder, LimitOrder order) {
@@ -50,7 +43,23 @@ public class KrakenStreamingChecksum {
         return crc.getValue();
     }
 
-    public static long createCrcChecksum(TreeSet<LimitOrder> asks, TreeSet<LimitOrder> bids) {
-        return createCrcLong(createCrcString(asks, bids));
+    /**
+     * Computes the checksum Kraken sends with book updates, over the price and volume digits of the top ten asks
+     * then bids, best first. Same as {@code createCrcLong(createCrcString(asks, bids))}, but called on every update, so the
+     * digits go straight into the CRC instead of through strings.
+     */
+    public static long createCrcChecksum(Collection<LimitOrder> asks, Collection<LimitOrder> bids) {
+        DecimalChecksum checksum = checksums.get().reset();
+        addToChecksum(checksum, asks);
+        addToChecksum(checksum, bids);
+        return checksum.getValue();
+    }
+
+    private static void addToChecksum(DecimalChecksum checksum, Collection<LimitOrder> orders) {
+        Iterator<LimitOrder> iterator = orders.iterator();
+        for (int i = 0; i < CHECKSUM_ORDERBOOK_DEPTH && iterator.hasNext(); i++) {
+            LimitOrder order = iterator.next();
+            checksum.appendUnscaled(order.getLimitPrice()).appendUnscaled(order.getOriginalAmount());
+        }
     }
 }
@@ -48,11 +48,19 @@ public class KrakenStreamingExchange extends KrakenExchange implements Streaming
 
     this.streamingService =
         new KrakenStreamingService(false, pickUri(false, useBeta), () -> authData(accountService));
-    this.streamingMarketDataService = new KrakenStreamingMarketDataService(streamingService);
+    applyStreamingSpecification(exchangeSpecification, streamingService);
+    this.streamingMarketDataService =
+        new KrakenStreamingMarketDataService(
+            streamingService,
+            Boolean.TRUE.equals(
+                    exchangeSpecification.getExchangeSpecificParametersItem(FIXED_POINT_ORDER_BOOK))
+                ? currencyPair -> getExchangeMetaData().getCurrencyPairs().get(currencyPair)
+                : currencyPair -> null);
 
     if (StringUtils.isNotEmpty(exchangeSpecification.getApiKey())) {
       this.privateStreamingService =
           new KrakenStreamingService(true, pickUri(true, useBeta), () -> authData(accountService));
+      applyStreamingSpecification(exchangeSpecification, privateStreamingService);
     }
 
     streamingTradeService = new KrakenStreamingTradeService(privateStreamingService);
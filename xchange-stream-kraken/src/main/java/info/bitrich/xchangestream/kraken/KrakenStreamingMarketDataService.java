@@ -1,21 +1,23 @@
 package info.bitrich.xchangestream.kraken;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import info.bitrich.xchangestream.core.OrderBookSynchronizer;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import info.bitrich.xchangestream.kraken.dto.enums.KrakenSubscriptionName;
+import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 import org.apache.commons.lang3.ObjectUtils;
 import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.LiveOrderBook;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
-import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.meta.CurrencyPairMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.TreeSet;
+import java.util.function.Function;
 
 /** @author makarid, pchertalev */
 public class KrakenStreamingMarketDataService implements StreamingMarketDataService {
@@ -27,33 +29,97 @@ public class KrakenStreamingMarketDataService implements StreamingMarketDataServ
   public static final String KRAKEN_CHANNEL_DELIMITER = "-";
 
   private final KrakenStreamingService service;
+  private final Function<CurrencyPair, CurrencyPairMetaData> metaData;
 
   public KrakenStreamingMarketDataService(KrakenStreamingService service) {
+    this(service, currencyPair -> null);
+  }
+
+  /**
+   * @param service the streaming service
+   * @param metaData the meta data of a pair, the book of a pair whose meta data has a price and a
+   *     volume scale is kept in fixed point
+   */
+  public KrakenStreamingMarketDataService(
+      KrakenStreamingService service, Function<CurrencyPair, CurrencyPairMetaData> metaData) {
     this.service = service;
+    this.metaData = metaData;
   }
 
     @Override
     public Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args) {
       String channelName = getChannelName(KrakenSubscriptionName.book, currencyPair);
-      TreeSet<LimitOrder> bids = Sets.newTreeSet();
-      TreeSet<LimitOrder> asks = Sets.newTreeSet();
       int depth = ObjectUtils.defaultIfNull(KrakenStreamingService.parseOrderBookSize(args), KrakenStreamingService.ORDER_BOOK_SIZE_DEFAULT);
-      return subscribe(channelName, MIN_DATA_ARRAY_SIZE, args).map(arrayNode -> {
-                            try {
-                                    return KrakenStreamingAdapters.adaptOrderbookMessage(depth, bids, asks, currencyPair, arrayNode);
-                            } catch (IllegalStateException e) {
-                                LOG.warn("Resubscribing {} channel after adapter error {}", currencyPair, e.getMessage());
-                                bids.clear();
-                                asks.clear();
-                                // Resubscribe to the channel, triggering a new snapshot
-                                this.service.sendMessage(service.getUnsubscribeMessage(channelName, args));
-                                this.service.sendMessage(service.getSubscribeMessage(channelName, args));
-                                return new OrderBook(null, Lists.newArrayList(), Lists.newArrayList(), false);
-                            }
-                        })
+      return new OrderBookSubscription(currencyPair, channelName, depth, args)
+              .sync(subscribe(channelName, MIN_DATA_ARRAY_SIZE, args))
+              .map(book -> book.toOrderBook(depth))
               .filter(ob -> ob.getBids().size() > 0 && ob.getAsks().size() > 0);
     }
 
+  /**
+   * Keeps the book of a channel. Kraken sends a snapshot on subscription, and a checksum of the top
+   * levels with each update; a book which fails it is discarded and the channel subscribed again
+   * for a new snapshot.
+   */
+  private final class OrderBookSubscription extends OrderBookSynchronizer<ArrayNode, ArrayNode, LiveOrderBook> {
+
+    private final CurrencyPair currencyPair;
+    private final String channelName;
+    private final int depth;
+    private final Object[] args;
+
+    private OrderBookSubscription(CurrencyPair currencyPair, String channelName, int depth, Object[] args) {
+      this.currencyPair = currencyPair;
+      this.channelName = channelName;
+      this.depth = depth;
+      this.args = args;
+    }
+
+    @Override
+    protected Single<ArrayNode> fetchSnapshot() {
+      return Completable.fromAction(
+              () -> {
+                LOG.info("Resubscribing {} channel for a new snapshot", currencyPair);
+                service.sendMessage(service.getUnsubscribeMessage(channelName, args));
+                service.sendMessage(service.getSubscribeMessage(channelName, args));
+              })
+          .andThen(Single.never());
+    }
+
+    @Override
+    protected ArrayNode snapshotOf(ArrayNode message) {
+      return KrakenStreamingAdapters.isOrderbookSnapshot(message) ? message : null;
+    }
+
+    @Override
+    protected LiveOrderBook createBook(ArrayNode snapshot) {
+      LiveOrderBook book = LiveOrderBook.forMetaData(currencyPair, metaData.apply(currencyPair));
+      KrakenStreamingAdapters.applyOrderbookMessage(depth, book, snapshot);
+      return book;
+    }
+
+    @Override
+    protected long snapshotSequence(ArrayNode snapshot) {
+      return NO_SEQUENCE;
+    }
+
+    @Override
+    protected long firstSequence(ArrayNode update) {
+      return NO_SEQUENCE;
+    }
+
+    @Override
+    protected boolean applyDelta(LiveOrderBook book, ArrayNode update) {
+      KrakenStreamingAdapters.applyOrderbookMessage(depth, book, update);
+      return true;
+    }
+
+    @Override
+    protected boolean verify(LiveOrderBook book, ArrayNode update) {
+      return KrakenStreamingAdapters.isOrderbookConsistent(depth, book, update);
+    }
+  }
+
   @Override
   public Observable<Ticker> getTicker(CurrencyPair currencyPair, Object... args) {
     String channelName = getChannelName(KrakenSubscriptionName.ticker, currencyPair);
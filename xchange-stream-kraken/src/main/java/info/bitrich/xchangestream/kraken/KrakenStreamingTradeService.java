@@ -90,7 +90,7 @@ public class KrakenStreamingTradeService implements StreamingTradeService {
         KrakenOpenOrder dto = dtoOrderEntry.getValue();
         KrakenOpenOrder.KrakenDtoDescr descr = dto.descr;
 
-        CurrencyPair pair = descr == null ? null : new CurrencyPair(descr.pair);
+        CurrencyPair pair = descr == null ? null : CurrencyPair.getInstance(descr.pair);
         Order.OrderType side =
             descr == null ? null : KrakenAdapters.adaptOrderType(KrakenType.fromString(descr.type));
         String orderType = (descr == null || descr.ordertype == null) ? null : descr.ordertype;
@@ -187,7 +187,7 @@ public class KrakenStreamingTradeService implements StreamingTradeService {
         String tradeId = entry.getKey();
         KrakenOwnTrade dto = entry.getValue();
 
-        CurrencyPair currencyPair = new CurrencyPair(dto.pair);
+        CurrencyPair currencyPair = CurrencyPair.getInstance(dto.pair);
         result.add(
             new UserTrade.Builder()
                 .id(tradeId) // The tradeId should be the key of the map, postxid can be null and is
@@ -10,12 +10,16 @@ import org.junit.Test;
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.marketdata.LiveOrderBook;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
 import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.utils.FixedPointScale;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
 import java.util.Comparator;
 import java.util.List;
 import java.util.TreeSet;
@@ -88,6 +92,72 @@ public class KrakenStreamingAdaptersTest {
     assertThat(firstAsk.getOriginalAmount()).isEqualByComparingTo("2.50700000");
   }
 
+  @Test
+  public void testAdaptOrderbookMessagesToLiveOrderBook() throws IOException {
+    LiveOrderBook book = new LiveOrderBook(XBT_USD);
+
+    OrderBook afterUpdate = adaptDocumentedBook(book, "974947235");
+
+    assertThat(afterUpdate.getAsks()).hasSize(10);
+    assertThat(afterUpdate.getAsks().get(0).getLimitPrice()).isEqualByComparingTo("0.05005");
+    assertThat(afterUpdate.getBids()).hasSize(10);
+    assertThat(afterUpdate.getBids().get(0).getLimitPrice()).isEqualByComparingTo("0.05000");
+    assertThat(afterUpdate.getBids().get(9).getLimitPrice()).isEqualByComparingTo("0.04950");
+  }
+
+  @Test
+  public void testAdaptOrderbookMessagesToFixedPointBook() throws IOException {
+    LiveOrderBook book = new LiveOrderBook(XBT_USD, FixedPointScale.of(5), FixedPointScale.of(8));
+
+    // the checksum is verified on the mantissas
+    OrderBook afterUpdate = adaptDocumentedBook(book, "974947235");
+
+    LimitOrder firstAsk = afterUpdate.getAsks().get(0);
+    assertThat(firstAsk.getLimitPrice()).isEqualTo(new BigDecimal("0.05005"));
+    assertThat(firstAsk.getOriginalAmount()).isEqualTo(new BigDecimal("0.00000500"));
+    assertThat(firstAsk.getTimestamp()).isEqualTo(new Date(1534614248456L));
+    assertThat(firstAsk.getInstrument()).isEqualTo(XBT_USD);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAdaptOrderbookMessageFailsOnChecksum() throws IOException {
+    adaptDocumentedBook(
+        new LiveOrderBook(XBT_USD, FixedPointScale.of(5), FixedPointScale.of(8)), "974947236");
+  }
+
+  /**
+   * Loads the book of the checksum example of the Kraken documentation as a snapshot, then applies
+   * an update carrying the given checksum.
+   */
+  private static OrderBook adaptDocumentedBook(LiveOrderBook book, String checksum)
+      throws IOException {
+    StringBuilder asks = new StringBuilder();
+    for (int price = 5005; price <= 5065; price += 5) {
+      asks.append(asks.length() == 0 ? "" : ",").append(level(price));
+    }
+    StringBuilder bids = new StringBuilder();
+    for (int price = 5000; price >= 4930; price -= 5) {
+      if (price != 4985) {
+        bids.append(bids.length() == 0 ? "" : ",").append(level(price));
+      }
+    }
+    KrakenStreamingAdapters.adaptOrderbookMessage(
+        10, book, message("{\"as\":[" + asks + "],\"bs\":[" + bids + "]}"));
+    return KrakenStreamingAdapters.adaptOrderbookMessage(
+        10, book, message("{\"a\":[" + level(5005) + "],\"c\":\"" + checksum + "\"}"));
+  }
+
+  private static String level(int price) {
+    return String.format(
+        "[\"0.0%d\",\"0.00000500\",\"1534614248.456738\"]", price);
+  }
+
+  private static ArrayNode message(String book) throws IOException {
+    return (ArrayNode)
+        StreamingObjectMapperHelper.getObjectMapper()
+            .readTree("[1234," + book + ",\"book-10\",\"XBT/USD\"]");
+  }
+
   @Test
   public void testAdaptTickerMessage() throws IOException {
     JsonNode jsonNode =
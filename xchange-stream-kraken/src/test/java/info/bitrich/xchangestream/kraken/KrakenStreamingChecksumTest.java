@@ -82,4 +82,10 @@ public class KrakenStreamingChecksumTest {
         long crcLong = KrakenStreamingChecksum.createCrcLong(expectedCrcString);
         assertThat(crcLong).isEqualTo(974947235L);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCreateCrcChecksum() {
+        assertThat(KrakenStreamingChecksum.createCrcChecksum(asks, bids)).isEqualTo(974947235L);
+        assertThat(KrakenStreamingChecksum.createCrcChecksum(asks, bids)).isEqualTo(974947235L);
+    }
+}
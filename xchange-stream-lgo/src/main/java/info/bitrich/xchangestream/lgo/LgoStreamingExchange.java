@@ -28,7 +28,7 @@ public class LgoStreamingExchange extends LgoExchange implements StreamingExchan
     tradeService =
         new LgoStreamingTradeService(
             streamingService,
-            new LgoKeyService(getExchangeSpecification()),
+            new LgoKeyService(this),
             LgoSignatureService.createInstance(getExchangeSpecification()),
             getNonceFactory());
   }
@@ -0,0 +1,23 @@
+package info.bitrich.xchangestream.service.netty;
+
+/**
+ * What a bounded channel subscription does when its subscriber falls behind, see {@link
+ * NettyStreamingService#subscribeBufferedChannel(String, int, ChannelOverflowStrategy,
+ * io.reactivex.Scheduler, Object...)}.
+ */
+public enum ChannelOverflowStrategy {
+
+  /** Drop the oldest queued message to make room for the new one. */
+  DROP_OLDEST,
+
+  /**
+   * Keep only the newest message. Suited to channels where each message is a complete state, such
+   * as book snapshots or tickers.
+   */
+  LATEST,
+
+  /**
+   * Terminate the subscription with a {@link io.reactivex.exceptions.MissingBackpressureException}.
+   */
+  ERROR
+}
@@ -1,10 +1,22 @@
 package info.bitrich.xchangestream.service.netty;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.util.CharsetUtil;
+import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +24,9 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
   private static final Logger LOG = LoggerFactory.getLogger(JsonNettyStreamingService.class);
   protected final ObjectMapper objectMapper = StreamingObjectMapperHelper.getObjectMapper();
 
+  /** Channels subscribed with a DTO type, keyed by subscription unique id */
+  private final Map<String, TypedChannel<?>> typedChannels = new ConcurrentHashMap<>();
+
   public JsonNettyStreamingService(String apiUrl) {
     super(apiUrl);
   }
@@ -46,6 +61,153 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
       return;
     }
 
+    handleJsonMessage(jsonNode);
+  }
+
+  @Override
+  public void messageHandler(ByteBuf message) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Received message: {}", message.toString(CharsetUtil.UTF_8));
+    }
+    if (!typedChannels.isEmpty() && handleTypedMessage(message)) {
+      return;
+    }
+    JsonNode jsonNode;
+
+    // Parse incoming message to JSON straight from the frame content
+    try {
+      jsonNode = readTree(message);
+    } catch (IOException e) {
+      LOG.error("Error parsing incoming message to JSON: {}", message.toString(CharsetUtil.UTF_8));
+      return;
+    }
+
+    handleJsonMessage(jsonNode);
+  }
+
+  /**
+   * Parses the readable bytes of the buffer without copying them into a String. Heap buffers are
+   * read from their backing array, other buffers through a stream.
+   */
+  protected JsonNode readTree(ByteBuf message) throws IOException {
+    if (message.hasArray()) {
+      return objectMapper.readTree(
+          message.array(), message.arrayOffset() + message.readerIndex(), message.readableBytes());
+    }
+    try (InputStream in = new ByteBufInputStream(message.duplicate())) {
+      return objectMapper.readTree(in);
+    }
+  }
+
+  /**
+   * Subscribes to a channel whose messages are bound straight to a DTO type.
+   *
+   * <p>Messages received as bytes are not turned into a {@link JsonNode} tree: the channel name is
+   * read with {@link #getChannelNameFromTokens(JsonParser)} and the message is then deserialized to
+   * the given type in a single pass. Services which do not override that method, and messages
+   * received as Strings, go through the tree and are converted afterwards. A message which cannot
+   * be deserialized terminates the subscription with the error.
+   *
+   * <p>Subscribers of the same channel share one subscription, so a channel can only be bound to
+   * one type at a time.
+   *
+   * @param channelName the channel to subscribe to
+   * @param type the type every message of the channel is deserialized to
+   * @param args subscription arguments, as for {@link #subscribeChannel(String, Object...)}
+   * @throws IllegalArgumentException if the channel is already subscribed with another type
+   */
+  @SuppressWarnings("unchecked")
+  public <D> Observable<D> subscribeChannel(String channelName, JavaType type, Object... args) {
+    final String channelId = getSubscriptionUniqueId(channelName, args);
+
+    TypedChannel<?> typedChannel =
+        typedChannels.computeIfAbsent(
+            channelId, id -> new TypedChannel<>(id, type, channelName, args));
+    if (!typedChannel.type.equals(type)) {
+      throw new IllegalArgumentException(
+          "Channel " + channelId + " is already subscribed with type " + typedChannel.type);
+    }
+    return (Observable<D>) typedChannel.observable;
+  }
+
+  /**
+   * Returns the channel name of a message read from its tokens, without building a tree. Used for
+   * channels subscribed with {@link #subscribeChannel(String, JavaType, Object...)}.
+   *
+   * @param parser a parser positioned before the first token of the message
+   * @return the channel name, or null if it cannot be determined this way, in which case the
+   *     message is handled as a tree
+   */
+  protected String getChannelNameFromTokens(JsonParser parser) throws IOException {
+    return null;
+  }
+
+  /**
+   * Scans the top level of a JSON object for a text field, skipping over nested values.
+   *
+   * @return the text value of the field, null if the message is not an object or has no such field
+   */
+  protected static String findTopLevelText(JsonParser parser, String fieldName) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      return null;
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.getCurrentName();
+      JsonToken value = parser.nextToken();
+      if (fieldName.equals(name)) {
+        return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+      }
+      parser.skipChildren();
+    }
+    return null;
+  }
+
+  private boolean handleTypedMessage(ByteBuf message) {
+    String channel;
+    try (JsonParser parser = createParser(message)) {
+      channel = getChannelNameFromTokens(parser);
+    } catch (IOException e) {
+      return false;
+    }
+    if (channel == null || !channels.containsKey(channel)) {
+      return false;
+    }
+    TypedChannel<?> typedChannel = typedChannels.get(channel);
+    if (typedChannel == null || !typedChannel.active) {
+      return false;
+    }
+
+    Object value;
+    try (JsonParser parser = createParser(message)) {
+      value = objectMapper.readValue(parser, typedChannel.type);
+    } catch (IOException e) {
+      LOG.error(
+          "Error parsing incoming message on channel {} to {}: {}",
+          channel,
+          typedChannel.type,
+          message.toString(CharsetUtil.UTF_8));
+      handleChannelError(channel, e);
+      return true;
+    }
+    typedChannel.emit(value);
+    return true;
+  }
+
+  private JsonParser createParser(ByteBuf message) throws IOException {
+    if (message.hasArray()) {
+      return objectMapper
+          .getFactory()
+          .createParser(
+              message.array(),
+              message.arrayOffset() + message.readerIndex(),
+              message.readableBytes());
+    }
+    return objectMapper
+        .getFactory()
+        .createParser((InputStream) new ByteBufInputStream(message.duplicate()));
+  }
+
+  private void handleJsonMessage(JsonNode jsonNode) {
     if (processArrayMessageSeparately() && jsonNode.isArray()) {
       // In case of array - handle every message separately.
       for (JsonNode node : jsonNode) {
@@ -63,4 +225,38 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
       LOG.error("Error creating json message: {}", e.getMessage());
     }
   }
+
+  private final class TypedChannel<D> {
+
+    final JavaType type;
+    final Subject<D> subject = PublishSubject.create();
+    final Observable<D> observable;
+    /** set while the channel is subscribed, messages are bound through the tree otherwise */
+    volatile boolean active;
+
+    TypedChannel(String channelId, JavaType type, String channelName, Object[] args) {
+      this.type = type;
+      this.observable =
+          Observable.merge(
+                  subject,
+                  subscribeChannel(channelName, args)
+                      .map(node -> objectMapper.<D>readValue(objectMapper.treeAsTokens(node), type))
+                      .doOnSubscribe(
+                          d -> {
+                            active = true;
+                            typedChannels.putIfAbsent(channelId, this);
+                          }))
+              .doFinally(
+                  () -> {
+                    active = false;
+                    typedChannels.remove(channelId, this);
+                  })
+              .share();
+    }
+
+    @SuppressWarnings("unchecked")
+    void emit(Object message) {
+      subject.onNext((D) message);
+    }
+  }
 }
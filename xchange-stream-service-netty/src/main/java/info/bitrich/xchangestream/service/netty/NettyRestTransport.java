@@ -0,0 +1,590 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.proxy.HttpProxyHandler;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.resolver.NoopAddressResolverGroup;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManagerFactory;
+import org.knowm.xchange.client.RestRequest;
+import org.knowm.xchange.client.RestResponse;
+import org.knowm.xchange.client.RestTransport;
+import si.mazi.rescu.HttpMethod;
+
+/**
+ * A non-blocking {@link RestTransport} on Netty, for {@link
+ * org.knowm.xchange.client.TransportRestProxyFactory}.
+ *
+ * <p>Connections are kept alive and shared by all requests to the same host. Over HTTP/1.1 each
+ * host gets a pool of up to {@link Builder#maxConnectionsPerHost(int)} connections, further
+ * requests waiting for one to be released. Over HTTP/2 each host gets a single connection which
+ * carries all requests as concurrent streams, up to the limit the server announces. Which of the
+ * two is used depends on the {@link Protocol}.
+ *
+ * <p>A few event loop threads serve any number of requests. Responses complete their futures on
+ * those threads, which must not be blocked.
+ */
+public final class NettyRestTransport implements RestTransport {
+
+  /** How the HTTP version of each host is chosen. */
+  public enum Protocol {
+    /** Always HTTP/1.1. */
+    HTTP_1_1,
+    /**
+     * HTTP/2 where the server selects it during the TLS handshake, HTTP/1.1 otherwise and over
+     * plain connections. Learning that a host only speaks HTTP/1.1 costs one extra connection.
+     */
+    NEGOTIATE,
+    /** Always HTTP/2, without upgrade over plain connections. Fails with hosts without HTTP/2. */
+    HTTP_2
+  }
+
+  private static final String RESPONSE_HANDLER = "response";
+
+  private final EventLoopGroup eventLoopGroup;
+  private final boolean sharedEventLoopGroup;
+  private final Class<? extends SocketChannel> channelClass;
+  private final Protocol protocol;
+  private final int maxConnectionsPerHost;
+  private final int connectTimeoutMillis;
+  private final int readTimeoutMillis;
+  private final int maxResponseBytes;
+  private final InetSocketAddress httpProxy;
+  private final SslContext http1SslContext;
+  private final SslContext alpnSslContext;
+  private final Map<String, Origin> origins = new ConcurrentHashMap<>();
+
+  private NettyRestTransport(Builder builder) {
+    this.sharedEventLoopGroup = builder.eventLoopGroup != null;
+    this.eventLoopGroup =
+        sharedEventLoopGroup
+            ? builder.eventLoopGroup
+            : builder.transport.newEventLoopGroup(
+                builder.eventLoopThreads, new DefaultThreadFactory("xchange-rest", true));
+    this.channelClass =
+        (sharedEventLoopGroup ? NettyTransport.of(eventLoopGroup) : builder.transport.resolve())
+            .getSocketChannelClass();
+    this.protocol = builder.protocol;
+    this.maxConnectionsPerHost = builder.maxConnectionsPerHost;
+    this.connectTimeoutMillis = builder.connectTimeoutMillis;
+    this.readTimeoutMillis = builder.readTimeoutMillis;
+    this.maxResponseBytes = builder.maxResponseBytes;
+    this.httpProxy = builder.httpProxy;
+    try {
+      this.http1SslContext =
+          SslContextBuilder.forClient().trustManager(builder.trustManagerFactory).build();
+      this.alpnSslContext =
+          SslContextBuilder.forClient()
+              .trustManager(builder.trustManagerFactory)
+              .applicationProtocolConfig(
+                  new ApplicationProtocolConfig(
+                      ApplicationProtocolConfig.Protocol.ALPN,
+                      ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                      ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                      ApplicationProtocolNames.HTTP_2,
+                      ApplicationProtocolNames.HTTP_1_1))
+              .build();
+    } catch (SSLException e) {
+      throw new IllegalStateException("Failed to create the SSL context", e);
+    }
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public CompletableFuture<RestResponse> execute(RestRequest request) {
+    CompletableFuture<RestResponse> result = new CompletableFuture<>();
+    URL url;
+    try {
+      url = new URL(request.getUrl());
+    } catch (MalformedURLException e) {
+      result.completeExceptionally(e);
+      return result;
+    }
+    boolean https = "https".equalsIgnoreCase(url.getProtocol());
+    String host = url.getHost().replace("[", "").replace("]", "");
+    int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+    Origin origin =
+        origins.computeIfAbsent(
+            url.getProtocol() + "://" + host + ":" + port, key -> new Origin(https, host, port));
+
+    int timeout =
+        request.getReadTimeoutMillis() > 0 ? request.getReadTimeoutMillis() : readTimeoutMillis;
+    if (timeout > 0) {
+      ScheduledFuture<?> timer =
+          eventLoopGroup.schedule(
+              () -> result.completeExceptionally(new SocketTimeoutException("Read timed out")),
+              timeout,
+              TimeUnit.MILLISECONDS);
+      result.whenComplete((response, error) -> timer.cancel(false));
+    }
+    origin.execute(request, url, result);
+    return result;
+  }
+
+  @Override
+  public void close() {
+    origins.values().forEach(Origin::close);
+    origins.clear();
+    if (!sharedEventLoopGroup) {
+      eventLoopGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "NettyRestTransport{" + "protocol=" + protocol + '}';
+  }
+
+  /** The connections to one scheme, host and port. */
+  private final class Origin {
+
+    private final boolean https;
+    private final String host;
+    private final int port;
+    private final Bootstrap bootstrap;
+    private final ChannelPool http1;
+    private volatile boolean http1Only;
+    private CompletableFuture<Channel> http2; // guarded by this
+
+    private Origin(boolean https, String host, int port) {
+      this.https = https;
+      this.host = host;
+      this.port = port;
+      this.bootstrap =
+          new Bootstrap()
+              .group(eventLoopGroup)
+              .channel(channelClass)
+              .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+              .option(ChannelOption.TCP_NODELAY, true)
+              .option(ChannelOption.SO_KEEPALIVE, true)
+              .remoteAddress(InetSocketAddress.createUnresolved(host, port));
+      if (httpProxy != null) {
+        // the proxy resolves the host
+        bootstrap.resolver(NoopAddressResolverGroup.INSTANCE);
+      }
+      this.http1 =
+          new FixedChannelPool(
+              bootstrap,
+              new AbstractChannelPoolHandler() {
+                @Override
+                public void channelCreated(Channel channel) {
+                  ChannelPipeline pipeline = channel.pipeline();
+                  addProxyAndSsl(pipeline, http1SslContext);
+                  pipeline.addLast(new HttpClientCodec());
+                  addResponseDecoders(pipeline);
+                }
+              },
+              maxConnectionsPerHost);
+    }
+
+    private void execute(RestRequest request, URL url, CompletableFuture<RestResponse> result) {
+      boolean useHttp2 =
+          protocol == Protocol.HTTP_2 || (protocol == Protocol.NEGOTIATE && https && !http1Only);
+      if (!useHttp2) {
+        sendHttp1(request, url, result);
+        return;
+      }
+      http2Connection()
+          .whenComplete(
+              (connection, error) -> {
+                if (error != null) {
+                  result.completeExceptionally(error);
+                } else if (connection.pipeline().get(Http2MultiplexHandler.class) != null) {
+                  sendHttp2(connection, request, url, result);
+                } else if (protocol == Protocol.NEGOTIATE) {
+                  // the server selected HTTP/1.1, whose connections are pooled separately
+                  http1Only = true;
+                  connection.close();
+                  sendHttp1(request, url, result);
+                } else {
+                  connection.close();
+                  result.completeExceptionally(new IOException(host + " does not support HTTP/2"));
+                }
+              });
+    }
+
+    private void sendHttp1(RestRequest request, URL url, CompletableFuture<RestResponse> result) {
+      http1
+          .acquire()
+          .addListener(
+              (Future<Channel> acquired) -> {
+                if (!acquired.isSuccess()) {
+                  result.completeExceptionally(acquired.cause());
+                  return;
+                }
+                Channel channel = acquired.getNow();
+                channel.pipeline().addLast(RESPONSE_HANDLER, new ResponseHandler(result));
+                result.whenComplete(
+                    (response, error) -> {
+                      if (channel.pipeline().get(RESPONSE_HANDLER) != null) {
+                        channel.pipeline().remove(RESPONSE_HANDLER);
+                      }
+                      if (error != null) {
+                        // the response may still arrive, and must not be read by the next request
+                        channel.close();
+                      }
+                      http1.release(channel);
+                    });
+                if (!result.isDone()) {
+                  write(channel, toHttpRequest(request, url, false), result);
+                }
+              });
+    }
+
+    private void sendHttp2(
+        Channel connection, RestRequest request, URL url, CompletableFuture<RestResponse> result) {
+      new Http2StreamChannelBootstrap(connection)
+          .handler(
+              new ChannelInitializer<Http2StreamChannel>() {
+                @Override
+                protected void initChannel(Http2StreamChannel stream) {
+                  stream.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false));
+                  addResponseDecoders(stream.pipeline());
+                  stream.pipeline().addLast(RESPONSE_HANDLER, new ResponseHandler(result));
+                }
+              })
+          .open()
+          .addListener(
+              (Future<Http2StreamChannel> opened) -> {
+                if (!opened.isSuccess()) {
+                  result.completeExceptionally(opened.cause());
+                  return;
+                }
+                Http2StreamChannel stream = opened.getNow();
+                result.whenComplete((response, error) -> stream.close());
+                if (!result.isDone()) {
+                  write(stream, toHttpRequest(request, url, true), result);
+                }
+              });
+    }
+
+    /** @return the HTTP/2 connection, or a connection on which the server selected HTTP/1.1 */
+    private synchronized CompletableFuture<Channel> http2Connection() {
+      if (http2 != null
+          && (!http2.isDone() || (!http2.isCompletedExceptionally() && http2.join().isActive()))) {
+        return http2;
+      }
+      CompletableFuture<Channel> connection = new CompletableFuture<>();
+      http2 = connection;
+      bootstrap
+          .clone()
+          .handler(
+              new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel channel) {
+                  addProxyAndSsl(channel.pipeline(), alpnSslContext);
+                  if (!https) {
+                    addHttp2Handlers(channel.pipeline());
+                    channel
+                        .pipeline()
+                        .addLast(
+                            new ChannelInboundHandlerAdapter() {
+                              @Override
+                              public void channelActive(ChannelHandlerContext ctx) {
+                                // only once the codec has sent the connection preface
+                                ctx.fireChannelActive();
+                                connection.complete(ctx.channel());
+                              }
+                            });
+                    return;
+                  }
+                  channel
+                      .pipeline()
+                      .addLast(
+                          new ApplicationProtocolNegotiationHandler(
+                              ApplicationProtocolNames.HTTP_1_1) {
+                            @Override
+                            protected void configurePipeline(
+                                ChannelHandlerContext ctx, String selected) {
+                              if (ApplicationProtocolNames.HTTP_2.equals(selected)) {
+                                addHttp2Handlers(ctx.pipeline());
+                              }
+                              connection.complete(ctx.channel());
+                            }
+
+                            @Override
+                            protected void handshakeFailure(
+                                ChannelHandlerContext ctx, Throwable cause) throws Exception {
+                              connection.completeExceptionally(cause);
+                              super.handshakeFailure(ctx, cause);
+                            }
+                          });
+                }
+              })
+          .connect()
+          .addListener(
+              (ChannelFuture connected) -> {
+                if (!connected.isSuccess()) {
+                  connection.completeExceptionally(connected.cause());
+                  return;
+                }
+                connected
+                    .channel()
+                    .closeFuture()
+                    .addListener(
+                        closed -> connection.completeExceptionally(new ClosedChannelException()));
+              });
+      return connection;
+    }
+
+    private void addProxyAndSsl(ChannelPipeline pipeline, SslContext sslContext) {
+      if (httpProxy != null) {
+        pipeline.addLast(new HttpProxyHandler(httpProxy));
+      }
+      if (https) {
+        SslHandler sslHandler = sslContext.newHandler(pipeline.channel().alloc(), host, port);
+        SSLEngine engine = sslHandler.engine();
+        SSLParameters parameters = engine.getSSLParameters();
+        parameters.setEndpointIdentificationAlgorithm("HTTPS");
+        engine.setSSLParameters(parameters);
+        pipeline.addLast(sslHandler);
+      }
+    }
+
+    private FullHttpRequest toHttpRequest(RestRequest request, URL url, boolean http2) {
+      ByteBuf content =
+          request.getBody() == null
+              ? Unpooled.EMPTY_BUFFER
+              : Unpooled.copiedBuffer(request.getBody(), CharsetUtil.UTF_8);
+      String target = url.getFile().isEmpty() ? "/" : url.getFile();
+      FullHttpRequest httpRequest =
+          new DefaultFullHttpRequest(
+              HttpVersion.HTTP_1_1,
+              io.netty.handler.codec.http.HttpMethod.valueOf(request.getMethod().name()),
+              target,
+              content);
+      HttpHeaders headers = httpRequest.headers();
+      request.getHeaders().forEach(headers::set);
+      headers.set(HttpHeaderNames.HOST, port == url.getDefaultPort() ? host : host + ":" + port);
+      if (!headers.contains(HttpHeaderNames.ACCEPT_ENCODING)) {
+        headers.set(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.GZIP_DEFLATE);
+      }
+      if (request.getBody() != null
+          || request.getMethod() == HttpMethod.POST
+          || request.getMethod() == HttpMethod.PUT
+          || request.getMethod() == HttpMethod.PATCH) {
+        HttpUtil.setContentLength(httpRequest, content.readableBytes());
+      }
+      if (http2) {
+        headers.set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), url.getProtocol());
+      }
+      return httpRequest;
+    }
+
+    private void close() {
+      http1.close();
+      synchronized (this) {
+        if (http2 != null) {
+          http2.thenAccept(Channel::close);
+        }
+      }
+    }
+  }
+
+  private void addHttp2Handlers(ChannelPipeline pipeline) {
+    pipeline.addLast(
+        Http2FrameCodecBuilder.forClient()
+            .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+            // streams beyond the server's limit wait for others to finish
+            .encoderEnforceMaxConcurrentStreams(true)
+            .build());
+    pipeline.addLast(new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+  }
+
+  private void addResponseDecoders(ChannelPipeline pipeline) {
+    pipeline.addLast(new HttpContentDecompressor());
+    pipeline.addLast(new HttpObjectAggregator(maxResponseBytes));
+  }
+
+  private static void write(
+      Channel channel, FullHttpRequest request, CompletableFuture<RestResponse> result) {
+    channel
+        .writeAndFlush(request)
+        .addListener(
+            written -> {
+              if (!written.isSuccess()) {
+                result.completeExceptionally(written.cause());
+              }
+            });
+  }
+
+  /** Completes the future of the request in flight on a connection or stream. */
+  private static final class ResponseHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+
+    private final CompletableFuture<RestResponse> result;
+
+    private ResponseHandler(CompletableFuture<RestResponse> result) {
+      this.result = result;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) {
+      if (!HttpUtil.isKeepAlive(response)) {
+        ctx.close();
+      }
+      Map<String, List<String>> headers = new LinkedHashMap<>();
+      for (Map.Entry<String, String> header : response.headers()) {
+        headers.computeIfAbsent(header.getKey(), name -> new ArrayList<>()).add(header.getValue());
+      }
+      result.complete(
+          new RestResponse(
+              response.status().code(),
+              headers,
+              response.content().toString(HttpUtil.getCharset(response, CharsetUtil.UTF_8))));
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      result.completeExceptionally(cause);
+      ctx.close();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+      result.completeExceptionally(new ClosedChannelException());
+      super.channelInactive(ctx);
+    }
+  }
+
+  public static final class Builder {
+
+    private EventLoopGroup eventLoopGroup;
+    private NettyTransport transport = NettyTransport.NIO;
+    private int eventLoopThreads;
+    private Protocol protocol = Protocol.NEGOTIATE;
+    private int maxConnectionsPerHost = 16;
+    private int connectTimeoutMillis = 10_000;
+    private int readTimeoutMillis = 30_000;
+    private int maxResponseBytes = 64 * 1024 * 1024;
+    private InetSocketAddress httpProxy;
+    private TrustManagerFactory trustManagerFactory;
+
+    private Builder() {}
+
+    /** Runs on an event loop group shared with other clients, which is not shut down on close. */
+    public Builder eventLoopGroup(EventLoopGroup eventLoopGroup) {
+      this.eventLoopGroup = eventLoopGroup;
+      return this;
+    }
+
+    /** The transport of the event loop group the transport creates when none is shared. */
+    public Builder transport(NettyTransport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    /**
+     * The number of threads of the event loop group created when none is shared, 0 for Netty's
+     * default.
+     */
+    public Builder eventLoopThreads(int eventLoopThreads) {
+      this.eventLoopThreads = eventLoopThreads;
+      return this;
+    }
+
+    public Builder protocol(Protocol protocol) {
+      this.protocol = protocol;
+      return this;
+    }
+
+    /** The size of the pool of HTTP/1.1 connections of each host. */
+    public Builder maxConnectionsPerHost(int maxConnectionsPerHost) {
+      this.maxConnectionsPerHost = maxConnectionsPerHost;
+      return this;
+    }
+
+    /** How long to wait for a connection. Applies to all requests, as they share connections. */
+    public Builder connectTimeoutMillis(int connectTimeoutMillis) {
+      this.connectTimeoutMillis = connectTimeoutMillis;
+      return this;
+    }
+
+    /** How long to wait for responses of requests without a read timeout of their own. */
+    public Builder readTimeoutMillis(int readTimeoutMillis) {
+      this.readTimeoutMillis = readTimeoutMillis;
+      return this;
+    }
+
+    /** The largest response body accepted, after decompression. */
+    public Builder maxResponseBytes(int maxResponseBytes) {
+      this.maxResponseBytes = maxResponseBytes;
+      return this;
+    }
+
+    /** Connects through an HTTP proxy, tunneling each connection with CONNECT. */
+    public Builder httpProxy(String host, int port) {
+      this.httpProxy = new InetSocketAddress(host, port);
+      return this;
+    }
+
+    /** Trusts other certificates than those of the JVM's default trust store. */
+    public Builder trustManagerFactory(TrustManagerFactory trustManagerFactory) {
+      this.trustManagerFactory = trustManagerFactory;
+      return this;
+    }
+
+    public NettyRestTransport build() {
+      return new NettyRestTransport(this);
+    }
+  }
+}
@@ -4,15 +4,15 @@ import info.bitrich.xchangestream.service.ConnectableService;
 import info.bitrich.xchangestream.service.exception.NotConnectedException;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
@@ -34,11 +34,18 @@ import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Future;
 import io.netty.util.internal.SocketUtils;
 import io.netty.util.internal.StringUtil;
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.BackpressureStrategy;
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
+import io.reactivex.Scheduler;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 import java.io.IOException;
@@ -47,9 +54,14 @@ import java.net.URISyntaxException;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +71,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
   protected static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(10);
   protected static final Duration DEFAULT_RETRY_DURATION = Duration.ofSeconds(15);
   protected static final int DEFAULT_IDLE_TIMEOUT = 15;
+  protected static final int DEFAULT_EVENT_LOOP_THREADS = 2;
 
   protected class Subscription {
 
@@ -84,7 +97,15 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
   private final Duration retryDuration;
   private final Duration connectionTimeout;
   private final int idleTimeoutSeconds;
-  private volatile NioEventLoopGroup eventLoopGroup;
+  private volatile EventLoopGroup eventLoopGroup;
+  /** Event loop group supplied by the caller, shared with other services and never shut down */
+  private EventLoopGroup sharedEventLoopGroup;
+
+  private NettyTransport transport = NettyTransport.NIO;
+  private ThreadFactory eventLoopThreadFactory;
+  private int eventLoopThreads = DEFAULT_EVENT_LOOP_THREADS;
+  private Scheduler messageScheduler;
+  private volatile WorkerMessageDispatcher messageDispatcher;
   protected final Map<String, Subscription> channels = new ConcurrentHashMap<>();
   private boolean compressedMessages = false;
 
@@ -188,10 +209,19 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                             true,
                             getCustomHeaders(),
                             maxFramePayloadLength),
-                        this::messageHandler);
+                        createMessageHandler());
 
-                if (eventLoopGroup == null || eventLoopGroup.isShutdown()) {
-                  eventLoopGroup = new NioEventLoopGroup(2);
+                final NettyTransport channelTransport;
+                if (sharedEventLoopGroup != null) {
+                  eventLoopGroup = sharedEventLoopGroup;
+                  channelTransport = NettyTransport.of(sharedEventLoopGroup);
+                } else {
+                  channelTransport = transport.resolve();
+                  if (eventLoopGroup == null || eventLoopGroup.isShutdown()) {
+                    eventLoopGroup =
+                        channelTransport.newEventLoopGroup(
+                            eventLoopThreads, eventLoopThreadFactory);
+                  }
                 }
 
                 new Bootstrap()
@@ -200,7 +230,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                         ChannelOption.CONNECT_TIMEOUT_MILLIS,
                         java.lang.Math.toIntExact(connectionTimeout.toMillis()))
                     .option(ChannelOption.SO_KEEPALIVE, true)
-                    .channel(NioSocketChannel.class)
+                    .channel(channelTransport.getSocketChannelClass())
                     .handler(
                         new ChannelInitializer<SocketChannel>() {
                           @Override
@@ -280,6 +310,32 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
             });
   }
 
+  private WebSocketClientHandler.WebSocketMessageHandler createMessageHandler() {
+    if (messageScheduler == null) {
+      return new WebSocketClientHandler.WebSocketMessageHandler() {
+        @Override
+        public void onMessage(String message) {
+          messageHandler(message);
+        }
+
+        @Override
+        public void onMessage(ByteBuf message) {
+          messageHandler(message);
+        }
+      };
+    }
+
+    // A single worker keeps the messages of the connection in order
+    if (messageDispatcher != null) {
+      messageDispatcher.dispose();
+    }
+    WorkerMessageDispatcher dispatcher =
+        new WorkerMessageDispatcher(
+            messageScheduler.createWorker(), this::messageHandler, this::messageHandler);
+    messageDispatcher = dispatcher;
+    return dispatcher;
+  }
+
   private void scheduleReconnect() {
     if (autoReconnect) {
       LOG.info("Scheduling reconnection");
@@ -312,15 +368,23 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                 .addListener(
                     future -> {
                       channels.clear();
-                      eventLoopGroup
-                          .shutdownGracefully(2, idleTimeoutSeconds, TimeUnit.SECONDS)
-                          .addListener(
-                              f -> {
-                                LOG.info("Disconnected");
-                                connectionStateModel.setState(State.CLOSED);
-                                disconnectEmitters.onNext(new Object());
-                                completable.onComplete();
-                              });
+                      if (messageDispatcher != null) {
+                        messageDispatcher.dispose();
+                        messageDispatcher = null;
+                      }
+                      // a shared event loop group outlives this connection
+                      Future<?> closed =
+                          eventLoopGroup == sharedEventLoopGroup
+                              ? webSocketChannel.close()
+                              : eventLoopGroup.shutdownGracefully(
+                                  2, idleTimeoutSeconds, TimeUnit.SECONDS);
+                      closed.addListener(
+                          f -> {
+                            LOG.info("Disconnected");
+                            connectionStateModel.setState(State.CLOSED);
+                            disconnectEmitters.onNext(new Object());
+                            completable.onComplete();
+                          });
                     });
           } else {
             LOG.warn("Disconnect called but already disconnected");
@@ -347,6 +411,18 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
    */
   public abstract void messageHandler(String message);
 
+  /**
+   * Handler that receives incoming text messages without decoding them to a String first. The
+   * buffer is only valid for the duration of the call.
+   *
+   * <p>By default the content is decoded and passed to {@link #messageHandler(String)}.
+   *
+   * @param message Content of the message from the server.
+   */
+  public void messageHandler(ByteBuf message) {
+    messageHandler(message.toString(CharsetUtil.UTF_8));
+  }
+
   public void sendMessage(String message) {
     LOG.debug("Sending message: {}", message);
 
@@ -419,6 +495,48 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
         .share();
   }
 
+  /**
+   * Subscribes to a channel through a bounded buffer, so that a slow subscriber does not hold up
+   * the reading of the socket for the other channels of the connection.
+   *
+   * @param channelName the channel to subscribe to
+   * @param bufferSize number of messages which may be queued for the subscriber, including the one
+   *     being handed over to the scheduler
+   * @param overflowStrategy what to do with new messages when the buffer is full
+   * @param scheduler scheduler on which the subscriber is called, or null to call it on the thread
+   *     delivering the messages
+   * @param args subscription arguments, as for {@link #subscribeChannel(String, Object...)}
+   */
+  public Flowable<T> subscribeBufferedChannel(
+      String channelName,
+      int bufferSize,
+      ChannelOverflowStrategy overflowStrategy,
+      Scheduler scheduler,
+      Object... args) {
+    Flowable<T> flowable =
+        subscribeChannel(channelName, args).toFlowable(BackpressureStrategy.MISSING);
+    // with a scheduler, observeOn holds one more message, taken from the bounded buffer
+    int capacity = scheduler == null ? bufferSize : Math.max(1, bufferSize - 1);
+    switch (overflowStrategy) {
+      case DROP_OLDEST:
+        flowable =
+            flowable.onBackpressureBuffer(
+                capacity,
+                () -> LOG.debug("Buffer of channel {} is full, dropping oldest", channelName),
+                BackpressureOverflowStrategy.DROP_OLDEST);
+        break;
+      case LATEST:
+        flowable = flowable.onBackpressureLatest();
+        break;
+      case ERROR:
+        flowable = flowable.onBackpressureBuffer(capacity);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported overflow strategy " + overflowStrategy);
+    }
+    return scheduler == null ? flowable : flowable.observeOn(scheduler, false, 1);
+  }
+
   public void resubscribeChannels() {
     for (Entry<String, Subscription> entry : channels.entrySet()) {
       try {
@@ -543,6 +661,87 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
     }
   }
 
+  /**
+   * Hands the messages of one connection to a scheduler worker, one at a time and in order. Byte
+   * buffers are retained while they are queued and released once handled, or when the dispatcher is
+   * disposed with messages still pending.
+   */
+  static final class WorkerMessageDispatcher
+      implements WebSocketClientHandler.WebSocketMessageHandler {
+
+    private final Scheduler.Worker worker;
+    private final Consumer<String> stringHandler;
+    private final Consumer<ByteBuf> bufferHandler;
+    /** pending messages, either Strings or retained ByteBufs */
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean disposed;
+
+    WorkerMessageDispatcher(
+        Scheduler.Worker worker, Consumer<String> stringHandler, Consumer<ByteBuf> bufferHandler) {
+      this.worker = worker;
+      this.stringHandler = stringHandler;
+      this.bufferHandler = bufferHandler;
+    }
+
+    @Override
+    public void onMessage(String message) {
+      enqueue(message);
+    }
+
+    @Override
+    public void onMessage(ByteBuf message) {
+      if (!disposed) {
+        enqueue(message.retain());
+      }
+    }
+
+    private void enqueue(Object message) {
+      queue.offer(message);
+      if (disposed) {
+        // dispose() may have cleared the queue before the message was added
+        releasePending();
+      } else if (wip.getAndIncrement() == 0) {
+        worker.schedule(this::drain);
+      }
+    }
+
+    private void drain() {
+      int missed = 1;
+      do {
+        Object message;
+        while (!disposed && (message = queue.poll()) != null) {
+          if (message instanceof ByteBuf) {
+            ByteBuf buffer = (ByteBuf) message;
+            try {
+              bufferHandler.accept(buffer);
+            } finally {
+              buffer.release();
+            }
+          } else {
+            stringHandler.accept((String) message);
+          }
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    /** Stops handling messages and releases the buffers which were not handled yet. */
+    void dispose() {
+      disposed = true;
+      worker.dispose();
+      releasePending();
+    }
+
+    private void releasePending() {
+      Object message;
+      while ((message = queue.poll()) != null) {
+        ReferenceCountUtil.release(message);
+      }
+    }
+  }
+
   public boolean isSocketOpen() {
     return webSocketChannel != null && webSocketChannel.isOpen();
   }
@@ -574,4 +773,37 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
   public void setAutoReconnect(boolean autoReconnect) {
     this.autoReconnect = autoReconnect;
   }
+
+  /**
+   * Uses an event loop group created by the caller instead of creating one per connection. The
+   * group can be shared between services and is not shut down on disconnect. The channel type is
+   * derived from the group, see {@link NettyTransport#of(EventLoopGroup)}.
+   */
+  public void setEventLoopGroup(EventLoopGroup eventLoopGroup) {
+    this.sharedEventLoopGroup = eventLoopGroup;
+  }
+
+  /** Transport used when the service creates its own event loop group. Defaults to NIO. */
+  public void setTransport(NettyTransport transport) {
+    this.transport = transport;
+  }
+
+  /** Thread factory used when the service creates its own event loop group. */
+  public void setEventLoopThreadFactory(ThreadFactory eventLoopThreadFactory) {
+    this.eventLoopThreadFactory = eventLoopThreadFactory;
+  }
+
+  /**
+   * Moves the decoding and dispatching of incoming messages off the event loop to a worker of the
+   * given scheduler. Messages of one connection are still handled one at a time, in order. Takes
+   * effect on the next connection.
+   */
+  public void setMessageScheduler(Scheduler messageScheduler) {
+    this.messageScheduler = messageScheduler;
+  }
+
+  /** Number of threads of the event loop group created by the service. Defaults to 2. */
+  public void setEventLoopThreads(int eventLoopThreads) {
+    this.eventLoopThreads = eventLoopThreads;
+  }
 }
@@ -0,0 +1,85 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Netty transport used by {@link NettyStreamingService} for its websocket connection.
+ *
+ * <p>{@link #NIO} works everywhere. {@link #EPOLL} uses the native Linux transport, which has lower
+ * wakeup latency and fewer allocations, and fails to connect where it is not available. {@link
+ * #AUTO} picks epoll when the native library can be loaded and falls back to NIO otherwise.
+ */
+public enum NettyTransport {
+  NIO {
+    @Override
+    public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+      return new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+      return NioSocketChannel.class;
+    }
+  },
+
+  EPOLL {
+    @Override
+    public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+      Epoll.ensureAvailability();
+      return new EpollEventLoopGroup(threads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+      return EpollSocketChannel.class;
+    }
+  },
+
+  AUTO {
+    @Override
+    public EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+      return resolve().newEventLoopGroup(threads, threadFactory);
+    }
+
+    @Override
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+      return resolve().getSocketChannelClass();
+    }
+
+    @Override
+    public NettyTransport resolve() {
+      return Epoll.isAvailable() ? EPOLL : NIO;
+    }
+  };
+
+  /**
+   * Creates an event loop group for this transport.
+   *
+   * @param threads number of event loops, 0 for the Netty default
+   * @param threadFactory factory for the event loop threads, null for the Netty default
+   */
+  public abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+  /** @return the channel class to use with event loop groups of this transport */
+  public abstract Class<? extends SocketChannel> getSocketChannelClass();
+
+  /** @return the concrete transport, which differs from this one only for {@link #AUTO} */
+  public NettyTransport resolve() {
+    return this;
+  }
+
+  /**
+   * @param eventLoopGroup an event loop group created outside of the streaming service
+   * @return the transport matching the channels the group can serve
+   */
+  public static NettyTransport of(EventLoopGroup eventLoopGroup) {
+    return eventLoopGroup instanceof EpollEventLoopGroup ? EPOLL : NIO;
+  }
+}
@@ -1,5 +1,7 @@
 package info.bitrich.xchangestream.service.netty;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -20,15 +22,27 @@ import org.slf4j.LoggerFactory;
 
 public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object> {
   private static final Logger LOG = LoggerFactory.getLogger(WebSocketClientHandler.class);
-  private final StringBuilder currentMessage = new StringBuilder();
 
   public interface WebSocketMessageHandler {
     public void onMessage(String message);
+
+    /**
+     * Receives the content of a complete text message. The buffer is only valid for the duration of
+     * the call and must be retained by implementations which keep it.
+     *
+     * <p>By default the content is decoded to a String and passed to {@link #onMessage(String)}.
+     * Handlers which can consume bytes directly override this to avoid the copy.
+     */
+    default void onMessage(ByteBuf message) {
+      onMessage(message.toString(CharsetUtil.UTF_8));
+    }
   }
 
   protected final WebSocketClientHandshaker handshaker;
   protected final WebSocketMessageHandler handler;
   private ChannelPromise handshakeFuture;
+  /** Fragments of the message being received, null when no fragmented message is in progress */
+  private CompositeByteBuf currentMessage;
 
   public WebSocketClientHandler(
       WebSocketClientHandshaker handshaker, WebSocketMessageHandler handler) {
@@ -45,6 +59,11 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     handshakeFuture = ctx.newPromise();
   }
 
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) {
+    releaseCurrentMessage();
+  }
+
   @Override
   public void channelActive(ChannelHandlerContext ctx) {
     handshaker.handshake(ctx.channel());
@@ -82,9 +101,9 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
 
     WebSocketFrame frame = (WebSocketFrame) msg;
     if (frame instanceof TextWebSocketFrame) {
-      dealWithTextFrame((TextWebSocketFrame) frame);
+      dealWithTextFrame(ctx, (TextWebSocketFrame) frame);
     } else if (frame instanceof ContinuationWebSocketFrame) {
-      dealWithContinuation((ContinuationWebSocketFrame) frame);
+      dealWithContinuation(ctx, (ContinuationWebSocketFrame) frame);
     } else if (frame instanceof PingWebSocketFrame) {
       LOG.debug("WebSocket Client received ping");
       ch.writeAndFlush(new PongWebSocketFrame(frame.content().retain()));
@@ -96,19 +115,38 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     }
   }
 
-  private void dealWithTextFrame(TextWebSocketFrame frame) {
+  private void dealWithTextFrame(ChannelHandlerContext ctx, TextWebSocketFrame frame) {
     if (frame.isFinalFragment()) {
-      handler.onMessage(frame.text());
+      handler.onMessage(frame.content());
       return;
     }
-    currentMessage.append(frame.text());
+    releaseCurrentMessage();
+    appendFragment(ctx, frame);
   }
 
-  private void dealWithContinuation(ContinuationWebSocketFrame frame) {
-    currentMessage.append(frame.text());
+  private void dealWithContinuation(ChannelHandlerContext ctx, ContinuationWebSocketFrame frame) {
+    appendFragment(ctx, frame);
     if (frame.isFinalFragment()) {
-      handler.onMessage(currentMessage.toString());
-      currentMessage.setLength(0);
+      try {
+        handler.onMessage(currentMessage);
+      } finally {
+        releaseCurrentMessage();
+      }
+    }
+  }
+
+  // Keeps a reference to the fragment content rather than copying it
+  private void appendFragment(ChannelHandlerContext ctx, WebSocketFrame frame) {
+    if (currentMessage == null) {
+      currentMessage = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+    }
+    currentMessage.addComponent(true, frame.content().retain());
+  }
+
+  private void releaseCurrentMessage() {
+    if (currentMessage != null) {
+      currentMessage.release();
+      currentMessage = null;
     }
   }
 
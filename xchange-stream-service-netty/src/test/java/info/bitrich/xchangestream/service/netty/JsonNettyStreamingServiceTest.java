@@ -0,0 +1,148 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import info.bitrich.xchangestream.service.netty.replay.RecordedFeed;
+import info.bitrich.xchangestream.service.netty.replay.ReplayWebSocketServer;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class JsonNettyStreamingServiceTest {
+
+  private ReplayWebSocketServer server;
+  private TestStreamingService service;
+
+  @After
+  public void tearDown() {
+    if (service != null) {
+      service.disconnect().blockingAwait();
+    }
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Test
+  public void testTypedMessagesAreBoundFromTokens() throws Exception {
+    connect(
+        "{\"channel\":\"trades\",\"n\":1}",
+        "{\"channel\":\"trades\",\"n\":2}",
+        "{\"channel\":\"status\",\"n\":3}");
+
+    TestObserver<Trade> trades = service.<Trade>subscribeChannel("trades", tradeType()).test();
+    server.replay();
+
+    trades.awaitCount(2);
+    trades.assertValueCount(2);
+    assertThat(trades.values()).extracting(trade -> trade.n).containsExactly(1, 2);
+    assertThat(service.tokenScans.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void testSubscribersOfOneChannelShareTheTypedSubscription() throws Exception {
+    connect("{\"channel\":\"trades\",\"n\":1}", "{\"channel\":\"trades\",\"n\":2}");
+
+    Observable<Trade> first = service.subscribeChannel("trades", tradeType());
+    Observable<Trade> second = service.subscribeChannel("trades", tradeType());
+    TestObserver<Trade> firstObserver = first.test();
+    TestObserver<Trade> secondObserver = second.test();
+    server.replay();
+
+    firstObserver.awaitCount(2);
+    secondObserver.awaitCount(2);
+    assertThat(firstObserver.values()).extracting(trade -> trade.n).containsExactly(1, 2);
+    assertThat(secondObserver.values()).extracting(trade -> trade.n).containsExactly(1, 2);
+    assertThat(server.pollReceivedMessage(1, TimeUnit.SECONDS))
+        .isEqualTo("{\"subscribe\":\"trades\"}");
+    assertThat(server.pollReceivedMessage(100, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  @Test
+  public void testChannelCannotBeBoundToTwoTypes() throws Exception {
+    connect();
+
+    service.subscribeChannel("trades", tradeType());
+
+    JavaType other = service.objectMapper.getTypeFactory().constructType(JsonNode.class);
+    assertThatThrownBy(() -> service.subscribeChannel("trades", other))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void testMalformedMessageReachesSubscriber() throws Exception {
+    connect("{\"channel\":\"trades\",\"n\":1}", "{\"channel\":\"trades\",\"n\":\"x\"}");
+
+    TestObserver<Trade> trades = service.<Trade>subscribeChannel("trades", tradeType()).test();
+    server.replay();
+
+    trades.await(5, TimeUnit.SECONDS);
+    trades.assertValueCount(1);
+    trades.assertError(IOException.class);
+  }
+
+  private void connect(String... messages) throws Exception {
+    server =
+        new ReplayWebSocketServer(RecordedFeed.of(Arrays.asList(messages)))
+            .setSpeed(ReplayWebSocketServer.MAX_SPEED)
+            .setReplayTrigger(null)
+            .start();
+    service = new TestStreamingService(server.getUri("/"));
+    service.connect().blockingAwait();
+  }
+
+  private JavaType tradeType() {
+    return service.objectMapper.getTypeFactory().constructType(Trade.class);
+  }
+
+  private static class Trade {
+
+    final int n;
+
+    @JsonCreator
+    Trade(@JsonProperty("channel") String channel, @JsonProperty("n") int n) {
+      this.n = n;
+    }
+  }
+
+  private static class TestStreamingService extends JsonNettyStreamingService {
+
+    final AtomicInteger tokenScans = new AtomicInteger();
+
+    TestStreamingService(String apiUrl) {
+      super(apiUrl);
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(JsonNode message) {
+      return message.get("channel").asText();
+    }
+
+    @Override
+    protected String getChannelNameFromTokens(JsonParser parser) throws IOException {
+      tokenScans.incrementAndGet();
+      return findTopLevelText(parser, "channel");
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return "{\"subscribe\":\"" + channelName + "\"}";
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+  }
+}
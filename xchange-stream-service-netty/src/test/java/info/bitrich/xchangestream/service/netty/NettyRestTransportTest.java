@@ -0,0 +1,351 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpServer;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.util.CharsetUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.FormParam;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import org.junit.After;
+import org.junit.Test;
+import org.knowm.xchange.client.RestRequest;
+import org.knowm.xchange.client.RestResponse;
+import org.knowm.xchange.client.TransportRestProxyFactory;
+import si.mazi.rescu.HttpMethod;
+import si.mazi.rescu.SynchronizedValueFactory;
+
+public class NettyRestTransportTest {
+
+  private final List<AutoCloseable> resources = new ArrayList<>();
+
+  @After
+  public void tearDown() throws Exception {
+    Collections.reverse(resources);
+    for (AutoCloseable resource : resources) {
+      resource.close();
+    }
+  }
+
+  @Test
+  public void testHttp1ConnectionsAreKeptAlive() throws Exception {
+    Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/api",
+        exchange -> {
+          clientPorts.add(exchange.getRemoteAddress().getPort());
+          byte[] body;
+          if ("POST".equals(exchange.getRequestMethod())) {
+            String form = new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8);
+            body = ("{\"form\":\"" + form + "\"}").getBytes(StandardCharsets.UTF_8);
+          } else {
+            String path = exchange.getRequestURI().getPath();
+            body =
+                ("{\"symbol\":\"" + path.substring(path.lastIndexOf('/') + 1) + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+          }
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    server.setExecutor(Executors.newFixedThreadPool(8));
+    server.start();
+    resources.add(() -> server.stop(0));
+
+    NettyRestTransport transport =
+        NettyRestTransport.builder()
+            .eventLoopThreads(1)
+            .protocol(NettyRestTransport.Protocol.HTTP_1_1)
+            .maxConnectionsPerHost(4)
+            .build();
+    resources.add(transport);
+    Api api =
+        new TransportRestProxyFactory(transport)
+            .createProxy(Api.class, "http://127.0.0.1:" + server.getAddress().getPort());
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(api.ticker("BTC" + i)).containsEntry("symbol", "BTC" + i);
+    }
+    assertThat(clientPorts).hasSize(1);
+
+    List<CompletableFuture<Map<String, String>>> tickers = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      tickers.add(api.tickerAsync("ETH" + i));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertThat(tickers.get(i).get(5, TimeUnit.SECONDS)).containsEntry("symbol", "ETH" + i);
+    }
+    assertThat(clientPorts).hasSizeLessThanOrEqualTo(4);
+
+    assertThat(api.order("1.5")).containsEntry("form", "amount=1.5");
+  }
+
+  @Test
+  public void testNonceRequestsArriveInOrder() throws Exception {
+    List<Long> received = Collections.synchronizedList(new ArrayList<>());
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/api",
+        exchange -> {
+          String form = new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8);
+          received.add(Long.parseLong(form.substring("nonce=".length())));
+          try {
+            // requests sent on several connections would overtake each other
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    ExecutorService serverExecutor = Executors.newFixedThreadPool(16);
+    resources.add(serverExecutor::shutdownNow);
+    server.setExecutor(serverExecutor);
+    server.start();
+    resources.add(() -> server.stop(0));
+
+    NettyRestTransport transport =
+        NettyRestTransport.builder()
+            .eventLoopThreads(4)
+            .protocol(NettyRestTransport.Protocol.HTTP_1_1)
+            .build();
+    resources.add(transport);
+    Api api =
+        new TransportRestProxyFactory(transport)
+            .createProxy(Api.class, "http://127.0.0.1:" + server.getAddress().getPort());
+    AtomicLong nonce = new AtomicLong();
+    SynchronizedValueFactory<Long> nonceFactory = nonce::incrementAndGet;
+
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    resources.add(callers::shutdownNow);
+    List<CompletableFuture<?>> calls = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      boolean async = i % 2 == 0;
+      calls.add(
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  if (async) {
+                    api.balanceAsync(nonceFactory).join();
+                  } else {
+                    api.balance(nonceFactory);
+                  }
+                } catch (IOException e) {
+                  throw new IllegalStateException(e);
+                }
+              },
+              callers));
+    }
+    CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+    assertThat(received).hasSize(64).isSorted();
+  }
+
+  @Test
+  public void testReadTimeout() throws Exception {
+    HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          try {
+            Thread.sleep(2_000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          exchange.sendResponseHeaders(204, -1);
+          exchange.close();
+        });
+    server.start();
+    resources.add(() -> server.stop(0));
+    NettyRestTransport transport = NettyRestTransport.builder().eventLoopThreads(1).build();
+    resources.add(transport);
+
+    CompletableFuture<RestResponse> response =
+        transport.execute(
+            new RestRequest(
+                HttpMethod.GET,
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/slow",
+                Collections.emptyMap(),
+                null,
+                0,
+                200));
+
+    assertThatThrownBy(() -> response.get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(SocketTimeoutException.class);
+  }
+
+  @Test
+  public void testHttp2RequestsShareOneConnection() throws Exception {
+    AtomicInteger connections = new AtomicInteger();
+    EventLoopGroup serverGroup = new NioEventLoopGroup(1);
+    resources.add(() -> serverGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS));
+    Channel server =
+        new ServerBootstrap()
+            .group(serverGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(
+                new ChannelInitializer<SocketChannel>() {
+                  @Override
+                  protected void initChannel(SocketChannel channel) {
+                    connections.incrementAndGet();
+                    channel.pipeline().addLast(Http2FrameCodecBuilder.forServer().build());
+                    channel
+                        .pipeline()
+                        .addLast(
+                            new Http2MultiplexHandler(
+                                new ChannelInitializer<Channel>() {
+                                  @Override
+                                  protected void initChannel(Channel stream) {
+                                    stream
+                                        .pipeline()
+                                        .addLast(
+                                            new Http2StreamFrameToHttpObjectCodec(true),
+                                            new HttpObjectAggregator(65536),
+                                            new EchoPathHandler());
+                                  }
+                                }));
+                  }
+                })
+            .bind("127.0.0.1", 0)
+            .sync()
+            .channel();
+    resources.add(server::close);
+    int port = ((InetSocketAddress) server.localAddress()).getPort();
+
+    NettyRestTransport transport =
+        NettyRestTransport.builder()
+            .eventLoopThreads(1)
+            .protocol(NettyRestTransport.Protocol.HTTP_2)
+            .build();
+    resources.add(transport);
+
+    List<CompletableFuture<RestResponse>> responses = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      responses.add(
+          transport.execute(
+              new RestRequest(
+                  HttpMethod.GET,
+                  "http://127.0.0.1:" + port + "/ticker/" + i + "?depth=5",
+                  Collections.emptyMap(),
+                  null,
+                  0,
+                  0)));
+    }
+    for (int i = 0; i < 50; i++) {
+      RestResponse response = responses.get(i).get(5, TimeUnit.SECONDS);
+      assertThat(response.getStatusCode()).isEqualTo(200);
+      assertThat(response.getBody()).isEqualTo("/ticker/" + i + "?depth=5");
+      assertThat(response.getHeader("Content-Type")).isEqualTo("text/plain");
+    }
+    assertThat(connections).hasValue(1);
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    for (int read; (read = in.read(buffer)) != -1; ) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  private static final class EchoPathHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+      FullHttpResponse response =
+          new DefaultFullHttpResponse(
+              HttpVersion.HTTP_1_1,
+              HttpResponseStatus.OK,
+              Unpooled.copiedBuffer(request.uri(), CharsetUtil.UTF_8));
+      response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/plain");
+      HttpUtil.setContentLength(response, response.content().readableBytes());
+      ctx.writeAndFlush(response);
+    }
+  }
+
+  @Path("api")
+  @Produces(MediaType.APPLICATION_JSON)
+  public interface Api {
+
+    @GET
+    @Path("ticker/{symbol}")
+    Map<String, String> ticker(@PathParam("symbol") String symbol) throws IOException;
+
+    @GET
+    @Path("ticker/{symbol}")
+    CompletableFuture<Map<String, String>> tickerAsync(@PathParam("symbol") String symbol);
+
+    @POST
+    @Path("order")
+    Map<String, String> order(@FormParam("amount") String amount) throws IOException;
+
+    @POST
+    @Path("balance")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    Map<String, String> balance(@FormParam("nonce") SynchronizedValueFactory<Long> nonce)
+        throws IOException;
+
+    @POST
+    @Path("balance")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletableFuture<Map<String, String>> balanceAsync(
+        @FormParam("nonce") SynchronizedValueFactory<Long> nonce);
+  }
+}
@@ -0,0 +1,283 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import info.bitrich.xchangestream.service.netty.replay.RecordedFeed;
+import info.bitrich.xchangestream.service.netty.replay.ReplayWebSocketServer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class NettyStreamingServiceTest {
+
+  private ReplayWebSocketServer server;
+  private TestStreamingService service;
+  private EventLoopGroup group;
+
+  @After
+  public void tearDown() {
+    if (service != null) {
+      service.disconnect().blockingAwait();
+    }
+    if (server != null) {
+      server.close();
+    }
+    if (group != null) {
+      group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+  }
+
+  @Test
+  public void testSharedEventLoopGroupIsReusedAndNotShutDown() throws Exception {
+    group = new NioEventLoopGroup(1, new DefaultThreadFactory("shared-loop"));
+    startServer("{\"channel\":\"trades\",\"n\":1}");
+    service = new TestStreamingService(server.getUri("/"));
+    service.setEventLoopGroup(group);
+
+    for (int connection = 0; connection < 2; connection++) {
+      service.connect().blockingAwait();
+      TestObserver<JsonNode> trades = service.subscribeChannel("trades").test();
+      server.replay();
+      trades.awaitCount(1);
+      trades.assertValueCount(1);
+
+      service.disconnect().blockingAwait();
+      assertThat(group.isShuttingDown()).isFalse();
+    }
+    assertThat(service.threadNames).hasSize(2).allMatch(name -> name.startsWith("shared-loop"));
+  }
+
+  @Test
+  public void testOwnEventLoopGroupUsesThreadFactory() throws Exception {
+    startServer("{\"channel\":\"trades\",\"n\":1}");
+    service = new TestStreamingService(server.getUri("/"));
+    service.setTransport(NettyTransport.AUTO);
+    service.setEventLoopThreads(1);
+    service.setEventLoopThreadFactory(new DefaultThreadFactory("own-loop"));
+
+    service.connect().blockingAwait();
+    TestObserver<JsonNode> trades = service.subscribeChannel("trades").test();
+    server.replay();
+    trades.awaitCount(1);
+    service.disconnect().blockingAwait();
+
+    assertThat(service.threadNames).singleElement().asString().startsWith("own-loop");
+  }
+
+  @Test
+  public void testTransportOfGroup() {
+    group = new NioEventLoopGroup(1);
+
+    assertThat(NettyTransport.of(group)).isEqualTo(NettyTransport.NIO);
+    assertThat(NettyTransport.AUTO.resolve()).isIn(NettyTransport.NIO, NettyTransport.EPOLL);
+    assertThat(NettyTransport.EPOLL.getSocketChannelClass()).isEqualTo(EpollSocketChannel.class);
+  }
+
+  @Test
+  public void testBufferedChannelDropsOldest() throws Exception {
+    TestSubscriber<JsonNode> subscriber =
+        fillBufferedChannel(ChannelOverflowStrategy.DROP_OLDEST, 4);
+
+    subscriber.awaitCount(4);
+    assertThat(subscriber.values())
+        .extracting(node -> node.get("n").asInt())
+        .containsExactly(0, 8, 9, 10);
+    subscriber.assertNoErrors();
+  }
+
+  @Test
+  public void testBufferedChannelKeepsLatest() throws Exception {
+    TestSubscriber<JsonNode> subscriber = fillBufferedChannel(ChannelOverflowStrategy.LATEST, 4);
+
+    subscriber.awaitCount(2);
+    assertThat(subscriber.values())
+        .extracting(node -> node.get("n").asInt())
+        .containsExactly(0, 10);
+    subscriber.assertNoErrors();
+  }
+
+  @Test
+  public void testBufferedChannelFailsOnOverflow() throws Exception {
+    TestSubscriber<JsonNode> subscriber = fillBufferedChannel(ChannelOverflowStrategy.ERROR, 4);
+
+    subscriber.await(5, TimeUnit.SECONDS);
+    subscriber.assertError(MissingBackpressureException.class);
+    assertThat(subscriber.values()).extracting(node -> node.get("n").asInt()).startsWith(0);
+  }
+
+  @Test
+  public void testDispatcherReleasesPendingBuffersOnDispose() {
+    TestScheduler scheduler = new TestScheduler();
+    List<String> handled = new ArrayList<>();
+    NettyStreamingService.WorkerMessageDispatcher dispatcher =
+        new NettyStreamingService.WorkerMessageDispatcher(
+            scheduler.createWorker(),
+            handled::add,
+            buffer -> handled.add(buffer.toString(CharsetUtil.UTF_8)));
+
+    ByteBuf handledBuffer = Unpooled.copiedBuffer("a", CharsetUtil.UTF_8);
+    dispatcher.onMessage(handledBuffer);
+    handledBuffer.release();
+    dispatcher.onMessage("b");
+    scheduler.triggerActions();
+    assertThat(handled).containsExactly("a", "b");
+    assertThat(handledBuffer.refCnt()).isZero();
+
+    ByteBuf pending = Unpooled.copiedBuffer("c", CharsetUtil.UTF_8);
+    dispatcher.onMessage(pending);
+    pending.release();
+    assertThat(pending.refCnt()).isEqualTo(1);
+    dispatcher.dispose();
+    assertThat(pending.refCnt()).isZero();
+
+    ByteBuf late = Unpooled.copiedBuffer("d", CharsetUtil.UTF_8);
+    dispatcher.onMessage(late);
+    late.release();
+    scheduler.triggerActions();
+    assertThat(late.refCnt()).isZero();
+    assertThat(handled).containsExactly("a", "b");
+  }
+
+  @Test
+  public void testPendingMessagesAreReleasedOnReconnect() throws Exception {
+    startServer("{\"channel\":\"trades\",\"n\":1}", "{\"channel\":\"trades\",\"n\":2}");
+    List<ByteBuf> received = new CopyOnWriteArrayList<>();
+    service =
+        new TestStreamingService(server.getUri("/")) {
+          @Override
+          protected WebSocketClientHandler getWebSocketClientHandler(
+              WebSocketClientHandshaker handshaker,
+              WebSocketClientHandler.WebSocketMessageHandler handler) {
+            return super.getWebSocketClientHandler(
+                handshaker,
+                new WebSocketClientHandler.WebSocketMessageHandler() {
+                  @Override
+                  public void onMessage(String message) {
+                    handler.onMessage(message);
+                  }
+
+                  @Override
+                  public void onMessage(ByteBuf message) {
+                    received.add(message);
+                    handler.onMessage(message);
+                  }
+                });
+          }
+        };
+    // a scheduler which never runs the worker keeps every message pending
+    service.setMessageScheduler(new TestScheduler());
+    service.connect().blockingAwait();
+    service.subscribeChannel("trades").test();
+    server.replay();
+    assertThat(server.awaitReplayed(5, TimeUnit.SECONDS)).isTrue();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (received.size() < 2 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(received).hasSize(2).allMatch(buffer -> buffer.refCnt() == 1);
+
+    service.connect().blockingAwait();
+
+    assertThat(received).allMatch(buffer -> buffer.refCnt() == 0);
+    assertThat(service.threadNames).isEmpty();
+  }
+
+  // Blocks the subscriber on the first of 11 messages until all of them have been received
+  private TestSubscriber<JsonNode> fillBufferedChannel(
+      ChannelOverflowStrategy overflowStrategy, int bufferSize) throws Exception {
+    // the others follow once the subscriber holds the first, so that none overflows before
+    StringBuilder feed = new StringBuilder();
+    List<String> messages = new ArrayList<>();
+    for (int i = 0; i <= 10; i++) {
+      messages.add("{\"channel\":\"trades\",\"n\":" + i + "}");
+      feed.append(i == 0 ? 0 : 200).append(' ').append(messages.get(i)).append('\n');
+    }
+    server =
+        new ReplayWebSocketServer(
+                RecordedFeed.read(
+                    new ByteArrayInputStream(feed.toString().getBytes(StandardCharsets.UTF_8))))
+            .setReplayTrigger(null)
+            .start();
+    service = new TestStreamingService(server.getUri("/"));
+    service.connect().blockingAwait();
+
+    CountDownLatch received = new CountDownLatch(messages.size());
+    service.onChannelMessage = received::countDown;
+    CountDownLatch firstHandled = new CountDownLatch(1);
+    TestSubscriber<JsonNode> subscriber =
+        service
+            .subscribeBufferedChannel("trades", bufferSize, overflowStrategy, Schedulers.single())
+            .doOnNext(
+                message -> {
+                  if (firstHandled.getCount() > 0) {
+                    firstHandled.countDown();
+                    received.await(5, TimeUnit.SECONDS);
+                  }
+                })
+            .test();
+    server.replay();
+    assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+    return subscriber;
+  }
+
+  private void startServer(String... messages) throws InterruptedException {
+    server =
+        new ReplayWebSocketServer(RecordedFeed.of(Arrays.asList(messages)))
+            .setSpeed(ReplayWebSocketServer.MAX_SPEED)
+            .setReplayTrigger(null)
+            .start();
+  }
+
+  private static class TestStreamingService extends JsonNettyStreamingService {
+
+    final List<String> threadNames = new CopyOnWriteArrayList<>();
+    volatile Runnable onChannelMessage = () -> {};
+
+    TestStreamingService(String apiUrl) {
+      super(apiUrl);
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(JsonNode message) {
+      threadNames.add(Thread.currentThread().getName());
+      return message.get("channel").asText();
+    }
+
+    @Override
+    protected void handleChannelMessage(String channel, JsonNode message) {
+      super.handleChannelMessage(channel, message);
+      onChannelMessage.run();
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+  }
+}
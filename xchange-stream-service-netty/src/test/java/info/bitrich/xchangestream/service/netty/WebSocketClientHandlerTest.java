@@ -0,0 +1,84 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
+import io.netty.util.CharsetUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WebSocketClientHandlerTest {
+
+  private final List<String> messages = new ArrayList<>();
+  private EmbeddedChannel channel;
+
+  @Before
+  public void setUp() {
+    WebSocketClientHandshaker handshaker = mock(WebSocketClientHandshaker.class);
+    when(handshaker.isHandshakeComplete()).thenReturn(true);
+    channel = new EmbeddedChannel(new WebSocketClientHandler(handshaker, messages::add));
+  }
+
+  @After
+  public void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  public void testSingleFrameIsDeliveredAndReleased() {
+    ByteBuf content = text("{\"event\":\"info\"}");
+
+    channel.writeInbound(new TextWebSocketFrame(content));
+
+    assertThat(messages).containsExactly("{\"event\":\"info\"}");
+    assertThat(content.refCnt()).isZero();
+  }
+
+  @Test
+  public void testContinuationFramesAreAssembledAndReleased() {
+    ByteBuf first = text("{\"event\":");
+    ByteBuf second = text("\"subscribed\",");
+    ByteBuf last = text("\"channel\":\"book\"}");
+
+    channel.writeInbound(new TextWebSocketFrame(false, 0, first));
+    channel.writeInbound(new ContinuationWebSocketFrame(false, 0, second));
+    assertThat(messages).isEmpty();
+    channel.writeInbound(new ContinuationWebSocketFrame(true, 0, last));
+
+    assertThat(messages).containsExactly("{\"event\":\"subscribed\",\"channel\":\"book\"}");
+    assertThat(first.refCnt()).isZero();
+    assertThat(second.refCnt()).isZero();
+    assertThat(last.refCnt()).isZero();
+  }
+
+  @Test
+  public void testAbandonedFragmentsAreReleased() {
+    ByteBuf abandoned = text("{\"partial\":");
+    channel.writeInbound(new TextWebSocketFrame(false, 0, abandoned));
+    assertThat(abandoned.refCnt()).isEqualTo(1);
+
+    // a new message replaces the unfinished one
+    ByteBuf restarted = text("{\"a\":");
+    channel.writeInbound(new TextWebSocketFrame(false, 0, restarted));
+    assertThat(abandoned.refCnt()).isZero();
+
+    // closing the channel removes the handler with a fragment still pending
+    channel.close();
+    assertThat(restarted.refCnt()).isZero();
+    assertThat(messages).isEmpty();
+  }
+
+  private static ByteBuf text(String text) {
+    return Unpooled.copiedBuffer(text, CharsetUtil.UTF_8);
+  }
+}
@@ -0,0 +1,107 @@
+package info.bitrich.xchangestream.service.netty.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Websocket frames captured from a venue, in the order they were received.
+ *
+ * <p>The text format has one frame per line, prefixed by the epoch millisecond it was received at
+ * and a single space: {@code 1640995200123 {"stream":"btcusdt@trade","data":{...}}}. A line without
+ * a timestamp is taken to have arrived together with the previous one. Blank lines and lines
+ * starting with {@code #} are ignored.
+ */
+public final class RecordedFeed {
+
+  private final List<Frame> frames;
+
+  private RecordedFeed(List<Frame> frames) {
+    this.frames = Collections.unmodifiableList(frames);
+  }
+
+  /**
+   * @param resourceClass class the resource name is resolved against
+   * @param name name of a resource in the text format described above
+   */
+  public static RecordedFeed fromResource(Class<?> resourceClass, String name) throws IOException {
+    try (InputStream in = resourceClass.getResourceAsStream(name)) {
+      if (in == null) {
+        throw new IOException("Resource not found: " + name);
+      }
+      return read(in);
+    }
+  }
+
+  /** Reads a feed in the text format described above. */
+  public static RecordedFeed read(InputStream in) throws IOException {
+    List<Frame> frames = new ArrayList<>();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    long time = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      int space = line.indexOf(' ');
+      if (space > 0 && isDigits(line, space)) {
+        time = Long.parseLong(line.substring(0, space));
+        line = line.substring(space + 1);
+      }
+      frames.add(new Frame(time, line));
+    }
+    return new RecordedFeed(frames);
+  }
+
+  /** A feed of frames that all arrived at once, for example generated ones. */
+  public static RecordedFeed of(List<String> texts) {
+    List<Frame> frames = new ArrayList<>(texts.size());
+    for (String text : texts) {
+      frames.add(new Frame(0, text));
+    }
+    return new RecordedFeed(frames);
+  }
+
+  public List<Frame> getFrames() {
+    return frames;
+  }
+
+  public int size() {
+    return frames.size();
+  }
+
+  private static boolean isDigits(String line, int end) {
+    for (int i = 0; i < end; i++) {
+      if (!Character.isDigit(line.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static final class Frame {
+
+    private final long timeMillis;
+    private final String text;
+
+    public Frame(long timeMillis, String text) {
+      this.timeMillis = timeMillis;
+      this.text = text;
+    }
+
+    /** @return the epoch millisecond the frame was received at */
+    public long getTimeMillis() {
+      return timeMillis;
+    }
+
+    public String getText() {
+      return text;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package info.bitrich.xchangestream.service.netty.replay;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the time from a replayed frame being written by a {@link ReplayWebSocketServer} to the
+ * resulting emission of a streaming {@code Observable}.
+ *
+ * <p>Call {@link #record(int)} from the subscriber with the index of the frame that produced the
+ * emission. Where every frame produces exactly one emission this is simply a running count.
+ */
+public class ReplayMeasurement {
+
+  private final ReplayWebSocketServer server;
+  private final long[] receivedNanos;
+  private int count;
+
+  public ReplayMeasurement(ReplayWebSocketServer server) {
+    this.server = server;
+    this.receivedNanos = new long[server.getFeed().size()];
+  }
+
+  /** Records the emission caused by the given frame, must be called from a single thread. */
+  public void record(int frameIndex) {
+    receivedNanos[frameIndex] = System.nanoTime();
+    count = Math.max(count, frameIndex + 1);
+  }
+
+  /** @return the number of frames for which an emission was recorded */
+  public int getCount() {
+    return count;
+  }
+
+  /** @return emissions per second from the first frame written to the last emission */
+  public double getThroughput() {
+    long elapsed = receivedNanos[count - 1] - server.getSentNanos(0);
+    return count * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+  }
+
+  /**
+   * @param percentile between 0 and 100
+   * @return the frame to emission latency in microseconds at that percentile
+   */
+  public double getLatencyMicros(double percentile) {
+    long[] latencies = new long[count];
+    int n = 0;
+    for (int i = 0; i < count; i++) {
+      if (receivedNanos[i] != 0) {
+        latencies[n++] = receivedNanos[i] - server.getSentNanos(i);
+      }
+    }
+    Arrays.sort(latencies, 0, n);
+    int index = (int) Math.min(n - 1, Math.ceil(percentile / 100 * n) - 1);
+    return latencies[Math.max(index, 0)] / 1000d;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d emissions, %.0f/s, latency p50=%.1fus p99=%.1fus max=%.1fus",
+        count, getThroughput(), getLatencyMicros(50), getLatencyMicros(99), getLatencyMicros(100));
+  }
+}
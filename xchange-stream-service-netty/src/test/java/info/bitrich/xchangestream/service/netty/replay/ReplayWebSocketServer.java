@@ -0,0 +1,288 @@
+package info.bitrich.xchangestream.service.netty.replay;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolConfig;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Local websocket server standing in for a venue. It replays a {@link RecordedFeed} to the client
+ * at the recorded pace, a multiple of it, or as fast as the connection accepts.
+ *
+ * <p>A streaming exchange is pointed at it through {@link #getUri(String)}, usually via {@link
+ * org.knowm.xchange.ExchangeSpecification#setOverrideWebsocketApiUri(String)}. Messages sent by the
+ * client, such as those built by {@code getSubscribeMessage}, are kept for assertions and can be
+ * answered with {@link #setResponder(Function)}. Replay starts when a client message matches the
+ * {@link #setReplayTrigger(Predicate) trigger}, by default the first one, or when {@link #replay()}
+ * is called for venues that subscribe through the connection URI.
+ *
+ * <p>Every connection is replayed the feed from its start, so reconnect handling can be exercised
+ * too. The send time of every frame of the latest replay is kept for latency measurements, see
+ * {@link ReplayMeasurement}.
+ */
+public class ReplayWebSocketServer implements Closeable {
+
+  /** Replays frames at the pace they were recorded at. */
+  public static final double RECORDED_SPEED = 1;
+
+  /** Replays frames as fast as the connection accepts them. */
+  public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+  private final RecordedFeed feed;
+  private final BlockingQueue<String> receivedMessages = new LinkedBlockingQueue<>();
+
+  private double speed = RECORDED_SPEED;
+  private Predicate<String> replayTrigger = message -> true;
+  private Function<String, String> responder = message -> null;
+
+  private EventLoopGroup group;
+  private Channel serverChannel;
+  private volatile Replay currentReplay;
+
+  public ReplayWebSocketServer(RecordedFeed feed) {
+    this.feed = feed;
+  }
+
+  /** @param speed multiple of the recorded pace, {@link #MAX_SPEED} for no delays at all */
+  public ReplayWebSocketServer setSpeed(double speed) {
+    if (!(speed > 0)) {
+      throw new IllegalArgumentException("Speed must be positive: " + speed);
+    }
+    this.speed = speed;
+    return this;
+  }
+
+  /**
+   * @param replayTrigger matches the client message after which the feed is replayed, null to only
+   *     replay on {@link #replay()}
+   */
+  public ReplayWebSocketServer setReplayTrigger(Predicate<String> replayTrigger) {
+    this.replayTrigger = replayTrigger;
+    return this;
+  }
+
+  /** @param responder builds the answer to a client message, or returns null for no answer */
+  public ReplayWebSocketServer setResponder(Function<String, String> responder) {
+    this.responder = responder;
+    return this;
+  }
+
+  /** Binds the server to an ephemeral port on the loopback interface. */
+  public ReplayWebSocketServer start() throws InterruptedException {
+    group = new NioEventLoopGroup(1);
+    serverChannel =
+        new ServerBootstrap()
+            .group(group)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(
+                new ChannelInitializer<SocketChannel>() {
+                  @Override
+                  protected void initChannel(SocketChannel ch) {
+                    ch.pipeline()
+                        .addLast(
+                            new HttpServerCodec(),
+                            new HttpObjectAggregator(65536),
+                            new WebSocketServerProtocolHandler(
+                                WebSocketServerProtocolConfig.newBuilder()
+                                    .websocketPath("/")
+                                    .checkStartsWith(true)
+                                    .build()),
+                            new ReplayHandler());
+                  }
+                })
+            .bind(new InetSocketAddress("127.0.0.1", 0))
+            .sync()
+            .channel();
+    return this;
+  }
+
+  /** @param pathAndQuery the part of the URI after the port, for example {@code /ws} */
+  public String getUri(String pathAndQuery) {
+    InetSocketAddress address = (InetSocketAddress) serverChannel.localAddress();
+    return "ws://127.0.0.1:" + address.getPort() + pathAndQuery;
+  }
+
+  /**
+   * Starts replaying the feed to the most recent connection, waiting a few seconds for the server
+   * side of the handshake if it has not completed yet. After a reconnection, it waits for the new
+   * connection rather than replaying to the previous one again.
+   */
+  public synchronized void replay() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (currentReplay == null || currentReplay.requested) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        throw new IllegalStateException("No client connected");
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+    currentReplay.requested = true;
+    currentReplay.start();
+  }
+
+  /**
+   * Waits for the latest replay to write all frames.
+   *
+   * @return false if the timeout elapsed first
+   */
+  public boolean awaitReplayed(long timeout, TimeUnit unit) throws InterruptedException {
+    Replay replay = currentReplay;
+    return replay != null && replay.finished.await(timeout, unit);
+  }
+
+  /** Waits for the next message from the client, null if the timeout elapses first. */
+  public String pollReceivedMessage(long timeout, TimeUnit unit) throws InterruptedException {
+    return receivedMessages.poll(timeout, unit);
+  }
+
+  public RecordedFeed getFeed() {
+    return feed;
+  }
+
+  /** @return the {@link System#nanoTime()} a frame of the latest replay was written at */
+  public long getSentNanos(int frameIndex) {
+    return currentReplay.sentNanos[frameIndex];
+  }
+
+  private synchronized void connected(Replay replay) {
+    currentReplay = replay;
+    notifyAll();
+  }
+
+  @Override
+  public void close() {
+    if (group != null) {
+      group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+  }
+
+  private final class ReplayHandler extends SimpleChannelInboundHandler<TextWebSocketFrame> {
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+      if (evt instanceof WebSocketServerProtocolHandler.HandshakeComplete) {
+        connected(new Replay(ctx.channel()));
+      }
+      super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, TextWebSocketFrame frame) {
+      String message = frame.text();
+      receivedMessages.add(message);
+      String response = responder.apply(message);
+      if (response != null) {
+        ctx.writeAndFlush(new TextWebSocketFrame(response));
+      }
+      if (replayTrigger != null && replayTrigger.test(message)) {
+        currentReplay.start();
+      }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+      Replay replay = currentReplay;
+      if (ctx.channel().isWritable() && replay != null && replay.channel == ctx.channel()) {
+        replay.resume();
+      }
+      super.channelWritabilityChanged(ctx);
+    }
+  }
+
+  private final class Replay {
+
+    final Channel channel;
+    final long[] sentNanos = new long[feed.size()];
+    final CountDownLatch finished = new CountDownLatch(1);
+
+    /** set by {@link #replay()}, guarded by the server */
+    boolean requested;
+
+    // only accessed on the event loop of the channel
+    boolean started;
+    /** set while a write is scheduled for the pace of the feed */
+    boolean scheduled;
+
+    long startNanos;
+    int next;
+
+    Replay(Channel channel) {
+      this.channel = channel;
+    }
+
+    void start() {
+      channel
+          .eventLoop()
+          .execute(
+              () -> {
+                if (!started) {
+                  started = true;
+                  startNanos = System.nanoTime();
+                  writeFrames();
+                }
+              });
+    }
+
+    // Continues a replay held up by a full outbound buffer, unless a paced write is pending anyway
+    void resume() {
+      if (started && !scheduled) {
+        writeFrames();
+      }
+    }
+
+    private void scheduledWrite() {
+      scheduled = false;
+      writeFrames();
+    }
+
+    private void writeFrames() {
+      List<RecordedFeed.Frame> frames = feed.getFrames();
+      long firstMillis = frames.isEmpty() ? 0 : frames.get(0).getTimeMillis();
+      while (next < frames.size()) {
+        if (!channel.isActive()) {
+          return;
+        }
+        if (!channel.isWritable()) {
+          // resumed from channelWritabilityChanged
+          channel.flush();
+          return;
+        }
+        RecordedFeed.Frame frame = frames.get(next);
+        long due =
+            startNanos
+                + (long)
+                    (TimeUnit.MILLISECONDS.toNanos(frame.getTimeMillis() - firstMillis) / speed);
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+          channel.flush();
+          scheduled = true;
+          channel.eventLoop().schedule(this::scheduledWrite, wait, TimeUnit.NANOSECONDS);
+          return;
+        }
+        sentNanos[next++] = System.nanoTime();
+        channel.write(new TextWebSocketFrame(frame.getText()));
+      }
+      channel.flush();
+      finished.countDown();
+    }
+  }
+}
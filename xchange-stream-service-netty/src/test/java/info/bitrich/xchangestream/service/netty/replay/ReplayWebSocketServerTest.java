@@ -0,0 +1,138 @@
+package info.bitrich.xchangestream.service.netty.replay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
+import io.reactivex.observers.TestObserver;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class ReplayWebSocketServerTest {
+
+  private ReplayWebSocketServer server;
+  private TestStreamingService service;
+
+  @After
+  public void tearDown() {
+    if (service != null) {
+      service.disconnect().blockingAwait();
+    }
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Test
+  public void testReadFeed() throws Exception {
+    String text =
+        "# recorded feed\n"
+            + "1000 {\"channel\":\"a\",\"n\":1}\n"
+            + "{\"channel\":\"a\",\"n\":2}\n"
+            + "\n"
+            + "1250 {\"channel\":\"a\",\"n\":3}\n";
+
+    RecordedFeed feed =
+        RecordedFeed.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(feed.size()).isEqualTo(3);
+    assertThat(feed.getFrames().get(1).getTimeMillis()).isEqualTo(1000);
+    assertThat(feed.getFrames().get(2).getTimeMillis()).isEqualTo(1250);
+    assertThat(feed.getFrames().get(2).getText()).isEqualTo("{\"channel\":\"a\",\"n\":3}");
+  }
+
+  @Test
+  public void testReplaysAfterSubscribeAtRecordedPace() throws Exception {
+    List<RecordedFeed.Frame> frames = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      frames.add(
+          new RecordedFeed.Frame(1000 + i * 100, "{\"channel\":\"trades\",\"n\":" + i + "}"));
+    }
+    server =
+        new ReplayWebSocketServer(feedOf(frames))
+            .setResponder(message -> "{\"channel\":\"status\",\"subscribed\":true}")
+            .start();
+    service = new TestStreamingService(server.getUri("/ws"));
+    service.connect().blockingAwait();
+
+    long start = System.nanoTime();
+    TestObserver<JsonNode> trades = service.subscribeChannel("trades").test();
+    TestObserver<JsonNode> status = service.subscribeChannel("status").test();
+
+    assertThat(server.pollReceivedMessage(5, TimeUnit.SECONDS))
+        .isEqualTo("{\"subscribe\":\"trades\"}");
+    assertThat(server.awaitReplayed(5, TimeUnit.SECONDS)).isTrue();
+    trades.awaitCount(3);
+    trades.assertValueCount(3);
+    assertThat(trades.values().get(2).get("n").asInt()).isEqualTo(2);
+    assertThat(System.nanoTime() - start)
+        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    status.awaitCount(1);
+  }
+
+  @Test
+  public void testMeasuresManualReplayAtMaxSpeed() throws Exception {
+    List<String> texts = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      texts.add("{\"channel\":\"trades\",\"n\":" + i + "}");
+    }
+    server =
+        new ReplayWebSocketServer(RecordedFeed.of(texts))
+            .setSpeed(ReplayWebSocketServer.MAX_SPEED)
+            .setReplayTrigger(null)
+            .start();
+    service = new TestStreamingService(server.getUri("/"));
+    service.connect().blockingAwait();
+
+    ReplayMeasurement measurement = new ReplayMeasurement(server);
+    AtomicInteger index = new AtomicInteger();
+    TestObserver<JsonNode> trades =
+        service
+            .subscribeChannel("trades")
+            .doOnNext(message -> measurement.record(index.getAndIncrement()))
+            .test();
+    server.replay();
+
+    trades.awaitCount(texts.size(), () -> {}, 10000);
+    trades.assertValueCount(texts.size());
+    assertThat(measurement.getCount()).isEqualTo(texts.size());
+    assertThat(measurement.getLatencyMicros(50)).isPositive();
+  }
+
+  private static RecordedFeed feedOf(List<RecordedFeed.Frame> frames) throws Exception {
+    StringBuilder text = new StringBuilder();
+    for (RecordedFeed.Frame frame : frames) {
+      text.append(frame.getTimeMillis()).append(' ').append(frame.getText()).append('\n');
+    }
+    return RecordedFeed.read(
+        new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static class TestStreamingService extends JsonNettyStreamingService {
+
+    TestStreamingService(String apiUrl) {
+      super(apiUrl);
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(JsonNode message) {
+      return message.get("channel").asText();
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return "trades".equals(channelName) ? "{\"subscribe\":\"" + channelName + "\"}" : null;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package info.bitrich.xchangestream.simulated;
+
+import info.bitrich.xchangestream.core.ProductSubscription;
+import info.bitrich.xchangestream.core.StreamingExchange;
+import info.bitrich.xchangestream.core.StreamingMarketDataService;
+import info.bitrich.xchangestream.core.StreamingTradeService;
+import io.reactivex.Completable;
+import org.knowm.xchange.simulated.MatchingEngineFactory;
+import org.knowm.xchange.simulated.SimulatedExchange;
+
+/**
+ * Streaming view of a {@link SimulatedExchange}. Instead of a websocket, the services listen to the
+ * {@link MatchingEngineFactory} of the exchange, so every change to a simulated order book is
+ * pushed to subscribers as it happens. Useful for measuring how fast a strategy reacts to market
+ * data without connecting to a venue.
+ *
+ * <p>The observables emit on the thread that changed the book, see {@link
+ * org.knowm.xchange.simulated.MatchingEngineListener}. Subscribers that place orders in response or
+ * do anything slow should observe on a scheduler of their own.
+ */
+public class SimulatedStreamingExchange extends SimulatedExchange implements StreamingExchange {
+
+  private MatchingEngineFactory engineFactory;
+  private SimulatedStreamingMarketDataService streamingMarketDataService;
+  private SimulatedStreamingTradeService streamingTradeService;
+  private volatile boolean alive;
+
+  @Override
+  protected void initServices() {
+    super.initServices();
+    engineFactory =
+        (MatchingEngineFactory)
+            exchangeSpecification.getExchangeSpecificParametersItem(ENGINE_FACTORY_PARAM);
+    streamingMarketDataService = new SimulatedStreamingMarketDataService();
+    streamingTradeService = new SimulatedStreamingTradeService(exchangeSpecification.getApiKey());
+  }
+
+  @Override
+  public synchronized Completable connect(ProductSubscription... args) {
+    if (!alive) {
+      engineFactory.addListener(streamingMarketDataService);
+      engineFactory.addListener(streamingTradeService);
+      alive = true;
+    }
+    return Completable.complete();
+  }
+
+  @Override
+  public synchronized Completable disconnect() {
+    engineFactory.removeListener(streamingMarketDataService);
+    engineFactory.removeListener(streamingTradeService);
+    alive = false;
+    return Completable.complete();
+  }
+
+  @Override
+  public boolean isAlive() {
+    return alive;
+  }
+
+  @Override
+  public StreamingMarketDataService getStreamingMarketDataService() {
+    return streamingMarketDataService;
+  }
+
+  @Override
+  public StreamingTradeService getStreamingTradeService() {
+    return streamingTradeService;
+  }
+
+  @Override
+  public void useCompressedMessages(boolean compressedMessages) {
+    // nothing is sent over the wire
+  }
+}
@@ -0,0 +1,68 @@
+package info.bitrich.xchangestream.simulated;
+
+import info.bitrich.xchangestream.core.StreamingMarketDataService;
+import io.reactivex.Observable;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.simulated.MatchingEngineListener;
+
+/**
+ * Pushes the book, ticker and public trades of the simulated engines. The level 2 book is only
+ * built for pairs which have order book subscribers.
+ */
+public class SimulatedStreamingMarketDataService
+    implements StreamingMarketDataService, MatchingEngineListener {
+
+  private final ConcurrentMap<CurrencyPair, Subject<OrderBook>> orderBooks =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<CurrencyPair, Subject<Ticker>> tickers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<CurrencyPair, Subject<Trade>> trades = new ConcurrentHashMap<>();
+
+  @Override
+  public Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args) {
+    return subject(orderBooks, currencyPair);
+  }
+
+  @Override
+  public Observable<Ticker> getTicker(CurrencyPair currencyPair, Object... args) {
+    return subject(tickers, currencyPair);
+  }
+
+  @Override
+  public Observable<Trade> getTrades(CurrencyPair currencyPair, Object... args) {
+    return subject(trades, currencyPair);
+  }
+
+  @Override
+  public void onBookChanged(CurrencyPair currencyPair, Ticker ticker, Supplier<OrderBook> level2) {
+    Subject<OrderBook> orderBook = orderBooks.get(currencyPair);
+    if (orderBook != null && orderBook.hasObservers()) {
+      orderBook.onNext(level2.get());
+    }
+    Subject<Ticker> tickerSubject = tickers.get(currencyPair);
+    if (tickerSubject != null) {
+      tickerSubject.onNext(ticker);
+    }
+  }
+
+  @Override
+  public void onTrade(CurrencyPair currencyPair, Trade trade) {
+    Subject<Trade> subject = trades.get(currencyPair);
+    if (subject != null) {
+      subject.onNext(trade);
+    }
+  }
+
+  static <T> Subject<T> subject(
+      ConcurrentMap<CurrencyPair, Subject<T>> subjects, CurrencyPair currencyPair) {
+    return subjects.computeIfAbsent(
+        currencyPair, pair -> PublishSubject.<T>create().toSerialized());
+  }
+}
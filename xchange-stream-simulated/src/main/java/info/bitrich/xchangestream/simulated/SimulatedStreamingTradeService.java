@@ -0,0 +1,68 @@
+package info.bitrich.xchangestream.simulated;
+
+import static info.bitrich.xchangestream.simulated.SimulatedStreamingMarketDataService.subject;
+
+import info.bitrich.xchangestream.core.StreamingTradeService;
+import io.reactivex.Observable;
+import io.reactivex.subjects.Subject;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.exceptions.ExchangeSecurityException;
+import org.knowm.xchange.simulated.MatchingEngineListener;
+
+/** Pushes the order changes and fills of the user the exchange was created for. */
+public class SimulatedStreamingTradeService
+    implements StreamingTradeService, MatchingEngineListener {
+
+  private final String apiKey;
+  private final ConcurrentMap<CurrencyPair, Subject<Order>> orderChanges =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<CurrencyPair, Subject<UserTrade>> userTrades =
+      new ConcurrentHashMap<>();
+
+  public SimulatedStreamingTradeService(String apiKey) {
+    this.apiKey = apiKey;
+  }
+
+  @Override
+  public Observable<Order> getOrderChanges(CurrencyPair currencyPair, Object... args) {
+    checkApiKey();
+    return subject(orderChanges, currencyPair);
+  }
+
+  @Override
+  public Observable<UserTrade> getUserTrades(CurrencyPair currencyPair, Object... args) {
+    checkApiKey();
+    return subject(userTrades, currencyPair);
+  }
+
+  @Override
+  public void onUserTrade(String apiKey, UserTrade userTrade) {
+    if (apiKey.equals(this.apiKey)) {
+      Subject<UserTrade> subject = userTrades.get((CurrencyPair) userTrade.getInstrument());
+      if (subject != null) {
+        subject.onNext(userTrade);
+      }
+    }
+  }
+
+  @Override
+  public void onOrderChanged(String apiKey, LimitOrder order) {
+    if (apiKey.equals(this.apiKey)) {
+      Subject<Order> subject = orderChanges.get((CurrencyPair) order.getInstrument());
+      if (subject != null) {
+        subject.onNext(order);
+      }
+    }
+  }
+
+  private void checkApiKey() {
+    if (apiKey == null || apiKey.isEmpty()) {
+      throw new ExchangeSecurityException("API key required for account access");
+    }
+  }
+}
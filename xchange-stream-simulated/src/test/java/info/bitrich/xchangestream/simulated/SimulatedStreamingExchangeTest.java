@@ -0,0 +1,136 @@
+package info.bitrich.xchangestream.simulated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.knowm.xchange.currency.Currency.BTC;
+import static org.knowm.xchange.currency.Currency.USD;
+import static org.knowm.xchange.currency.CurrencyPair.BTC_USD;
+import static org.knowm.xchange.dto.Order.OrderType.ASK;
+import static org.knowm.xchange.dto.Order.OrderType.BID;
+import static org.knowm.xchange.simulated.SimulatedExchange.ACCOUNT_FACTORY_PARAM;
+import static org.knowm.xchange.simulated.SimulatedExchange.ENGINE_FACTORY_PARAM;
+
+import info.bitrich.xchangestream.core.StreamingExchangeFactory;
+import io.reactivex.observers.TestObserver;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.Order.OrderStatus;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trade;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.simulated.AccountFactory;
+import org.knowm.xchange.simulated.MatchingEngineFactory;
+
+public class SimulatedStreamingExchangeTest {
+
+  private SimulatedStreamingExchange maker;
+  private SimulatedStreamingExchange taker;
+
+  @Before
+  public void setup() throws IOException {
+    AccountFactory accountFactory = new AccountFactory();
+    MatchingEngineFactory engineFactory = new MatchingEngineFactory(accountFactory);
+    maker = createExchange("MAKER", accountFactory, engineFactory);
+    taker = createExchange("TAKER", accountFactory, engineFactory);
+  }
+
+  @Test
+  public void testMarketDataPushedOnBookChange() throws IOException {
+    // Given
+    TestObserver<OrderBook> orderBooks =
+        taker.getStreamingMarketDataService().getOrderBook(BTC_USD).test();
+    TestObserver<Ticker> tickers = taker.getStreamingMarketDataService().getTicker(BTC_USD).test();
+    TestObserver<Trade> trades = taker.getStreamingMarketDataService().getTrades(BTC_USD).test();
+
+    // When
+    placeLimitOrder(maker, ASK, "100", "2");
+    placeLimitOrder(taker, BID, "100", "0.5");
+
+    // Then
+    orderBooks.assertValueCount(2);
+    OrderBook last = orderBooks.values().get(1);
+    assertThat(last.getAsks()).hasSize(1);
+    assertThat(last.getAsks().get(0).getOriginalAmount()).isEqualByComparingTo("1.5");
+    assertThat(last.getBids()).isEmpty();
+    tickers.assertValueCount(2);
+    assertThat(tickers.values().get(1).getAsk()).isEqualByComparingTo("100");
+    assertThat(tickers.values().get(1).getLast()).isEqualByComparingTo("100");
+    trades.assertValueCount(1);
+    assertThat(trades.values().get(0).getOriginalAmount()).isEqualByComparingTo("0.5");
+  }
+
+  @Test
+  public void testUserEventsOnlyForOwnOrders() throws IOException {
+    // Given
+    TestObserver<Order> makerOrders =
+        maker.getStreamingTradeService().getOrderChanges(BTC_USD).test();
+    TestObserver<UserTrade> makerTrades =
+        maker.getStreamingTradeService().getUserTrades(BTC_USD).test();
+    TestObserver<UserTrade> takerTrades =
+        taker.getStreamingTradeService().getUserTrades(BTC_USD).test();
+
+    // When
+    String orderId = placeLimitOrder(maker, ASK, "100", "2");
+    placeLimitOrder(taker, BID, "100", "0.5");
+    maker.getTradeService().cancelOrder(orderId);
+
+    // Then
+    makerOrders.assertValueCount(3);
+    assertThat(makerOrders.values())
+        .extracting(Order::getStatus)
+        .containsExactly(OrderStatus.NEW, OrderStatus.PARTIALLY_FILLED, OrderStatus.CANCELED);
+    assertThat(makerOrders.values()).extracting(Order::getId).containsOnly(orderId);
+    makerTrades.assertValueCount(1);
+    assertThat(makerTrades.values().get(0).getType()).isEqualTo(ASK);
+    takerTrades.assertValueCount(1);
+    assertThat(takerTrades.values().get(0).getType()).isEqualTo(BID);
+  }
+
+  @Test
+  public void testNothingPushedAfterDisconnect() throws IOException {
+    // Given
+    TestObserver<Ticker> tickers = taker.getStreamingMarketDataService().getTicker(BTC_USD).test();
+
+    // When
+    taker.disconnect().blockingAwait();
+    placeLimitOrder(maker, ASK, "100", "2");
+
+    // Then
+    assertThat(taker.isAlive()).isFalse();
+    tickers.assertNoValues();
+  }
+
+  private static SimulatedStreamingExchange createExchange(
+      String apiKey, AccountFactory accountFactory, MatchingEngineFactory engineFactory)
+      throws IOException {
+    ExchangeSpecification exchangeSpecification =
+        new ExchangeSpecification(SimulatedStreamingExchange.class);
+    exchangeSpecification.setApiKey(apiKey);
+    exchangeSpecification.setExchangeSpecificParametersItem(ENGINE_FACTORY_PARAM, engineFactory);
+    exchangeSpecification.setExchangeSpecificParametersItem(ACCOUNT_FACTORY_PARAM, accountFactory);
+    SimulatedStreamingExchange exchange =
+        (SimulatedStreamingExchange)
+            StreamingExchangeFactory.INSTANCE.createExchange(exchangeSpecification);
+    exchange.getAccountService().deposit(USD, new BigDecimal(10000));
+    exchange.getAccountService().deposit(BTC, new BigDecimal(10000));
+    exchange.connect().blockingAwait();
+    return exchange;
+  }
+
+  private static String placeLimitOrder(
+      SimulatedStreamingExchange exchange, Order.OrderType type, String price, String amount)
+      throws IOException {
+    return exchange
+        .getTradeService()
+        .placeLimitOrder(
+            new LimitOrder.Builder(type, BTC_USD)
+                .limitPrice(new BigDecimal(price))
+                .originalAmount(new BigDecimal(amount))
+                .build());
+  }
+}
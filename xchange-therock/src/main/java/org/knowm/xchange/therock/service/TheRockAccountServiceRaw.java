@@ -27,7 +27,7 @@ public class TheRockAccountServiceRaw extends TheRockBaseService {
     super(exchange);
     final ExchangeSpecification spec = exchange.getExchangeSpecification();
     this.theRockAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(TheRockAuthenticated.class, spec).build();
+        ExchangeRestProxyBuilder.forInterface(TheRockAuthenticated.class, exchange).build();
     apiKey = spec.getApiKey();
     this.signatureCreator = new TheRockDigest(spec.getSecretKey());
   }
@@ -16,9 +16,7 @@ public class TheRockMarketDataServiceRaw extends TheRockBaseService {
 
   public TheRockMarketDataServiceRaw(Exchange exchange) {
     super(exchange);
-    this.theRock =
-        ExchangeRestProxyBuilder.forInterface(TheRock.class, exchange.getExchangeSpecification())
-            .build();
+    this.theRock = ExchangeRestProxyBuilder.forInterface(TheRock.class, exchange).build();
   }
 
   public TheRockTicker getTheRockTicker(TheRock.Pair currencyPair)
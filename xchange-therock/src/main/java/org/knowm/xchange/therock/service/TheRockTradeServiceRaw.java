@@ -25,7 +25,7 @@ public class TheRockTradeServiceRaw extends TheRockBaseService {
     super(exchange);
     final ExchangeSpecification spec = exchange.getExchangeSpecification();
     this.theRockAuthenticated =
-        ExchangeRestProxyBuilder.forInterface(TheRockAuthenticated.class, spec).build();
+        ExchangeRestProxyBuilder.forInterface(TheRockAuthenticated.class, exchange).build();
     this.signatureCreator = new TheRockDigest(spec.getSecretKey());
   }
 
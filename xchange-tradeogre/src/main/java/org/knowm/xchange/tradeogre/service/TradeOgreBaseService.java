@@ -41,8 +41,7 @@ public class TradeOgreBaseService extends BaseExchangeService<TradeOgreExchange>
               });
         };
     tradeOgre =
-        ExchangeRestProxyBuilder.forInterface(
-                TradeOgreAuthenticated.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(TradeOgreAuthenticated.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
@@ -43,8 +43,7 @@ public class TrueFxMarketDataServiceRaw extends BaseExchangeService {
     ClientConfigCustomizer clientConfigCustomizer =
         config -> config.setJacksonObjectMapperFactory(factory);
     trueFx =
-        ExchangeRestProxyBuilder.forInterface(
-                TrueFxPublic.class, exchange.getExchangeSpecification())
+        ExchangeRestProxyBuilder.forInterface(TrueFxPublic.class, exchange)
             .clientConfigCustomizer(clientConfigCustomizer)
             .build();
   }
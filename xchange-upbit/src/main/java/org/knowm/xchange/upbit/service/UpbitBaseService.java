@@ -22,10 +22,7 @@ public class UpbitBaseService extends BaseExchangeService implements BaseService
    */
   public UpbitBaseService(Exchange exchange) {
     super(exchange);
-    this.upbit =
-        ExchangeRestProxyBuilder.forInterface(
-                UpbitAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+    this.upbit = ExchangeRestProxyBuilder.forInterface(UpbitAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.apiSecret = exchange.getExchangeSpecification().getSecretKey();
     this.url = exchange.getExchangeSpecification().getSslUri();
@@ -23,9 +23,7 @@ public class VaultoroBaseService extends BaseExchangeService implements BaseServ
     super(exchange);
 
     this.vaultoro =
-        ExchangeRestProxyBuilder.forInterface(
-                VaultoroAuthenticated.class, exchange.getExchangeSpecification())
-            .build();
+        ExchangeRestProxyBuilder.forInterface(VaultoroAuthenticated.class, exchange).build();
     this.apiKey = exchange.getExchangeSpecification().getApiKey();
     this.signatureCreator =
         VaultoroDigest.createInstance(exchange.getExchangeSpecification().getSecretKey());
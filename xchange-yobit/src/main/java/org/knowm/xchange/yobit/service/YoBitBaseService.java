@@ -18,7 +18,6 @@ public class YoBitBaseService<T extends YoBit> extends BaseExchangeService imple
         YoBitDigest.createInstance(
             exchange.getExchangeSpecification().getSecretKey(),
             exchange.getExchangeSpecification().getApiKey());
-    this.service =
-        ExchangeRestProxyBuilder.forInterface(type, exchange.getExchangeSpecification()).build();
+    this.service = ExchangeRestProxyBuilder.forInterface(type, exchange).build();
   }
 }
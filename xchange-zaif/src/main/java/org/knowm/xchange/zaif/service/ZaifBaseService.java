@@ -17,8 +17,6 @@ public class ZaifBaseService extends BaseExchangeService implements BaseService
    */
   protected ZaifBaseService(Exchange exchange) {
     super(exchange);
-    this.zaif =
-        ExchangeRestProxyBuilder.forInterface(Zaif.class, exchange.getExchangeSpecification())
-            .build();
+    this.zaif = ExchangeRestProxyBuilder.forInterface(Zaif.class, exchange).build();
   }
 }